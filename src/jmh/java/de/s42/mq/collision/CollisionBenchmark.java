@@ -0,0 +1,177 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.collision;
+
+import de.s42.mq.util.AABB;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures single collider intersections and the queries of the linear DefaultCollisionSpace against the
+ * AABBTreeCollisionSpace
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark
+{
+
+	protected final static int QUERY_COUNT = 256;
+	protected final static float WORLD_SIZE = 100.0f;
+
+	@Param({"100", "1000", "10000"})
+	public int colliderCount;
+
+	protected DefaultCollisionSpace linearSpace;
+	protected AABBTreeCollisionSpace treeSpace;
+
+	protected SphereCollider sphere;
+	protected BoxCollider box;
+
+	protected Vector3f[] positions;
+	protected Ray[] rays;
+	protected AABB[] aabbs;
+	protected final Vector3f hit = new Vector3f();
+
+	protected static Vector3f randomPosition(Random random)
+	{
+		return new Vector3f(
+			(random.nextFloat() - 0.5f) * WORLD_SIZE,
+			(random.nextFloat() - 0.5f) * WORLD_SIZE,
+			(random.nextFloat() - 0.5f) * WORLD_SIZE
+		);
+	}
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+
+		linearSpace = new DefaultCollisionSpace();
+		treeSpace = new AABBTreeCollisionSpace();
+
+		for (int i = 0; i < colliderCount; ++i) {
+			SphereCollider collider = new SphereCollider(randomPosition(random), 0.1f + random.nextFloat() * 3.0f);
+			linearSpace.addCollider(collider);
+			treeSpace.addCollider(collider);
+		}
+
+		sphere = new SphereCollider(new Vector3f(0.0f, 0.0f, -10.0f), 2.0f);
+		box = new BoxCollider(new AABB(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f), new Matrix4f().translate(0.0f, 0.0f, -10.0f).rotateY(0.5f));
+
+		positions = new Vector3f[QUERY_COUNT];
+		rays = new Ray[QUERY_COUNT];
+		aabbs = new AABB[QUERY_COUNT];
+
+		for (int q = 0; q < QUERY_COUNT; ++q) {
+			positions[q] = randomPosition(random);
+			rays[q] = new Ray(randomPosition(random), randomPosition(random).normalize());
+			Vector3f min = randomPosition(random);
+			aabbs[q] = new AABB(min, new Vector3f(min).add(10.0f, 10.0f, 10.0f));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void sphereIntersect(Blackhole blackhole)
+	{
+		for (Ray ray : rays) {
+			blackhole.consume(sphere.intersect(ray, hit));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void boxIntersect(Blackhole blackhole)
+	{
+		for (Ray ray : rays) {
+			blackhole.consume(box.intersect(ray, hit));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void linearFind(Blackhole blackhole)
+	{
+		for (Vector3f position : positions) {
+			blackhole.consume(linearSpace.find(position));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void treeFind(Blackhole blackhole)
+	{
+		for (Vector3f position : positions) {
+			blackhole.consume(treeSpace.find(position));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void linearIntersect(Blackhole blackhole)
+	{
+		for (Ray ray : rays) {
+			blackhole.consume(linearSpace.intersect(ray, hit));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void treeIntersect(Blackhole blackhole)
+	{
+		for (Ray ray : rays) {
+			blackhole.consume(treeSpace.intersect(ray, hit));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void linearFindInAABB(Blackhole blackhole)
+	{
+		for (AABB aabb : aabbs) {
+			blackhole.consume(linearSpace.findInAABB(aabb));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public void treeFindInAABB(Blackhole blackhole)
+	{
+		for (AABB aabb : aabbs) {
+			blackhole.consume(treeSpace.findInAABB(aabb));
+		}
+	}
+}
@@ -0,0 +1,116 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import de.s42.base.beans.InvalidBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the propagation of data changes through DefaultDataBinding and the data handlers
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBindingBenchmark
+{
+
+	public static class Bean
+	{
+
+		protected FloatData value = new FloatData(0.0f);
+
+		public FloatData getValue()
+		{
+			return value;
+		}
+
+		public void setValue(FloatData value)
+		{
+			this.value = value;
+		}
+	}
+
+	@Param({"1", "16"})
+	public int handlerCount;
+
+	protected Bean bean;
+	protected DefaultDataBinding<Bean, FloatData> binding;
+	protected FloatData data;
+	protected float value;
+	protected int updates;
+
+	// Handlers are only weakly referenced by the data
+	protected final List<DataHandler<Float>> handlers = new ArrayList<>();
+
+	@Setup
+	public void setup() throws InvalidBean
+	{
+		bean = new Bean();
+		binding = new DefaultDataBinding<>(bean, "value");
+
+		data = new FloatData(0.0f);
+		for (int i = 0; i < handlerCount; ++i) {
+			DataHandler<Float> handler = (changed) -> {
+				updates++;
+			};
+			handlers.add(handler);
+			data.addHandler(handler);
+		}
+	}
+
+	@Benchmark
+	public boolean bindingChanged()
+	{
+		value += 1.0f;
+		bean.getValue().setFloatValue(value);
+
+		return binding.updateValue();
+	}
+
+	@Benchmark
+	public boolean bindingUnchanged()
+	{
+		return binding.updateValue();
+	}
+
+	@Benchmark
+	public int handlersChanged()
+	{
+		value += 1.0f;
+		data.setFloatValue(value);
+		data.handleUpdate();
+
+		return updates;
+	}
+}
@@ -0,0 +1,109 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.events;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures dispatching events to listeners of which only a few are interested in the topic - filtered by the
+ * listeners themselves or by topic subscriptions
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultEventManagerBenchmark
+{
+
+	protected final static int TOPIC_COUNT = 16;
+
+	@Param({"1", "16", "256"})
+	public int listenerCount;
+
+	protected DefaultEventManager eventManager;
+	protected DefaultEventManager topicEventManager;
+	protected Event event;
+	protected long received;
+
+	@Setup
+	public void setup()
+	{
+		eventManager = new DefaultEventManager();
+		topicEventManager = new DefaultEventManager();
+
+		for (int i = 0; i < listenerCount; ++i) {
+			String topic = "topic" + (i % TOPIC_COUNT);
+			eventManager.register((e) -> {
+				if (topic.equals(e.getTopic())) {
+					received++;
+				}
+			});
+			topicEventManager.register(topic, (e) -> {
+				received++;
+			});
+		}
+
+		event = new BaseEvent("topic0", "value");
+	}
+
+	@Benchmark
+	public long send()
+	{
+		eventManager.send(event);
+
+		return received;
+	}
+
+	@Benchmark
+	public long sendTopicIndexed()
+	{
+		topicEventManager.send(event);
+
+		return received;
+	}
+
+	@Benchmark
+	public long sendTopic()
+	{
+		eventManager.send("topic0", "value");
+
+		return received;
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long sendConcurrent()
+	{
+		eventManager.send(event);
+
+		return received;
+	}
+}
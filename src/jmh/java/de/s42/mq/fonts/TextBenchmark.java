@@ -0,0 +1,101 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.fonts;
+
+import de.s42.mq.data.FloatData;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the text layout of Text.computeDimension with a generated ascii font including kernings
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark
+{
+
+	@Param({"32", "1024"})
+	public int length;
+
+	protected Text text;
+	protected String content;
+
+	protected static Font createFont(Random random)
+	{
+		Font font = new Font();
+		font.setSize(32.0f);
+		font.setLineHeight(40.0f);
+		font.setStretchH(100.0f);
+
+		for (int id = 32; id < 127; ++id) {
+			Glyph glyph = new Glyph();
+			glyph.setId(id);
+			glyph.setWidth(16.0f + random.nextInt(8));
+			glyph.setHeight(32.0f);
+			glyph.setxAdvance(18.0f + random.nextInt(8));
+
+			// Some kernings like in common fonts
+			for (int k = 0; k < 8; ++k) {
+				glyph.addKerning(32 + random.nextInt(95), -random.nextFloat() * 2.0f);
+			}
+
+			font.addGlyph(glyph);
+		}
+
+		return font;
+	}
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+
+		text = new Text();
+		text.setFont(createFont(random));
+		text.setFontSize(new FloatData(24.0f));
+		text.setMaxCharCount(length);
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < length; ++i) {
+			builder.append((i % 80 == 79) ? '\n' : (char) (32 + random.nextInt(95)));
+		}
+		content = builder.toString();
+	}
+
+	@Benchmark
+	public Vector2f computeDimension()
+	{
+		return text.computeDimension(content);
+	}
+}
@@ -0,0 +1,121 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.obj;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures parsing of a generated triangle grid obj with the ANTLR based ObjLoader and the ObjStreamingParser
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjLoaderBenchmark
+{
+
+	@Param({"64", "256"})
+	public int gridSize;
+
+	protected String obj;
+	protected byte[] objBytes;
+
+	protected static String createGrid(int size)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("# grid ").append(size).append('\n');
+		builder.append("usemtl Default\n");
+		builder.append("s 1\n");
+
+		for (int y = 0; y <= size; ++y) {
+			for (int x = 0; x <= size; ++x) {
+				float height = (float) Math.sin(x * 0.1) * (float) Math.cos(y * 0.1);
+				builder.append(String.format(Locale.US, "v %.6f %.6f %.6f\n", (float) x, height, (float) y));
+				builder.append(String.format(Locale.US, "vt %.6f %.6f\n", (float) x / size, (float) y / size));
+				builder.append("vn 0.000000 1.000000 0.000000\n");
+			}
+		}
+
+		int row = size + 1;
+		for (int y = 0; y < size; ++y) {
+			for (int x = 0; x < size; ++x) {
+				int a = y * row + x + 1;
+				int b = a + 1;
+				int c = a + row + 1;
+				int d = a + row;
+				appendFace(builder, a, b, c);
+				appendFace(builder, c, d, a);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	protected static void appendFace(StringBuilder builder, int a, int b, int c)
+	{
+		builder.append("f ")
+			.append(a).append('/').append(a).append('/').append(a).append(' ')
+			.append(b).append('/').append(b).append('/').append(b).append(' ')
+			.append(c).append('/').append(c).append('/').append(c).append('\n');
+	}
+
+	@Setup
+	public void setup()
+	{
+		obj = createGrid(gridSize);
+		objBytes = obj.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public ObjLoader objLoader()
+	{
+		return ObjLoader.loadFromString(obj);
+	}
+
+	@Benchmark
+	public ObjData streamingParser()
+	{
+		return new ObjStreamingParser().parse(ByteBuffer.wrap(objBytes));
+	}
+
+	@Benchmark
+	public ObjData streamingParserSingleChunk()
+	{
+		ObjStreamingParser parser = new ObjStreamingParser();
+		parser.setChunkSize(Integer.MAX_VALUE);
+
+		return parser.parse(ByteBuffer.wrap(objBytes));
+	}
+}
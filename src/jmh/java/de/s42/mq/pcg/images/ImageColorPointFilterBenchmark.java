@@ -0,0 +1,117 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import de.s42.mq.pcg.points.StandardPCGPoints;
+import de.s42.mq.pcg.transforms.Vertex32ScaledRepeatXZ;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the block processing ImageColorPointFilter against filtering point by point with a generated mask
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageColorPointFilterBenchmark
+{
+
+	protected final static int IMAGE_SIZE = 1024;
+
+	@Param({"100000", "1000000"})
+	public int count;
+
+	protected StandardPCGPoints points;
+	protected StandardPCGImage image;
+	protected Vertex32ScaledRepeatXZ transform;
+	protected ImageChannelRangeFilter filter;
+	protected ImageColorPointFilter pointFilter;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+
+		byte[] rgba = new byte[IMAGE_SIZE * IMAGE_SIZE * 4];
+		random.nextBytes(rgba);
+		image = new StandardPCGImage("mask", new PCGImageData(IMAGE_SIZE, IMAGE_SIZE, rgba));
+
+		points = new StandardPCGPoints(count);
+		float[] data = points.getData();
+		for (int i = 0; i < count; ++i) {
+			StandardPCGPoints.applyPosition(data, i * points.getComponentSize(), random.nextFloat() * 200.0f - 100.0f, 0.0f, random.nextFloat() * 200.0f - 100.0f);
+		}
+
+		transform = new Vertex32ScaledRepeatXZ(0.01f);
+		filter = new ImageChannelRangeFilter(ImageChannelRangeFilter.CHANNEL_R, 0.5f, 1.0f);
+		pointFilter = new ImageColorPointFilter(image, transform, filter);
+	}
+
+	@Benchmark
+	public void filterBlocks(Blackhole blackhole)
+	{
+		points.process(pointFilter);
+		blackhole.consume(points.getData());
+	}
+
+	@Benchmark
+	public void filterBlocksParallel(Blackhole blackhole)
+	{
+		points.processParallel(pointFilter);
+		blackhole.consume(points.getData());
+	}
+
+	@Benchmark
+	public void filterPerPoint(Blackhole blackhole)
+	{
+		float[] data = points.getData();
+		int componentSize = points.getComponentSize();
+
+		for (int i = 0; i < count * componentSize; i += componentSize) {
+
+			Vector2f transformed = transform.transform(
+				StandardPCGPoints.retrievePositionX(data, i),
+				StandardPCGPoints.retrievePositionY(data, i),
+				StandardPCGPoints.retrievePositionZ(data, i),
+				new Vector2f());
+
+			Vector4f color = image.getRGBA(transformed.x, transformed.y, new Vector4f());
+
+			StandardPCGPoints.applyIsVisible(data, i, filter.accept(color.x, color.y, color.z, color.w));
+		}
+
+		blackhole.consume(data);
+	}
+}
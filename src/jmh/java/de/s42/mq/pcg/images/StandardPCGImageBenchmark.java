@@ -0,0 +1,130 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures sampling of a StandardPCGImage loaded from a generated png
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandardPCGImageBenchmark
+{
+
+	protected final static int IMAGE_SIZE = 1024;
+	protected final static int SAMPLE_COUNT = 4096;
+
+	protected Path imageFile;
+	protected StandardPCGImage image;
+	protected float[] coordinates;
+	protected float[] colors;
+	protected final Vector4f color = new Vector4f();
+
+	@Setup
+	public void setup() throws IOException
+	{
+		Random random = new Random(42);
+
+		BufferedImage source = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < IMAGE_SIZE; ++y) {
+			for (int x = 0; x < IMAGE_SIZE; ++x) {
+				source.setRGB(x, y, random.nextInt());
+			}
+		}
+
+		imageFile = Files.createTempFile("pcg-image-benchmark", ".png");
+		ImageIO.write(source, "png", imageFile.toFile());
+
+		image = new StandardPCGImage(imageFile.toString());
+		image.load();
+
+		coordinates = new float[SAMPLE_COUNT * 2];
+		for (int i = 0; i < coordinates.length; ++i) {
+			coordinates[i] = random.nextFloat();
+		}
+
+		colors = new float[SAMPLE_COUNT * 4];
+	}
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(imageFile);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_COUNT)
+	public void sampleRandom(Blackhole blackhole)
+	{
+		for (int i = 0; i < coordinates.length; i += 2) {
+			blackhole.consume(image.getRGBA(coordinates[i], coordinates[i + 1], color));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_COUNT)
+	public void sampleRow(Blackhole blackhole)
+	{
+		float y = coordinates[0];
+
+		for (int i = 0; i < SAMPLE_COUNT; ++i) {
+			blackhole.consume(image.getRGBA((float) i / SAMPLE_COUNT, y, color));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_COUNT)
+	public void sampleBatch(Blackhole blackhole)
+	{
+		image.getRGBA(coordinates, colors, SAMPLE_COUNT);
+		blackhole.consume(colors);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_COUNT)
+	public void sampleFootprint(Blackhole blackhole)
+	{
+		for (int i = 0; i < coordinates.length; i += 2) {
+			blackhole.consume(image.getRGBA(coordinates[i], coordinates[i + 1], 0.01f, color));
+		}
+	}
+}
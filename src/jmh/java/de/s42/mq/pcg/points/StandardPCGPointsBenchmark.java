@@ -0,0 +1,88 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.points;
+
+import de.s42.mq.util.AABB;
+import de.s42.mq.util.MQRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures sequential and parallel point processing of StandardPCGPoints
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandardPCGPointsBenchmark
+{
+
+	@Param({"100000", "1000000"})
+	public int count;
+
+	protected StandardPCGPoints points;
+	protected AABB bounds;
+
+	@Setup
+	public void setup()
+	{
+		points = new StandardPCGPoints(count);
+		bounds = new AABB(-100.0f, -100.0f, -100.0f, 100.0f, 100.0f, 100.0f);
+	}
+
+	@Benchmark
+	public void randomize(Blackhole blackhole)
+	{
+		points.process(new RandomizePointPositions(new MQRandom(42), bounds));
+		blackhole.consume(points.getData());
+	}
+
+	@Benchmark
+	public void randomizeParallel(Blackhole blackhole)
+	{
+		points.processParallel(new RandomizePointPositions(new MQRandom(42), bounds));
+		blackhole.consume(points.getData());
+	}
+
+	@Benchmark
+	public float sumPositions()
+	{
+		float[] data = points.getData();
+		int componentSize = points.getComponentSize();
+		float sum = 0.0f;
+
+		for (int i = 0; i < count; ++i) {
+			sum += StandardPCGPoints.retrievePositionY(data, i * componentSize);
+		}
+
+		return sum;
+	}
+}
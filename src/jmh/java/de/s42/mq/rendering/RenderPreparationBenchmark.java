@@ -0,0 +1,134 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import de.s42.mq.meshes.Mesh;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the cpu side of a frame headless - lod selection, frustum culling and depths of RenderPreparation serial and
+ * in parallel ranges, and merging the draw lists into a sorted RenderQueue
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderPreparationBenchmark
+{
+
+	protected final static float WORLD_SIZE = 1000.0f;
+
+	@Param({"10000", "100000"})
+	public int meshCount;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	protected List<Mesh> meshes;
+	protected RenderPreparation preparation;
+	protected RenderQueue<Mesh> queue;
+	protected Matrix4f view;
+	protected Matrix4f viewProjection;
+	protected Vector3f cameraPosition;
+
+	/**
+	 * Mesh without gpu resources
+	 */
+	public static class BenchmarkMesh extends Mesh
+	{
+
+		@Override
+		public void render(RenderContext context)
+		{
+		}
+	}
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+
+		meshes = new ArrayList<>(meshCount);
+		for (int i = 0; i < meshCount; ++i) {
+			BenchmarkMesh mesh = new BenchmarkMesh();
+			mesh.setPosition(new Vector3f(
+				(random.nextFloat() - 0.5f) * WORLD_SIZE,
+				random.nextFloat() * 10.0f,
+				(random.nextFloat() - 0.5f) * WORLD_SIZE
+			));
+			mesh.updateModelMatrix();
+			meshes.add(mesh);
+		}
+
+		cameraPosition = new Vector3f(0.0f, 20.0f, 0.0f);
+		view = new Matrix4f().lookAt(cameraPosition, new Vector3f(100.0f, 0.0f, 100.0f), new Vector3f(0.0f, 1.0f, 0.0f));
+		viewProjection = new Matrix4f().perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, WORLD_SIZE).mul(view);
+
+		preparation = new RenderPreparation();
+		preparation.setClipMeshes(true);
+		preparation.setParallel(parallel);
+
+		queue = new RenderQueue<>();
+	}
+
+	@Benchmark
+	public int prepare()
+	{
+		return preparation.prepare(meshes, view, viewProjection, cameraPosition);
+	}
+
+	@Benchmark
+	public int prepareAndSort()
+	{
+		preparation.prepare(meshes, view, viewProjection, cameraPosition);
+
+		queue.clear();
+
+		for (int r = 0; r < preparation.getRangeCount(); ++r) {
+
+			RenderPreparation.DrawList drawList = preparation.getDrawList(r);
+
+			for (int i = 0; i < drawList.size(); ++i) {
+				Mesh mesh = drawList.getMesh(i);
+				queue.add(RenderSortKey.createOpaque(0, 1, 1, System.identityHashCode(mesh), drawList.getDepth(i)), mesh);
+			}
+		}
+
+		queue.sort();
+
+		return queue.size();
+	}
+}
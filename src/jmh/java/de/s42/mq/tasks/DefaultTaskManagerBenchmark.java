@@ -0,0 +1,111 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.dl.exceptions.DLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of scheduling batches of small tasks on the DefaultTaskManager and waiting for them
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultTaskManagerBenchmark
+{
+
+	protected final static int BATCH_SIZE = 256;
+
+	public static class WorkTask extends AbstractTask
+	{
+
+		protected final int work;
+		protected long result;
+
+		public WorkTask(int work)
+		{
+			this.work = work;
+		}
+
+		@Override
+		protected void runTask()
+		{
+			long value = result;
+			for (int i = 0; i < work; ++i) {
+				value = value * 6364136223846793005L + 1442695040888963407L;
+			}
+			result = value;
+		}
+	}
+
+	@Param({"1", "4"})
+	public int workerCount;
+
+	@Param({"0", "1000"})
+	public int work;
+
+	protected DefaultTaskManager taskManager;
+	protected Task[] tasks;
+
+	@Setup
+	public void setup() throws DLException
+	{
+		taskManager = new DefaultTaskManager();
+		taskManager.setName("DefaultTaskManagerBenchmark");
+		taskManager.setWorkerCount(workerCount);
+		taskManager.setWorkerDaemons(true);
+		taskManager.setMaxTasksInQueue(BATCH_SIZE);
+		taskManager.load();
+
+		tasks = new Task[BATCH_SIZE];
+		for (int i = 0; i < BATCH_SIZE; ++i) {
+			tasks[i] = new WorkTask(work);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws DLException
+	{
+		taskManager.unload();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void scheduleBatch(Blackhole blackhole)
+	{
+		taskManager.schedule(tasks);
+		taskManager.waitForTasksDone();
+
+		blackhole.consume(((WorkTask) tasks[0]).result);
+	}
+}
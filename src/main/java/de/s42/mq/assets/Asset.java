@@ -13,6 +13,8 @@ package de.s42.mq.assets;
 
 import de.s42.dl.exceptions.DLException;
 import de.s42.mq.core.Entity;
+import java.util.Collections;
+import java.util.List;
 
 /**
  *
@@ -27,4 +29,14 @@ public interface Asset extends Entity
 	public boolean isLoaded();
 
 	public AssetManager getAssetManager();
+
+	/**
+	 * Assets which have to be prepared and loaded before this asset
+	 *
+	 * @return
+	 */
+	public default List<Asset> getDependencies()
+	{
+		return Collections.emptyList();
+	}
 }
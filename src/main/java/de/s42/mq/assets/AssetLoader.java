@@ -0,0 +1,237 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.assets;
+
+import de.s42.dl.exceptions.DLException;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import de.s42.mq.data.FloatData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads assets in two phases. The cpu phase of all PreparableAssets runs in parallel on the executor - an asset is
+ * prepared after its dependencies. The gpu phase (load) runs on the calling thread in the order of the assets with the
+ * dependencies and the children of contained Assets loaded before. The progress gets reported into a FloatData.
+ *
+ * @author Benjamin Schiller
+ */
+public class AssetLoader
+{
+
+	private final static Logger log = LogManager.getLogger(AssetLoader.class.getName());
+
+	protected ExecutorService executor = ForkJoinPool.commonPool();
+	protected FloatData progress;
+	protected final AtomicInteger preparedCount = new AtomicInteger();
+	protected int loadedCount;
+	protected int assetCount;
+
+	public void load(List<Asset> assets) throws DLException
+	{
+		assert assets != null : "assets != null";
+
+		long startTime = System.nanoTime();
+
+		List<Asset> ordered = order(assets);
+		assetCount = ordered.size();
+		loadedCount = 0;
+		preparedCount.set(0);
+		updateProgress();
+
+		Map<Asset, CompletableFuture<Void>> preparations = prepare(ordered);
+
+		try {
+			for (Asset asset : ordered) {
+
+				CompletableFuture<Void> preparation = preparations.get(asset);
+				if (preparation != null) {
+					await(preparation);
+				}
+
+				asset.load();
+
+				loadedCount++;
+				updateProgress();
+			}
+		} finally {
+			// Stop the pending preparations if loading failed
+			for (CompletableFuture<Void> preparation : preparations.values()) {
+				preparation.cancel(false);
+			}
+		}
+
+		log.debug("Loaded " + assetCount + " assets (" + preparations.size() + " prepared in parallel) in " + ((System.nanoTime() - startTime) / 1000000L) + " ms");
+	}
+
+	/**
+	 * Returns the not loaded assets with their dependencies and contained assets before them
+	 */
+	protected List<Asset> order(List<Asset> assets)
+	{
+		List<Asset> ordered = new ArrayList<>(assets.size());
+		Set<Asset> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for (Asset asset : assets) {
+			visit(asset, visited, ordered);
+		}
+
+		return ordered;
+	}
+
+	protected void visit(Asset asset, Set<Asset> visited, List<Asset> ordered)
+	{
+		assert asset != null : "asset != null";
+
+		if (asset.isLoaded() || !visited.add(asset)) {
+			return;
+		}
+
+		for (Asset dependency : asset.getDependencies()) {
+			visit(dependency, visited, ordered);
+		}
+
+		if (asset instanceof Assets container) {
+			for (Asset child : container.getAssets()) {
+				visit(child, visited, ordered);
+			}
+		}
+
+		ordered.add(asset);
+	}
+
+	protected Map<Asset, CompletableFuture<Void>> prepare(List<Asset> ordered)
+	{
+		Map<Asset, CompletableFuture<Void>> preparations = new IdentityHashMap<>();
+
+		for (Asset asset : ordered) {
+
+			if (!(asset instanceof PreparableAsset preparable) || preparable.isPrepared()) {
+				continue;
+			}
+
+			// Dependencies are ordered before so their preparations are known already
+			List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+			for (Asset dependency : asset.getDependencies()) {
+				CompletableFuture<Void> preparation = preparations.get(dependency);
+				if (preparation != null) {
+					dependencies.add(preparation);
+				}
+			}
+
+			CompletableFuture<Void> preparation = CompletableFuture
+				.allOf(dependencies.toArray(CompletableFuture[]::new))
+				.thenRunAsync(() -> prepare(preparable), executor);
+
+			preparations.put(asset, preparation);
+		}
+
+		return preparations;
+	}
+
+	protected void prepare(PreparableAsset asset)
+	{
+		try {
+			asset.prepare();
+			preparedCount.incrementAndGet();
+		} catch (DLException ex) {
+			throw new RuntimeException("Error preparing asset " + asset.getName() + " - " + ex.getMessage(), ex);
+		}
+	}
+
+	protected void await(CompletableFuture<Void> preparation)
+	{
+		try {
+			preparation.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	protected void updateProgress()
+	{
+		if (progress == null) {
+			return;
+		}
+
+		progress.setFloatValue((assetCount > 0) ? (float) loadedCount / (float) assetCount : 1.0f);
+		progress.handleUpdate();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public ExecutorService getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(ExecutorService executor)
+	{
+		assert executor != null : "executor != null";
+
+		this.executor = executor;
+	}
+
+	public FloatData getProgress()
+	{
+		return progress;
+	}
+
+	public void setProgress(FloatData progress)
+	{
+		this.progress = progress;
+	}
+
+	public int getPreparedCount()
+	{
+		return preparedCount.get();
+	}
+
+	public int getLoadedCount()
+	{
+		return loadedCount;
+	}
+
+	public int getAssetCount()
+	{
+		return assetCount;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -25,6 +25,8 @@ public interface AssetManager
 	public ByteBuffer getSourceAsByteBuffer(Path source) throws IOException;
 
 	public String getZippedSingleFileSourceAsString(Path source) throws IOException;
+
+	public ByteBuffer getZippedSingleFileSourceAsByteBuffer(Path source) throws IOException;
 	
 	public String getSingleFileSourceAsString(Path source) throws IOException;
 }
@@ -11,10 +11,12 @@
  */
 package de.s42.mq.assets;
 
+import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.exceptions.DLException;
 import de.s42.dl.types.DLContainer;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
+import de.s42.mq.data.FloatData;
 import de.s42.mq.materials.Material;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,6 +32,18 @@ public class Assets extends AbstractAsset implements DLContainer
 	private final static Logger log = LogManager.getLogger(Assets.class.getName());
 	protected final List<Asset> assets = new ArrayList();
 
+	/**
+	 * If true the assets get prepared in parallel and uploaded in order by an AssetLoader
+	 */
+	@AttributeDL(defaultValue = "true")
+	protected boolean parallelLoading = true;
+
+	/**
+	 * Receives the loading progress from 0 to 1
+	 */
+	@AttributeDL(required = false)
+	protected FloatData progress;
+
 	@Override
 	public void update(float elapsedTime)
 	{
@@ -53,6 +67,13 @@ public class Assets extends AbstractAsset implements DLContainer
 
 		super.load();
 
+		if (parallelLoading) {
+			AssetLoader loader = new AssetLoader();
+			loader.setProgress(progress);
+			loader.load(assets);
+			return;
+		}
+
 		for (Asset asset : assets) {
 			asset.load();
 		}
@@ -199,4 +220,24 @@ public class Assets extends AbstractAsset implements DLContainer
 
 		return (AssetType) assets.get(index);
 	}
+
+	public boolean isParallelLoading()
+	{
+		return parallelLoading;
+	}
+
+	public void setParallelLoading(boolean parallelLoading)
+	{
+		this.parallelLoading = parallelLoading;
+	}
+
+	public FloatData getProgress()
+	{
+		return progress;
+	}
+
+	public void setProgress(FloatData progress)
+	{
+		this.progress = progress;
+	}
 }
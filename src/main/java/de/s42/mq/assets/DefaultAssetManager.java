@@ -14,7 +14,9 @@ package de.s42.mq.assets;
 import de.s42.base.files.FilesHelper;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.ZipInputStream;
 
 /**
  *
@@ -34,6 +36,19 @@ public class DefaultAssetManager implements AssetManager
 		return FilesHelper.getZippedSingleFileAsString(source);
 	}
 
+	@Override
+	public ByteBuffer getZippedSingleFileSourceAsByteBuffer(Path source) throws IOException
+	{
+		try (ZipInputStream in = new ZipInputStream(Files.newInputStream(source))) {
+
+			if (in.getNextEntry() == null) {
+				throw new IOException("Zip " + source + " is empty");
+			}
+
+			return ByteBuffer.wrap(in.readAllBytes());
+		}
+	}
+
 	@Override
 	public String getSingleFileSourceAsString(Path source) throws IOException
 	{
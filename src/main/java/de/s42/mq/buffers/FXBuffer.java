@@ -19,6 +19,7 @@ import de.s42.mq.materials.Texture.TextureFiltering;
 import de.s42.mq.materials.Texture.TextureFormat;
 import de.s42.mq.materials.Texture.TextureType;
 import de.s42.mq.materials.Texture.TextureWrap;
+import de.s42.mq.rendering.GLState;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL20.glDrawBuffers;
 import static org.lwjgl.opengl.GL30.*;
@@ -123,7 +124,7 @@ public class FXBuffer extends FrameBuffer
 			setHeight(texture.getHeight());
 		}
 
-		glBindTexture(GL_TEXTURE_2D, texture.getTextureId());
+		GLState.current().bindTexture(GL_TEXTURE_2D, texture.getTextureId());
 
 		if (format == TextureFormat.DEPTH_COMPONENT) {
 			glFramebufferTexture2D(GL_FRAMEBUFFER, GL_DEPTH_ATTACHMENT, GL_TEXTURE_2D, texture.getTextureId(), 0);
@@ -16,6 +16,7 @@ import de.s42.dl.exceptions.DLException;
 import de.s42.mq.MQColor;
 import de.s42.mq.assets.AbstractAsset;
 import de.s42.mq.data.ColorData;
+import de.s42.mq.rendering.GLState;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL20.glDrawBuffers;
 import static org.lwjgl.opengl.GL30.*;
@@ -79,13 +80,13 @@ public class FrameBuffer extends AbstractAsset
 
 		fbo = glGenFramebuffers();
 		glBindFramebuffer(GL_FRAMEBUFFER, fbo);
-		glDisable(GL_FRAMEBUFFER_SRGB);
+		GLState.current().disable(GL_FRAMEBUFFER_SRGB);
 
 		loadRenderBuffers();
 
 		//int fboStatus = glCheckFramebufferStatus(GL_FRAMEBUFFER);
 		//assert fboStatus == GL_FRAMEBUFFER_COMPLETE : "Could not create FBO " + fboStatus;
-		glBindTexture(GL_TEXTURE_2D, 0);
+		GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		glBindFramebuffer(GL_FRAMEBUFFER, 0);
 	}
 
@@ -139,8 +140,8 @@ public class FrameBuffer extends AbstractAsset
 		assert getClearColor() != null;
 
 		glBindFramebuffer(GL_FRAMEBUFFER, fbo);
-		glEnable(GL_DEPTH_TEST);
-		glDepthMask(true);
+		GLState.current().enable(GL_DEPTH_TEST);
+		GLState.current().depthMask(true);
 		glViewport(0, 0, getWidth(), getHeight());
 		glDrawBuffers(attachments);
 		MQColor cCol = getClearColor().getValue();
@@ -14,6 +14,7 @@ package de.s42.mq.buffers;
 import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.mq.MQColor;
 import de.s42.mq.materials.Texture;
+import de.s42.mq.rendering.GLState;
 import static org.lwjgl.opengl.ARBFramebufferObject.GL_FRAMEBUFFER;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
@@ -44,7 +45,7 @@ public class GBuffer extends FrameBuffer
 	protected void loadRenderBuffers()
 	{
 		colorRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, colorRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, colorRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, getWidth(), getHeight(), 0, GL_RGBA, GL_FLOAT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -55,7 +56,7 @@ public class GBuffer extends FrameBuffer
 		colorFXBuffer.setTexture(new Texture(colorRenderBuffer, getWidth(), getHeight()));
 
 		albedoRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, albedoRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, albedoRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, getWidth(), getHeight(), 0, GL_RGBA, GL_FLOAT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -65,7 +66,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT1, GL_TEXTURE_2D, albedoRenderBuffer, 0);
 
 		normalRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, normalRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, normalRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, getWidth(), getHeight(), 0, GL_RGBA, GL_FLOAT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -75,7 +76,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT2, GL_TEXTURE_2D, normalRenderBuffer, 0);
 
 		positionRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, positionRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, positionRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, getWidth(), getHeight(), 0, GL_RGBA, GL_FLOAT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -85,7 +86,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT3, GL_TEXTURE_2D, positionRenderBuffer, 0);
 
 		specialRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, specialRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, specialRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, getWidth(), getHeight(), 0, GL_RGBA, GL_UNSIGNED_BYTE, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -95,7 +96,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT4, GL_TEXTURE_2D, specialRenderBuffer, 0);
 
 		irradianceRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, irradianceRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, irradianceRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, getWidth(), getHeight(), 0, GL_RGBA, GL_FLOAT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -105,7 +106,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT5, GL_TEXTURE_2D, irradianceRenderBuffer, 0);
 
 		depthRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, depthRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, depthRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_DEPTH24_STENCIL8, getWidth(), getHeight(), 0, GL_DEPTH_STENCIL, GL_UNSIGNED_INT_24_8, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
@@ -115,7 +116,7 @@ public class GBuffer extends FrameBuffer
 		glFramebufferTexture2D(GL_FRAMEBUFFER, GL_DEPTH_STENCIL_ATTACHMENT, GL_TEXTURE_2D, depthRenderBuffer, 0);
 
 		identifierRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, identifierRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, identifierRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_R32I, getWidth(), getHeight(), 0, GL_RED_INTEGER, GL_INT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
@@ -126,7 +127,7 @@ public class GBuffer extends FrameBuffer
 
 		// https://www.roxlu.com/2014/048/fast-pixel-transfers-with-pixel-buffer-objects
 		/*identifierRenderBuffer = glGenTextures();
-		glBindTexture(GL_TEXTURE_2D, identifierRenderBuffer);
+		GLState.current().bindTexture(GL_TEXTURE_2D, identifierRenderBuffer);
 		glTexImage2D(GL_TEXTURE_2D, 0, GL_R32I, getWidth(), getHeight(), 0, GL_RED_INTEGER, GL_INT, 0);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
 		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
@@ -181,8 +182,8 @@ public class GBuffer extends FrameBuffer
 
 		glDrawBuffers(attachments);
 
-		glEnable(GL_DEPTH_TEST);
-		glDepthMask(true);
+		GLState.current().enable(GL_DEPTH_TEST);
+		GLState.current().depthMask(true);
 
 		if (isClearBuffer()) {
 			MQColor cCol = getClearColor().getValue();
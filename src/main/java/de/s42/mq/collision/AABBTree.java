@@ -0,0 +1,667 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.collision;
+
+import de.s42.mq.util.AABB;
+import java.util.Arrays;
+import org.joml.FrustumIntersection;
+import org.joml.Intersectionf;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Dynamic AABB tree (bounding volume hierarchy) with fattened leaf bounds and AVL like rotations. The nodes are stored
+ * in flat arrays to avoid one object per node. See also Box2D b2DynamicTree
+ * (https://github.com/erincatto/box2d/blob/main/src/dynamic_tree.c). Not thread safe.
+ *
+ * @author Benjamin Schiller
+ * @param <UserDataType>
+ */
+public class AABBTree<UserDataType>
+{
+
+	public final static int NULL_NODE = -1;
+
+	public final static float DEFAULT_FAT_MARGIN = 0.1f;
+
+	/**
+	 * Visits a proxy during a query
+	 */
+	@FunctionalInterface
+	public interface ProxyVisitor
+	{
+
+		/**
+		 * @param proxyId
+		 * @return false to stop the query
+		 */
+		boolean visit(int proxyId);
+	}
+
+	/**
+	 * Visits a proxy hit by the ray of a rayCast
+	 */
+	@FunctionalInterface
+	public interface RayCastVisitor
+	{
+
+		/**
+		 * @param proxyId
+		 * @param maxT current maximal ray parameter
+		 * @return the new maximal ray parameter - nodes entered beyond it are skipped, return a value smaller 0 to stop
+		 */
+		float visit(int proxyId, float maxT);
+	}
+
+	protected final float fatMargin;
+
+	protected int root = NULL_NODE;
+	protected int nodeCount;
+	protected int nodeCapacity;
+	protected int freeList;
+	protected int leafCount;
+
+	// minX, minY, minZ, maxX, maxY, maxZ per node
+	protected float[] bounds;
+	protected int[] parent;
+	protected int[] child1;
+	protected int[] child2;
+	protected int[] height;
+	protected Object[] userData;
+
+	protected int[] stack = new int[64];
+	protected final Vector2f rayResult = new Vector2f();
+
+	public AABBTree()
+	{
+		this(DEFAULT_FAT_MARGIN);
+	}
+
+	public AABBTree(float fatMargin)
+	{
+		assert fatMargin >= 0.0f;
+
+		this.fatMargin = fatMargin;
+
+		nodeCapacity = 16;
+		bounds = new float[nodeCapacity * 6];
+		parent = new int[nodeCapacity];
+		child1 = new int[nodeCapacity];
+		child2 = new int[nodeCapacity];
+		height = new int[nodeCapacity];
+		userData = new Object[nodeCapacity];
+		initFreeList(0);
+	}
+
+	// <editor-fold desc="Proxies" defaultstate="collapsed">
+	/**
+	 * Creates a leaf with the given tight bounds fattened by the margin
+	 *
+	 * @param aabb
+	 * @param data
+	 * @return the proxy id
+	 */
+	public int createProxy(AABB aabb, UserDataType data)
+	{
+		assert aabb != null;
+
+		int proxyId = allocateNode();
+
+		setFatBounds(proxyId, aabb);
+		userData[proxyId] = data;
+		height[proxyId] = 0;
+
+		insertLeaf(proxyId);
+		leafCount++;
+
+		return proxyId;
+	}
+
+	public void destroyProxy(int proxyId)
+	{
+		assert isLeaf(proxyId);
+
+		removeLeaf(proxyId);
+		freeNode(proxyId);
+		leafCount--;
+	}
+
+	/**
+	 * Refits the proxy to the new tight bounds. The proxy only gets reinserted if the new bounds leave its fat bounds.
+	 *
+	 * @param proxyId
+	 * @param aabb
+	 * @return true if the proxy was reinserted
+	 */
+	public boolean moveProxy(int proxyId, AABB aabb)
+	{
+		assert isLeaf(proxyId);
+		assert aabb != null;
+
+		int o = proxyId * 6;
+		if (bounds[o] <= aabb.min.x && bounds[o + 1] <= aabb.min.y && bounds[o + 2] <= aabb.min.z
+			&& bounds[o + 3] >= aabb.max.x && bounds[o + 4] >= aabb.max.y && bounds[o + 5] >= aabb.max.z) {
+			return false;
+		}
+
+		removeLeaf(proxyId);
+		setFatBounds(proxyId, aabb);
+		insertLeaf(proxyId);
+
+		return true;
+	}
+
+	public UserDataType getUserData(int proxyId)
+	{
+		return (UserDataType) userData[proxyId];
+	}
+
+	public AABB getFatBounds(int proxyId, AABB result)
+	{
+		int o = proxyId * 6;
+		result.min.set(bounds[o], bounds[o + 1], bounds[o + 2]);
+		result.max.set(bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+
+		return result;
+	}
+
+	public int getProxyCount()
+	{
+		return leafCount;
+	}
+
+	public int getHeight()
+	{
+		return (root != NULL_NODE) ? height[root] : 0;
+	}
+
+	public float getFatMargin()
+	{
+		return fatMargin;
+	}
+	// </editor-fold>
+
+	// <editor-fold desc="Queries" defaultstate="collapsed">
+	public void queryPoint(Vector3f point, ProxyVisitor visitor)
+	{
+		assert point != null;
+		assert visitor != null;
+
+		queryAABB(point.x, point.y, point.z, point.x, point.y, point.z, visitor);
+	}
+
+	public void queryAABB(AABB aabb, ProxyVisitor visitor)
+	{
+		assert aabb != null;
+		assert visitor != null;
+
+		queryAABB(aabb.min.x, aabb.min.y, aabb.min.z, aabb.max.x, aabb.max.y, aabb.max.z, visitor);
+	}
+
+	public void queryAABB(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, ProxyVisitor visitor)
+	{
+		assert visitor != null;
+
+		if (root == NULL_NODE) {
+			return;
+		}
+
+		int count = 0;
+		stack[count++] = root;
+
+		while (count > 0) {
+			int node = stack[--count];
+			int o = node * 6;
+
+			if (bounds[o] > maxX || bounds[o + 1] > maxY || bounds[o + 2] > maxZ
+				|| bounds[o + 3] < minX || bounds[o + 4] < minY || bounds[o + 5] < minZ) {
+				continue;
+			}
+
+			if (isLeaf(node)) {
+				if (!visitor.visit(node)) {
+					return;
+				}
+			} else {
+				count = push(count, child1[node], child2[node]);
+			}
+		}
+	}
+
+	public void queryFrustum(FrustumIntersection frustum, ProxyVisitor visitor)
+	{
+		assert frustum != null;
+		assert visitor != null;
+
+		if (root == NULL_NODE) {
+			return;
+		}
+
+		int count = 0;
+		stack[count++] = root;
+
+		while (count > 0) {
+			int node = stack[--count];
+			int o = node * 6;
+
+			if (!frustum.testAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5])) {
+				continue;
+			}
+
+			if (isLeaf(node)) {
+				if (!visitor.visit(node)) {
+					return;
+				}
+			} else {
+				count = push(count, child1[node], child2[node]);
+			}
+		}
+	}
+
+	/**
+	 * Visits all proxies whose fat bounds are hit by the ray in front of its origin. The ray parameter t is in units of
+	 * the ray direction.
+	 *
+	 * @param ray
+	 * @param maxT
+	 * @param visitor
+	 */
+	public void rayCast(Ray ray, float maxT, RayCastVisitor visitor)
+	{
+		assert ray != null;
+		assert visitor != null;
+
+		if (root == NULL_NODE) {
+			return;
+		}
+
+		Vector3f origin = ray.origin;
+		Vector3f direction = ray.direction;
+
+		int count = 0;
+		stack[count++] = root;
+
+		while (count > 0) {
+			int node = stack[--count];
+			int o = node * 6;
+
+			if (!intersectRay(origin, direction, o)) {
+				continue;
+			}
+
+			// Entered behind the nearest hit so far
+			if (Math.max(rayResult.x, 0.0f) > maxT) {
+				continue;
+			}
+
+			if (isLeaf(node)) {
+				maxT = visitor.visit(node, maxT);
+				if (maxT < 0.0f) {
+					return;
+				}
+			} else {
+				count = push(count, child1[node], child2[node]);
+			}
+		}
+	}
+
+	protected boolean intersectRay(Vector3f origin, Vector3f direction, int o)
+	{
+		// Ray starts inside - intersectRayAab would reject degenerated (flat) boxes
+		if (origin.x >= bounds[o] && origin.y >= bounds[o + 1] && origin.z >= bounds[o + 2]
+			&& origin.x <= bounds[o + 3] && origin.y <= bounds[o + 4] && origin.z <= bounds[o + 5]) {
+			rayResult.x = 0.0f;
+			return true;
+		}
+
+		return Intersectionf.intersectRayAab(
+			origin.x, origin.y, origin.z,
+			direction.x, direction.y, direction.z,
+			bounds[o], bounds[o + 1], bounds[o + 2],
+			bounds[o + 3], bounds[o + 4], bounds[o + 5],
+			rayResult);
+	}
+	// </editor-fold>
+
+	// <editor-fold desc="Tree" defaultstate="collapsed">
+	protected boolean isLeaf(int node)
+	{
+		return child1[node] == NULL_NODE;
+	}
+
+	protected int push(int count, int a, int b)
+	{
+		if (count + 2 > stack.length) {
+			stack = Arrays.copyOf(stack, stack.length * 2);
+		}
+
+		stack[count++] = a;
+		stack[count++] = b;
+
+		return count;
+	}
+
+	protected void setFatBounds(int node, AABB aabb)
+	{
+		int o = node * 6;
+		bounds[o] = aabb.min.x - fatMargin;
+		bounds[o + 1] = aabb.min.y - fatMargin;
+		bounds[o + 2] = aabb.min.z - fatMargin;
+		bounds[o + 3] = aabb.max.x + fatMargin;
+		bounds[o + 4] = aabb.max.y + fatMargin;
+		bounds[o + 5] = aabb.max.z + fatMargin;
+	}
+
+	protected void initFreeList(int start)
+	{
+		for (int i = start; i < nodeCapacity - 1; ++i) {
+			parent[i] = i + 1;
+			height[i] = -1;
+		}
+		parent[nodeCapacity - 1] = NULL_NODE;
+		height[nodeCapacity - 1] = -1;
+		freeList = start;
+	}
+
+	protected int allocateNode()
+	{
+		if (freeList == NULL_NODE) {
+			int oldCapacity = nodeCapacity;
+			nodeCapacity *= 2;
+			bounds = Arrays.copyOf(bounds, nodeCapacity * 6);
+			parent = Arrays.copyOf(parent, nodeCapacity);
+			child1 = Arrays.copyOf(child1, nodeCapacity);
+			child2 = Arrays.copyOf(child2, nodeCapacity);
+			height = Arrays.copyOf(height, nodeCapacity);
+			userData = Arrays.copyOf(userData, nodeCapacity);
+			initFreeList(oldCapacity);
+		}
+
+		int node = freeList;
+		freeList = parent[node];
+		parent[node] = NULL_NODE;
+		child1[node] = NULL_NODE;
+		child2[node] = NULL_NODE;
+		height[node] = 0;
+		userData[node] = null;
+		nodeCount++;
+
+		return node;
+	}
+
+	protected void freeNode(int node)
+	{
+		parent[node] = freeList;
+		height[node] = -1;
+		userData[node] = null;
+		freeList = node;
+		nodeCount--;
+	}
+
+	protected float area(int node)
+	{
+		int o = node * 6;
+		float dx = bounds[o + 3] - bounds[o];
+		float dy = bounds[o + 4] - bounds[o + 1];
+		float dz = bounds[o + 5] - bounds[o + 2];
+
+		return dx * dy + dy * dz + dz * dx;
+	}
+
+	protected float unionArea(int a, int b)
+	{
+		int oa = a * 6;
+		int ob = b * 6;
+		float dx = Math.max(bounds[oa + 3], bounds[ob + 3]) - Math.min(bounds[oa], bounds[ob]);
+		float dy = Math.max(bounds[oa + 4], bounds[ob + 4]) - Math.min(bounds[oa + 1], bounds[ob + 1]);
+		float dz = Math.max(bounds[oa + 5], bounds[ob + 5]) - Math.min(bounds[oa + 2], bounds[ob + 2]);
+
+		return dx * dy + dy * dz + dz * dx;
+	}
+
+	protected void union(int target, int a, int b)
+	{
+		int ot = target * 6;
+		int oa = a * 6;
+		int ob = b * 6;
+		bounds[ot] = Math.min(bounds[oa], bounds[ob]);
+		bounds[ot + 1] = Math.min(bounds[oa + 1], bounds[ob + 1]);
+		bounds[ot + 2] = Math.min(bounds[oa + 2], bounds[ob + 2]);
+		bounds[ot + 3] = Math.max(bounds[oa + 3], bounds[ob + 3]);
+		bounds[ot + 4] = Math.max(bounds[oa + 4], bounds[ob + 4]);
+		bounds[ot + 5] = Math.max(bounds[oa + 5], bounds[ob + 5]);
+	}
+
+	protected void insertLeaf(int leaf)
+	{
+		if (root == NULL_NODE) {
+			root = leaf;
+			parent[root] = NULL_NODE;
+			return;
+		}
+
+		// Find the best sibling by the surface area heuristic
+		int index = root;
+		while (!isLeaf(index)) {
+
+			int c1 = child1[index];
+			int c2 = child2[index];
+
+			float area = area(index);
+			float combinedArea = unionArea(index, leaf);
+
+			// Cost of creating a new parent for this node and the new leaf
+			float cost = 2.0f * combinedArea;
+
+			// Minimum cost of pushing the leaf further down the tree
+			float inheritanceCost = 2.0f * (combinedArea - area);
+
+			float cost1 = unionArea(leaf, c1) + inheritanceCost;
+			if (!isLeaf(c1)) {
+				cost1 -= area(c1);
+			}
+
+			float cost2 = unionArea(leaf, c2) + inheritanceCost;
+			if (!isLeaf(c2)) {
+				cost2 -= area(c2);
+			}
+
+			if (cost < cost1 && cost < cost2) {
+				break;
+			}
+
+			index = (cost1 < cost2) ? c1 : c2;
+		}
+
+		int sibling = index;
+
+		// Create a new parent
+		int oldParent = parent[sibling];
+		int newParent = allocateNode();
+		parent[newParent] = oldParent;
+		union(newParent, leaf, sibling);
+		height[newParent] = height[sibling] + 1;
+
+		if (oldParent != NULL_NODE) {
+			if (child1[oldParent] == sibling) {
+				child1[oldParent] = newParent;
+			} else {
+				child2[oldParent] = newParent;
+			}
+		} else {
+			root = newParent;
+		}
+
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		refit(parent[leaf]);
+	}
+
+	protected void removeLeaf(int leaf)
+	{
+		if (leaf == root) {
+			root = NULL_NODE;
+			return;
+		}
+
+		int p = parent[leaf];
+		int grandParent = parent[p];
+		int sibling = (child1[p] == leaf) ? child2[p] : child1[p];
+
+		if (grandParent != NULL_NODE) {
+			if (child1[grandParent] == p) {
+				child1[grandParent] = sibling;
+			} else {
+				child2[grandParent] = sibling;
+			}
+			parent[sibling] = grandParent;
+			freeNode(p);
+
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parent[sibling] = NULL_NODE;
+			freeNode(p);
+		}
+	}
+
+	/**
+	 * Walks up from index, rebalances and refits bounds and heights
+	 *
+	 * @param index
+	 */
+	protected void refit(int index)
+	{
+		while (index != NULL_NODE) {
+			index = balance(index);
+
+			int c1 = child1[index];
+			int c2 = child2[index];
+
+			height[index] = 1 + Math.max(height[c1], height[c2]);
+			union(index, c1, c2);
+
+			index = parent[index];
+		}
+	}
+
+	/**
+	 * Performs a left or right rotation if node a is imbalanced
+	 *
+	 * @param a
+	 * @return the new root of the subtree
+	 */
+	protected int balance(int a)
+	{
+		if (isLeaf(a) || height[a] < 2) {
+			return a;
+		}
+
+		int b = child1[a];
+		int c = child2[a];
+
+		int balance = height[c] - height[b];
+
+		// Rotate c up
+		if (balance > 1) {
+			int f = child1[c];
+			int g = child2[c];
+
+			child1[c] = a;
+			parent[c] = parent[a];
+			parent[a] = c;
+			replaceChild(parent[c], a, c);
+
+			if (height[f] > height[g]) {
+				child2[c] = f;
+				child2[a] = g;
+				parent[g] = a;
+				union(a, b, g);
+				union(c, a, f);
+				height[a] = 1 + Math.max(height[b], height[g]);
+				height[c] = 1 + Math.max(height[a], height[f]);
+			} else {
+				child2[c] = g;
+				child2[a] = f;
+				parent[f] = a;
+				union(a, b, f);
+				union(c, a, g);
+				height[a] = 1 + Math.max(height[b], height[f]);
+				height[c] = 1 + Math.max(height[a], height[g]);
+			}
+
+			return c;
+		}
+
+		// Rotate b up
+		if (balance < -1) {
+			int d = child1[b];
+			int e = child2[b];
+
+			child1[b] = a;
+			parent[b] = parent[a];
+			parent[a] = b;
+			replaceChild(parent[b], a, b);
+
+			if (height[d] > height[e]) {
+				child2[b] = d;
+				child1[a] = e;
+				parent[e] = a;
+				union(a, c, e);
+				union(b, a, d);
+				height[a] = 1 + Math.max(height[c], height[e]);
+				height[b] = 1 + Math.max(height[a], height[d]);
+			} else {
+				child2[b] = e;
+				child1[a] = d;
+				parent[d] = a;
+				union(a, c, d);
+				union(b, a, e);
+				height[a] = 1 + Math.max(height[c], height[d]);
+				height[b] = 1 + Math.max(height[a], height[e]);
+			}
+
+			return b;
+		}
+
+		return a;
+	}
+
+	protected void replaceChild(int p, int oldChild, int newChild)
+	{
+		if (p == NULL_NODE) {
+			root = newChild;
+		} else if (child1[p] == oldChild) {
+			child1[p] = newChild;
+		} else {
+			child2[p] = newChild;
+		}
+	}
+	// </editor-fold>
+}
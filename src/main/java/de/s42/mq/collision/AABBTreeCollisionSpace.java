@@ -0,0 +1,335 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.collision;
+
+import de.s42.dl.DLAttribute.AttributeDL;
+import de.s42.mq.cameras.Camera;
+import de.s42.mq.util.AABB;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Collision space backed by an incrementally updated AABBTree. Returns the same results as the DefaultCollisionSpace
+ * (including the order of insertion) as long as updateCollider is called whenever a collider changed its bounds.
+ * Unbounded colliders like planes are kept aside and tested linearly.
+ *
+ * @author Benjamin Schiller
+ */
+public class AABBTreeCollisionSpace implements CollisionSpace
+{
+
+	protected static class Entry
+	{
+
+		protected final Collider collider;
+		protected final long sequence;
+		protected int proxyId = AABBTree.NULL_NODE;
+
+		protected Entry(Collider collider, long sequence)
+		{
+			this.collider = collider;
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * Relative slack when pruning ray nodes so float rounding can never skip an equally close hit
+	 */
+	protected final static float RAY_EPSILON = 0.0001f;
+
+	protected final static Comparator<Entry> BY_SEQUENCE = (a, b) -> Long.compare(a.sequence, b.sequence);
+
+	protected final List<Collider> colliders = new ArrayList<>();
+	protected final Map<Collider, Entry> entries = new HashMap<>();
+	protected final List<Entry> unbounded = new ArrayList<>();
+	protected final AABBTree<Entry> tree;
+	protected long nextSequence;
+
+	protected final AABB bounds = new AABB();
+	protected final Vector3f hit = new Vector3f();
+
+	public AABBTreeCollisionSpace()
+	{
+		this(AABBTree.DEFAULT_FAT_MARGIN);
+	}
+
+	public AABBTreeCollisionSpace(float fatMargin)
+	{
+		tree = new AABBTree<>(fatMargin);
+	}
+
+	@Override
+	public void addCollider(Collider collider)
+	{
+		assert collider != null;
+
+		if (entries.containsKey(collider)) {
+			return;
+		}
+
+		Entry entry = new Entry(collider, nextSequence++);
+		entries.put(collider, entry);
+		colliders.add(collider);
+
+		insert(entry);
+	}
+
+	@Override
+	public void removeCollider(Collider collider)
+	{
+		Entry entry = entries.remove(collider);
+
+		if (entry == null) {
+			return;
+		}
+
+		colliders.remove(collider);
+
+		if (entry.proxyId != AABBTree.NULL_NODE) {
+			tree.destroyProxy(entry.proxyId);
+			entry.proxyId = AABBTree.NULL_NODE;
+		} else {
+			unbounded.remove(entry);
+		}
+	}
+
+	@Override
+	public void updateCollider(Collider collider)
+	{
+		Entry entry = entries.get(collider);
+
+		if (entry == null) {
+			return;
+		}
+
+		collider.getBounds(bounds);
+
+		if (entry.proxyId != AABBTree.NULL_NODE) {
+
+			// Became unbounded
+			if (!isBounded(bounds)) {
+				tree.destroyProxy(entry.proxyId);
+				entry.proxyId = AABBTree.NULL_NODE;
+				unbounded.add(entry);
+				return;
+			}
+
+			tree.moveProxy(entry.proxyId, bounds);
+		} else if (isBounded(bounds)) {
+			unbounded.remove(entry);
+			entry.proxyId = tree.createProxy(bounds, entry);
+		}
+	}
+
+	@Override
+	public Collider find(Vector3f position)
+	{
+		assert position != null;
+
+		Entry[] first = new Entry[1];
+
+		tree.queryPoint(position, (proxyId) -> {
+			Entry entry = tree.getUserData(proxyId);
+			if ((first[0] == null || entry.sequence < first[0].sequence) && entry.collider.contains(position)) {
+				first[0] = entry;
+			}
+			return true;
+		});
+
+		for (Entry entry : unbounded) {
+			if ((first[0] == null || entry.sequence < first[0].sequence) && entry.collider.contains(position)) {
+				first[0] = entry;
+			}
+		}
+
+		return (first[0] != null) ? first[0].collider : null;
+	}
+
+	@Override
+	public List<Collider> findInFrustum(Camera camera)
+	{
+		Matrix4f viewProjection = camera.getViewProjectionMatrix();
+
+		return findInFrustum(new FrustumIntersection(viewProjection, true));
+	}
+
+	public List<Collider> findInFrustum(FrustumIntersection intersection)
+	{
+		assert intersection != null;
+
+		List<Entry> found = new ArrayList<>();
+
+		tree.queryFrustum(intersection, (proxyId) -> {
+			Entry entry = tree.getUserData(proxyId);
+			if (entry.collider.intersectsFrustum(intersection)) {
+				found.add(entry);
+			}
+			return true;
+		});
+
+		for (Entry entry : unbounded) {
+			if (entry.collider.intersectsFrustum(intersection)) {
+				found.add(entry);
+			}
+		}
+
+		return toColliders(found);
+	}
+
+	@Override
+	public List<Collider> findInAABB(AABB aabb)
+	{
+		assert aabb != null;
+
+		List<Entry> found = new ArrayList<>();
+
+		tree.queryAABB(aabb, (proxyId) -> {
+			Entry entry = tree.getUserData(proxyId);
+			if (overlaps(entry.collider.getBounds(bounds), aabb)) {
+				found.add(entry);
+			}
+			return true;
+		});
+
+		for (Entry entry : unbounded) {
+			if (overlaps(entry.collider.getBounds(bounds), aabb)) {
+				found.add(entry);
+			}
+		}
+
+		return toColliders(found);
+	}
+
+	@Override
+	public Collider intersect(Ray ray, Vector3f result)
+	{
+		assert ray != null;
+		assert result != null;
+
+		Entry[] closest = new Entry[1];
+		float[] closestDistanceSquared = {Float.POSITIVE_INFINITY};
+		float directionLength = ray.direction.length();
+
+		tree.rayCast(ray, Float.POSITIVE_INFINITY, (proxyId, maxT) -> {
+			Entry entry = tree.getUserData(proxyId);
+			if (testRay(entry, ray, closest, closestDistanceSquared, result)) {
+				// Nodes entered further away than the closest hit can not contain a closer one
+				return (float) Math.sqrt(closestDistanceSquared[0]) / directionLength * (1.0f + RAY_EPSILON);
+			}
+			return maxT;
+		});
+
+		for (Entry entry : unbounded) {
+			testRay(entry, ray, closest, closestDistanceSquared, result);
+		}
+
+		return (closest[0] != null) ? closest[0].collider : null;
+	}
+
+	protected boolean testRay(Entry entry, Ray ray, Entry[] closest, float[] closestDistanceSquared, Vector3f result)
+	{
+		if (!entry.collider.intersect(ray, hit)) {
+			return false;
+		}
+
+		float distanceSquared = hit.distanceSquared(ray.origin);
+
+		// Ties are resolved by insertion order like the linear search
+		if (distanceSquared < closestDistanceSquared[0]
+			|| (distanceSquared == closestDistanceSquared[0] && entry.sequence < closest[0].sequence)) {
+			closestDistanceSquared[0] = distanceSquared;
+			closest[0] = entry;
+			result.set(hit);
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public int getIndex(Collider collider)
+	{
+		return colliders.indexOf(collider);
+	}
+
+	@Override
+	public Collider get(int index)
+	{
+		return colliders.get(index);
+	}
+
+	public int size()
+	{
+		return colliders.size();
+	}
+
+	@AttributeDL(ignore = true)
+	public AABBTree<Entry> getTree()
+	{
+		return tree;
+	}
+
+	protected void insert(Entry entry)
+	{
+		entry.collider.getBounds(bounds);
+
+		if (isBounded(bounds)) {
+			entry.proxyId = tree.createProxy(bounds, entry);
+		} else {
+			unbounded.add(entry);
+		}
+	}
+
+	protected static List<Collider> toColliders(List<Entry> found)
+	{
+		found.sort(BY_SEQUENCE);
+
+		List<Collider> result = new ArrayList<>(found.size());
+		for (Entry entry : found) {
+			result.add(entry.collider);
+		}
+
+		return result;
+	}
+
+	protected static boolean isBounded(AABB aabb)
+	{
+		return Float.isFinite(aabb.min.x) && Float.isFinite(aabb.min.y) && Float.isFinite(aabb.min.z)
+			&& Float.isFinite(aabb.max.x) && Float.isFinite(aabb.max.y) && Float.isFinite(aabb.max.z);
+	}
+
+	protected static boolean overlaps(AABB a, AABB b)
+	{
+		return a.min.x <= b.max.x && a.min.y <= b.max.y && a.min.z <= b.max.z
+			&& a.max.x >= b.min.x && a.max.y >= b.min.y && a.max.z >= b.min.z;
+	}
+}
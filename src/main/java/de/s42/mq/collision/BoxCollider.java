@@ -72,6 +72,30 @@ public final class BoxCollider extends AbstractCollider
 		return false;
 	}
 
+	@Override
+	public AABB getBounds(AABB result)
+	{
+		// Same convention as intersect - rows 0-2 are the axes and row 3 is the position
+		for (int c = 0; c < 3; ++c) {
+
+			float min = transform.get(c, 3);
+			float max = min;
+
+			for (int r = 0; r < 3; ++r) {
+				float axis = transform.get(c, r);
+				float a = axis * aabb.min.get(r);
+				float b = axis * aabb.max.get(r);
+				min += Math.min(a, b);
+				max += Math.max(a, b);
+			}
+
+			result.min.setComponent(c, min);
+			result.max.setComponent(c, max);
+		}
+
+		return result;
+	}
+
 	@Override
 	public boolean intersect(Ray ray, Vector3f result)
 	{
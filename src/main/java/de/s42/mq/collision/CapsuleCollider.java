@@ -25,6 +25,7 @@
 //</editor-fold>
 package de.s42.mq.collision;
 
+import de.s42.mq.util.AABB;
 import org.joml.FrustumIntersection;
 import org.joml.Vector3f;
 
@@ -58,6 +59,15 @@ public final class CapsuleCollider extends AbstractCollider
 		return false;
 	}
 
+	@Override
+	public AABB getBounds(AABB result)
+	{
+		result.min.set(position1).min(position2).sub(radius, radius, radius);
+		result.max.set(position1).max(position2).add(radius, radius, radius);
+
+		return result;
+	}
+
 	@Override
 	public boolean intersect(Ray ray, Vector3f result)
 	{
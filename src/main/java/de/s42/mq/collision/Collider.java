@@ -26,6 +26,7 @@
 package de.s42.mq.collision;
 
 import de.s42.mq.core.Copyable;
+import de.s42.mq.util.AABB;
 import org.joml.FrustumIntersection;
 import org.joml.Vector3f;
 
@@ -67,6 +68,14 @@ public interface Collider<CopyType extends Collider> extends Copyable<CopyType>
 	 */
 	boolean contains(Vector3f position);
 
+	/**
+	 * Writes the world space bounds of the collider into result. Unbounded colliders like planes return infinite bounds
+	 *
+	 * @param result
+	 * @return result
+	 */
+	AABB getBounds(AABB result);
+
 	/**
 	 * Returns the origin of the collider
 	 *
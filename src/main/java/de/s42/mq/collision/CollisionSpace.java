@@ -26,6 +26,7 @@
 package de.s42.mq.collision;
 
 import de.s42.mq.cameras.Camera;
+import de.s42.mq.util.AABB;
 import java.util.List;
 import org.joml.Vector3f;
 
@@ -49,4 +50,22 @@ public interface CollisionSpace
 	int getIndex(Collider collider);
 
 	List<Collider> findInFrustum(Camera camera);
+
+	/**
+	 * Returns all colliders whose bounds overlap the given aabb in the order they were added
+	 *
+	 * @param aabb
+	 * @return
+	 */
+	List<Collider> findInAABB(AABB aabb);
+
+	/**
+	 * Returns the collider with the closest intersection to the origin of the ray and writes the intersection into
+	 * result
+	 *
+	 * @param ray
+	 * @param result
+	 * @return null if no collider is hit
+	 */
+	Collider intersect(Ray ray, Vector3f result);
 }
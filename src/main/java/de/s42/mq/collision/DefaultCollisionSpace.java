@@ -26,6 +26,7 @@
 package de.s42.mq.collision;
 
 import de.s42.mq.cameras.Camera;
+import de.s42.mq.util.AABB;
 import java.util.ArrayList;
 import java.util.List;
 import org.joml.FrustumIntersection;
@@ -33,7 +34,8 @@ import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 /**
- * @todo This should get optimized by a relevant bvh (https://en.wikipedia.org/wiki/Bounding_volume_hierarchy)
+ * Linear collision space - see AABBTreeCollisionSpace for a bvh backed one with the same results
+ *
  * @author Benjamin Schiller
  */
 public class DefaultCollisionSpace implements CollisionSpace
@@ -46,9 +48,12 @@ public class DefaultCollisionSpace implements CollisionSpace
 	{
 		Matrix4f viewProjection = camera.getViewProjectionMatrix();
 
-		List<Collider> result = new ArrayList<>();
+		return findInFrustum(new FrustumIntersection(viewProjection, true));
+	}
 
-		FrustumIntersection intersection = new FrustumIntersection(viewProjection, true);
+	public List<Collider> findInFrustum(FrustumIntersection intersection)
+	{
+		List<Collider> result = new ArrayList<>();
 
 		for (Collider collider : colliders) {
 			if (collider.intersectsFrustum(intersection)) {
@@ -71,6 +76,49 @@ public class DefaultCollisionSpace implements CollisionSpace
 		return null;
 	}
 
+	@Override
+	public List<Collider> findInAABB(AABB aabb)
+	{
+		List<Collider> result = new ArrayList<>();
+
+		AABB bounds = new AABB();
+
+		for (Collider collider : colliders) {
+
+			collider.getBounds(bounds);
+
+			if (bounds.min.x <= aabb.max.x && bounds.min.y <= aabb.max.y && bounds.min.z <= aabb.max.z
+				&& bounds.max.x >= aabb.min.x && bounds.max.y >= aabb.min.y && bounds.max.z >= aabb.min.z) {
+				result.add(collider);
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public Collider intersect(Ray ray, Vector3f result)
+	{
+		Collider closest = null;
+		float closestDistanceSquared = Float.POSITIVE_INFINITY;
+		Vector3f hit = new Vector3f();
+
+		for (Collider collider : colliders) {
+			if (collider.intersect(ray, hit)) {
+
+				float distanceSquared = hit.distanceSquared(ray.origin);
+
+				if (distanceSquared < closestDistanceSquared) {
+					closestDistanceSquared = distanceSquared;
+					closest = collider;
+					result.set(hit);
+				}
+			}
+		}
+
+		return closest;
+	}
+
 	@Override
 	public void addCollider(Collider collider)
 	{
@@ -25,6 +25,7 @@
 //</editor-fold>
 package de.s42.mq.collision;
 
+import de.s42.mq.util.AABB;
 import org.joml.FrustumIntersection;
 import org.joml.Vector3f;
 
@@ -54,6 +55,15 @@ public final class PlaneCollider extends AbstractCollider
 		return false;
 	}
 
+	@Override
+	public AABB getBounds(AABB result)
+	{
+		result.min.set(Float.NEGATIVE_INFINITY);
+		result.max.set(Float.POSITIVE_INFINITY);
+
+		return result;
+	}
+
 	@Override
 	public boolean intersect(Ray ray, Vector3f result)
 	{
@@ -25,6 +25,7 @@
 //</editor-fold>
 package de.s42.mq.collision;
 
+import de.s42.mq.util.AABB;
 import org.joml.FrustumIntersection;
 import org.joml.Vector3f;
 
@@ -62,6 +63,15 @@ public final class PointCollider extends AbstractCollider<PointCollider>
 		return false;
 	}
 
+	@Override
+	public AABB getBounds(AABB result)
+	{
+		result.min.set(origin);
+		result.max.set(origin);
+
+		return result;
+	}
+
 	@Override
 	public boolean intersect(Ray ray, Vector3f result)
 	{
@@ -25,6 +25,7 @@
 //</editor-fold>
 package de.s42.mq.collision;
 
+import de.s42.mq.util.AABB;
 import org.joml.FrustumIntersection;
 import org.joml.Intersectionf;
 import org.joml.Vector2f;
@@ -68,6 +69,15 @@ public final class SphereCollider extends AbstractCollider<SphereCollider>
 		return origin.distanceSquared(position) < radiusSquared;
 	}
 
+	@Override
+	public AABB getBounds(AABB result)
+	{
+		result.min.set(origin).sub(radius, radius, radius);
+		result.max.set(origin).add(radius, radius, radius);
+
+		return result;
+	}
+
 	@Override
 	public boolean intersect(Ray ray, Vector3f result)
 	{
@@ -13,10 +13,11 @@ package de.s42.mq.data;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
+ * Base of the data. Changes get propagated by handleUpdate to the handlers and the dependent computed data - immediately
+ * or deferred and coalesced if a DataPropagator is assigned or a transaction of one is open on the calling thread.
  *
  * @author Benjamin Schiller
  * @param <DataValueType>
@@ -24,11 +25,17 @@ import java.util.List;
 public abstract class AbstractData<DataValueType extends Object> implements Data<DataValueType>
 {
 
+	protected final static int MIN_PRUNE_SIZE = 16;
+
 	protected boolean editable;
 	protected String name;
 	protected Class<DataValueType> dataType;
 	protected boolean dirty;
 	protected final List<WeakReference<DataHandler<DataValueType>>> handlers = new ArrayList<>();
+	protected List<WeakReference<ComputedData<?>>> dependents;
+	protected DataPropagator propagator;
+	protected boolean scheduled;
+	protected int handlersPruneSize = MIN_PRUNE_SIZE;
 
 	protected AbstractData()
 	{
@@ -45,30 +52,61 @@ public abstract class AbstractData<DataValueType extends Object> implements Data
 
 	@Override
 	public void handleUpdate()
+	{
+		DataPropagator current = (propagator != null) ? propagator : DataPropagator.getCurrent();
+
+		if (current != null) {
+			current.schedule(this);
+			return;
+		}
+
+		propagate();
+	}
+
+	/**
+	 * Notifies the handlers and invalidates the dependent data if this data is dirty
+	 */
+	protected void propagate()
 	{
 		if (!dirty) {
 			return;
 		}
 
-		Iterator<WeakReference<DataHandler<DataValueType>>> it = handlers.iterator();
-		while (it.hasNext()) {
-			WeakReference<DataHandler<DataValueType>> handlerReference = it.next();
-			DataHandler<DataValueType> handler = handlerReference.get();
+		// prune invalid references
+		handlers.removeIf((handlerReference) -> handlerReference.get() == null);
+
+		for (int i = 0; i < handlers.size(); ++i) {
+			DataHandler<DataValueType> handler = handlers.get(i).get();
 			if (handler != null) {
 				handler.handleUpdate(this);
-			} // prune invalid references
-			else {
-				it.remove();
 			}
 		}
 
 		setDirty(false);
+
+		if (dependents != null) {
+
+			dependents.removeIf((dependentReference) -> dependentReference.get() == null);
+
+			for (int i = 0; i < dependents.size(); ++i) {
+				ComputedData<?> dependent = dependents.get(i).get();
+				if (dependent != null) {
+					dependent.invalidate();
+				}
+			}
+		}
 	}
 
 	public void addHandler(DataHandler<DataValueType> handler)
 	{
 		assert handler != null : "handler != null";
 
+		// prune invalid references once the list has grown since the last pruning
+		if (handlers.size() >= handlersPruneSize) {
+			handlers.removeIf((handlerReference) -> handlerReference.get() == null);
+			handlersPruneSize = Math.max(MIN_PRUNE_SIZE, handlers.size() * 2);
+		}
+
 		handlers.add(new WeakReference<>(handler));
 	}
 
@@ -76,14 +114,47 @@ public abstract class AbstractData<DataValueType extends Object> implements Data
 	{
 		assert remove != null : "remove != null";
 
-		Iterator<WeakReference<DataHandler<DataValueType>>> it = handlers.iterator();
-		while (it.hasNext()) {
-			WeakReference<DataHandler<DataValueType>> handlerReference = it.next();
+		handlers.removeIf((handlerReference) -> {
 			DataHandler<DataValueType> handler = handlerReference.get();
-			if (handler == remove) {
-				it.remove();
-			}
+			return handler == null || handler == remove;
+		});
+	}
+
+	/**
+	 * Dependents are just weakly referenced - they have to be kept by their owner
+	 */
+	protected void addDependent(ComputedData<?> dependent)
+	{
+		assert dependent != null : "dependent != null";
+
+		if (dependents == null) {
+			dependents = new ArrayList<>();
 		}
+
+		dependents.add(new WeakReference<>(dependent));
+	}
+
+	/**
+	 * Data is propagated in ascending depth - a computed data is deeper than all of its sources
+	 */
+	public int getDepth()
+	{
+		return 0;
+	}
+
+	public DataPropagator getPropagator()
+	{
+		return propagator;
+	}
+
+	public void setPropagator(DataPropagator propagator)
+	{
+		this.propagator = propagator;
+	}
+
+	public int getHandlerCount()
+	{
+		return handlers.size();
 	}
 
 	@Override
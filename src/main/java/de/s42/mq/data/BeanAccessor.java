@@ -0,0 +1,545 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accessors for a bean property which are resolved once per class and property. The getter and setter get generated
+ * with the LambdaMetafactory so calling them costs about as much as a direct call. If the methods are not accessible
+ * for generation (i.e. non public bean classes) it falls back to method handles and finally reflection. Primitive
+ * properties of type float, int, long and boolean additionally get unboxed accessors.
+ *
+ * @author Benjamin Schiller
+ */
+public final class BeanAccessor
+{
+
+	@FunctionalInterface
+	public interface Getter
+	{
+
+		public Object get(Object bean) throws Throwable;
+	}
+
+	@FunctionalInterface
+	public interface Setter
+	{
+
+		public void set(Object bean, Object value) throws Throwable;
+	}
+
+	@FunctionalInterface
+	public interface FloatGetter
+	{
+
+		public float get(Object bean);
+	}
+
+	@FunctionalInterface
+	public interface FloatSetter
+	{
+
+		public void set(Object bean, float value);
+	}
+
+	@FunctionalInterface
+	public interface IntGetter
+	{
+
+		public int get(Object bean);
+	}
+
+	@FunctionalInterface
+	public interface IntSetter
+	{
+
+		public void set(Object bean, int value);
+	}
+
+	@FunctionalInterface
+	public interface LongGetter
+	{
+
+		public long get(Object bean);
+	}
+
+	@FunctionalInterface
+	public interface LongSetter
+	{
+
+		public void set(Object bean, long value);
+	}
+
+	@FunctionalInterface
+	public interface BooleanGetter
+	{
+
+		public boolean get(Object bean);
+	}
+
+	@FunctionalInterface
+	public interface BooleanSetter
+	{
+
+		public void set(Object bean, boolean value);
+	}
+
+	private final static ClassValue<Map<String, BeanAccessor>> ACCESSORS = new ClassValue<>()
+	{
+		@Override
+		protected Map<String, BeanAccessor> computeValue(Class<?> type)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Class<?> beanClass;
+	private final String name;
+	private final Class<?> propertyClass;
+
+	private final Getter getter;
+	private final Setter setter;
+
+	private final Object primitiveGetter;
+	private final Object primitiveSetter;
+
+	/**
+	 * Returns the cached accessor for the property of the bean class
+	 *
+	 * @param beanClass
+	 * @param name
+	 *
+	 * @return null if the class has neither a getter nor a setter for the property
+	 */
+	public static BeanAccessor of(Class<?> beanClass, String name)
+	{
+		assert beanClass != null : "beanClass != null";
+		assert name != null : "name != null";
+
+		Map<String, BeanAccessor> accessors = ACCESSORS.get(beanClass);
+
+		BeanAccessor accessor = accessors.get(name);
+
+		if (accessor == null) {
+			accessor = create(beanClass, name);
+
+			if (accessor == null) {
+				return null;
+			}
+
+			BeanAccessor existing = accessors.putIfAbsent(name, accessor);
+			if (existing != null) {
+				accessor = existing;
+			}
+		}
+
+		return accessor;
+	}
+
+	private BeanAccessor(Class<?> beanClass, String name, Class<?> propertyClass, Method readMethod, Method writeMethod)
+	{
+		this.beanClass = beanClass;
+		this.name = name;
+		this.propertyClass = propertyClass;
+
+		getter = (readMethod != null) ? createGetter(readMethod) : null;
+		setter = (writeMethod != null) ? createSetter(writeMethod) : null;
+
+		primitiveGetter = (readMethod != null && propertyClass.isPrimitive())
+			? createPrimitive(readMethod, primitiveGetterInterface(propertyClass), MethodType.methodType(propertyClass, Object.class))
+			: null;
+		primitiveSetter = (writeMethod != null && propertyClass.isPrimitive())
+			? createPrimitive(writeMethod, primitiveSetterInterface(propertyClass), MethodType.methodType(void.class, Object.class, propertyClass))
+			: null;
+	}
+
+	private static BeanAccessor create(Class<?> beanClass, String name)
+	{
+		if (name.isEmpty()) {
+			return null;
+		}
+
+		String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+		Method readMethod = findMethod(beanClass, "get" + capitalized);
+		if (readMethod == null) {
+			readMethod = findMethod(beanClass, "is" + capitalized);
+			if (readMethod != null && readMethod.getReturnType() != boolean.class) {
+				readMethod = null;
+			}
+		}
+
+		if (readMethod != null && readMethod.getReturnType() == void.class) {
+			readMethod = null;
+		}
+
+		Method writeMethod = null;
+		Class<?> propertyClass = null;
+
+		if (readMethod != null) {
+			propertyClass = readMethod.getReturnType();
+			writeMethod = findMethod(beanClass, "set" + capitalized, propertyClass);
+		} else {
+			// Write only property
+			for (Method method : beanClass.getMethods()) {
+				if (method.getName().equals("set" + capitalized)
+					&& method.getParameterCount() == 1
+					&& !Modifier.isStatic(method.getModifiers())) {
+					writeMethod = method;
+					propertyClass = method.getParameterTypes()[0];
+					break;
+				}
+			}
+		}
+
+		if (readMethod == null && writeMethod == null) {
+			return null;
+		}
+
+		return new BeanAccessor(beanClass, name, propertyClass, readMethod, writeMethod);
+	}
+
+	private static Method findMethod(Class<?> beanClass, String name, Class<?>... parameterTypes)
+	{
+		try {
+			Method method = beanClass.getMethod(name, parameterTypes);
+
+			if (Modifier.isStatic(method.getModifiers())) {
+				return null;
+			}
+
+			return method;
+		} catch (NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+	private static Class<?> primitiveGetterInterface(Class<?> type)
+	{
+		if (type == float.class) {
+			return FloatGetter.class;
+		} else if (type == int.class) {
+			return IntGetter.class;
+		} else if (type == long.class) {
+			return LongGetter.class;
+		} else if (type == boolean.class) {
+			return BooleanGetter.class;
+		}
+
+		return null;
+	}
+
+	private static Class<?> primitiveSetterInterface(Class<?> type)
+	{
+		if (type == float.class) {
+			return FloatSetter.class;
+		} else if (type == int.class) {
+			return IntSetter.class;
+		} else if (type == long.class) {
+			return LongSetter.class;
+		} else if (type == boolean.class) {
+			return BooleanSetter.class;
+		}
+
+		return null;
+	}
+
+	private static MethodHandle unreflect(Method method)
+	{
+		try {
+			return MethodHandles.publicLookup().unreflect(method);
+		} catch (IllegalAccessException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Generates an implementation of the functional interface calling the method or returns null if not possible
+	 */
+	private static Object generate(Method method, Class<?> functionalInterface, MethodType samType)
+	{
+		MethodHandle handle = unreflect(method);
+
+		if (handle == null) {
+			return null;
+		}
+
+		// Object parameters and returns of the interface get boxed/unboxed to the wrapper of the property type
+		MethodType implType = handle.type();
+		MethodType instantiatedType = implType;
+		for (int i = 1; i < samType.parameterCount(); ++i) {
+			if (samType.parameterType(i) == Object.class) {
+				instantiatedType = instantiatedType.changeParameterType(i, wrap(implType.parameterType(i)));
+			}
+		}
+		if (samType.returnType() == Object.class) {
+			instantiatedType = instantiatedType.changeReturnType(wrap(implType.returnType()));
+		}
+
+		try {
+			return LambdaMetafactory.metafactory(
+				MethodHandles.lookup(),
+				functionalInterface.getMethods()[0].getName(),
+				MethodType.methodType(functionalInterface),
+				samType,
+				handle,
+				instantiatedType
+			).getTarget().invoke();
+		} catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	private static Class<?> wrap(Class<?> type)
+	{
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+	private static Getter createGetter(Method readMethod)
+	{
+		Getter generated = (Getter) generate(readMethod, Getter.class, MethodType.methodType(Object.class, Object.class));
+
+		if (generated != null) {
+			return generated;
+		}
+
+		MethodHandle handle = unreflect(readMethod);
+
+		if (handle != null) {
+			MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+			return (bean) -> generic.invokeExact(bean);
+		}
+
+		readMethod.setAccessible(true);
+
+		return (bean) -> invoke(readMethod, bean);
+	}
+
+	private static Setter createSetter(Method writeMethod)
+	{
+		Setter generated = (Setter) generate(writeMethod, Setter.class, MethodType.methodType(void.class, Object.class, Object.class));
+
+		if (generated != null) {
+			return generated;
+		}
+
+		MethodHandle handle = unreflect(writeMethod);
+
+		if (handle != null) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (bean, value) -> generic.invokeExact(bean, value);
+		}
+
+		writeMethod.setAccessible(true);
+
+		return (bean, value) -> invoke(writeMethod, bean, value);
+	}
+
+	private static Object createPrimitive(Method method, Class<?> functionalInterface, MethodType samType)
+	{
+		if (functionalInterface == null) {
+			return null;
+		}
+
+		// Falls back to the boxing accessors if it can not be generated
+		return generate(method, functionalInterface, samType);
+	}
+
+	private static Object invoke(Method method, Object bean, Object... arguments) throws Throwable
+	{
+		try {
+			return method.invoke(bean, arguments);
+		} catch (InvocationTargetException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private RuntimeException error(String action, Throwable cause)
+	{
+		return new RuntimeException("Error " + action + " property " + name + " of " + beanClass.getName() + " - " + cause.getMessage(), cause);
+	}
+
+	public Object get(Object bean)
+	{
+		assert bean != null : "bean != null";
+		assert getter != null : "isReadable()";
+
+		try {
+			return getter.get(bean);
+		} catch (RuntimeException ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw error("reading", ex);
+		}
+	}
+
+	public void set(Object bean, Object value)
+	{
+		assert bean != null : "bean != null";
+		assert setter != null : "isWritable()";
+
+		try {
+			setter.set(bean, value);
+		} catch (RuntimeException ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw error("writing", ex);
+		}
+	}
+
+	public float getFloat(Object bean)
+	{
+		assert propertyClass == float.class : "propertyClass == float.class";
+
+		if (primitiveGetter != null) {
+			return ((FloatGetter) primitiveGetter).get(bean);
+		}
+
+		return (Float) get(bean);
+	}
+
+	public void setFloat(Object bean, float value)
+	{
+		assert propertyClass == float.class : "propertyClass == float.class";
+
+		if (primitiveSetter != null) {
+			((FloatSetter) primitiveSetter).set(bean, value);
+			return;
+		}
+
+		set(bean, value);
+	}
+
+	public int getInt(Object bean)
+	{
+		assert propertyClass == int.class : "propertyClass == int.class";
+
+		if (primitiveGetter != null) {
+			return ((IntGetter) primitiveGetter).get(bean);
+		}
+
+		return (Integer) get(bean);
+	}
+
+	public void setInt(Object bean, int value)
+	{
+		assert propertyClass == int.class : "propertyClass == int.class";
+
+		if (primitiveSetter != null) {
+			((IntSetter) primitiveSetter).set(bean, value);
+			return;
+		}
+
+		set(bean, value);
+	}
+
+	public long getLong(Object bean)
+	{
+		assert propertyClass == long.class : "propertyClass == long.class";
+
+		if (primitiveGetter != null) {
+			return ((LongGetter) primitiveGetter).get(bean);
+		}
+
+		return (Long) get(bean);
+	}
+
+	public void setLong(Object bean, long value)
+	{
+		assert propertyClass == long.class : "propertyClass == long.class";
+
+		if (primitiveSetter != null) {
+			((LongSetter) primitiveSetter).set(bean, value);
+			return;
+		}
+
+		set(bean, value);
+	}
+
+	public boolean getBoolean(Object bean)
+	{
+		assert propertyClass == boolean.class : "propertyClass == boolean.class";
+
+		if (primitiveGetter != null) {
+			return ((BooleanGetter) primitiveGetter).get(bean);
+		}
+
+		return (Boolean) get(bean);
+	}
+
+	public void setBoolean(Object bean, boolean value)
+	{
+		assert propertyClass == boolean.class : "propertyClass == boolean.class";
+
+		if (primitiveSetter != null) {
+			((BooleanSetter) primitiveSetter).set(bean, value);
+			return;
+		}
+
+		set(bean, value);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public Class<?> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public Class<?> getPropertyClass()
+	{
+		return propertyClass;
+	}
+
+	public boolean isReadable()
+	{
+		return getter != null;
+	}
+
+	public boolean isWritable()
+	{
+		return setter != null;
+	}
+
+	public boolean isPrimitive()
+	{
+		return primitiveGetter != null || primitiveSetter != null;
+	}
+	// "Getters/Setters" </editor-fold>
+}
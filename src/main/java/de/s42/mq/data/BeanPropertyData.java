@@ -29,6 +29,8 @@ import de.s42.base.beans.BeanProperty;
 import de.s42.base.beans.InvalidBean;
 
 /**
+ * Exposes a bean property as data. The property gets accessed with a generated accessor if the bean follows the getter
+ * and setter conventions and through the bean property otherwise.
  *
  * @author Benjamin Schiller
  */
@@ -37,17 +39,23 @@ public class BeanPropertyData extends AbstractData
 
 	protected final Object bean;
 	protected final BeanProperty property;
+	protected final BeanAccessor accessor;
 
 	public BeanPropertyData(Object bean, BeanProperty property)
 	{
 		super(property.getName());
 		this.bean = bean;
 		this.property = property;
+		this.accessor = BeanAccessor.of(bean.getClass(), property.getName());
 	}
 
 	@Override
 	public Object getValue()
 	{
+		if (accessor != null && accessor.isReadable()) {
+			return accessor.get(bean);
+		}
+
 		try {
 			return property.read(bean);
 		} catch (InvalidBean ex) {
@@ -58,6 +66,11 @@ public class BeanPropertyData extends AbstractData
 	@Override
 	public void setValue(Object value)
 	{
+		if (accessor != null && accessor.isWritable()) {
+			accessor.set(bean, value);
+			return;
+		}
+
 		try {
 			property.write(bean, value);
 		} catch (InvalidBean ex) {
@@ -65,6 +78,87 @@ public class BeanPropertyData extends AbstractData
 		}
 	}
 
+	public float getFloatValue()
+	{
+		if (isPrimitive(float.class)) {
+			return accessor.getFloat(bean);
+		}
+
+		return (Float) getValue();
+	}
+
+	public void setFloatValue(float value)
+	{
+		if (isPrimitive(float.class)) {
+			accessor.setFloat(bean, value);
+			return;
+		}
+
+		setValue(value);
+	}
+
+	public int getIntegerValue()
+	{
+		if (isPrimitive(int.class)) {
+			return accessor.getInt(bean);
+		}
+
+		return (Integer) getValue();
+	}
+
+	public void setIntegerValue(int value)
+	{
+		if (isPrimitive(int.class)) {
+			accessor.setInt(bean, value);
+			return;
+		}
+
+		setValue(value);
+	}
+
+	public long getLongValue()
+	{
+		if (isPrimitive(long.class)) {
+			return accessor.getLong(bean);
+		}
+
+		return (Long) getValue();
+	}
+
+	public void setLongValue(long value)
+	{
+		if (isPrimitive(long.class)) {
+			accessor.setLong(bean, value);
+			return;
+		}
+
+		setValue(value);
+	}
+
+	public boolean getBooleanValue()
+	{
+		if (isPrimitive(boolean.class)) {
+			return accessor.getBoolean(bean);
+		}
+
+		return (Boolean) getValue();
+	}
+
+	public void setBooleanValue(boolean value)
+	{
+		if (isPrimitive(boolean.class)) {
+			accessor.setBoolean(bean, value);
+			return;
+		}
+
+		setValue(value);
+	}
+
+	protected boolean isPrimitive(Class type)
+	{
+		return accessor != null && accessor.getPropertyClass() == type;
+	}
+
 	@Override
 	public Class getDataType()
 	{
@@ -0,0 +1,121 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Data computed from other data. It gets recomputed whenever one of its sources propagates a change and just notifies
+ * its handlers if the computed value differs. The sources reference it weakly so it has to be kept by its owner.
+ *
+ * @author Benjamin Schiller
+ * @param <DataValueType>
+ */
+public class ComputedData<DataValueType> extends AbstractData<DataValueType>
+{
+
+	protected final Supplier<DataValueType> compute;
+	protected final int depth;
+	protected DataValueType value;
+	protected boolean stale;
+
+	public ComputedData(Supplier<DataValueType> compute, AbstractData<?>... sources)
+	{
+		assert compute != null : "compute != null";
+		assert sources != null : "sources != null";
+
+		this.compute = compute;
+
+		int maxDepth = -1;
+		for (AbstractData<?> source : sources) {
+			assert source != null : "source != null";
+
+			source.addDependent(this);
+			maxDepth = Math.max(maxDepth, source.getDepth());
+		}
+		depth = maxDepth + 1;
+
+		value = compute.get();
+		dirty = false;
+	}
+
+	/**
+	 * Called by a source when it propagated a change
+	 */
+	protected void invalidate()
+	{
+		stale = true;
+		handleUpdate();
+	}
+
+	@Override
+	protected void propagate()
+	{
+		if (stale) {
+			stale = false;
+
+			DataValueType newValue = compute.get();
+			if (!Objects.equals(value, newValue)) {
+				value = newValue;
+				setDirty(true);
+			}
+		}
+
+		super.propagate();
+	}
+
+	@Override
+	public boolean isValueEqual(DataValueType value)
+	{
+		return Objects.equals(this.value, value);
+	}
+
+	@Override
+	public DataValueType getValue()
+	{
+		return value;
+	}
+
+	@Override
+	public void setValue(DataValueType value)
+	{
+		throw new UnsupportedOperationException("Computed data can not be set");
+	}
+
+	@Override
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public boolean isStale()
+	{
+		return stale;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,179 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Collects changed data and propagates them at once in the order of their depth. So a computed data gets recomputed
+ * just once after all of its sources are up to date and multiple changes of a data result in a single notification of
+ * its handlers. Data gets deferred to a propagator if it is assigned to the data or if a transaction of it is open on
+ * the current thread. A propagator is meant to be used by a single thread - like the data handlers.
+ *
+ * @author Benjamin Schiller
+ */
+public class DataPropagator
+{
+
+	private final static ThreadLocal<DataPropagator> CURRENT = new ThreadLocal<>();
+
+	protected final PriorityQueue<AbstractData<?>> scheduled = new PriorityQueue<>(
+		Comparator.comparingInt((AbstractData<?> data) -> data.getDepth())
+	);
+	protected int transactionDepth;
+	protected DataPropagator previous;
+	protected boolean flushing;
+
+	/**
+	 * Returns the propagator with an open transaction or running flush on the current thread
+	 *
+	 * @return null if there is none
+	 */
+	public static DataPropagator getCurrent()
+	{
+		return CURRENT.get();
+	}
+
+	protected static void setCurrent(DataPropagator propagator)
+	{
+		if (propagator != null) {
+			CURRENT.set(propagator);
+		} else {
+			CURRENT.remove();
+		}
+	}
+
+	/**
+	 * Schedules the data for the next flush - scheduling it multiple times results in one propagation
+	 *
+	 * @param data
+	 */
+	public void schedule(AbstractData<?> data)
+	{
+		assert data != null : "data != null";
+
+		if (data.scheduled) {
+			return;
+		}
+
+		data.scheduled = true;
+		scheduled.add(data);
+	}
+
+	/**
+	 * Propagates all scheduled data including the data changed while propagating
+	 *
+	 * @return the count of propagated data
+	 */
+	public int flush()
+	{
+		// A running flush propagates the data scheduled by the handlers as well
+		if (flushing) {
+			return 0;
+		}
+
+		flushing = true;
+		DataPropagator before = CURRENT.get();
+		CURRENT.set(this);
+
+		int count = 0;
+		try {
+			AbstractData<?> data;
+			while ((data = scheduled.poll()) != null) {
+				data.scheduled = false;
+				data.propagate();
+				count++;
+			}
+		} finally {
+			setCurrent(before);
+			flushing = false;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Defers the propagation of all data changed on this thread until the matching commit
+	 */
+	public void begin()
+	{
+		if (transactionDepth == 0) {
+			previous = CURRENT.get();
+			CURRENT.set(this);
+		}
+
+		transactionDepth++;
+	}
+
+	/**
+	 * Ends a transaction and flushes if it was the outermost one
+	 *
+	 * @return the count of propagated data
+	 */
+	public int commit()
+	{
+		assert transactionDepth > 0 : "transactionDepth > 0";
+
+		transactionDepth--;
+
+		if (transactionDepth > 0) {
+			return 0;
+		}
+
+		setCurrent(previous);
+		previous = null;
+
+		return flush();
+	}
+
+	public int transaction(Runnable runnable)
+	{
+		assert runnable != null : "runnable != null";
+
+		begin();
+		try {
+			runnable.run();
+		} catch (Throwable ex) {
+			commit();
+			throw ex;
+		}
+
+		return commit();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getScheduledCount()
+	{
+		return scheduled.size();
+	}
+
+	public boolean isInTransaction()
+	{
+		return transactionDepth > 0;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -30,6 +30,8 @@ import de.s42.dl.ui.bindings.DefaultBinding;
 import java.util.Objects;
 
 /**
+ * Binds a data property of a bean. The property is read with a generated accessor which gets resolved once per class
+ * and property. The values of FloatData, IntegerData, LongData and BooleanData are compared unboxed.
  *
  * @author Benjamin Schiller
  * @param <ObjectType>
@@ -38,35 +40,78 @@ import java.util.Objects;
 public class DefaultDataBinding<ObjectType, DataType extends Data> extends DefaultBinding<ObjectType, DataType>
 {
 
+	protected final BeanAccessor accessor;
 	protected Object currentDataValue;
+	protected long currentPrimitiveValue;
 
 	public DefaultDataBinding(ObjectType object, String name) throws InvalidBean
 	{
 		super(object, name);
+
+		BeanAccessor beanAccessor = BeanAccessor.of(object.getClass(), name);
+		accessor = (beanAccessor != null && beanAccessor.isReadable()) ? beanAccessor : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected DataType readData() throws InvalidBean
+	{
+		if (accessor != null) {
+			return (DataType) accessor.get(object);
+		}
+
+		return property.read(object);
+	}
+
+	/**
+	 * Stores the current value of the data and returns true if it has changed since the last call
+	 */
+	protected boolean updateDataValue(DataType value)
+	{
+		if (value instanceof FloatData floatData) {
+			return updatePrimitiveValue(Float.floatToIntBits(floatData.getFloatValue()));
+		} else if (value instanceof IntegerData integerData) {
+			return updatePrimitiveValue(integerData.getIntegerValue());
+		} else if (value instanceof LongData longData) {
+			return updatePrimitiveValue(longData.getLongValue());
+		} else if (value instanceof BooleanData booleanData) {
+			return updatePrimitiveValue(booleanData.getBooleanValue() ? 1L : 0L);
+		}
+
+		Object dataValue = (value != null) ? value.getValue() : null;
+		if (!Objects.equals(currentDataValue, dataValue)) {
+			currentDataValue = dataValue;
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean updatePrimitiveValue(long value)
+	{
+		if (currentPrimitiveValue != value) {
+			currentPrimitiveValue = value;
+			return true;
+		}
+
+		return false;
 	}
 
 	@Override
 	public boolean updateValue()
 	{
 		try {
-			DataType value = property.read(object);
+			DataType value = readData();
 
 			// Just update if the value has changed
-			if (!Objects.equals(currentValue, value)) {
+			if (currentValue != value && !Objects.equals(currentValue, value)) {
 				currentValue = value;
-				if (currentValue != null) {
-					currentDataValue = value.getValue();
-				} else {
-					currentDataValue = null;
-				}
+				updateDataValue(value);
 				updateListeners(value);
 				return true;
 			}
 
 			// Just update if the value of the data has changed
-			Object dataValue = value.getValue();
-			if (!Objects.equals(currentDataValue, dataValue)) {
-				currentDataValue = dataValue;
+			if (value != null && updateDataValue(value)) {
 				updateListeners(value);
 				return true;
 			}
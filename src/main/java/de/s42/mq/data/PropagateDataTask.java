@@ -0,0 +1,61 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import de.s42.dl.DLAttribute.AttributeDL;
+import de.s42.mq.tasks.AbstractTask;
+
+/**
+ * Propagates the data changed since the last run - add it to the frame tasks for one propagation per frame
+ *
+ * @author Benjamin Schiller
+ */
+public class PropagateDataTask extends AbstractTask
+{
+
+	@AttributeDL(required = true)
+	protected DataPropagator propagator;
+
+	@Override
+	protected void runTask()
+	{
+		assert propagator != null : "propagator != null";
+
+		propagator.flush();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public DataPropagator getPropagator()
+	{
+		return propagator;
+	}
+
+	public void setPropagator(DataPropagator propagator)
+	{
+		this.propagator = propagator;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -45,6 +45,7 @@ import de.s42.mq.editor.DataEditor;
 import de.s42.mq.editor.dataeditors.*;
 import de.s42.mq.events.BaseEvent;
 import de.s42.mq.events.DefaultEventManager;
+import de.s42.mq.events.DispatchEventsTask;
 import de.s42.mq.events.Event;
 import de.s42.mq.events.EventManager;
 import de.s42.mq.fonts.Text.HorizontalAlignment;
@@ -185,8 +186,11 @@ public class MQDLCore extends DefaultCore
 
 		defineType(CollisionSpace.class, "CollisionSpace");
 		defineType(DefaultCollisionSpace.class, "DefaultCollisionSpace");
+		defineType(AABBTreeCollisionSpace.class, "AABBTreeCollisionSpace");
 
 		// Data
+		defineType(createType(DataPropagator.class), "DataPropagator");
+		defineType(createType(PropagateDataTask.class), "PropagateDataTask");
 		defineType(createType(Data.class), "Data");
 		defineType(createType(AbstractData.class), "AbstractData");
 		defineType(createType(AbstractNumberData.class), "AbstractNumberData");
@@ -216,7 +220,9 @@ public class MQDLCore extends DefaultCore
 		defineType(createType(Tasks.class), "Tasks");
 		defineType(createType(TaskManager.class), "TaskManager");
 		defineType(createType(DefaultTaskManager.class), "DefaultTaskManager");
+		defineType(createType(WorkStealingTaskManager.class), "WorkStealingTaskManager");
 		defineType(createType(SequenceTask.class), "SequenceTask");
+		defineType(createType(TaskGraph.class), "TaskGraph");
 		defineType(createType(DebouncedSequenceTask.class), "DebouncedSequenceTask");
 
 		// Specific Tasks
@@ -398,6 +404,7 @@ public class MQDLCore extends DefaultCore
 		defineType(BaseEvent.class, "BaseEvent");
 		defineType(EventManager.class, "EventManager");
 		defineType(DefaultEventManager.class, "DefaultEventManager");
+		defineType(createType(DispatchEventsTask.class), "DispatchEventsTask");
 
 		// Data Maps
 		DLInstance colors = createInstance(getType(MapDLType.DEFAULT_SYMBOL).orElseThrow(), "Colors");
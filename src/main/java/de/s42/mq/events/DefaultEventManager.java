@@ -25,23 +25,61 @@
 //</editor-fold>
 package de.s42.mq.events;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import de.s42.mq.tasks.AbstractTask;
+import de.s42.mq.tasks.TaskManager;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * Event manager which indexes its listeners by topic. The listeners are stored in copy-on-write arrays so dispatching
+ * takes no lock and listeners may (un)register while events are sent - the change takes effect with the next event.
+ * Listeners registered without a topic receive all events before the topic listeners.
  *
  * @author Benjamin Schiller
  */
 public class DefaultEventManager implements EventManager
 {
 
-	protected final List<Consumer<Event>> listeners;
+	protected static class SendEventTask extends AbstractTask
+	{
+
+		protected final EventManager eventManager;
+		protected final Event event;
+
+		protected SendEventTask(EventManager eventManager, Event event)
+		{
+			this.eventManager = eventManager;
+			this.event = event;
+		}
+
+		@Override
+		protected void runTask()
+		{
+			eventManager.send(event);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected final static Consumer<Event>[] NO_LISTENERS = new Consumer[0];
+
+	protected volatile Consumer<Event>[] listeners = NO_LISTENERS;
+	protected final Map<String, Consumer<Event>[]> topicListeners = new ConcurrentHashMap<>();
+
+	protected final Queue<Event> queuedEvents = new ConcurrentLinkedQueue<>();
+	protected final AtomicInteger queuedEventCount = new AtomicInteger();
+
+	protected TaskManager taskManager;
+	protected Executor executor = ForkJoinPool.commonPool();
 
 	public DefaultEventManager()
 	{
-		listeners = Collections.synchronizedList(new ArrayList<>());
 	}
 
 	@Override
@@ -49,7 +87,9 @@ public class DefaultEventManager implements EventManager
 	{
 		assert listener != null : "listener != null";
 
-		listeners.add(listener);
+		synchronized (this) {
+			listeners = add(listeners, listener);
+		}
 	}
 
 	@Override
@@ -57,7 +97,30 @@ public class DefaultEventManager implements EventManager
 	{
 		assert listener != null : "listener != null";
 
-		listeners.remove(listener);
+		synchronized (this) {
+			listeners = remove(listeners, listener);
+		}
+	}
+
+	@Override
+	public void register(String topic, Consumer<Event> listener)
+	{
+		assert topic != null : "topic != null";
+		assert listener != null : "listener != null";
+
+		topicListeners.compute(topic, (key, current) -> add((current != null) ? current : NO_LISTENERS, listener));
+	}
+
+	@Override
+	public void unregister(String topic, Consumer<Event> listener)
+	{
+		assert topic != null : "topic != null";
+		assert listener != null : "listener != null";
+
+		topicListeners.computeIfPresent(topic, (key, current) -> {
+			Consumer<Event>[] result = remove(current, listener);
+			return (result.length > 0) ? result : null;
+		});
 	}
 
 	@Override
@@ -68,6 +131,17 @@ public class DefaultEventManager implements EventManager
 		for (Consumer<Event> listener : listeners) {
 			listener.accept(event);
 		}
+
+		String topic = event.getTopic();
+
+		if (topic != null) {
+			Consumer<Event>[] current = topicListeners.get(topic);
+			if (current != null) {
+				for (Consumer<Event> listener : current) {
+					listener.accept(event);
+				}
+			}
+		}
 	}
 
 	@Override
@@ -75,4 +149,115 @@ public class DefaultEventManager implements EventManager
 	{
 		send(new BaseEvent(topic, value));
 	}
+
+	/**
+	 * Sends the event on the task manager workers if given or the executor otherwise. The order of async events
+	 * relative to each other is not defined.
+	 *
+	 * @param event
+	 */
+	@Override
+	public void sendAsync(Event event)
+	{
+		assert event != null : "event != null";
+
+		if (taskManager != null) {
+			taskManager.schedule(new SendEventTask(this, event));
+		} else {
+			executor.execute(() -> send(event));
+		}
+	}
+
+	@Override
+	public void post(Event event)
+	{
+		assert event != null : "event != null";
+
+		queuedEvents.add(event);
+		queuedEventCount.incrementAndGet();
+	}
+
+	/**
+	 * Sends the events posted until now in their order. Events posted by listeners while dispatching are kept for the
+	 * next call so a frame can not be stalled by events triggering events.
+	 *
+	 * @return number of sent events
+	 */
+	@Override
+	public int dispatchQueued()
+	{
+		int count = queuedEventCount.get();
+
+		for (int i = 0; i < count; ++i) {
+			Event event = queuedEvents.poll();
+			queuedEventCount.decrementAndGet();
+			send(event);
+		}
+
+		return count;
+	}
+
+	protected static Consumer<Event>[] add(Consumer<Event>[] current, Consumer<Event> listener)
+	{
+		Consumer<Event>[] result = Arrays.copyOf(current, current.length + 1);
+		result[current.length] = listener;
+
+		return result;
+	}
+
+	protected static Consumer<Event>[] remove(Consumer<Event>[] current, Consumer<Event> listener)
+	{
+		for (int i = 0; i < current.length; ++i) {
+			if (current[i].equals(listener)) {
+				Consumer<Event>[] result = Arrays.copyOf(current, current.length - 1);
+				System.arraycopy(current, i + 1, result, i, current.length - i - 1);
+				return result;
+			}
+		}
+
+		return current;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getListenerCount()
+	{
+		return listeners.length;
+	}
+
+	public int getListenerCount(String topic)
+	{
+		assert topic != null : "topic != null";
+
+		Consumer<Event>[] current = topicListeners.get(topic);
+
+		return (current != null) ? current.length : 0;
+	}
+
+	public int getQueuedEventCount()
+	{
+		return queuedEventCount.get();
+	}
+
+	public TaskManager getTaskManager()
+	{
+		return taskManager;
+	}
+
+	public void setTaskManager(TaskManager taskManager)
+	{
+		this.taskManager = taskManager;
+	}
+
+	public Executor getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(Executor executor)
+	{
+		assert executor != null : "executor != null";
+
+		this.executor = executor;
+	}
+	// "Getters/Setters" </editor-fold>
 }
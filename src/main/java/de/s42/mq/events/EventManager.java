@@ -34,11 +34,42 @@ import java.util.function.Consumer;
 public interface EventManager
 {
 
+	/**
+	 * Registers a listener for all events
+	 *
+	 * @param listener
+	 */
 	void register(Consumer<Event> listener);
 
 	void unregister(Consumer<Event> listener);
 
+	/**
+	 * Registers a listener which just receives events of the given topic
+	 *
+	 * @param topic
+	 * @param listener
+	 */
+	void register(String topic, Consumer<Event> listener);
+
+	void unregister(String topic, Consumer<Event> listener);
+
 	void send(Event event);
 
 	void send(String topic, Object value);
+
+	void sendAsync(Event event);
+
+	/**
+	 * Queues the event for the next dispatchQueued
+	 *
+	 * @param event
+	 */
+	void post(Event event);
+
+	/**
+	 * Sends all queued events - is meant to be called once per frame i.e. by a DispatchEventsTask
+	 *
+	 * @return number of sent events
+	 */
+	int dispatchQueued();
 }
@@ -0,0 +1,256 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.joml.Vector3f;
+import static de.s42.mq.loaders.baked.BakedMeshWriter.*;
+
+/**
+ * Reads baked meshes written by the BakedMeshWriter. Files are memory mapped and the vertex streams and indices are
+ * views into the mapping, so they can be handed to the GL buffer uploads directly.
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedMeshReader
+{
+
+	protected final ByteBuffer buffer;
+
+	protected BakedMeshReader(ByteBuffer buffer)
+	{
+		assert buffer != null : "buffer != null";
+
+		this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * @param source
+	 *
+	 * @return the baked mesh with its streams mapped from the source
+	 *
+	 * @throws IOException if the file is not a valid baked mesh of the current format version
+	 */
+	public static BakedMesh read(Path source) throws IOException
+	{
+		assert source != null : "source != null";
+
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			// The mapping stays valid after closing the channel
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * @param buffer
+	 *
+	 * @return the baked mesh with its streams being views of the given buffer
+	 *
+	 * @throws IOException if the buffer is not a valid baked mesh of the current format version
+	 */
+	public static BakedMesh read(ByteBuffer buffer) throws IOException
+	{
+		return new BakedMeshReader(buffer).read();
+	}
+
+	protected BakedMesh read() throws IOException
+	{
+		try {
+			int magic = buffer.getInt();
+			if (magic != MAGIC) {
+				throw new IOException("Invalid baked mesh - magic " + Integer.toHexString(magic));
+			}
+
+			int version = buffer.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("Invalid baked mesh - version " + version + " instead of " + FORMAT_VERSION);
+			}
+
+			String key = getString();
+			BakedNode root = getNode();
+
+			if (buffer.hasRemaining()) {
+				throw new IOException("Invalid baked mesh - " + buffer.remaining() + " trailing bytes");
+			}
+
+			return new BakedMesh(key, root);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+			throw new IOException("Invalid baked mesh - " + ex.getMessage(), ex);
+		}
+	}
+
+	protected BakedNode getNode() throws IOException
+	{
+		BakedNode node = new BakedNode(getString());
+		getFloats(node.getTransform());
+		getProperties(node.getProperties());
+
+		int subMeshCount = getCount();
+		for (int i = 0; i < subMeshCount; ++i) {
+			node.addSubMesh(getSubMesh());
+		}
+
+		int childCount = getCount();
+		for (int i = 0; i < childCount; ++i) {
+			node.addChild(getNode());
+		}
+
+		return node;
+	}
+
+	protected BakedSubMesh getSubMesh() throws IOException
+	{
+		BakedSubMesh subMesh = new BakedSubMesh(getString());
+		subMesh.setMaterial(getString());
+		subMesh.setLod(buffer.getInt());
+		subMesh.setLodDistanceMin(buffer.getFloat());
+		subMesh.setLodDistanceMax(buffer.getFloat());
+
+		String[] layers = new String[getCount()];
+		for (int i = 0; i < layers.length; ++i) {
+			layers[i] = getString();
+		}
+		subMesh.setLayers(layers);
+
+		getFloats(subMesh.getTransform());
+		getFloats(subMesh.getBounds());
+		getProperties(subMesh.getProperties());
+
+		int streamCount = getCount();
+		for (int i = 0; i < streamCount; ++i) {
+			int semantic = buffer.getInt();
+			int components = buffer.getInt();
+			int floatCount = getCount();
+			if (components <= 0 || floatCount % components != 0) {
+				throw new IOException("Invalid baked mesh - stream with " + floatCount + " floats and " + components + " components");
+			}
+			subMesh.addStream(new BakedStream(semantic, components, getBlock(floatCount).asFloatBuffer()));
+		}
+
+		int indexCount = getCount();
+		if (indexCount % 3 != 0) {
+			throw new IOException("Invalid baked mesh - index count " + indexCount);
+		}
+		IntBuffer indices = getBlock(indexCount).asIntBuffer();
+		subMesh.setIndices(indices);
+
+		int lodCount = getCount();
+		for (int i = 0; i < lodCount; ++i) {
+			subMesh.addLod(getSubMesh());
+		}
+
+		return subMesh;
+	}
+
+	protected void getProperties(Map<String, Object> properties) throws IOException
+	{
+		int count = getCount();
+
+		for (int i = 0; i < count; ++i) {
+
+			String key = getString();
+			int type = buffer.getInt();
+
+			switch (type) {
+				case PROPERTY_FLOAT ->
+					properties.put(key, buffer.getFloat());
+				case PROPERTY_INT ->
+					properties.put(key, buffer.getInt());
+				case PROPERTY_DOUBLE ->
+					properties.put(key, buffer.getDouble());
+				case PROPERTY_LONG ->
+					properties.put(key, buffer.getLong());
+				case PROPERTY_VECTOR3 ->
+					properties.put(key, new Vector3f(buffer.getFloat(), buffer.getFloat(), buffer.getFloat()));
+				case PROPERTY_STRING ->
+					properties.put(key, getString());
+				case PROPERTY_BOOLEAN ->
+					properties.put(key, buffer.getInt() != 0);
+				default ->
+					throw new IOException("Invalid baked mesh - property " + key + " has unknown type " + type);
+			}
+		}
+	}
+
+	/**
+	 * @param count
+	 *
+	 * @return a little endian view of count 4 byte elements at the current position
+	 */
+	protected ByteBuffer getBlock(int count)
+	{
+		int size = count * 4;
+		ByteBuffer block = buffer.slice(buffer.position(), size).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(buffer.position() + size);
+
+		return block;
+	}
+
+	protected int getCount() throws IOException
+	{
+		int count = buffer.getInt();
+
+		if (count < 0 || count > buffer.remaining()) {
+			throw new IOException("Invalid baked mesh - count " + count + " at " + (buffer.position() - 4));
+		}
+
+		return count;
+	}
+
+	protected String getString() throws IOException
+	{
+		int length = buffer.getInt();
+
+		if (length == -1) {
+			return null;
+		}
+
+		if (length < 0 || length > buffer.remaining()) {
+			throw new IOException("Invalid baked mesh - string length " + length + " at " + (buffer.position() - 4));
+		}
+
+		String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+		buffer.position(buffer.position() + ((length + 3) & ~3));
+
+		return value;
+	}
+
+	protected void getFloats(float[] values)
+	{
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = buffer.getFloat();
+		}
+	}
+}
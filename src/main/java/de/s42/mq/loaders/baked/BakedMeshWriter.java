@@ -0,0 +1,292 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import org.joml.Vector3f;
+
+/**
+ * Writes baked meshes in the little endian MQBM format. All blocks are 4 byte aligned so the reader can hand out float
+ * and int views of the mapped file without copying.
+ *
+ * <pre>
+ * header:   int magic, int version, string key, node root
+ * node:     string name, float[10] transform, properties, int subMeshCount, subMesh*, int childCount, node*
+ * subMesh:  string name, string material, int lod, float lodDistanceMin, float lodDistanceMax, int layerCount, string*,
+ *           float[10] transform, float[6] bounds, properties, int streamCount, stream*, int indexCount, int*,
+ *           int lodCount, subMesh*
+ * stream:   int semantic, int components, int floatCount, float*
+ * string:   int byteCount (-1 for null), utf-8 bytes, padding to 4
+ * property: int count, (string key, int type, value)*
+ * </pre>
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedMeshWriter
+{
+
+	// "MQBM" read as little endian int
+	public final static int MAGIC = 0x4D42514D;
+	public final static int FORMAT_VERSION = 1;
+
+	public final static int PROPERTY_FLOAT = 1;
+	public final static int PROPERTY_INT = 2;
+	public final static int PROPERTY_DOUBLE = 3;
+	public final static int PROPERTY_LONG = 4;
+	public final static int PROPERTY_VECTOR3 = 5;
+	public final static int PROPERTY_STRING = 6;
+	public final static int PROPERTY_BOOLEAN = 7;
+
+	protected ByteBuffer buffer;
+
+	public BakedMeshWriter()
+	{
+		this(64 * 1024);
+	}
+
+	public BakedMeshWriter(int initialCapacity)
+	{
+		assert initialCapacity >= 0 : "initialCapacity >= 0";
+
+		buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Writes the mesh into a temporary file next to the target and moves it in place - readers never see partial files
+	 *
+	 * @param mesh
+	 * @param target
+	 *
+	 * @throws IOException
+	 */
+	public static void write(BakedMesh mesh, Path target) throws IOException
+	{
+		assert mesh != null : "mesh != null";
+		assert target != null : "target != null";
+
+		ByteBuffer data = new BakedMeshWriter().write(mesh);
+
+		Path directory = target.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+			}
+
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * @param mesh
+	 *
+	 * @return the flipped buffer containing the baked mesh
+	 *
+	 * @throws IOException if a property can not be baked
+	 */
+	public ByteBuffer write(BakedMesh mesh) throws IOException
+	{
+		assert mesh != null : "mesh != null";
+
+		buffer.clear();
+
+		putInt(MAGIC);
+		putInt(FORMAT_VERSION);
+		putString(mesh.getKey());
+		putNode(mesh.getRoot());
+
+		return buffer.flip();
+	}
+
+	protected void putNode(BakedNode node) throws IOException
+	{
+		putString(node.getName());
+		putFloats(node.getTransform());
+		putProperties(node.getProperties());
+
+		List<BakedSubMesh> subMeshes = node.getSubMeshes();
+		putInt(subMeshes.size());
+		for (BakedSubMesh subMesh : subMeshes) {
+			putSubMesh(subMesh);
+		}
+
+		List<BakedNode> children = node.getChildren();
+		putInt(children.size());
+		for (BakedNode child : children) {
+			putNode(child);
+		}
+	}
+
+	protected void putSubMesh(BakedSubMesh subMesh) throws IOException
+	{
+		putString(subMesh.getName());
+		putString(subMesh.getMaterial());
+		putInt(subMesh.getLod());
+		putFloat(subMesh.getLodDistanceMin());
+		putFloat(subMesh.getLodDistanceMax());
+
+		String[] layers = subMesh.getLayers();
+		putInt(layers.length);
+		for (String layer : layers) {
+			putString(layer);
+		}
+
+		putFloats(subMesh.getTransform());
+		putFloats(subMesh.getBounds());
+		putProperties(subMesh.getProperties());
+
+		List<BakedStream> streams = subMesh.getStreams();
+		putInt(streams.size());
+		for (BakedStream stream : streams) {
+			putInt(stream.getSemantic());
+			putInt(stream.getComponents());
+			int floatCount = stream.getData().remaining();
+			putInt(floatCount);
+			ensureCapacity(floatCount * 4);
+			buffer.asFloatBuffer().put(stream.getData().duplicate());
+			buffer.position(buffer.position() + floatCount * 4);
+		}
+
+		int indexCount = subMesh.getIndices().remaining();
+		putInt(indexCount);
+		ensureCapacity(indexCount * 4);
+		buffer.asIntBuffer().put(subMesh.getIndices().duplicate());
+		buffer.position(buffer.position() + indexCount * 4);
+
+		List<BakedSubMesh> lods = subMesh.getLods();
+		putInt(lods.size());
+		for (BakedSubMesh lod : lods) {
+			putSubMesh(lod);
+		}
+	}
+
+	protected void putProperties(Map<String, Object> properties) throws IOException
+	{
+		putInt(properties.size());
+
+		for (Map.Entry<String, Object> entry : properties.entrySet()) {
+
+			putString(entry.getKey());
+
+			Object value = entry.getValue();
+
+			if (value instanceof Float f) {
+				putInt(PROPERTY_FLOAT);
+				putFloat(f);
+			} else if (value instanceof Integer i) {
+				putInt(PROPERTY_INT);
+				putInt(i);
+			} else if (value instanceof Double d) {
+				putInt(PROPERTY_DOUBLE);
+				ensureCapacity(8);
+				buffer.putDouble(d);
+			} else if (value instanceof Long l) {
+				putInt(PROPERTY_LONG);
+				ensureCapacity(8);
+				buffer.putLong(l);
+			} else if (value instanceof Vector3f v) {
+				putInt(PROPERTY_VECTOR3);
+				putFloat(v.x);
+				putFloat(v.y);
+				putFloat(v.z);
+			} else if (value instanceof String s) {
+				putInt(PROPERTY_STRING);
+				putString(s);
+			} else if (value instanceof Boolean b) {
+				putInt(PROPERTY_BOOLEAN);
+				putInt(b ? 1 : 0);
+			} else {
+				throw new IOException("Can not bake property " + entry.getKey() + " of type "
+					+ ((value != null) ? value.getClass().getName() : "null"));
+			}
+		}
+	}
+
+	protected void putString(String value)
+	{
+		if (value == null) {
+			putInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		int padding = (4 - (bytes.length & 3)) & 3;
+		putInt(bytes.length);
+		ensureCapacity(bytes.length + padding);
+		buffer.put(bytes);
+		for (int i = 0; i < padding; ++i) {
+			buffer.put((byte) 0);
+		}
+	}
+
+	protected void putFloats(float[] values)
+	{
+		ensureCapacity(values.length * 4);
+		for (float value : values) {
+			buffer.putFloat(value);
+		}
+	}
+
+	protected void putFloat(float value)
+	{
+		ensureCapacity(4);
+		buffer.putFloat(value);
+	}
+
+	protected void putInt(int value)
+	{
+		ensureCapacity(4);
+		buffer.putInt(value);
+	}
+
+	protected void ensureCapacity(int bytes)
+	{
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+
+		int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+		ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+		grown.put(buffer.flip());
+		buffer = grown;
+	}
+}
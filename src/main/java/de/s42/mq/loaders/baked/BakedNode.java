@@ -0,0 +1,156 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import de.s42.mq.util.Transform;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * A node of the baked mesh hierarchy with its local transform, custom properties, sub meshes and child nodes
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedNode
+{
+
+	public final static int TRANSFORM_SIZE = 3 + 4 + 3;
+
+	protected final String name;
+	protected final float[] transform = createIdentityTransform();
+	protected final Map<String, Object> properties = new LinkedHashMap<>();
+	protected final List<BakedSubMesh> subMeshes = new ArrayList<>();
+	protected final List<BakedNode> children = new ArrayList<>();
+
+	public BakedNode(String name)
+	{
+		assert name != null : "name != null";
+
+		this.name = name;
+	}
+
+	/**
+	 * @return position 0, rotation identity and scale 1 as px, py, pz, rx, ry, rz, rw, sx, sy, sz
+	 */
+	public static float[] createIdentityTransform()
+	{
+		return new float[]{0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f, 1.0f};
+	}
+
+	/**
+	 * Stores position, rotation and scale of the transform into the baked transform values
+	 *
+	 * @param transform
+	 * @param values
+	 */
+	public static void bakeTransform(Transform transform, float[] values)
+	{
+		assert transform != null : "transform != null";
+		assert values != null : "values != null";
+		assert values.length == TRANSFORM_SIZE : "values.length == TRANSFORM_SIZE";
+
+		Vector3f position = transform.getPosition();
+		Quaternionf rotation = transform.getRotation();
+		Vector3f scale = transform.getScale();
+
+		values[0] = position.x;
+		values[1] = position.y;
+		values[2] = position.z;
+		values[3] = rotation.x;
+		values[4] = rotation.y;
+		values[5] = rotation.z;
+		values[6] = rotation.w;
+		values[7] = scale.x;
+		values[8] = scale.y;
+		values[9] = scale.z;
+	}
+
+	/**
+	 * Sets position, rotation and scale of the transform from the baked transform values
+	 *
+	 * @param values
+	 * @param transform
+	 */
+	public static void restoreTransform(float[] values, Transform transform)
+	{
+		assert values != null : "values != null";
+		assert values.length == TRANSFORM_SIZE : "values.length == TRANSFORM_SIZE";
+		assert transform != null : "transform != null";
+
+		transform.setPosition(new Vector3f(values[0], values[1], values[2]));
+		transform.setRotation(new Quaternionf(values[3], values[4], values[5], values[6]));
+		transform.setScale(new Vector3f(values[7], values[8], values[9]));
+	}
+
+	public void addSubMesh(BakedSubMesh subMesh)
+	{
+		assert subMesh != null : "subMesh != null";
+
+		subMeshes.add(subMesh);
+	}
+
+	public void addChild(BakedNode child)
+	{
+		assert child != null : "child != null";
+
+		children.add(child);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return px, py, pz, rx, ry, rz, rw, sx, sy, sz
+	 */
+	public float[] getTransform()
+	{
+		return transform;
+	}
+
+	public Map<String, Object> getProperties()
+	{
+		return properties;
+	}
+
+	public List<BakedSubMesh> getSubMeshes()
+	{
+		return Collections.unmodifiableList(subMeshes);
+	}
+
+	public List<BakedNode> getChildren()
+	{
+		return Collections.unmodifiableList(children);
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,84 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A vertex stream of a baked sub mesh with components floats per vertex. Read streams are views into the mapped file.
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedStream
+{
+
+	public final static int POSITIONS = 1;
+	public final static int NORMALS = 2;
+	public final static int TEXTURE_COORDS = 3;
+
+	/**
+	 * Positions, normals and texture coords interleaved with 3 + 3 + 2 floats
+	 */
+	public final static int INTERLEAVED = 4;
+
+	protected final int semantic;
+	protected final int components;
+	protected final FloatBuffer data;
+
+	public BakedStream(int semantic, int components, FloatBuffer data)
+	{
+		assert semantic > 0 : "semantic > 0";
+		assert components > 0 : "components > 0";
+		assert data != null : "data != null";
+		assert data.remaining() % components == 0 : "data.remaining() % components == 0";
+
+		this.semantic = semantic;
+		this.components = components;
+		this.data = data;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getSemantic()
+	{
+		return semantic;
+	}
+
+	public int getComponents()
+	{
+		return components;
+	}
+
+	public FloatBuffer getData()
+	{
+		return data;
+	}
+
+	public int getVertexCount()
+	{
+		return data.remaining() / components;
+	}
+	// "Getters/Setters" </editor-fold>
+}
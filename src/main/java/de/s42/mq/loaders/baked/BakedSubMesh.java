@@ -0,0 +1,229 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A baked renderable mesh with its vertex streams, triangle indices, bounds and lod meshes
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedSubMesh
+{
+
+	protected final String name;
+	protected String material;
+	protected int lod = -1;
+	protected float lodDistanceMin = 0.0f;
+	protected float lodDistanceMax = 1000.0f;
+	protected String[] layers = new String[0];
+	protected final float[] transform = BakedNode.createIdentityTransform();
+
+	/**
+	 * minX, minY, minZ, maxX, maxY, maxZ
+	 */
+	protected final float[] bounds = new float[6];
+	protected final Map<String, Object> properties = new LinkedHashMap<>();
+	protected final List<BakedStream> streams = new ArrayList<>();
+	protected IntBuffer indices = IntBuffer.allocate(0);
+	protected final List<BakedSubMesh> lods = new ArrayList<>();
+
+	public BakedSubMesh(String name)
+	{
+		assert name != null : "name != null";
+
+		this.name = name;
+	}
+
+	public void addStream(BakedStream stream)
+	{
+		assert stream != null : "stream != null";
+		assert getStream(stream.getSemantic()) == null : "getStream(stream.getSemantic()) == null";
+
+		streams.add(stream);
+	}
+
+	/**
+	 * @param semantic
+	 *
+	 * @return null if the mesh has no such stream
+	 */
+	public BakedStream getStream(int semantic)
+	{
+		for (BakedStream stream : streams) {
+			if (stream.getSemantic() == semantic) {
+				return stream;
+			}
+		}
+
+		return null;
+	}
+
+	public void addLod(BakedSubMesh lodMesh)
+	{
+		assert lodMesh != null : "lodMesh != null";
+
+		lods.add(lodMesh);
+	}
+
+	/**
+	 * Computes the bounds from the first 3 components of the position or interleaved stream
+	 */
+	public void updateBounds()
+	{
+		BakedStream stream = getStream(BakedStream.POSITIONS);
+		if (stream == null) {
+			stream = getStream(BakedStream.INTERLEAVED);
+		}
+
+		if (stream == null || stream.getVertexCount() == 0) {
+			Arrays.fill(bounds, 0.0f);
+			return;
+		}
+
+		bounds[0] = bounds[1] = bounds[2] = Float.POSITIVE_INFINITY;
+		bounds[3] = bounds[4] = bounds[5] = Float.NEGATIVE_INFINITY;
+
+		FloatBuffer data = stream.getData();
+		int start = data.position();
+		for (int v = 0; v < stream.getVertexCount(); ++v) {
+			int offset = start + v * stream.getComponents();
+			for (int c = 0; c < 3; ++c) {
+				float value = data.get(offset + c);
+				bounds[c] = Math.min(bounds[c], value);
+				bounds[c + 3] = Math.max(bounds[c + 3], value);
+			}
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getMaterial()
+	{
+		return material;
+	}
+
+	public void setMaterial(String material)
+	{
+		this.material = material;
+	}
+
+	public int getLod()
+	{
+		return lod;
+	}
+
+	public void setLod(int lod)
+	{
+		this.lod = lod;
+	}
+
+	public float getLodDistanceMin()
+	{
+		return lodDistanceMin;
+	}
+
+	public void setLodDistanceMin(float lodDistanceMin)
+	{
+		this.lodDistanceMin = lodDistanceMin;
+	}
+
+	public float getLodDistanceMax()
+	{
+		return lodDistanceMax;
+	}
+
+	public void setLodDistanceMax(float lodDistanceMax)
+	{
+		this.lodDistanceMax = lodDistanceMax;
+	}
+
+	public String[] getLayers()
+	{
+		return layers;
+	}
+
+	public void setLayers(String... layers)
+	{
+		assert layers != null : "layers != null";
+
+		this.layers = layers;
+	}
+
+	/**
+	 * @return px, py, pz, rx, ry, rz, rw, sx, sy, sz
+	 */
+	public float[] getTransform()
+	{
+		return transform;
+	}
+
+	public float[] getBounds()
+	{
+		return bounds;
+	}
+
+	public Map<String, Object> getProperties()
+	{
+		return properties;
+	}
+
+	public List<BakedStream> getStreams()
+	{
+		return Collections.unmodifiableList(streams);
+	}
+
+	public IntBuffer getIndices()
+	{
+		return indices;
+	}
+
+	public void setIndices(IntBuffer indices)
+	{
+		assert indices != null : "indices != null";
+		assert indices.remaining() % 3 == 0 : "indices.remaining() % 3 == 0";
+
+		this.indices = indices;
+	}
+
+	public List<BakedSubMesh> getLods()
+	{
+		return Collections.unmodifiableList(lods);
+	}
+	// "Getters/Setters" </editor-fold>
+}
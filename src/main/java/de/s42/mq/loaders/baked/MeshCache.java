@@ -0,0 +1,210 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stores baked meshes in a directory keyed by the hash of the source content and the import settings. Mesh loaders
+ * bake on the first import and load the mapped baked file on later starts. The cache is best effort - failing to read
+ * or write just falls back to importing the source.
+ *
+ * @author Benjamin Schiller
+ */
+public class MeshCache
+{
+
+	private final static Logger log = LogManager.getLogger(MeshCache.class.getName());
+
+	/**
+	 * System property to set the cache directory of the default cache
+	 */
+	public final static String DIRECTORY_PROPERTY = "mq.meshCache";
+
+	public final static String FILE_EXTENSION = ".mqbm";
+
+	protected final static MeshCache defaultCache = new MeshCache(Path.of(System.getProperty(DIRECTORY_PROPERTY,
+		Path.of(System.getProperty("java.io.tmpdir"), "mq-mesh-cache").toString())));
+
+	protected final Path directory;
+	protected boolean enabled = true;
+
+	public MeshCache(Path directory)
+	{
+		assert directory != null : "directory != null";
+
+		this.directory = directory;
+	}
+
+	public static MeshCache getDefault()
+	{
+		return defaultCache;
+	}
+
+	/**
+	 * @param content the source content - its position is not changed
+	 * @param importSettings describes all settings which change the baked result
+	 *
+	 * @return a hex sha-256 of the content, the import settings and the format version
+	 */
+	public static String createKey(ByteBuffer content, String importSettings)
+	{
+		assert content != null : "content != null";
+		assert importSettings != null : "importSettings != null";
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(content.duplicate());
+			digest.update(importSettings.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) BakedMeshWriter.FORMAT_VERSION);
+
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException ex) {
+			throw new RuntimeException("Error creating mesh cache key - " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * @param source the source file - it is mapped and not read into the heap
+	 * @param importSettings describes all settings which change the baked result
+	 *
+	 * @return a hex sha-256 of the source content, the import settings and the format version
+	 *
+	 * @throws IOException
+	 */
+	public static String createKey(Path source, String importSettings) throws IOException
+	{
+		assert source != null : "source != null";
+
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			return createKey(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), importSettings);
+		}
+	}
+
+	public Path getPath(String key)
+	{
+		assert key != null : "key != null";
+
+		return directory.resolve(key + FILE_EXTENSION);
+	}
+
+	/**
+	 * @param key
+	 *
+	 * @return the mapped baked mesh or null if it is not cached or can not be used
+	 */
+	public BakedMesh load(String key)
+	{
+		assert key != null : "key != null";
+
+		// The mapped streams are uploaded as they are which requires the native order to match the file
+		if (!enabled || ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+			return null;
+		}
+
+		Path path = getPath(key);
+
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		try {
+			BakedMesh mesh = BakedMeshReader.read(path);
+
+			if (!key.equals(mesh.getKey())) {
+				throw new IOException("Key mismatch " + mesh.getKey());
+			}
+
+			return mesh;
+		} catch (IOException ex) {
+			log.warn("Removing invalid baked mesh " + path.toAbsolutePath() + " - " + ex.getMessage());
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException ex2) {
+				log.warn("Could not remove baked mesh " + path.toAbsolutePath() + " - " + ex2.getMessage());
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * @param mesh
+	 *
+	 * @return true if the mesh was stored
+	 */
+	public boolean store(BakedMesh mesh)
+	{
+		assert mesh != null : "mesh != null";
+
+		if (!enabled) {
+			return false;
+		}
+
+		Path path = getPath(mesh.getKey());
+
+		try {
+			long startTime = System.nanoTime();
+
+			BakedMeshWriter.write(mesh, path);
+
+			log.debug("Baked mesh " + path.toAbsolutePath() + " in " + ((System.nanoTime() - startTime) / 1000000L) + " ms.");
+
+			return true;
+		} catch (IOException ex) {
+			log.warn("Could not store baked mesh " + path.toAbsolutePath() + " - " + ex.getMessage());
+			return false;
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public Path getDirectory()
+	{
+		return directory;
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -18,14 +18,23 @@ import de.s42.dl.exceptions.DLException;
 import de.s42.dl.exceptions.InvalidInstance;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
+import de.s42.mq.assets.Asset;
 import de.s42.mq.assets.Assets;
+import de.s42.mq.assets.PreparableAsset;
+import de.s42.mq.loaders.baked.BakedMesh;
+import de.s42.mq.loaders.baked.BakedNode;
+import de.s42.mq.loaders.baked.BakedSubMesh;
+import de.s42.mq.loaders.baked.MeshCache;
 import de.s42.mq.materials.Material;
+import de.s42.mq.meshes.Mesh;
 import de.s42.mq.meshes.MeshGroup;
 import de.s42.mq.ui.editor;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,7 +50,7 @@ import static org.lwjgl.assimp.Assimp.*;
  *
  * @author Benjamin Schiller
  */
-public class FbxMesh extends MeshGroup
+public class FbxMesh extends MeshGroup implements PreparableAsset
 {
 
 	@SuppressWarnings("FieldNameHidesFieldInSuperclass")
@@ -55,6 +64,27 @@ public class FbxMesh extends MeshGroup
 		"InheritType"
 	);
 
+	/* @todo might wan to check which of these loading flags should be configurable */
+	//| aiProcess_FindDegenerates
+	//| aiProcess_FindInvalidData
+	//| aiProcess_OptimizeGraph
+	//| aiProcess_RemoveRedundantMaterials
+	//| aiProcess_SortByPType
+	//| aiProcess_ForceGenNormals
+	//| aiProcess_GenNormals
+	//| aiProcess_GenSmoothNormals
+	protected final static int IMPORT_FLAGS =
+		aiProcess_JoinIdenticalVertices
+		| aiProcess_Triangulate
+		| aiProcess_FlipUVs
+		| aiProcess_ImproveCacheLocality
+		| aiProcess_GenNormals
+		| aiProcess_CalcTangentSpace
+		| aiProcess_GenBoundingBoxes;
+
+	// Compensate for FBX Scale with 0.01 scale (Default in FBX is Centimeters -> Here Meters)
+	protected final static float IMPORT_SCALE = 0.01f;
+
 	@AttributeDL(required = true)
 	@isFile
 	@editor(editable = false)
@@ -63,6 +93,24 @@ public class FbxMesh extends MeshGroup
 	@AttributeDL(required = false)
 	protected Assets materials;
 
+	/**
+	 * Stores the processed meshes in the MeshCache on the first import and maps them on later loads
+	 */
+	@AttributeDL(required = false, defaultValue = "true")
+	protected boolean cache = true;
+
+	/**
+	 * Imported scene between prepare and load
+	 */
+	@AttributeDL(ignore = true)
+	protected AIScene scene;
+
+	/**
+	 * Mapped baked mesh between prepare and load
+	 */
+	@AttributeDL(ignore = true)
+	protected BakedMesh bakedMesh;
+
 	public FbxMesh()
 	{
 	}
@@ -80,56 +128,131 @@ public class FbxMesh extends MeshGroup
 		FbxMesh copy = (FbxMesh) super.copy();
 
 		copy.source = source;
+		copy.cache = cache;
 
 		return copy;
 	}
 
+	/**
+	 * Maps the baked meshes from the MeshCache or imports the scene and builds the mesh hierarchy - is thread safe and
+	 * does not need a GL context
+	 *
+	 * @throws DLException
+	 */
 	@Override
-	public void load() throws DLException
+	public synchronized void prepare() throws DLException
 	{
 		assert source != null;
 
-		if (isLoaded()) {
+		if (isPrepared()) {
 			return;
 		}
 
 		long startTime = System.nanoTime();
 
-		/* @todo might wan to check which of these loading flags should be configurable */
-		//| aiProcess_FindDegenerates
-		//| aiProcess_FindInvalidData
-		//| aiProcess_OptimizeGraph
-		//| aiProcess_RemoveRedundantMaterials
-		//| aiProcess_SortByPType
-		//| aiProcess_ForceGenNormals
-		//| aiProcess_GenNormals
-		//| aiProcess_GenSmoothNormals
-		try (AIScene scene = aiImportFile(source.toAbsolutePath().toString(),
-			aiProcess_JoinIdenticalVertices
-			| aiProcess_Triangulate
-			| aiProcess_FlipUVs
-			| aiProcess_ImproveCacheLocality
-			| aiProcess_GenNormals
-			| aiProcess_CalcTangentSpace
-			| aiProcess_GenBoundingBoxes
-		)) {
-			if (scene == null) {
-				throw new IllegalStateException(aiGetErrorString());
+		String cacheKey = null;
+
+		if (cache) {
+			try {
+				cacheKey = MeshCache.createKey(source, "fbx flags=" + IMPORT_FLAGS + " scale=" + IMPORT_SCALE);
+			} catch (IOException ex) {
+				log.warn("Could not create cache key for " + source.toAbsolutePath() + " - " + ex.getMessage());
 			}
-			if (scene.mMeshes() == null) {
+		}
+
+		if (cacheKey != null) {
+
+			BakedMesh baked = MeshCache.getDefault().load(cacheKey);
+
+			if (baked != null) {
+				loadBakedNodes(baked.getRoot());
+				bakedMesh = baked;
+
+				long duration = (System.nanoTime() - startTime) / 1000000L;
+
+				log.debug("Mapped baked " + source.toAbsolutePath() + " in " + duration + " ms.");
+				return;
+			}
+		}
+
+		AIScene importedScene = aiImportFile(source.toAbsolutePath().toString(), IMPORT_FLAGS);
+
+		if (importedScene == null) {
+			throw new IllegalStateException(aiGetErrorString());
+		}
+
+		try {
+			if (importedScene.mMeshes() == null) {
 				throw new InvalidInstance("No meshes found in file " + FilesHelper.createMavenNetbeansFileConsoleLink(source));
 			}
 
-			AINode node = scene.mRootNode();
-			loadMetaData(scene.mMetaData(), this);
-			loadNodes(scene, node);
+			AINode node = importedScene.mRootNode();
+			loadMetaData(importedScene.mMetaData(), this);
+			loadNodes(importedScene, node);
+
+			// Bake while the imported streams are available - the sub meshes release them on load
+			if (cacheKey != null) {
+				MeshCache.getDefault().store(new BakedMesh(cacheKey, bakeNode(getName() != null ? getName() : "root", this)));
+			}
+		} catch (DLException | RuntimeException ex) {
+			importedScene.close();
+			throw ex;
+		}
+
+		scene = importedScene;
+
+		long duration = (System.nanoTime() - startTime) / 1000000L;
+
+		log.debug("Imported " + source.toAbsolutePath() + " with " + scene.mNumMeshes() + " meshes in " + duration + " ms.");
+	}
+
+	@Override
+	public synchronized boolean isPrepared()
+	{
+		return scene != null || bakedMesh != null || isLoaded();
+	}
+
+	@Override
+	public void load() throws DLException
+	{
+		assert source != null;
+
+		if (isLoaded()) {
+			return;
+		}
+
+		long startTime = System.nanoTime();
+
+		// Imports on this thread if it was not prepared by an AssetLoader
+		prepare();
+
+		// The sub meshes upload their data from the scene or the baked mesh
+		try {
 			super.load();
+		} finally {
+			synchronized (this) {
+				if (scene != null) {
+					scene.close();
+					scene = null;
+				}
+				bakedMesh = null;
+			}
+		}
+
+		long duration = (System.nanoTime() - startTime) / 1000000L;
 
-			long duration = (System.nanoTime() - startTime) / 1000000L;
+		//logHierarchy();
+		log.debug("Loaded " + source.toAbsolutePath() + " in " + duration + " ms.");
+	}
 
-			//logHierarchy();
-			log.debug("Loaded " + source.toAbsolutePath() + " with " + scene.mNumMeshes() + " meshes in " + duration + " ms.");
+	@Override
+	public List<Asset> getDependencies()
+	{
+		if (materials == null) {
+			return Collections.emptyList();
 		}
+
+		return List.of(materials);
 	}
 
 	@Override
@@ -330,8 +453,92 @@ public class FbxMesh extends MeshGroup
 
 	protected void loadNodes(AIScene scene, AINode rootNode)
 	{
-		// Compensate for FBX Scale with 0.01 scale (Default in FBX is Centimeters -> Here Meters)
-		loadContainerNode(scene, rootNode, this, new Matrix4f().scale(0.01f));
+		loadContainerNode(scene, rootNode, this, new Matrix4f().scale(IMPORT_SCALE));
+	}
+
+	/**
+	 * Bakes the hierarchy of the container - sub meshes first then the child groups as they are created on import
+	 *
+	 * @param name
+	 * @param container
+	 *
+	 * @return the baked node
+	 *
+	 * @throws DLException
+	 */
+	protected BakedNode bakeNode(String name, MeshGroup container) throws DLException
+	{
+		BakedNode node = new BakedNode(name);
+		BakedNode.bakeTransform(container.getTransform(), node.getTransform());
+		node.getProperties().putAll(container.getCustomProperties());
+
+		for (Mesh mesh : container.getMeshes()) {
+			if (mesh instanceof FbxSubMesh subMesh) {
+				node.addSubMesh(subMesh.bake());
+			}
+		}
+
+		for (Mesh mesh : container.getMeshes()) {
+			if (mesh instanceof MeshGroup group) {
+				node.addChild(bakeNode(group.getName(), group));
+			}
+		}
+
+		return node;
+	}
+
+	/**
+	 * Rebuilds the hierarchy below this mesh from the baked root node
+	 *
+	 * @param root
+	 */
+	protected void loadBakedNodes(BakedNode root)
+	{
+		assert root != null : "root != null";
+
+		// The root properties are the scene metadata
+		for (Map.Entry<String, Object> entry : root.getProperties().entrySet()) {
+			setCustomProperty(entry.getKey(), entry.getValue());
+		}
+
+		loadBakedNode(root, this);
+	}
+
+	protected void loadBakedNode(BakedNode node, MeshGroup container)
+	{
+		for (BakedSubMesh baked : node.getSubMeshes()) {
+			container.addMesh(createSubMesh(baked));
+		}
+
+		for (BakedNode child : node.getChildren()) {
+			MeshGroup group = new MeshGroup();
+			group.setName(child.getName());
+			BakedNode.restoreTransform(child.getTransform(), group.getTransform());
+			group.setCustomProperties(child.getProperties());
+			loadBakedNode(child, group);
+			container.addMesh(group);
+		}
+	}
+
+	protected FbxSubMesh createSubMesh(BakedSubMesh baked)
+	{
+		FbxSubMesh subMesh = new FbxSubMesh();
+		subMesh.setName(baked.getName());
+		subMesh.setBakedMesh(baked);
+		subMesh.setIdentifier(getIdentifier());
+		subMesh.setLayers(baked.getLayers());
+		subMesh.setMaterial((baked.getMaterial() != null) ? findMaterial(baked.getMaterial()) : getMaterial());
+		BakedNode.restoreTransform(baked.getTransform(), subMesh.getTransform());
+		subMesh.setCustomProperties(baked.getProperties());
+		subMesh.setLod(baked.getLod());
+		subMesh.setLodDistanceMin(baked.getLodDistanceMin());
+		subMesh.setLodDistanceMax(baked.getLodDistanceMax());
+
+		for (BakedSubMesh lod : baked.getLods()) {
+			subMesh.addLodMesh(createSubMesh(lod));
+		}
+
+		return subMesh;
 	}
 
 	protected Matrix4f getOriginTransform(Matrix4f nodeTransform, Matrix4f globalTransform)
@@ -429,5 +636,15 @@ public class FbxMesh extends MeshGroup
 	{
 		this.materials = materials;
 	}
+
+	public boolean isCache()
+	{
+		return cache;
+	}
+
+	public void setCache(boolean cache)
+	{
+		this.cache = cache;
+	}
 	// </editor-fold>
 }
@@ -30,9 +30,14 @@ import de.s42.dl.exceptions.InvalidInstance;
 import de.s42.mq.MQColor;
 import de.s42.mq.collision.Collider;
 import de.s42.mq.collision.SphereCollider;
+import de.s42.mq.loaders.baked.BakedNode;
+import de.s42.mq.loaders.baked.BakedStream;
+import de.s42.mq.loaders.baked.BakedSubMesh;
 import de.s42.mq.materials.Material;
 import de.s42.mq.meshes.Mesh;
 import de.s42.mq.meshes.MeshGroup;
+import de.s42.mq.rendering.InstanceBuffer;
+import de.s42.mq.rendering.LodSelector;
 import de.s42.mq.rendering.RenderContext;
 import de.s42.mq.shaders.Shader;
 import static de.s42.mq.shaders.Shader.*;
@@ -86,10 +91,21 @@ public class FbxSubMesh extends Mesh
 
 	protected AIMesh aiMesh;
 
+	/**
+	 * Loaded from the mesh cache instead of the imported aiMesh
+	 */
+	protected BakedSubMesh bakedMesh;
+
 	protected FbxSubMesh[] lods;
 
 	protected FbxSubMesh lod0Mesh;
 
+	/**
+	 * Min and max distance of this and the lod meshes - created on first lod selection, volatile as the selection runs
+	 * in parallel preparation ranges
+	 */
+	protected volatile float[] lodRanges;
+
 	protected final AABB aabb = new AABB();
 
 	protected AABB worldAABB;
@@ -143,13 +159,45 @@ public class FbxSubMesh extends Mesh
 			return;
 		}
 
-		assert aiMesh != null;
+		assert aiMesh != null || bakedMesh != null;
 
 		super.load();
 
 		vao = glGenVertexArrays();
 		glBindVertexArray(vao);
 
+		if (bakedMesh != null) {
+			loadBakedMesh();
+		} else {
+			loadAiMesh();
+		}
+
+		//glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+		glBindVertexArray(0);
+
+		// Set initial instance
+		Matrix4f transf = new Matrix4f();
+		transf.identity();
+		Matrix4x3f tr = transf.get4x3(new Matrix4x3f());
+		tr.get(instanceData, 0);
+		// Tint
+		MQColor tint = MQColor.White;
+		tint.getRGB(instanceData, 12);
+		instanceData[15] = identifier;
+
+		updateInstanceData(1, instanceData);
+
+		if (lods != null) {
+			for (FbxSubMesh lm : lods) {
+				lm.load();
+			}
+		}
+
+		log.trace("Loaded mesh " + (elementCount / 3));
+	}
+
+	protected void loadAiMesh() throws DLException
+	{
 		vertexArrayBuffer = glGenBuffers();
 		glBindBuffer(GL_ARRAY_BUFFER, vertexArrayBuffer);
 		AIVector3D.Buffer vertices = aiMesh.mVertices();
@@ -198,8 +246,6 @@ public class FbxSubMesh extends Mesh
 		glBufferData(GL_ELEMENT_ARRAY_BUFFER, elementArrayBufferData,
 			GL_STATIC_DRAW);
 
-		//glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
-		glBindVertexArray(0);
 		AIAABB aiAabb = aiMesh.mAABB();
 
 		aabb.setMin(new Vector3f(aiAabb.mMin().x(), aiAabb.mMin().y(), aiAabb.mMin().z()));
@@ -207,26 +253,119 @@ public class FbxSubMesh extends Mesh
 
 		//log.debug("AABB", aabb);
 		aiMesh = null;
+	}
 
-		// Set initial instance
-		Matrix4f transf = new Matrix4f();
-		transf.identity();
-		Matrix4x3f tr = transf.get4x3(new Matrix4x3f());
-		tr.get(instanceData, 0);
-		// Tint
-		MQColor tint = MQColor.White;
-		tint.getRGB(instanceData, 12);
-		instanceData[15] = identifier;
+	/**
+	 * Uploads the streams of the baked mesh - they are views of the mapped cache file
+	 */
+	protected void loadBakedMesh()
+	{
+		vertexArrayBuffer = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, vertexArrayBuffer);
+		glBufferData(GL_ARRAY_BUFFER, bakedMesh.getStream(BakedStream.POSITIONS).getData(), GL_STATIC_DRAW);
 
-		updateInstanceData(1, instanceData);
+		glEnableVertexAttribArray(LOCATION_POSITION);
+		glVertexAttribPointer(LOCATION_POSITION, 3, GL_FLOAT, false, 0, 0);
+
+		normalArrayBuffer = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, normalArrayBuffer);
+		BakedStream normals = bakedMesh.getStream(BakedStream.NORMALS);
+		if (normals != null) {
+			glBufferData(GL_ARRAY_BUFFER, normals.getData(), GL_STATIC_DRAW);
+		}
+
+		glEnableVertexAttribArray(LOCATION_NORMAL);
+		glVertexAttribPointer(LOCATION_NORMAL, 3, GL_FLOAT, false, 0, 0);
+
+		uvArrayBuffer = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, uvArrayBuffer);
+		BakedStream uvs = bakedMesh.getStream(BakedStream.TEXTURE_COORDS);
+		int uvComponents = 3;
+		if (uvs != null) {
+			glBufferData(GL_ARRAY_BUFFER, uvs.getData(), GL_STATIC_DRAW);
+			uvComponents = uvs.getComponents();
+		}
+
+		glEnableVertexAttribArray(LOCATION_UV);
+		glVertexAttribPointer(LOCATION_UV, 2, GL_FLOAT, false, uvComponents * 4, 0);
+
+		elementCount = bakedMesh.getIndices().remaining();
+		elementArrayBuffer = glGenBuffers();
+		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, elementArrayBuffer);
+		glBufferData(GL_ELEMENT_ARRAY_BUFFER, bakedMesh.getIndices(), GL_STATIC_DRAW);
+
+		float[] bounds = bakedMesh.getBounds();
+		aabb.setMin(new Vector3f(bounds[0], bounds[1], bounds[2]));
+		aabb.setMax(new Vector3f(bounds[3], bounds[4], bounds[5]));
+
+		bakedMesh = null;
+	}
+
+	/**
+	 * Bakes the streams, indices, bounds and settings of the imported mesh and its lod meshes - has to be called
+	 * before loading as the imported mesh is released then
+	 *
+	 * @return the baked sub mesh
+	 *
+	 * @throws DLException
+	 */
+	public BakedSubMesh bake() throws DLException
+	{
+		assert aiMesh != null : "aiMesh != null";
+
+		BakedSubMesh baked = new BakedSubMesh(getName());
+		baked.setMaterial((material != null) ? material.getName() : null);
+		baked.setLod(getLod());
+		baked.setLodDistanceMin(getLodDistanceMin());
+		baked.setLodDistanceMax(getLodDistanceMax());
+		baked.setLayers(getLayers());
+		baked.getProperties().putAll(getCustomProperties());
+		BakedNode.bakeTransform(getTransform(), baked.getTransform());
+
+		AIVector3D.Buffer vertices = aiMesh.mVertices();
+		baked.addStream(new BakedStream(BakedStream.POSITIONS, 3,
+			MemoryUtil.memFloatBuffer(vertices.address(), vertices.remaining() * 3)));
+
+		AIVector3D.Buffer normals = aiMesh.mNormals();
+		if (normals != null) {
+			baked.addStream(new BakedStream(BakedStream.NORMALS, 3,
+				MemoryUtil.memFloatBuffer(normals.address(), normals.remaining() * 3)));
+		}
+
+		AIVector3D.Buffer uvs = aiMesh.mTextureCoords(0);
+		if (uvs != null) {
+			baked.addStream(new BakedStream(BakedStream.TEXTURE_COORDS, 3,
+				MemoryUtil.memFloatBuffer(uvs.address(), uvs.remaining() * 3)));
+		}
+
+		int faceCount = aiMesh.mNumFaces();
+		IntBuffer indices = IntBuffer.allocate(faceCount * 3);
+		AIFace.Buffer facesBuffer = aiMesh.mFaces();
+		for (int i = 0; i < faceCount; ++i) {
+			AIFace face = facesBuffer.get(i);
+			if (face.mNumIndices() != 3) {
+				throw new InvalidInstance("AIFace.mNumIndices() != 3");
+			}
+			indices.put(face.mIndices());
+		}
+		baked.setIndices(indices.flip());
+
+		AIAABB aiAabb = aiMesh.mAABB();
+		float[] bounds = baked.getBounds();
+		bounds[0] = aiAabb.mMin().x();
+		bounds[1] = aiAabb.mMin().y();
+		bounds[2] = aiAabb.mMin().z();
+		bounds[3] = aiAabb.mMax().x();
+		bounds[4] = aiAabb.mMax().y();
+		bounds[5] = aiAabb.mMax().z();
 
 		if (lods != null) {
 			for (FbxSubMesh lm : lods) {
-				lm.load();
+				baked.addLod(lm.bake());
 			}
 		}
 
-		log.trace("Loaded mesh " + faceCount);
+		return baked;
 	}
 
 	/**
@@ -302,14 +441,24 @@ public class FbxSubMesh extends Mesh
 		instanceData = null;
 
 		if (instanceDataBuffer > -1) {
-			int b = instanceDataBuffer;
-			instanceDataBuffer = -1;
 			glDeleteBuffers(instanceDataBuffer);
+			instanceDataBuffer = -1;
 		}
 	}
 
 	@Override
 	public void render(RenderContext context)
+	{
+		render(context, null);
+	}
+
+	/**
+	 * Renders the mesh instanced with the given persistent instances instead of the own instance data
+	 *
+	 * @param context
+	 * @param instances if null the own instance data is used
+	 */
+	public void render(RenderContext context, InstanceBuffer instances)
 	{
 		assert context != null : "context != null";
 		assert material != null : "material != null";
@@ -317,7 +466,11 @@ public class FbxSubMesh extends Mesh
 		assert material.getShader().isLoaded() : "material.getShader().isLoaded()";
 		assert isLoaded() : "isLoaded()";
 
-		if (instanceRenderCount <= 0) {
+		int renderCount = (instances != null)
+			? instances.getCount()
+			: Math.max(0, Math.min(instanceRenderCount, instanceCount));
+
+		if (renderCount <= 0) {
 			return;
 		}
 
@@ -333,51 +486,57 @@ public class FbxSubMesh extends Mesh
 
 		glBindVertexArray(vao);
 
-		// Instance positions
-		//if (instanceCount > 1 && shader.getInstanceTransformC1Attribute() > -1) {
-		glBindBuffer(GL_ARRAY_BUFFER, instanceDataBuffer);
-		glBufferData(GL_ARRAY_BUFFER, instanceData, GL_DYNAMIC_DRAW);
+		// Instance data is uploaded in updateInstanceData or by the instance buffer - not on every draw
+		if (instances != null) {
+			glBindBuffer(GL_ARRAY_BUFFER, instances.getBuffer());
+			bindInstanceAttributes(instances.getRegionOffset());
+		} else {
+			glBindBuffer(GL_ARRAY_BUFFER, instanceDataBuffer);
+			bindInstanceAttributes(0);
+		}
+
+		glDrawElementsInstanced(GL_TRIANGLES, elementCount, GL_UNSIGNED_INT, 0, renderCount);
+		MQDebug.incDrawCallData(1, renderCount, elementCount * renderCount / 3);
+
+		glBindVertexArray(0);
+
+		shader.afterRendering(context);
+		mat.afterRendering(context);
+	}
 
+	protected void bindInstanceAttributes(long offset)
+	{
 		int stride = INSTANCE_DATA_BYTE_SIZE;
 
 		// layout(location = 3) in vec3 instanceTransformC1;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_TRANSFORM_C1);
-		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C1, 3, GL_FLOAT, false, stride, 0 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C1, 3, GL_FLOAT, false, stride, offset + 0 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_TRANSFORM_C1, 1);
 
 		// layout(location = 4) in vec3 instanceTransformC2;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_TRANSFORM_C2);
-		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C2, 3, GL_FLOAT, false, stride, 1 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C2, 3, GL_FLOAT, false, stride, offset + 1 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_TRANSFORM_C2, 1);
 
 		// layout(location = 5) in vec3 instanceTransformC3;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_TRANSFORM_C3);
-		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C3, 3, GL_FLOAT, false, stride, 2 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C3, 3, GL_FLOAT, false, stride, offset + 2 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_TRANSFORM_C3, 1);
 
 		// layout(location = 6) in vec3 instanceTransformC4;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_TRANSFORM_C4);
-		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C4, 3, GL_FLOAT, false, stride, 3 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_TRANSFORM_C4, 3, GL_FLOAT, false, stride, offset + 3 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_TRANSFORM_C4, 1);
 
 		// layout(location = 7) in vec3 instanceTint;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_TINT);
-		glVertexAttribPointer(LOCATION_INSTANCE_TINT, 3, GL_FLOAT, false, stride, 4 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_TINT, 3, GL_FLOAT, false, stride, offset + 4 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_TINT, 1);
 
 		// layout(location = 8) in float instanceIdentifier;
 		glEnableVertexAttribArray(LOCATION_INSTANCE_IDENTIFIER);
-		glVertexAttribPointer(LOCATION_INSTANCE_IDENTIFIER, 1, GL_FLOAT, false, stride, 5 * 3 * 4);
+		glVertexAttribPointer(LOCATION_INSTANCE_IDENTIFIER, 1, GL_FLOAT, false, stride, offset + 5 * 3 * 4);
 		glVertexAttribDivisor(LOCATION_INSTANCE_IDENTIFIER, 1);
-
-		int renderCount = Math.max(0, Math.min(instanceRenderCount, instanceCount));
-		glDrawElementsInstanced(GL_TRIANGLES, elementCount, GL_UNSIGNED_INT, 0, renderCount);
-		MQDebug.incDrawCallData(1, renderCount, elementCount * renderCount / 3);
-
-		glBindVertexArray(0);
-
-		shader.afterRendering(context);
-		mat.afterRendering(context);
 	}
 
 	/**
@@ -469,6 +628,65 @@ public class FbxSubMesh extends Mesh
 		return null;
 	}
 
+	@Override
+	public FbxSubMesh selectLodMesh(LodSelector selector, float distanceSquared, int[] levels, int index)
+	{
+		assert selector != null : "selector != null";
+		assert levels != null : "levels != null";
+		assert index >= 0 && index < levels.length : "index >= 0 && index < levels.length";
+
+		if (lod == -1) {
+			levels[index] = 0;
+			return this;
+		}
+
+		float[] ranges = lodRanges;
+		if (ranges == null) {
+			ranges = createLodRanges();
+			lodRanges = ranges;
+		}
+
+		int level = selector.selectLevel(distanceSquared, ranges, levels[index]);
+
+		levels[index] = level;
+
+		if (level == LodSelector.NO_LEVEL) {
+			return null;
+		}
+
+		if (level == 0) {
+			return this;
+		}
+
+		// lod0Mesh and identifier of the lod meshes are kept in sync by addLodMesh, copy and setIdentifier
+		return lods[level - 1];
+	}
+
+	protected float[] createLodRanges()
+	{
+		int levelCount = (lods != null) ? lods.length + 1 : 1;
+		float[] ranges = new float[levelCount * 2];
+
+		ranges[0] = lodDistanceMin;
+		ranges[1] = lodDistanceMax;
+
+		for (int level = 1; level < levelCount; ++level) {
+			ranges[level * 2] = lods[level - 1].lodDistanceMin;
+			ranges[level * 2 + 1] = lods[level - 1].lodDistanceMax;
+		}
+
+		return ranges;
+	}
+
+	protected void invalidateLodRanges()
+	{
+		lodRanges = null;
+
+		if (lod0Mesh != null) {
+			lod0Mesh.lodRanges = null;
+		}
+	}
+
 	public void addLodMesh(FbxSubMesh lodMesh)
 	{
 		if (lods != null) {
@@ -490,6 +708,24 @@ public class FbxSubMesh extends Mesh
 		lodMesh.material = material;
 		lodMesh.parent = parent;
 		lodMesh.lod0Mesh = this;
+
+		invalidateLodRanges();
+	}
+
+	@Override
+	public void setLodDistanceMin(float lodDistanceMin)
+	{
+		super.setLodDistanceMin(lodDistanceMin);
+
+		invalidateLodRanges();
+	}
+
+	@Override
+	public void setLodDistanceMax(float lodDistanceMax)
+	{
+		super.setLodDistanceMax(lodDistanceMax);
+
+		invalidateLodRanges();
 	}
 
 	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
@@ -506,6 +742,19 @@ public class FbxSubMesh extends Mesh
 		}
 	}
 
+	@Override
+	public void setIdentifier(int identifier)
+	{
+		super.setIdentifier(identifier);
+
+		// Set identifier to lods
+		if (lods != null) {
+			for (FbxSubMesh lm : lods) {
+				lm.setIdentifier(identifier);
+			}
+		}
+	}
+
 	@Override
 	public void setParent(MeshGroup parent)
 	{
@@ -578,6 +827,16 @@ public class FbxSubMesh extends Mesh
 		this.aiMesh = aiMesh;
 	}
 
+	public BakedSubMesh getBakedMesh()
+	{
+		return bakedMesh;
+	}
+
+	public void setBakedMesh(BakedSubMesh bakedMesh)
+	{
+		this.bakedMesh = bakedMesh;
+	}
+
 	public AABB getLocalAABB()
 	{
 		return new AABB(aabb);
@@ -606,6 +865,8 @@ public class FbxSubMesh extends Mesh
 	public void setLods(FbxSubMesh[] lods)
 	{
 		this.lods = lods;
+
+		invalidateLodRanges();
 	}
 
 	public int getInstanceRenderCount()
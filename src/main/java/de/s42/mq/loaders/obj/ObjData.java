@@ -0,0 +1,133 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.obj;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of the ObjStreamingParser. All data is kept in primitive arrays - positions and normals with 3 floats,
+ * texture positions with 2 floats (v is flipped like in ObjLoader). Each triangle stores 9 ints p1, t1, n1, p2, t2, n2,
+ * p3, t3, n3 as 0 based indices, -1 if the vertex has no texture position or normal.
+ *
+ * @author Benjamin Schiller
+ */
+public class ObjData
+{
+
+	public final static int FACE_SIZE = 9;
+
+	protected final float[] positions;
+	protected final float[] normals;
+	protected final float[] texturePositions;
+	protected final int[] faces;
+	protected final int[] faceMaterials;
+	protected final boolean[] faceSmooth;
+	protected final List<String> materials;
+
+	public ObjData(float[] positions, float[] normals, float[] texturePositions, int[] faces, int[] faceMaterials, boolean[] faceSmooth, List<String> materials)
+	{
+		assert positions != null : "positions != null";
+		assert normals != null : "normals != null";
+		assert texturePositions != null : "texturePositions != null";
+		assert faces != null : "faces != null";
+		assert faceMaterials != null : "faceMaterials != null";
+		assert faceSmooth != null : "faceSmooth != null";
+		assert materials != null : "materials != null";
+		assert faces.length == faceMaterials.length * FACE_SIZE : "faces.length == faceMaterials.length * FACE_SIZE";
+		assert faceSmooth.length == faceMaterials.length : "faceSmooth.length == faceMaterials.length";
+
+		this.positions = positions;
+		this.normals = normals;
+		this.texturePositions = texturePositions;
+		this.faces = faces;
+		this.faceMaterials = faceMaterials;
+		this.faceSmooth = faceSmooth;
+		this.materials = Collections.unmodifiableList(materials);
+	}
+
+	public String getFaceMaterial(int triangle)
+	{
+		return materials.get(faceMaterials[triangle]);
+	}
+
+	public boolean isFaceSmooth(int triangle)
+	{
+		return faceSmooth[triangle];
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public float[] getPositions()
+	{
+		return positions;
+	}
+
+	public float[] getNormals()
+	{
+		return normals;
+	}
+
+	public float[] getTexturePositions()
+	{
+		return texturePositions;
+	}
+
+	public int[] getFaces()
+	{
+		return faces;
+	}
+
+	public int[] getFaceMaterials()
+	{
+		return faceMaterials;
+	}
+
+	public List<String> getMaterials()
+	{
+		return materials;
+	}
+
+	public int getPositionCount()
+	{
+		return positions.length / 3;
+	}
+
+	public int getNormalCount()
+	{
+		return normals.length / 3;
+	}
+
+	public int getTexturePositionCount()
+	{
+		return texturePositions.length / 2;
+	}
+
+	public int getTriangleCount()
+	{
+		return faceMaterials.length;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -126,19 +126,7 @@ public class ObjLoader extends ObjParserBaseListener
 		try {
 			String fileContent = assetManager.getZippedSingleFileSourceAsString(source);
 
-			ObjLoader loader = new ObjLoader();
-
-			ObjParserLexer lexer = new ObjParserLexer(CharStreams.fromString(fileContent));
-			lexer.removeErrorListeners();
-			lexer.addErrorListener(new ErrorHandler());
-			TokenStream tokens = new CommonTokenStream(lexer);
-
-			ObjParserParser parser = new ObjParserParser(tokens);
-			parser.removeErrorListeners();
-			parser.addErrorListener(new ErrorHandler());
-			ObjParserParser.MeshesContext context = parser.meshes();
-			ParseTreeWalker walker = new ParseTreeWalker();
-			walker.walk(loader, context);
+			ObjLoader loader = loadFromString(fileContent);
 
 			log.debug("Loaded "
 				+ loader.faces.size() + " triangles "
@@ -156,4 +144,25 @@ public class ObjLoader extends ObjParserBaseListener
 			throw new RuntimeException("Resource not found " + source + " - " + ex.getMessage(), ex);
 		}
 	}
+
+	static ObjLoader loadFromString(String fileContent)
+	{
+		assert fileContent != null;
+
+		ObjLoader loader = new ObjLoader();
+
+		ObjParserLexer lexer = new ObjParserLexer(CharStreams.fromString(fileContent));
+		lexer.removeErrorListeners();
+		lexer.addErrorListener(new ErrorHandler());
+		TokenStream tokens = new CommonTokenStream(lexer);
+
+		ObjParserParser parser = new ObjParserParser(tokens);
+		parser.removeErrorListeners();
+		parser.addErrorListener(new ErrorHandler());
+		ObjParserParser.MeshesContext context = parser.meshes();
+		ParseTreeWalker walker = new ParseTreeWalker();
+		walker.walk(loader, context);
+
+		return loader;
+	}
 }
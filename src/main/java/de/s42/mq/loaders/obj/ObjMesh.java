@@ -14,12 +14,21 @@ package de.s42.mq.loaders.obj;
 import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.annotations.files.IsFileDLAnnotation.isFile;
 import de.s42.dl.exceptions.DLException;
+import de.s42.mq.assets.PreparableAsset;
+import de.s42.mq.loaders.baked.BakedMesh;
+import de.s42.mq.loaders.baked.BakedNode;
+import de.s42.mq.loaders.baked.BakedStream;
+import de.s42.mq.loaders.baked.BakedSubMesh;
+import de.s42.mq.loaders.baked.MeshCache;
 import de.s42.mq.loaders.fbx.MQDebug;
 import de.s42.mq.materials.Material;
+import de.s42.mq.meshes.IndexedMeshData;
 import de.s42.mq.meshes.Mesh;
+import de.s42.mq.meshes.MeshOptimizer;
 import de.s42.mq.rendering.RenderContext;
 import de.s42.mq.shaders.Shader;
 import de.s42.mq.ui.editor;
+import java.io.IOException;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.file.Path;
@@ -29,13 +38,12 @@ import static org.lwjgl.opengl.GL15.*;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
 import static org.lwjgl.opengl.GL30.*;
-import org.lwjgl.system.MemoryUtil;
 
 /**
  *
  * @author Benjamin Schiller
  */
-public class ObjMesh extends Mesh
+public class ObjMesh extends Mesh implements PreparableAsset
 {
 
 	//private final static Logger log = LogManager.getLogger(ObjMesh.class.getName());
@@ -44,6 +52,26 @@ public class ObjMesh extends Mesh
 	@editor(editable = false)
 	private Path source;
 
+	// x,y,z,nx,ny,nz,u,v
+	public final static int VERTEX_SIZE = 3 + 3 + 2;
+
+	@AttributeDL(required = false, defaultValue = "true")
+	@editor(editable = false, editorGroup = "loader")
+	protected boolean optimize = true;
+
+	/**
+	 * Stores the indexed mesh in the MeshCache on the first load and maps it on later loads
+	 */
+	@AttributeDL(required = false, defaultValue = "true")
+	@editor(editable = false, editorGroup = "loader")
+	protected boolean cache = true;
+
+	/**
+	 * Indexed mesh between prepare and load
+	 */
+	@AttributeDL(ignore = true)
+	protected BakedSubMesh preparedMesh;
+
 	protected int vao = -1;
 	protected int vbo = -1;
 	protected int ibo = -1;
@@ -71,92 +99,221 @@ public class ObjMesh extends Mesh
 		copy.vbo = vbo;
 		copy.ibo = ibo;
 		copy.source = source;
+		copy.optimize = optimize;
+		copy.cache = cache;
 		copy.triangleCount = triangleCount;
 		copy.elementCount = elementCount;
 
 		return copy;
 	}
 
+	/**
+	 * Maps the indexed mesh from the MeshCache or parses and indexes the source - is thread safe and does not need a
+	 * GL context
+	 *
+	 * @throws DLException
+	 */
 	@Override
-	public void load() throws DLException
+	public synchronized void prepare() throws DLException
 	{
 		assert source != null;
 
-		if (isLoaded()) {
+		if (isPrepared()) {
 			return;
 		}
 
-		super.load();
+		String cacheKey = null;
 
-		ObjLoader loader = ObjLoader.loadFromSingleFileZipSource(getAssetManager(), source);
+		if (cache) {
+			try {
+				cacheKey = MeshCache.createKey(source, "obj optimize=" + optimize);
+			} catch (IOException ex) {
+				log.warn("Could not create cache key for " + source.toAbsolutePath() + " - " + ex.getMessage());
+			}
+		}
 
-		vao = glGenVertexArrays();
-		glBindVertexArray(vao);
+		if (cacheKey != null) {
 
-		log.info("Generating mesh");
+			BakedMesh baked = MeshCache.getDefault().load(cacheKey);
 
-		// Generate vertex buffer
-		vbo = glGenBuffers();
-		glBindBuffer(GL_ARRAY_BUFFER, vbo);
-		FloatBuffer fb = MemoryUtil.memAllocFloat(loader.faces.size() * 3 * (3 + 3 + 2));
+			if (baked != null && baked.getRoot().getSubMeshes().size() == 1) {
 
-		ibo = glGenBuffers();
-		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
-		IntBuffer ib = MemoryUtil.memAllocInt(loader.faces.size() * 6);
+				BakedSubMesh subMesh = baked.getRoot().getSubMeshes().get(0);
+				BakedStream vertices = subMesh.getStream(BakedStream.INTERLEAVED);
 
-		for (int i = 0; i < loader.faces.size(); i++) {
+				if (vertices != null && vertices.getComponents() == VERTEX_SIZE) {
+					preparedMesh = subMesh;
+					return;
+				}
+			}
+		}
 
-			//faces.add(new int[]{p1, t1, n1, p2, t2, n2, p3, t3, n3});
-			int face[] = loader.faces.get(i);
+		ObjData data = ObjStreamingParser.loadFromSource(getAssetManager(), source);
 
-			// vertex 1
-			Vector3f pos = loader.positions.get(face[0]);
-			fb.put(pos.x).put(pos.y).put(pos.z);
+		log.info("Generating mesh");
 
-			Vector3f normal = loader.normals.get(face[2]);
-			fb.put(normal.x).put(normal.y).put(normal.z);
+		IndexedMeshData mesh;
 
-			Vector3f textureCoords = loader.texturePositions.get(face[1]);
-			fb.put(textureCoords.x).put(textureCoords.y);
+		if (optimize) {
+			mesh = MeshOptimizer.optimize(createVertices(data), VERTEX_SIZE);
+		} else {
+			int[] indices = new int[data.getTriangleCount() * 3];
+			for (int i = 0; i < indices.length; ++i) {
+				indices[i] = i;
+			}
+			mesh = new IndexedMeshData(createVertices(data), VERTEX_SIZE, indices);
+		}
+
+		log.debug("Indexed mesh", data.getTriangleCount() * 3, mesh.getVertexCount());
+
+		BakedSubMesh subMesh = new BakedSubMesh(source.getFileName().toString());
+		subMesh.addStream(new BakedStream(BakedStream.INTERLEAVED, VERTEX_SIZE, FloatBuffer.wrap(mesh.getVertices())));
+		subMesh.setIndices(IntBuffer.wrap(mesh.getIndices()));
+		subMesh.updateBounds();
+
+		if (cacheKey != null) {
+			BakedNode root = new BakedNode(subMesh.getName());
+			root.addSubMesh(subMesh);
+			MeshCache.getDefault().store(new BakedMesh(cacheKey, root));
+		}
 
-			// vertex 2
-			pos = loader.positions.get(face[3]);
-			fb.put(pos.x).put(pos.y).put(pos.z);
+		preparedMesh = subMesh;
+	}
 
-			normal = loader.normals.get(face[2 + 3]);
-			fb.put(normal.x).put(normal.y).put(normal.z);
+	@Override
+	public synchronized boolean isPrepared()
+	{
+		return preparedMesh != null || isLoaded();
+	}
 
-			textureCoords = loader.texturePositions.get(face[1 + 3]);
-			fb.put(textureCoords.x).put(textureCoords.y);
+	@Override
+	public void load() throws DLException
+	{
+		assert source != null;
 
-			// vertex 3
-			pos = loader.positions.get(face[0 + 6]);
-			fb.put(pos.x).put(pos.y).put(pos.z);
+		if (isLoaded()) {
+			return;
+		}
 
-			normal = loader.normals.get(face[2 + 6]);
-			fb.put(normal.x).put(normal.y).put(normal.z);
+		// Parses on this thread if it was not prepared by an AssetLoader
+		prepare();
 
-			textureCoords = loader.texturePositions.get(face[1 + 6]);
-			fb.put(textureCoords.x).put(textureCoords.y);
+		super.load();
 
-			ib.put(i * 3).put(i * 3 + 1).put(i * 3 + 2);
+		BakedSubMesh mesh;
+		synchronized (this) {
+			mesh = preparedMesh;
+			preparedMesh = null;
 		}
 
-		fb.flip();
-		glBufferData(GL_ARRAY_BUFFER, fb, GL_STATIC_DRAW);
-		MemoryUtil.memFree(fb);
+		vao = glGenVertexArrays();
+		glBindVertexArray(vao);
 
-		ib.flip();
-		glBufferData(GL_ELEMENT_ARRAY_BUFFER, ib, GL_STATIC_DRAW);
-		MemoryUtil.memFree(ib);
+		// Mapped cache streams are direct and uploaded as they are, freshly indexed meshes are heap arrays
+		FloatBuffer vertices = mesh.getStream(BakedStream.INTERLEAVED).getData();
+		vbo = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, vbo);
+		if (vertices.isDirect()) {
+			glBufferData(GL_ARRAY_BUFFER, vertices, GL_STATIC_DRAW);
+		} else {
+			glBufferData(GL_ARRAY_BUFFER, vertices.array(), GL_STATIC_DRAW);
+		}
+
+		IntBuffer indices = mesh.getIndices();
+		ibo = glGenBuffers();
+		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
+		if (indices.isDirect()) {
+			glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+		} else {
+			glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices.array(), GL_STATIC_DRAW);
+		}
 
 		glBindBuffer(GL_ARRAY_BUFFER, 0);
 		glBindVertexArray(0);
 
-		triangleCount = loader.faces.size();
+		triangleCount = indices.remaining() / 3;
 		elementCount = triangleCount * 3;
 	}
 
+	/**
+	 * Creates the non indexed vertices (position, normal, texture coords) of all triangles
+	 *
+	 * @param data
+	 *
+	 * @return 3 vertices per triangle
+	 */
+	public static float[] createVertices(ObjData data)
+	{
+		assert data != null;
+
+		int[] faces = data.getFaces();
+		float[] positions = data.getPositions();
+		float[] normals = data.getNormals();
+		float[] texturePositions = data.getTexturePositions();
+		int faceCount = data.getTriangleCount();
+
+		float[] vertices = new float[faceCount * 3 * VERTEX_SIZE];
+		Vector3f faceNormal = new Vector3f();
+		int o = 0;
+
+		for (int i = 0; i < faceCount; i++) {
+
+			//p1, t1, n1, p2, t2, n2, p3, t3, n3
+			int f = i * ObjData.FACE_SIZE;
+
+			// Faces without normals get their flat face normal
+			if (faces[f + 2] < 0 || faces[f + 5] < 0 || faces[f + 8] < 0) {
+				computeFaceNormal(positions, faces[f] * 3, faces[f + 3] * 3, faces[f + 6] * 3, faceNormal);
+			}
+
+			for (int v = 0; v < 3; ++v) {
+
+				int p = faces[f + v * 3] * 3;
+				vertices[o++] = positions[p];
+				vertices[o++] = positions[p + 1];
+				vertices[o++] = positions[p + 2];
+
+				int n = faces[f + v * 3 + 2];
+				if (n >= 0) {
+					vertices[o++] = normals[n * 3];
+					vertices[o++] = normals[n * 3 + 1];
+					vertices[o++] = normals[n * 3 + 2];
+				} else {
+					vertices[o++] = faceNormal.x;
+					vertices[o++] = faceNormal.y;
+					vertices[o++] = faceNormal.z;
+				}
+
+				int t = faces[f + v * 3 + 1];
+				if (t >= 0) {
+					vertices[o++] = texturePositions[t * 2];
+					vertices[o++] = texturePositions[t * 2 + 1];
+				} else {
+					vertices[o++] = 0.0f;
+					vertices[o++] = 0.0f;
+				}
+			}
+		}
+
+		return vertices;
+	}
+
+	protected static void computeFaceNormal(float[] positions, int a, int b, int c, Vector3f result)
+	{
+		float abX = positions[b] - positions[a];
+		float abY = positions[b + 1] - positions[a + 1];
+		float abZ = positions[b + 2] - positions[a + 2];
+		float acX = positions[c] - positions[a];
+		float acY = positions[c + 1] - positions[a + 1];
+		float acZ = positions[c + 2] - positions[a + 2];
+
+		result.set(abY * acZ - abZ * acY, abZ * acX - abX * acZ, abX * acY - abY * acX);
+
+		if (result.lengthSquared() > 0.0f) {
+			result.normalize();
+		}
+	}
+
 	@Override
 	public void unload() throws DLException
 	{
@@ -232,4 +389,24 @@ public class ObjMesh extends Mesh
 	{
 		this.source = source;
 	}
+
+	public boolean isOptimize()
+	{
+		return optimize;
+	}
+
+	public void setOptimize(boolean optimize)
+	{
+		this.optimize = optimize;
+	}
+
+	public boolean isCache()
+	{
+		return cache;
+	}
+
+	public void setCache(boolean cache)
+	{
+		this.cache = cache;
+	}
 }
@@ -0,0 +1,679 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.obj;
+
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import de.s42.mq.assets.AssetManager;
+import de.s42.mq.util.MQExecutors;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hand written OBJ parser working directly on the bytes of a (memory mapped) ByteBuffer. Numbers are parsed without
+ * creating Strings and written into primitive arrays. Supports polygons (triangulated as fan), relative indices and the
+ * vertex forms v, v/t, v//n and v/t/n. Large inputs are split at line ends into chunks which are parsed in parallel and
+ * merged in order afterwards.
+ *
+ * https://en.wikipedia.org/wiki/Wavefront_.obj_file
+ *
+ * @author Benjamin Schiller
+ */
+public class ObjStreamingParser
+{
+
+	private final static Logger log = LogManager.getLogger(ObjStreamingParser.class.getName());
+
+	public final static String DEFAULT_MATERIAL = "Default";
+	public final static int DEFAULT_PARALLEL_CHUNK_SIZE = 1 << 20;
+
+	// Exact powers of ten in float
+	protected final static float[] POW10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+	// Value of inherited material and smooth state of a chunk until it declares its own
+	protected final static int INHERIT = -1;
+
+	protected int chunkSize = DEFAULT_PARALLEL_CHUNK_SIZE;
+	protected ExecutorService executor = ForkJoinPool.commonPool();
+
+	protected static class FloatList
+	{
+
+		protected float[] data = new float[1024];
+		protected int size;
+
+		protected void add(float value)
+		{
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+	}
+
+	protected static class IntList
+	{
+
+		protected int[] data = new int[1024];
+		protected int size;
+
+		protected void add(int value)
+		{
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+	}
+
+	/**
+	 * Parses one range of lines - indices and states which depend on previous chunks are resolved in merge
+	 */
+	protected static class Chunk implements Callable<Void>
+	{
+
+		protected final ByteBuffer buffer;
+		protected final int start;
+		protected final int end;
+		protected int pos;
+
+		protected final FloatList positions = new FloatList();
+		protected final FloatList normals = new FloatList();
+		protected final FloatList texturePositions = new FloatList();
+		protected final IntList faces = new IntList();
+		protected final IntList faceMaterials = new IntList();
+		protected final IntList faceSmooth = new IntList();
+
+		// Slots in faces holding relative indices which are local to this chunk
+		protected final IntList relativeSlots = new IntList();
+		protected final List<String> materials = new ArrayList<>();
+		protected int currentMaterial = INHERIT;
+		protected int currentSmooth = INHERIT;
+
+		// Vertices of the current polygon
+		protected int[] polygon = new int[3 * 8];
+		protected boolean[] polygonRelative = new boolean[3 * 8];
+
+		protected byte[] scratch = new byte[64];
+
+		protected Chunk(ByteBuffer buffer, int start, int end)
+		{
+			this.buffer = buffer;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Void call()
+		{
+			pos = start;
+
+			while (pos < end) {
+				parseLine();
+			}
+
+			return null;
+		}
+
+		protected void parseLine()
+		{
+			skipSpaces();
+
+			if (pos >= end) {
+				return;
+			}
+
+			byte c = buffer.get(pos);
+			int keywordStart = pos;
+
+			while (pos < end && !isWhitespace(buffer.get(pos))) {
+				pos++;
+			}
+
+			int keywordLength = pos - keywordStart;
+
+			if (c == 'v' && keywordLength == 1) {
+				positions.add(parseFloat());
+				positions.add(parseFloat());
+				positions.add(parseFloat());
+			} else if (c == 'v' && keywordLength == 2 && buffer.get(keywordStart + 1) == 'n') {
+				normals.add(parseFloat());
+				normals.add(parseFloat());
+				normals.add(parseFloat());
+			} else if (c == 'v' && keywordLength == 2 && buffer.get(keywordStart + 1) == 't') {
+				texturePositions.add(parseFloat());
+				texturePositions.add(1.0f - parseFloat());
+			} else if (c == 'f' && keywordLength == 1) {
+				parseFace();
+			} else if (c == 's' && keywordLength == 1) {
+				parseSmooth();
+			} else if (isKeyword(keywordStart, keywordLength, "usemtl")) {
+				parseUseMaterial();
+			}
+
+			// Everything else like comments, objects, groups and mtllib is ignored
+			skipLine();
+		}
+
+		protected void parseFace()
+		{
+			int count = 0;
+
+			skipSpaces();
+
+			while (pos < end && !isLineEnd(buffer.get(pos))) {
+
+				if (count * 3 + 3 > polygon.length) {
+					polygon = Arrays.copyOf(polygon, polygon.length * 2);
+					polygonRelative = Arrays.copyOf(polygonRelative, polygonRelative.length * 2);
+				}
+
+				int slot = count * 3;
+
+				// Position is required, texture position and normal are optional
+				parseIndex(slot, positions.size / 3);
+				polygon[slot + 1] = -1;
+				polygonRelative[slot + 1] = false;
+				polygon[slot + 2] = -1;
+				polygonRelative[slot + 2] = false;
+
+				if (pos < end && buffer.get(pos) == '/') {
+					pos++;
+					if (pos < end && buffer.get(pos) != '/') {
+						parseIndex(slot + 1, texturePositions.size / 2);
+					}
+					if (pos < end && buffer.get(pos) == '/') {
+						pos++;
+						parseIndex(slot + 2, normals.size / 3);
+					}
+				}
+
+				count++;
+				skipSpaces();
+			}
+
+			if (count < 3) {
+				throw new RuntimeException("Face with less than 3 vertices at byte " + pos);
+			}
+
+			// Triangulate as fan
+			for (int i = 1; i < count - 1; ++i) {
+				addVertex(0);
+				addVertex(i * 3);
+				addVertex((i + 1) * 3);
+				faceMaterials.add(currentMaterial);
+				faceSmooth.add(currentSmooth);
+			}
+		}
+
+		protected void addVertex(int slot)
+		{
+			for (int i = 0; i < 3; ++i) {
+				if (polygonRelative[slot + i]) {
+					relativeSlots.add(faces.size);
+				}
+				faces.add(polygon[slot + i]);
+			}
+		}
+
+		protected void parseIndex(int slot, int localCount)
+		{
+			int index = parseInt();
+
+			if (index > 0) {
+				polygon[slot] = index - 1;
+				polygonRelative[slot] = false;
+			} else if (index < 0) {
+				// Relative to the elements defined so far - made absolute when merging the chunks
+				polygon[slot] = localCount + index;
+				polygonRelative[slot] = true;
+			} else {
+				throw new RuntimeException("Invalid index 0 at byte " + pos);
+			}
+		}
+
+		protected void parseSmooth()
+		{
+			skipSpaces();
+
+			// 'off' and '0' disable smoothing, everything else enables it
+			boolean off = isKeyword(pos, 3, "off") || (pos < end && buffer.get(pos) == '0' && (pos + 1 >= end || isWhitespace(buffer.get(pos + 1))));
+
+			currentSmooth = off ? 0 : 1;
+		}
+
+		protected void parseUseMaterial()
+		{
+			skipSpaces();
+
+			int nameStart = pos;
+			while (pos < end && !isWhitespace(buffer.get(pos))) {
+				pos++;
+			}
+
+			String name = readString(nameStart, pos - nameStart);
+
+			int index = materials.indexOf(name);
+			if (index < 0) {
+				index = materials.size();
+				materials.add(name);
+			}
+
+			currentMaterial = index;
+		}
+
+		protected int parseInt()
+		{
+			skipSpaces();
+
+			boolean negative = false;
+			if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+				negative = buffer.get(pos) == '-';
+				pos++;
+			}
+
+			int digitsStart = pos;
+			int value = 0;
+			while (pos < end) {
+				int digit = buffer.get(pos) - '0';
+				if (digit < 0 || digit > 9) {
+					break;
+				}
+				value = value * 10 + digit;
+				pos++;
+			}
+
+			if (pos == digitsStart) {
+				throw new RuntimeException("Expected integer at byte " + pos);
+			}
+
+			return negative ? -value : value;
+		}
+
+		/**
+		 * Parses the float at pos. Numbers with a mantissa up to 2^24 and an exponent up to 10 are exact in float and
+		 * one float division or multiplication is correctly rounded - so the result equals Float.parseFloat. Longer
+		 * numbers are rare in OBJ files and fall back to Float.parseFloat.
+		 */
+		protected float parseFloat()
+		{
+			skipSpaces();
+
+			int numberStart = pos;
+
+			boolean negative = false;
+			if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+				negative = buffer.get(pos) == '-';
+				pos++;
+			}
+
+			long mantissa = 0;
+			int digits = 0;
+			int exponent = 0;
+			boolean fraction = false;
+			boolean anyDigit = false;
+
+			while (pos < end) {
+				byte c = buffer.get(pos);
+
+				if (c >= '0' && c <= '9') {
+					anyDigit = true;
+					// Skip leading zeros so they dont count as significant digits
+					if (mantissa != 0 || c != '0') {
+						if (digits < 18) {
+							mantissa = mantissa * 10 + (c - '0');
+							digits++;
+							if (fraction) {
+								exponent--;
+							}
+						} else if (!fraction) {
+							exponent++;
+						}
+					} else if (fraction) {
+						exponent--;
+					}
+				} else if (c == '.' && !fraction) {
+					fraction = true;
+				} else {
+					break;
+				}
+				pos++;
+			}
+
+			if (!anyDigit) {
+				throw new RuntimeException("Expected number at byte " + pos);
+			}
+
+			if (pos < end && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+				pos++;
+				exponent += parseInt();
+			}
+
+			float value;
+
+			if (mantissa == 0) {
+				value = 0.0f;
+			} else if (mantissa <= (1 << 24) && exponent >= -10 && exponent <= 10) {
+				value = (exponent < 0) ? (float) mantissa / POW10[-exponent] : (float) mantissa * POW10[exponent];
+			} else {
+				return Float.parseFloat(readString(numberStart, pos - numberStart));
+			}
+
+			return negative ? -value : value;
+		}
+
+		protected String readString(int offset, int length)
+		{
+			if (length > scratch.length) {
+				scratch = new byte[length];
+			}
+
+			for (int i = 0; i < length; ++i) {
+				scratch[i] = buffer.get(offset + i);
+			}
+
+			return new String(scratch, 0, length, StandardCharsets.UTF_8);
+		}
+
+		protected boolean isKeyword(int offset, int length, String keyword)
+		{
+			if (length != keyword.length() || offset + length > end) {
+				return false;
+			}
+
+			for (int i = 0; i < length; ++i) {
+				if (buffer.get(offset + i) != keyword.charAt(i)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		protected void skipSpaces()
+		{
+			while (pos < end) {
+				byte c = buffer.get(pos);
+				if (c != ' ' && c != '\t' && c != '\r') {
+					return;
+				}
+				pos++;
+			}
+		}
+
+		protected void skipLine()
+		{
+			while (pos < end && buffer.get(pos) != '\n') {
+				pos++;
+			}
+
+			pos++;
+		}
+
+		protected static boolean isWhitespace(byte c)
+		{
+			return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+		}
+
+		protected static boolean isLineEnd(byte c)
+		{
+			return c == '\n' || c == '#';
+		}
+	}
+
+	public ObjStreamingParser()
+	{
+	}
+
+	public ObjStreamingParser(int chunkSize, ExecutorService executor)
+	{
+		assert chunkSize > 0 : "chunkSize > 0";
+		assert executor != null : "executor != null";
+
+		this.chunkSize = chunkSize;
+		this.executor = executor;
+	}
+
+	/**
+	 * Loads plain .obj files memory mapped and all other sources as zipped single file like ObjLoader
+	 *
+	 * @param assetManager
+	 * @param source
+	 *
+	 * @return the parsed data
+	 */
+	public static ObjData loadFromSource(AssetManager assetManager, Path source)
+	{
+		assert assetManager != null;
+		assert source != null;
+		assert Files.isRegularFile(source);
+
+		try {
+			ByteBuffer buffer = source.getFileName().toString().toLowerCase().endsWith(".obj")
+				? assetManager.getSourceAsByteBuffer(source)
+				: assetManager.getZippedSingleFileSourceAsByteBuffer(source);
+
+			ObjData data = new ObjStreamingParser().parse(buffer);
+
+			log.debug("Loaded "
+				+ data.getTriangleCount() + " triangles "
+				+ data.getPositionCount() + " positions "
+				+ data.getNormalCount() + " normals "
+				+ data.getTexturePositionCount() + " texturePositions"
+				+ " from " + source.toAbsolutePath().toString()
+			);
+
+			return data;
+		} catch (IOException ex) {
+			throw new RuntimeException("Resource not found " + source + " - " + ex.getMessage(), ex);
+		}
+	}
+
+	public ObjData parse(ByteBuffer buffer)
+	{
+		assert buffer != null : "buffer != null";
+
+		List<Chunk> chunks = split(buffer);
+
+		MQExecutors.invokeAll(chunks, executor, "parsing obj");
+
+		return merge(chunks);
+	}
+
+	/**
+	 * Splits the buffer into chunks of about chunkSize bytes ending at line ends
+	 */
+	protected List<Chunk> split(ByteBuffer buffer)
+	{
+		List<Chunk> chunks = new ArrayList<>();
+		int start = buffer.position();
+		int limit = buffer.limit();
+
+		while (start < limit) {
+
+			int end = (int) Math.min((long) start + chunkSize, limit);
+
+			while (end < limit && buffer.get(end - 1) != '\n') {
+				end++;
+			}
+
+			chunks.add(new Chunk(buffer.duplicate(), start, end));
+			start = end;
+		}
+
+		return chunks;
+	}
+
+	protected ObjData merge(List<Chunk> chunks)
+	{
+		int positionCount = 0;
+		int normalCount = 0;
+		int texturePositionCount = 0;
+		int faceCount = 0;
+
+		for (Chunk chunk : chunks) {
+			positionCount += chunk.positions.size;
+			normalCount += chunk.normals.size;
+			texturePositionCount += chunk.texturePositions.size;
+			faceCount += chunk.faceMaterials.size;
+		}
+
+		float[] positions = new float[positionCount];
+		float[] normals = new float[normalCount];
+		float[] texturePositions = new float[texturePositionCount];
+		int[] faces = new int[faceCount * ObjData.FACE_SIZE];
+		int[] faceMaterials = new int[faceCount];
+		boolean[] faceSmooth = new boolean[faceCount];
+
+		List<String> materials = new ArrayList<>();
+		Map<String, Integer> materialIndices = new HashMap<>();
+		materials.add(DEFAULT_MATERIAL);
+		materialIndices.put(DEFAULT_MATERIAL, 0);
+
+		// Element offsets of p, t, n of the current chunk
+		int[] offsets = new int[3];
+		int positionOffset = 0;
+		int normalOffset = 0;
+		int texturePositionOffset = 0;
+		int faceOffset = 0;
+		int currentMaterial = 0;
+		boolean currentSmooth = false;
+
+		for (Chunk chunk : chunks) {
+
+			System.arraycopy(chunk.positions.data, 0, positions, positionOffset, chunk.positions.size);
+			System.arraycopy(chunk.normals.data, 0, normals, normalOffset, chunk.normals.size);
+			System.arraycopy(chunk.texturePositions.data, 0, texturePositions, texturePositionOffset, chunk.texturePositions.size);
+			System.arraycopy(chunk.faces.data, 0, faces, faceOffset * ObjData.FACE_SIZE, chunk.faces.size);
+
+			offsets[0] = positionOffset / 3;
+			offsets[1] = texturePositionOffset / 2;
+			offsets[2] = normalOffset / 3;
+
+			for (int r = 0; r < chunk.relativeSlots.size; ++r) {
+				int slot = chunk.relativeSlots.data[r];
+				faces[faceOffset * ObjData.FACE_SIZE + slot] += offsets[slot % 3];
+			}
+
+			int[] chunkMaterials = new int[chunk.materials.size()];
+			for (int m = 0; m < chunkMaterials.length; ++m) {
+				String material = chunk.materials.get(m);
+				Integer index = materialIndices.get(material);
+				if (index == null) {
+					index = materials.size();
+					materials.add(material);
+					materialIndices.put(material, index);
+				}
+				chunkMaterials[m] = index;
+			}
+
+			for (int f = 0; f < chunk.faceMaterials.size; ++f) {
+
+				int material = chunk.faceMaterials.data[f];
+				if (material != INHERIT) {
+					currentMaterial = chunkMaterials[material];
+				}
+
+				int smooth = chunk.faceSmooth.data[f];
+				if (smooth != INHERIT) {
+					currentSmooth = smooth == 1;
+				}
+
+				faceMaterials[faceOffset + f] = currentMaterial;
+				faceSmooth[faceOffset + f] = currentSmooth;
+			}
+
+			// State changes after the last face of the chunk still apply to the next chunks
+			if (chunk.currentMaterial != INHERIT) {
+				currentMaterial = chunkMaterials[chunk.currentMaterial];
+			}
+			if (chunk.currentSmooth != INHERIT) {
+				currentSmooth = chunk.currentSmooth == 1;
+			}
+
+			positionOffset += chunk.positions.size;
+			normalOffset += chunk.normals.size;
+			texturePositionOffset += chunk.texturePositions.size;
+			faceOffset += chunk.faceMaterials.size;
+		}
+
+		validate(faces, positionCount / 3, texturePositionCount / 2, normalCount / 3);
+
+		return new ObjData(positions, normals, texturePositions, faces, faceMaterials, faceSmooth, materials);
+	}
+
+	protected static void validate(int[] faces, int positionCount, int texturePositionCount, int normalCount)
+	{
+		int[] counts = {positionCount, texturePositionCount, normalCount};
+
+		for (int i = 0; i < faces.length; ++i) {
+			int kind = i % 3;
+			int index = faces[i];
+
+			// Only texture positions and normals are optional
+			if (index >= counts[kind] || index < -1 || (index == -1 && kind == 0)) {
+				throw new RuntimeException("Face index " + index + " out of range in triangle " + (i / ObjData.FACE_SIZE));
+			}
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getChunkSize()
+	{
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize)
+	{
+		assert chunkSize > 0 : "chunkSize > 0";
+
+		this.chunkSize = chunkSize;
+	}
+
+	public ExecutorService getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(ExecutorService executor)
+	{
+		assert executor != null : "executor != null";
+
+		this.executor = executor;
+	}
+	// "Getters/Setters" </editor-fold>
+}
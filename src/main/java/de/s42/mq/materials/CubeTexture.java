@@ -13,12 +13,16 @@ package de.s42.mq.materials;
 
 import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.exceptions.DLException;
+import de.s42.mq.assets.Asset;
 import de.s42.mq.buffers.FrameBuffer;
 import de.s42.mq.cameras.Camera;
 import de.s42.mq.cameras.PerspectiveCamera;
 import de.s42.mq.meshes.Cube;
 import de.s42.mq.rendering.DefaultRenderContext;
+import de.s42.mq.rendering.GLState;
 import de.s42.mq.shaders.EquirectangularToCubemapShader;
+import java.util.Collections;
+import java.util.List;
 import org.joml.Vector3f;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL12.*;
@@ -76,7 +80,7 @@ public class CubeTexture extends Texture
 		assert equirectangularTexture.isLoaded();
 
 		textureId = glGenTextures();
-		glBindTexture(GL_TEXTURE_CUBE_MAP, textureId);
+		GLState.current().bindTexture(GL_TEXTURE_CUBE_MAP, textureId);
 		for (int i = 0; i < 6; ++i) {
 			glTexImage2D(GL_TEXTURE_CUBE_MAP_POSITIVE_X + i, 0, GL_RGB16F, getWidth(), getHeight(), 0, GL_RGB, GL_FLOAT, 0);
 		}
@@ -162,6 +166,16 @@ public class CubeTexture extends Texture
 		equirectangularToCubemapShader.unload();
 	}
 
+	@Override
+	public List<Asset> getDependencies()
+	{
+		if (equirectangularTexture == null) {
+			return Collections.emptyList();
+		}
+
+		return List.of(equirectangularTexture);
+	}
+
 	@Override
 	public void generateMipMap()
 	{
@@ -169,10 +183,10 @@ public class CubeTexture extends Texture
 
 		if (isGenerateMipMap()) {
 
-			glBindTexture(GL_TEXTURE_CUBE_MAP, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_CUBE_MAP, textureId);
 			glHint(GL_GENERATE_MIPMAP_HINT, GL_NICEST);
 			glGenerateMipmap(GL_TEXTURE_CUBE_MAP);
-			glBindTexture(GL_TEXTURE_CUBE_MAP, 0);
+			GLState.current().bindTexture(GL_TEXTURE_CUBE_MAP, 0);
 		}
 	}
 
@@ -15,6 +15,7 @@ import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.annotations.persistence.DontPersistDLAnnotation.dontPersist;
 import de.s42.dl.exceptions.DLException;
 import de.s42.mq.assets.AbstractAsset;
+import de.s42.mq.assets.Asset;
 import de.s42.mq.cameras.Camera;
 import de.s42.mq.core.Copyable;
 import de.s42.mq.rendering.RenderContext;
@@ -22,7 +23,9 @@ import de.s42.mq.shaders.Shader;
 import de.s42.mq.shaders.Shader.CullType;
 import de.s42.mq.ui.editor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -131,6 +134,16 @@ public abstract class Material extends AbstractAsset implements Copyable
 		}
 	}
 
+	@Override
+	public List<Asset> getDependencies()
+	{
+		if (shader == null) {
+			return Collections.emptyList();
+		}
+
+		return List.of(shader);
+	}
+
 	@Override
 	public void unload() throws DLException
 	{
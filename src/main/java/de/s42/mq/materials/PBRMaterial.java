@@ -14,10 +14,14 @@ package de.s42.mq.materials;
 import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.exceptions.DLException;
 import de.s42.mq.MQColor;
+import de.s42.mq.assets.Asset;
+import de.s42.mq.assets.PreparableAsset;
 import de.s42.mq.rendering.RenderContext;
 import de.s42.mq.shaders.PBRShader;
 import de.s42.mq.ui.editor;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
 
@@ -25,7 +29,7 @@ import org.joml.Vector3f;
  *
  * @author Benjamin Schiller
  */
-public class PBRMaterial extends Material
+public class PBRMaterial extends Material implements PreparableAsset
 {
 
 	@AttributeDL(required = false)
@@ -84,6 +88,7 @@ public class PBRMaterial extends Material
 	protected boolean environmentTextureLoaded;
 	protected boolean irradianceTextureLoaded;
 	protected boolean brdfLUTTextureLoaded;
+	protected boolean prepared;
 
 	@editor(editorGroup = "texture")
 	protected MQColor tint = new MQColor(1.0f);
@@ -175,43 +180,117 @@ public class PBRMaterial extends Material
 		return copy;
 	}
 
+	/**
+	 * Creates the textures given by resource and decodes them - is thread safe and does not need a GL context
+	 *
+	 * @throws DLException
+	 */
 	@Override
-	public void load() throws DLException
+	public synchronized void prepare() throws DLException
 	{
-		if (isLoaded()) {
+		if (isPrepared()) {
 			return;
 		}
 
-		super.load();
-
-		// load albedo texture if resource given and no texture
+		// create albedo texture if resource given and no texture
 		if (baseSource != null && getBaseTexture() == null) {
 			baseTexture = new Texture(baseSource);
-			baseTexture.load();
 			baseTextureLoaded = true;
 		}
 
-		// load heromeao texture if resource given and no texture
+		// create heromeao texture if resource given and no texture
 		if (heromeaoSource != null && getHeromeaoTexture() == null) {
 			heromeaoTexture = new Texture(heromeaoSource);
-			heromeaoTexture.load();
 			heromeaoTextureLoaded = true;
 		}
 
-		// load normal texture if resource given and no texture
+		// create normal texture if resource given and no texture
 		if (normalSource != null && getNormalTexture() == null) {
 			normalTexture = new Texture(normalSource);
-			normalTexture.load();
 			normalTextureLoaded = true;
 		}
 
-		// load emtr texture if resource given and no texture
+		// create emtr texture if resource given and no texture
 		if (emtrSource != null && getEmtrTexture() == null) {
 			emtrTexture = new Texture(emtrSource);
-			emtrTexture.load();
 			emtrTextureLoaded = true;
 		}
 
+		// create bdrf lut texture if resource given and no texture
+		if (brdfLUTSource != null && getBrdfLUTTexture() == null) {
+			brdfLUTTexture = new Texture(brdfLUTSource);
+			brdfLUTTextureLoaded = true;
+		}
+
+		for (Texture texture : getOwnedTextures()) {
+			texture.prepare();
+		}
+
+		prepared = true;
+	}
+
+	@Override
+	public synchronized boolean isPrepared()
+	{
+		return prepared || isLoaded();
+	}
+
+	protected List<Texture> getOwnedTextures()
+	{
+		List<Texture> textures = new ArrayList<>();
+
+		if (baseTextureLoaded) {
+			textures.add(baseTexture);
+		}
+		if (heromeaoTextureLoaded) {
+			textures.add(heromeaoTexture);
+		}
+		if (normalTextureLoaded) {
+			textures.add(normalTexture);
+		}
+		if (emtrTextureLoaded) {
+			textures.add(emtrTexture);
+		}
+		if (brdfLUTTextureLoaded) {
+			textures.add(brdfLUTTexture);
+		}
+
+		return textures;
+	}
+
+	/**
+	 * The textures set from outside have to be loaded before
+	 */
+	@Override
+	public List<Asset> getDependencies()
+	{
+		List<Asset> dependencies = new ArrayList<>(super.getDependencies());
+
+		for (Texture texture : new Texture[]{baseTexture, heromeaoTexture, normalTexture, emtrTexture, environmentTexture, irradianceTexture, brdfLUTTexture}) {
+			if (texture != null) {
+				dependencies.add(texture);
+			}
+		}
+
+		return dependencies;
+	}
+
+	@Override
+	public void load() throws DLException
+	{
+		if (isLoaded()) {
+			return;
+		}
+
+		// Decodes on this thread if it was not prepared by an AssetLoader
+		prepare();
+
+		super.load();
+
+		for (Texture texture : getOwnedTextures()) {
+			texture.load();
+		}
+
 		// load environment texture if resource given and no texture
 		if (environmentSource != null && getEnvironmentTexture() == null) {
 			environmentTexture = new CubeTexture();
@@ -227,13 +306,6 @@ public class PBRMaterial extends Material
 			irradianceTexture.load();
 			irradianceTextureLoaded = true;
 		}
-
-		// load bdrf lut texture if resource given and no texture
-		if (brdfLUTSource != null && getBrdfLUTTexture() == null) {
-			brdfLUTTexture = new Texture(brdfLUTSource);
-			brdfLUTTexture.load();
-			brdfLUTTextureLoaded = true;
-		}
 	}
 
 	@Override
@@ -285,6 +357,8 @@ public class PBRMaterial extends Material
 			brdfLUTTextureLoaded = false;
 		}
 
+		prepared = false;
+
 		super.unload();
 	}
 
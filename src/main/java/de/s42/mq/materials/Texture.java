@@ -19,6 +19,8 @@ import de.s42.log.LogManager;
 import de.s42.log.Logger;
 import de.s42.mq.MQColor;
 import de.s42.mq.assets.AbstractAsset;
+import de.s42.mq.assets.PreparableAsset;
+import de.s42.mq.rendering.GLState;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
@@ -41,7 +43,7 @@ import org.lwjgl.system.MemoryStack;
  *
  * @author Benjamin Schiller
  */
-public class Texture extends AbstractAsset
+public class Texture extends AbstractAsset implements PreparableAsset
 {
 
 	private final static Logger log = LogManager.getLogger(Texture.class.getName());
@@ -99,6 +101,12 @@ public class Texture extends AbstractAsset
 	@dontPersist
 	protected int textureId = -1;
 
+	/**
+	 * Decoded image data between prepare and load
+	 */
+	@AttributeDL(ignore = true)
+	protected Buffer preparedData;
+
 	public enum TextureFormat
 	{
 		RED(GL_RED, 1),
@@ -194,6 +202,59 @@ public class Texture extends AbstractAsset
 		this.source = source;
 	}
 
+	/**
+	 * Decodes the source image - is thread safe and does not need a GL context
+	 *
+	 * @throws DLException
+	 */
+	@Override
+	public synchronized void prepare() throws DLException
+	{
+		if (isPrepared()) {
+			return;
+		}
+
+		log.trace("Preparing", getSource());
+
+		try (MemoryStack frame = MemoryStack.stackPush()) {
+			IntBuffer widthB = frame.mallocInt(1);
+			IntBuffer heightB = frame.mallocInt(1);
+			IntBuffer components = frame.mallocInt(1);
+
+			// in case of loading hdr into non hdr buffers ...
+			//stbi_hdr_to_ldr_gamma(10.0f);
+			//stbi_hdr_to_ldr_scale(10.0f);
+			Buffer data;
+			try {
+				if (dataType == TextureType.FLOAT) {
+					data = stbi_loadf_from_memory(
+						getAssetManager().getSourceAsByteBuffer(source), widthB, heightB, components,
+						internalFormat.channels);
+				} else {
+					data = stbi_load_from_memory(
+						getAssetManager().getSourceAsByteBuffer(source), widthB, heightB, components,
+						internalFormat.channels);
+				}
+			} catch (IOException ex) {
+				throw new RuntimeException("Error loading texture " + getSource() + " - " + ex.getMessage(), ex);
+			}
+
+			if (data == null) {
+				throw new RuntimeException("Error loading texture " + getSource() + " - " + stbi_failure_reason());
+			}
+
+			width = widthB.get();
+			height = heightB.get();
+			preparedData = data;
+		}
+	}
+
+	@Override
+	public synchronized boolean isPrepared()
+	{
+		return getSource() == null || preparedData != null || isLoaded();
+	}
+
 	@Override
 	public void load() throws DLException
 	{
@@ -210,88 +271,67 @@ public class Texture extends AbstractAsset
 			return;
 		}
 
+		// Decodes on this thread if it was not prepared by an AssetLoader
+		prepare();
+
 		super.load();
 
-		GLCapabilities caps = GL.createCapabilities();
+		GLCapabilities caps = GL.getCapabilities();
 
 		log.trace("Loading", getSource());
 
-		try (MemoryStack frame = MemoryStack.stackPush()) {
-			IntBuffer widthB = frame.mallocInt(1);
-			IntBuffer heightB = frame.mallocInt(1);
-			IntBuffer components = frame.mallocInt(1);
-			Buffer data;
+		textureId = glGenTextures();
+		GLState.current().activeTexture(0);
+		GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 
-			// in case of loading hdr into non hdr buffers ...
-			//stbi_hdr_to_ldr_gamma(10.0f);
-			//stbi_hdr_to_ldr_scale(10.0f);
-			textureId = glGenTextures();
-			glActiveTexture(GL_TEXTURE0);
-			glBindTexture(GL_TEXTURE_2D, textureId);
-
-			if (getSource() != null) {
-
-				if (dataType == TextureType.FLOAT) {
-					try {
-						data = stbi_loadf_from_memory(
-							getAssetManager().getSourceAsByteBuffer(source), widthB, heightB, components,
-							internalFormat.channels);
-					} catch (IOException ex) {
-						throw new RuntimeException("Error loading texture " + getSource() + " - " + ex.getMessage(), ex);
-					}
-				} else {
-					try {
-						data = stbi_load_from_memory(
-							getAssetManager().getSourceAsByteBuffer(source), widthB, heightB, components,
-							internalFormat.channels);
-					} catch (IOException ex) {
-						throw new RuntimeException("Error loading texture " + getSource() + " - " + ex.getMessage(), ex);
-					}
-				}
-				width = widthB.get();
-				height = heightB.get();
+		if (getSource() != null) {
 
-				if (dataType == TextureType.FLOAT) {
-					glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, (FloatBuffer) data);
-					stbi_image_free((FloatBuffer) data);
-				} else {
-					glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, (ByteBuffer) data);
-					stbi_image_free((ByteBuffer) data);
-				}
-			} // create empty texture
-			else {
-				glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, 0);
+			Buffer data;
+			synchronized (this) {
+				data = preparedData;
+				preparedData = null;
 			}
 
-			if (enableAnisotropic && caps.GL_EXT_texture_filter_anisotropic) {
-				float val = Math.min(4f, glGetFloat(GL_TEXTURE_MAX_ANISOTROPY_EXT));
-				glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_MAX_ANISOTROPY_EXT, val);
+			if (dataType == TextureType.FLOAT) {
+				glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, (FloatBuffer) data);
+				stbi_image_free((FloatBuffer) data);
+			} else {
+				glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, (ByteBuffer) data);
+				stbi_image_free((ByteBuffer) data);
 			}
+		} // create empty texture
+		else {
+			glTexImage2D(GL_TEXTURE_2D, 0, internalFormat.glFormat, width, height, 0, format.glFormat, dataType.glFormat, 0);
+		}
 
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_R, wrapR.glFormat);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, wrapS.glFormat);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, wrapT.glFormat);
+		if (enableAnisotropic && caps.GL_EXT_texture_filter_anisotropic) {
+			float val = Math.min(4f, glGetFloat(GL_TEXTURE_MAX_ANISOTROPY_EXT));
+			glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_MAX_ANISOTROPY_EXT, val);
+		}
 
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_LOD, minLod);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LOD, maxLod);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, maxMipLevel);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_BASE_LEVEL, 0);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_R, wrapR.glFormat);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, wrapS.glFormat);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, wrapT.glFormat);
 
-			glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_LOD_BIAS, lodBias);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_LOD, minLod);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LOD, maxLod);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, maxMipLevel);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_BASE_LEVEL, 0);
 
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, getMinFilter().glFormat);
-			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, getMagFilter().glFormat);
+		glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_LOD_BIAS, lodBias);
 
-			glTexParameterfv(GL_TEXTURE_2D, GL_TEXTURE_BORDER_COLOR, borderColor.getAsArray());
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, getMinFilter().glFormat);
+		glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, getMagFilter().glFormat);
 
-			if (generateMipMap) {
-				glHint(GL_GENERATE_MIPMAP_HINT, GL_NICEST);
-				glGenerateMipmap(GL_TEXTURE_2D);
-			}
+		glTexParameterfv(GL_TEXTURE_2D, GL_TEXTURE_BORDER_COLOR, borderColor.getAsArray());
 
-			glBindTexture(GL_TEXTURE_2D, 0);
+		if (generateMipMap) {
+			glHint(GL_GENERATE_MIPMAP_HINT, GL_NICEST);
+			glGenerateMipmap(GL_TEXTURE_2D);
 		}
 
+		GLState.current().bindTexture(GL_TEXTURE_2D, 0);
+
 		log.trace("Loaded success", getSource(), getWidth(), getHeight(), getTextureId());
 	}
 
@@ -301,10 +341,10 @@ public class Texture extends AbstractAsset
 
 		if (isGenerateMipMap()) {
 
-			glBindTexture(GL_TEXTURE_2D, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 			glHint(GL_GENERATE_MIPMAP_HINT, GL_NICEST);
 			glGenerateMipmap(GL_TEXTURE_2D);
-			glBindTexture(GL_TEXTURE_2D, 0);
+			GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		}
 	}
 
@@ -315,7 +355,7 @@ public class Texture extends AbstractAsset
 			return;
 		}
 
-		glDeleteTextures(textureId);
+		GLState.current().deleteTexture(textureId);
 		textureId = -1;
 
 		super.unload();
@@ -495,10 +535,10 @@ public class Texture extends AbstractAsset
 		this.maxMipLevel = maxMipLevel;
 
 		if (isLoaded()) {
-			glBindTexture(GL_TEXTURE_2D, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LOD, maxMipLevel);
 			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, maxMipLevel);
-			glBindTexture(GL_TEXTURE_2D, 0);
+			GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		}
 	}
 
@@ -514,9 +554,9 @@ public class Texture extends AbstractAsset
 		this.minLod = minLod;
 
 		if (isLoaded()) {
-			glBindTexture(GL_TEXTURE_2D, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_LOD, minLod);
-			glBindTexture(GL_TEXTURE_2D, 0);
+			GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		}
 	}
 
@@ -532,9 +572,9 @@ public class Texture extends AbstractAsset
 		this.maxLod = maxLod;
 
 		if (isLoaded()) {
-			glBindTexture(GL_TEXTURE_2D, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 			glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LOD, maxLod);
-			glBindTexture(GL_TEXTURE_2D, 0);
+			GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		}
 	}
 
@@ -549,9 +589,9 @@ public class Texture extends AbstractAsset
 
 		if (isLoaded()) {
 
-			glBindTexture(GL_TEXTURE_2D, textureId);
+			GLState.current().bindTexture(GL_TEXTURE_2D, textureId);
 			glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_LOD_BIAS, lodBias);
-			glBindTexture(GL_TEXTURE_2D, 0);
+			GLState.current().bindTexture(GL_TEXTURE_2D, 0);
 		}
 	}
 
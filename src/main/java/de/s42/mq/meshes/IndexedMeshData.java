@@ -0,0 +1,79 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+/**
+ * Interleaved vertices with vertexSize floats per vertex and triangle indices into them
+ *
+ * @author Benjamin Schiller
+ */
+public class IndexedMeshData
+{
+
+	protected final float[] vertices;
+	protected final int vertexSize;
+	protected final int[] indices;
+
+	public IndexedMeshData(float[] vertices, int vertexSize, int[] indices)
+	{
+		assert vertices != null : "vertices != null";
+		assert indices != null : "indices != null";
+		assert vertexSize > 0 : "vertexSize > 0";
+		assert vertices.length % vertexSize == 0 : "vertices.length % vertexSize == 0";
+		assert indices.length % 3 == 0 : "indices.length % 3 == 0";
+
+		this.vertices = vertices;
+		this.vertexSize = vertexSize;
+		this.indices = indices;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public float[] getVertices()
+	{
+		return vertices;
+	}
+
+	public int getVertexSize()
+	{
+		return vertexSize;
+	}
+
+	public int[] getIndices()
+	{
+		return indices;
+	}
+
+	public int getVertexCount()
+	{
+		return vertices.length / vertexSize;
+	}
+
+	public int getTriangleCount()
+	{
+		return indices.length / 3;
+	}
+	// "Getters/Setters" </editor-fold>
+}
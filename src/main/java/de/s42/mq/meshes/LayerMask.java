@@ -0,0 +1,135 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns layer names to bits so layer tests are a single and on masks. The bits are assigned on first use and are
+ * stable for the lifetime of the application.
+ *
+ * @author Benjamin Schiller
+ */
+public final class LayerMask
+{
+
+	public final static int MAX_LAYERS = Long.SIZE;
+
+	protected final static ConcurrentHashMap<String, Long> masks = new ConcurrentHashMap<>();
+
+	private LayerMask()
+	{
+		// never instantiated
+	}
+
+	/**
+	 * @param layer
+	 *
+	 * @return the bit of the layer - assigns a new one if the layer was not used before
+	 *
+	 * @throws IllegalStateException if all bits are assigned already
+	 */
+	public static long getMask(String layer)
+	{
+		assert layer != null : "layer != null";
+
+		Long mask = masks.get(layer);
+
+		if (mask != null) {
+			return mask;
+		}
+
+		synchronized (masks) {
+
+			mask = masks.get(layer);
+
+			if (mask == null) {
+
+				if (masks.size() >= MAX_LAYERS) {
+					throw new IllegalStateException("Can not add layer " + layer + " - only " + MAX_LAYERS + " layers are supported");
+				}
+
+				mask = 1L << masks.size();
+				masks.put(layer, mask);
+			}
+
+			return mask;
+		}
+	}
+
+	/**
+	 * @param layers
+	 *
+	 * @return the bits of all given layers or 0 if no layers are given
+	 */
+	public static long getMask(String... layers)
+	{
+		long mask = 0L;
+
+		if (layers != null) {
+			for (String layer : layers) {
+				mask |= getMask(layer);
+			}
+		}
+
+		return mask;
+	}
+
+	/**
+	 * @param layers
+	 *
+	 * @return the bits of all given layers or 0 if no layers are given
+	 */
+	public static long getMask(Collection<String> layers)
+	{
+		long mask = 0L;
+
+		if (layers != null) {
+			for (String layer : layers) {
+				mask |= getMask(layer);
+			}
+		}
+
+		return mask;
+	}
+
+	/**
+	 * Does not assign a bit for unknown layers - use it for queries which should not grow the layer set.
+	 *
+	 * @param layer
+	 *
+	 * @return the bit of the layer or 0 if the layer was never used
+	 */
+	public static long findMask(String layer)
+	{
+		assert layer != null : "layer != null";
+
+		Long mask = masks.get(layer);
+
+		return (mask != null) ? mask : 0L;
+	}
+}
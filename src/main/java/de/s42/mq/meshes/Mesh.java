@@ -19,6 +19,7 @@ import de.s42.mq.cameras.Camera;
 import de.s42.mq.collision.Collider;
 import de.s42.mq.core.Copyable;
 import de.s42.mq.materials.Material;
+import de.s42.mq.rendering.LodSelector;
 import de.s42.mq.rendering.RenderContext;
 import de.s42.mq.ui.editor;
 import de.s42.mq.util.AABB;
@@ -91,6 +92,9 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 	@AttributeDL(ignore = true)
 	protected final List<String> layersAsList = new ArrayList();
 
+	@AttributeDL(ignore = true)
+	protected long layerMask;
+
 	@AttributeDL(ignore = true)
 	protected Camera camera;
 
@@ -114,6 +118,7 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 			copy.identifier = identifier;
 			copy.layers = layers;
 			copy.layersAsList.addAll(layersAsList);
+			copy.layerMask = layerMask;
 			copy.customProperties.putAll(customProperties);
 			copy.lod = lod;
 			copy.lodDistanceMin = lodDistanceMin;
@@ -187,6 +192,30 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 		return this;
 	}
 
+	/**
+	 * Selects the lod mesh to render - by default with getLodMesh and the scaled distance. The level selected in the
+	 * last frame is kept by the caller per view in levels[index] and gets replaced by the selected level.
+	 *
+	 * @param selector
+	 * @param distanceSquared squared distance of the camera to this mesh
+	 * @param levels lod levels of the view
+	 * @param index index of this mesh in levels
+	 *
+	 * @return the mesh to render or null if no lod is in range
+	 */
+	public Mesh selectLodMesh(LodSelector selector, float distanceSquared, int[] levels, int index)
+	{
+		assert selector != null : "selector != null";
+		assert levels != null : "levels != null";
+		assert index >= 0 && index < levels.length : "index >= 0 && index < levels.length";
+
+		Mesh lodMesh = getLodMesh(selector.getScaledDistance(distanceSquared));
+
+		levels[index] = (lodMesh != null) ? 0 : LodSelector.NO_LEVEL;
+
+		return lodMesh;
+	}
+
 	public Matrix4f getModelMatrix()
 	{
 		return transform.getMatrix();
@@ -363,6 +392,21 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 		if (layers != null) {
 			layersAsList.addAll(Arrays.asList(layers));
 		}
+
+		long mask = LayerMask.getMask(layers);
+
+		if (mask != layerMask) {
+			layerMask = mask;
+			updateRegistries();
+		}
+	}
+
+	/**
+	 * @return the bits of the layers of this mesh - see {@link LayerMask}
+	 */
+	public long getLayerMask()
+	{
+		return layerMask;
 	}
 
 	public void addLayer(String layer)
@@ -404,27 +448,48 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 
 	public boolean containsLayer(String layer)
 	{
-		if (layersAsList.isEmpty()) {
-			return false;
+		return (layerMask & LayerMask.findMask(layer)) != 0L;
+	}
+
+	public boolean containsLayers(List<String> layers)
+	{
+		if (layers == null || layers.isEmpty()) {
+			return layerMask == 0L;
 		}
 
-		return layersAsList.contains(layer);
+		long mask = 0L;
+		for (String layer : layers) {
+			mask |= LayerMask.findMask(layer);
+		}
+
+		return (layerMask & mask) != 0L;
 	}
 
-	public boolean containsLayers(List<String> layers)
+	/**
+	 * @param mask see {@link LayerMask}
+	 *
+	 * @return true if this mesh is in at least one of the layers or if both have no layers
+	 */
+	public boolean containsLayers(long mask)
 	{
 		// both empty -> true
-		if ((layers == null || layers.isEmpty())
-			&& layersAsList.isEmpty()) {
-			return true;
+		if (mask == 0L) {
+			return layerMask == 0L;
 		}
 
-		if (layersAsList.isEmpty()) {
-			return false;
-		}
+		return (layerMask & mask) != 0L;
+	}
 
-		// @todo optimize comparing the layer lists possible?
-		return !Collections.disjoint(layers, layersAsList);
+	/**
+	 * Lets the registries of the parent groups know that the layers or the enabled state changed
+	 */
+	protected void updateRegistries()
+	{
+		for (MeshGroup group = parent; group != null; group = group.parent) {
+			if (group.registry != null) {
+				group.registry.update(this);
+			}
+		}
 	}
 
 	@Override
@@ -452,7 +517,12 @@ public abstract class Mesh<ChildType extends Object> extends AbstractAsset imple
 
 	public void setEnabled(boolean enabled)
 	{
+		if (this.enabled == enabled) {
+			return;
+		}
+
 		this.enabled = enabled;
+		updateRegistries();
 	}
 
 	public MeshGroup getParent()
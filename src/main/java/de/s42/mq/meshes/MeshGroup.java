@@ -38,6 +38,8 @@ public class MeshGroup extends Mesh
 
 	protected final List<Mesh> meshes = new ArrayList<>();
 
+	protected MeshRegistry registry;
+
 	@Override
 	public MeshGroup copy()
 	{
@@ -150,6 +152,12 @@ public class MeshGroup extends Mesh
 
 		mesh.setParent(this);
 		meshes.add(mesh);
+
+		for (MeshGroup group = this; group != null; group = group.parent) {
+			if (group.registry != null) {
+				group.registry.add(mesh);
+			}
+		}
 	}
 
 	public void removeMesh(Mesh mesh)
@@ -158,13 +166,42 @@ public class MeshGroup extends Mesh
 
 		mesh.setParent(null);
 		meshes.remove(mesh);
+
+		removeFromRegistries(mesh);
 	}
 
 	public void clearMeshes()
 	{
+		for (Mesh mesh : meshes) {
+			removeFromRegistries(mesh);
+		}
+
 		meshes.clear();
 	}
 
+	protected void removeFromRegistries(Mesh mesh)
+	{
+		for (MeshGroup group = this; group != null; group = group.parent) {
+			if (group.registry != null) {
+				group.registry.remove(mesh);
+			}
+		}
+	}
+
+	/**
+	 * The registry is created on first access and from then on kept up to date with the meshes of this group
+	 *
+	 * @return the registry of the enabled meshes by layer of this group
+	 */
+	public MeshRegistry getRegistry()
+	{
+		if (registry == null) {
+			registry = new MeshRegistry(this);
+		}
+
+		return registry;
+	}
+
 	public void unloadAndClearMeshes() throws DLException
 	{
 		unloadMeshes();
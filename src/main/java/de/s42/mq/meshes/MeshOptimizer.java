@@ -0,0 +1,378 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+import java.util.Arrays;
+
+/**
+ * Mesh processing on plain arrays - deduplicates vertices into an indexed mesh, reorders triangles for the post
+ * transform vertex cache (Tom Forsyth, Linear-Speed Vertex Cache Optimisation) and reorders vertices for fetch locality.
+ *
+ * @author Benjamin Schiller
+ */
+public final class MeshOptimizer
+{
+
+	public final static int DEFAULT_CACHE_SIZE = 32;
+
+	protected final static float CACHE_DECAY_POWER = 1.5f;
+	protected final static float LAST_TRIANGLE_SCORE = 0.75f;
+	protected final static float VALENCE_BOOST_SCALE = 2.0f;
+	protected final static float VALENCE_BOOST_POWER = 0.5f;
+
+	private MeshOptimizer()
+	{
+		// Never instantiated
+	}
+
+	/**
+	 * Merges bitwise identical vertices of a non indexed triangle list
+	 *
+	 * @param vertices interleaved vertices - 3 consecutive vertices form a triangle
+	 * @param vertexSize floats per vertex
+	 *
+	 * @return indexed mesh with each distinct vertex once in order of first occurrence
+	 */
+	public static IndexedMeshData deduplicate(float[] vertices, int vertexSize)
+	{
+		assert vertices != null : "vertices != null";
+		assert vertexSize > 0 : "vertexSize > 0";
+		assert vertices.length % (vertexSize * 3) == 0 : "vertices.length % (vertexSize * 3) == 0";
+
+		int vertexCount = vertices.length / vertexSize;
+
+		int[] indices = new int[vertexCount];
+		float[] unique = new float[vertices.length];
+		int uniqueCount = 0;
+
+		// Open addressing table of unique vertex indices
+		int tableSize = Integer.highestOneBit(Math.max(vertexCount, 1) * 2) * 2;
+		int mask = tableSize - 1;
+		int[] table = new int[tableSize];
+		Arrays.fill(table, -1);
+
+		for (int v = 0; v < vertexCount; ++v) {
+
+			int offset = v * vertexSize;
+			int slot = hash(vertices, offset, vertexSize) & mask;
+
+			while (true) {
+				int candidate = table[slot];
+
+				if (candidate == -1) {
+					System.arraycopy(vertices, offset, unique, uniqueCount * vertexSize, vertexSize);
+					table[slot] = uniqueCount;
+					indices[v] = uniqueCount;
+					uniqueCount++;
+					break;
+				}
+
+				if (equals(unique, candidate * vertexSize, vertices, offset, vertexSize)) {
+					indices[v] = candidate;
+					break;
+				}
+
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		return new IndexedMeshData(Arrays.copyOf(unique, uniqueCount * vertexSize), vertexSize, indices);
+	}
+
+	/**
+	 * Reorders the triangles to maximize hits in the post transform vertex cache. Winding of each triangle is kept.
+	 *
+	 * @param indices triangle indices
+	 * @param vertexCount number of vertices referenced by indices
+	 * @param cacheSize size of the simulated LRU cache
+	 *
+	 * @return reordered indices
+	 */
+	public static int[] optimizeVertexCache(int[] indices, int vertexCount, int cacheSize)
+	{
+		assert indices != null : "indices != null";
+		assert indices.length % 3 == 0 : "indices.length % 3 == 0";
+		assert vertexCount >= 0 : "vertexCount >= 0";
+		assert cacheSize > 3 : "cacheSize > 3";
+
+		int triangleCount = indices.length / 3;
+
+		if (triangleCount == 0) {
+			return new int[0];
+		}
+
+		// Triangles per vertex as compressed adjacency lists
+		int[] remaining = new int[vertexCount];
+		for (int index : indices) {
+			remaining[index]++;
+		}
+
+		int[] offsets = new int[vertexCount + 1];
+		for (int v = 0; v < vertexCount; ++v) {
+			offsets[v + 1] = offsets[v] + remaining[v];
+		}
+
+		int[] adjacency = new int[indices.length];
+		int[] fill = Arrays.copyOf(offsets, vertexCount);
+		for (int t = 0; t < triangleCount; ++t) {
+			for (int i = 0; i < 3; ++i) {
+				adjacency[fill[indices[t * 3 + i]]++] = t;
+			}
+		}
+
+		float[] cacheScores = new float[cacheSize];
+		for (int p = 0; p < cacheSize; ++p) {
+			cacheScores[p] = (p < 3) ? LAST_TRIANGLE_SCORE : (float) Math.pow(1.0f - (float) (p - 3) / (cacheSize - 3), CACHE_DECAY_POWER);
+		}
+
+		float[] vertexScores = new float[vertexCount];
+		for (int v = 0; v < vertexCount; ++v) {
+			vertexScores[v] = getVertexScore(-1, remaining[v], cacheScores);
+		}
+
+		float[] triangleScores = new float[triangleCount];
+		boolean[] emitted = new boolean[triangleCount];
+		int best = -1;
+		float bestScore = -1.0f;
+		for (int t = 0; t < triangleCount; ++t) {
+			triangleScores[t] = vertexScores[indices[t * 3]] + vertexScores[indices[t * 3 + 1]] + vertexScores[indices[t * 3 + 2]];
+			if (triangleScores[t] > bestScore) {
+				bestScore = triangleScores[t];
+				best = t;
+			}
+		}
+
+		int[] result = new int[indices.length];
+		int[] cache = new int[cacheSize + 3];
+		int[] newCache = new int[cacheSize + 3];
+		int cacheCount = 0;
+		int nextUnemitted = 0;
+
+		for (int r = 0; r < triangleCount; ++r) {
+
+			// Fall back to the next triangle in input order if the cache did not yield a candidate
+			if (best < 0) {
+				while (emitted[nextUnemitted]) {
+					nextUnemitted++;
+				}
+				best = nextUnemitted;
+			}
+
+			emitted[best] = true;
+			System.arraycopy(indices, best * 3, result, r * 3, 3);
+
+			// Triangle vertices move to the front of the cache
+			int newCount = 0;
+			for (int i = 0; i < 3; ++i) {
+				int v = indices[best * 3 + i];
+				newCache[newCount++] = v;
+
+				// Remove triangle from the adjacency of the vertex
+				int end = offsets[v] + remaining[v];
+				for (int a = offsets[v]; a < end; ++a) {
+					if (adjacency[a] == best) {
+						adjacency[a] = adjacency[end - 1];
+						break;
+					}
+				}
+				remaining[v]--;
+			}
+
+			for (int c = 0; c < cacheCount; ++c) {
+				int v = cache[c];
+				if (v != newCache[0] && v != newCache[1] && v != newCache[2]) {
+					newCache[newCount++] = v;
+				}
+			}
+
+			int[] swap = cache;
+			cache = newCache;
+			newCache = swap;
+			cacheCount = newCount;
+
+			// Update scores of all vertices in the cache including the ones just evicted
+			for (int c = 0; c < cacheCount; ++c) {
+				int v = cache[c];
+				float score = getVertexScore((c < cacheSize) ? c : -1, remaining[v], cacheScores);
+				float delta = score - vertexScores[v];
+				vertexScores[v] = score;
+
+				int end = offsets[v] + remaining[v];
+				for (int a = offsets[v]; a < end; ++a) {
+					triangleScores[adjacency[a]] += delta;
+				}
+			}
+
+			if (cacheCount > cacheSize) {
+				cacheCount = cacheSize;
+			}
+
+			// Best candidate is adjacent to a cached vertex
+			best = -1;
+			bestScore = -1.0f;
+			for (int c = 0; c < cacheCount; ++c) {
+				int v = cache[c];
+				int end = offsets[v] + remaining[v];
+				for (int a = offsets[v]; a < end; ++a) {
+					int t = adjacency[a];
+					if (triangleScores[t] > bestScore) {
+						bestScore = triangleScores[t];
+						best = t;
+					}
+				}
+			}
+		}
+
+		return result;
+	}
+
+	public static int[] optimizeVertexCache(int[] indices, int vertexCount)
+	{
+		return optimizeVertexCache(indices, vertexCount, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Reorders the vertices in order of their first use by the indices and drops unused vertices
+	 *
+	 * @param mesh
+	 *
+	 * @return new mesh with remapped indices
+	 */
+	public static IndexedMeshData optimizeVertexFetch(IndexedMeshData mesh)
+	{
+		assert mesh != null : "mesh != null";
+
+		int vertexSize = mesh.getVertexSize();
+		float[] vertices = mesh.getVertices();
+		int[] indices = mesh.getIndices();
+
+		int[] remap = new int[mesh.getVertexCount()];
+		Arrays.fill(remap, -1);
+
+		float[] newVertices = new float[vertices.length];
+		int[] newIndices = new int[indices.length];
+		int count = 0;
+
+		for (int i = 0; i < indices.length; ++i) {
+			int v = indices[i];
+
+			if (remap[v] == -1) {
+				remap[v] = count;
+				System.arraycopy(vertices, v * vertexSize, newVertices, count * vertexSize, vertexSize);
+				count++;
+			}
+
+			newIndices[i] = remap[v];
+		}
+
+		return new IndexedMeshData(Arrays.copyOf(newVertices, count * vertexSize), vertexSize, newIndices);
+	}
+
+	/**
+	 * Deduplicates a non indexed triangle list and optimizes it for vertex cache and fetch
+	 *
+	 * @param vertices
+	 * @param vertexSize
+	 *
+	 * @return optimized indexed mesh
+	 */
+	public static IndexedMeshData optimize(float[] vertices, int vertexSize)
+	{
+		IndexedMeshData mesh = deduplicate(vertices, vertexSize);
+
+		int[] indices = optimizeVertexCache(mesh.getIndices(), mesh.getVertexCount());
+
+		return optimizeVertexFetch(new IndexedMeshData(mesh.getVertices(), vertexSize, indices));
+	}
+
+	/**
+	 * Average cache miss ratio - transformed vertices per triangle with a FIFO cache like most GPUs
+	 *
+	 * @param indices
+	 * @param vertexCount
+	 * @param cacheSize
+	 *
+	 * @return misses / triangles, between 0.5 (ideal for large meshes) and 3
+	 */
+	public static float computeACMR(int[] indices, int vertexCount, int cacheSize)
+	{
+		assert indices != null : "indices != null";
+		assert cacheSize > 0 : "cacheSize > 0";
+
+		if (indices.length == 0) {
+			return 0.0f;
+		}
+
+		// Timestamp of the insertion into the FIFO per vertex
+		int[] insertedAt = new int[vertexCount];
+		Arrays.fill(insertedAt, Integer.MIN_VALUE / 2);
+		int misses = 0;
+
+		for (int index : indices) {
+			if (misses - insertedAt[index] > cacheSize) {
+				insertedAt[index] = misses;
+				misses++;
+			}
+		}
+
+		return (float) misses / (indices.length / 3);
+	}
+
+	protected static float getVertexScore(int cachePosition, int remainingTriangles, float[] cacheScores)
+	{
+		if (remainingTriangles == 0) {
+			return -1.0f;
+		}
+
+		float score = (cachePosition >= 0) ? cacheScores[cachePosition] : 0.0f;
+
+		// Prefer vertices with few triangles left to get rid of them
+		return score + VALENCE_BOOST_SCALE * (float) Math.pow(remainingTriangles, -VALENCE_BOOST_POWER);
+	}
+
+	protected static int hash(float[] data, int offset, int length)
+	{
+		int hash = 1;
+
+		for (int i = 0; i < length; ++i) {
+			hash = 31 * hash + Float.floatToIntBits(data[offset + i]);
+		}
+
+		// Spread the bits as the table size is a power of 2
+		return hash ^ (hash >>> 16);
+	}
+
+	protected static boolean equals(float[] a, int offsetA, float[] b, int offsetB, int length)
+	{
+		for (int i = 0; i < length; ++i) {
+			if (Float.floatToIntBits(a[offsetA + i]) != Float.floatToIntBits(b[offsetB + i])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,318 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+import java.util.*;
+
+/**
+ * Keeps the enabled meshes of a mesh tree in sets per layer. The meshes notify the registries of their parent groups
+ * when they get added, removed, enabled or change their layers, so render tasks do not have to search the tree each
+ * frame. Mesh groups are not contained as they are not rendered themselves. Like the meshes the registry is not thread
+ * safe and has to be used by the render thread.
+ *
+ * @author Benjamin Schiller
+ */
+public class MeshRegistry
+{
+
+	protected static class Entry
+	{
+
+		protected final Mesh mesh;
+		protected long layerMask;
+		protected boolean enabled;
+		protected int order;
+
+		protected Entry(Mesh mesh)
+		{
+			this.mesh = mesh;
+		}
+	}
+
+	protected final MeshGroup root;
+	protected final Map<Mesh, Entry> entries = new IdentityHashMap<>();
+	protected final Set<Entry>[] layers = new Set[LayerMask.MAX_LAYERS];
+	protected final Set<Entry> withoutLayers = new HashSet<>();
+
+	/**
+	 * Results by queried layer mask - cleared on any change
+	 */
+	protected final Map<Long, List<Mesh>> results = new HashMap<>();
+
+	/**
+	 * The scene order is only computed again when meshes got added since the last query
+	 */
+	protected boolean orderDirty;
+
+	public MeshRegistry(MeshGroup root)
+	{
+		assert root != null : "root != null";
+
+		this.root = root;
+
+		for (Mesh mesh : (List<Mesh>) root.getMeshes()) {
+			add(mesh);
+		}
+	}
+
+	/**
+	 * Adds the mesh - mesh groups add all their contained meshes
+	 *
+	 * @param mesh
+	 */
+	public void add(Mesh mesh)
+	{
+		if (mesh == null) {
+			return;
+		}
+
+		if (mesh instanceof MeshGroup meshGroup) {
+			for (Mesh child : (List<Mesh>) meshGroup.getMeshes()) {
+				add(child);
+			}
+			return;
+		}
+
+		if (entries.containsKey(mesh)) {
+			return;
+		}
+
+		Entry entry = new Entry(mesh);
+		entry.layerMask = mesh.getLayerMask();
+		entry.enabled = mesh.isEnabled();
+		entries.put(mesh, entry);
+		link(entry);
+
+		orderDirty = true;
+		results.clear();
+	}
+
+	/**
+	 * Removes the mesh - mesh groups remove all their contained meshes
+	 *
+	 * @param mesh
+	 */
+	public void remove(Mesh mesh)
+	{
+		if (mesh == null) {
+			return;
+		}
+
+		if (mesh instanceof MeshGroup meshGroup) {
+			for (Mesh child : (List<Mesh>) meshGroup.getMeshes()) {
+				remove(child);
+			}
+			return;
+		}
+
+		Entry entry = entries.remove(mesh);
+
+		if (entry == null) {
+			return;
+		}
+
+		unlink(entry);
+		results.clear();
+	}
+
+	/**
+	 * Moves the mesh into the sets of its current layers and enabled state
+	 *
+	 * @param mesh
+	 */
+	public void update(Mesh mesh)
+	{
+		Entry entry = entries.get(mesh);
+
+		if (entry == null) {
+			return;
+		}
+
+		long layerMask = mesh.getLayerMask();
+		boolean enabled = mesh.isEnabled();
+
+		if (entry.layerMask == layerMask && entry.enabled == enabled) {
+			return;
+		}
+
+		unlink(entry);
+		entry.layerMask = layerMask;
+		entry.enabled = enabled;
+		link(entry);
+
+		results.clear();
+	}
+
+	protected void link(Entry entry)
+	{
+		if (!entry.enabled) {
+			return;
+		}
+
+		if (entry.layerMask == 0L) {
+			withoutLayers.add(entry);
+			return;
+		}
+
+		long remaining = entry.layerMask;
+		while (remaining != 0L) {
+
+			int index = Long.numberOfTrailingZeros(remaining);
+			remaining &= remaining - 1;
+
+			if (layers[index] == null) {
+				layers[index] = new HashSet<>();
+			}
+
+			layers[index].add(entry);
+		}
+	}
+
+	protected void unlink(Entry entry)
+	{
+		if (!entry.enabled) {
+			return;
+		}
+
+		if (entry.layerMask == 0L) {
+			withoutLayers.remove(entry);
+			return;
+		}
+
+		long remaining = entry.layerMask;
+		while (remaining != 0L) {
+
+			int index = Long.numberOfTrailingZeros(remaining);
+			remaining &= remaining - 1;
+
+			layers[index].remove(entry);
+		}
+	}
+
+	protected int updateOrder(Mesh mesh, int order)
+	{
+		if (mesh instanceof MeshGroup meshGroup) {
+			for (Mesh child : (List<Mesh>) meshGroup.getMeshes()) {
+				order = updateOrder(child, order);
+			}
+			return order;
+		}
+
+		Entry entry = entries.get(mesh);
+
+		if (entry != null) {
+			entry.order = order++;
+		}
+
+		return order;
+	}
+
+	/**
+	 * Returns the enabled meshes which are in at least one of the given layers in scene order. If the mask is 0 the
+	 * meshes without layers are returned. The result is cached until the registry changes.
+	 *
+	 * @param layerMask see {@link LayerMask}
+	 *
+	 * @return an unmodifiable list of the matching meshes
+	 */
+	public List<Mesh> getMeshes(long layerMask)
+	{
+		List<Mesh> result = results.get(layerMask);
+
+		if (result != null) {
+			return result;
+		}
+
+		if (orderDirty) {
+			updateOrder(root, 0);
+			orderDirty = false;
+		}
+
+		List<Entry> found = new ArrayList<>();
+
+		if (layerMask == 0L) {
+			found.addAll(withoutLayers);
+		} else {
+			long remaining = layerMask;
+			while (remaining != 0L) {
+
+				int index = Long.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+
+				if (layers[index] != null) {
+					found.addAll(layers[index]);
+				}
+			}
+		}
+
+		found.sort((a, b) -> Integer.compare(a.order, b.order));
+
+		// Meshes in multiple of the layers are adjacent after sorting
+		List<Mesh> meshes = new ArrayList<>(found.size());
+		Entry last = null;
+		for (Entry entry : found) {
+			if (entry != last) {
+				meshes.add(entry.mesh);
+				last = entry;
+			}
+		}
+
+		result = Collections.unmodifiableList(meshes);
+		results.put(layerMask, result);
+
+		return result;
+	}
+
+	/**
+	 * @param layers
+	 *
+	 * @return the enabled meshes which are in at least one of the given layers in scene order
+	 */
+	public List<Mesh> getMeshes(String... layers)
+	{
+		return getMeshes(LayerMask.getMask(layers));
+	}
+
+	public boolean contains(Mesh mesh)
+	{
+		return entries.containsKey(mesh);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public MeshGroup getRoot()
+	{
+		return root;
+	}
+
+	/**
+	 * @return the number of meshes including the disabled ones
+	 */
+	public int size()
+	{
+		return entries.size();
+	}
+	// "Getters/Setters" </editor-fold>
+}
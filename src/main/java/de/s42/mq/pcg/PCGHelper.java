@@ -27,12 +27,19 @@ package de.s42.mq.pcg;
 
 import de.s42.dl.exceptions.DLException;
 import de.s42.mq.materials.Material;
-import de.s42.mq.meshes.Cube;
 import de.s42.mq.meshes.MeshGroup;
 import de.s42.mq.meshes.Sphere;
 import de.s42.mq.pcg.points.PCGPoints;
 import de.s42.mq.pcg.points.StandardPCGPoints;
+import de.s42.mq.pcg.sdf.PCGSDF;
+import de.s42.mq.pcg.sdf.PCGSDFMesher;
+import de.s42.mq.pcg.voxels.PCGVoxelMesh;
+import de.s42.mq.pcg.voxels.PCGVoxelMeshData;
+import de.s42.mq.pcg.voxels.PCGVoxelMesher;
 import de.s42.mq.pcg.voxels.PCGVoxels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
 import org.joml.Vector3f;
 
 /**
@@ -53,21 +60,27 @@ public final class PCGHelper
 		assert meshes != null : "meshes != null";
 		assert gizmoMaterial != null : "gizmoMaterial != null";
 
-		try {
-			float[] data = points.getData();
-			int componentSize = points.getComponentSize();
-			for (int i = 0; i < data.length; i += componentSize) {
-
+		// Collected through process to also support points without a heap array
+		List<Vector3f> positions = new ArrayList<>();
+		points.process((processed, data, startIndex, endIndex, step) -> {
+			int componentSize = processed.getComponentSize();
+			for (int i = startIndex * componentSize; i < endIndex * componentSize; i += componentSize * step) {
 				if (StandardPCGPoints.retrieveIsVisible(data, i)) {
-					Sphere gizmo = new Sphere(0.1f, 10, 10);
-					gizmo.setPosition(new Vector3f(data[i], data[i + 1], data[i + 2]));
-					gizmo.setMaterial(gizmoMaterial);
-					gizmo.setLayers("gizmos");
-					gizmo.setCustomProperty("type", "Gizmo");
-					gizmo.load();
-					meshes.addMesh(gizmo);
+					positions.add(StandardPCGPoints.retrievePosition(data, i, new Vector3f()));
 				}
 			}
+		});
+
+		try {
+			for (Vector3f position : positions) {
+				Sphere gizmo = new Sphere(0.1f, 10, 10);
+				gizmo.setPosition(position);
+				gizmo.setMaterial(gizmoMaterial);
+				gizmo.setLayers("gizmos");
+				gizmo.setCustomProperty("type", "Gizmo");
+				gizmo.load();
+				meshes.addMesh(gizmo);
+			}
 		} catch (DLException ex) {
 			throw new RuntimeException();
 		}
@@ -79,39 +92,82 @@ public final class PCGHelper
 		assert meshes != null : "meshes != null";
 		assert gizmoMaterial != null : "gizmoMaterial != null";
 
+		createMeshes(voxels, meshes, new PCGVoxelMesher(), (materialId) -> gizmoMaterial, "gizmos", "Gizmo");
+	}
+
+	/**
+	 * Creates one greedy meshed PCGVoxelMesh per voxel value - materials provides the material for each value
+	 *
+	 * @param voxels
+	 * @param meshes
+	 * @param materials
+	 */
+	public static void createMeshes(PCGVoxels voxels, MeshGroup meshes, IntFunction<Material> materials)
+	{
+		assert voxels != null : "voxels != null";
+		assert meshes != null : "meshes != null";
+		assert materials != null : "materials != null";
+
+		createMeshes(voxels, meshes, new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL), materials, null, null);
+	}
+
+	/**
+	 * Creates a PCGVoxelMesh of the surface of the sdf inside the given bounds
+	 *
+	 * @param sdf
+	 * @param min
+	 * @param max
+	 * @param cellSize
+	 * @param meshes
+	 * @param material
+	 */
+	public static void createMesh(PCGSDF sdf, Vector3f min, Vector3f max, float cellSize, MeshGroup meshes, Material material)
+	{
+		assert sdf != null : "sdf != null";
+		assert meshes != null : "meshes != null";
+		assert material != null : "material != null";
+
+		PCGVoxelMeshData data = new PCGSDFMesher(cellSize).mesh(sdf, min, max);
+
+		if (data.getTriangleCount() == 0) {
+			return;
+		}
+
 		try {
-			int width = voxels.getWidth();
-			int height = voxels.getHeight();
-			int depth = voxels.getDepth();
-
-			float spacing = 1.0f;
-
-			Vector3f origin = voxels.getOrigin();
-
-			for (int x = 0; x < width; ++x) {
-				for (int y = 0; y < height; ++y) {
-					for (int z = 0; z < depth; ++z) {
-
-						int value = voxels.get(x, y, z);
-
-						if (value == 0) {
-							continue;
-						}
-
-						Cube gizmo = new Cube();
-						gizmo.setPosition(new Vector3f((float) x * spacing + origin.x, (float) y * spacing + origin.y, (float) z * spacing + origin.z));
-						gizmo.setMaterial(gizmoMaterial);
-						gizmo.setLayers("gizmos");
-						gizmo.setCustomProperty("type", "Gizmo");
-						gizmo.setScale(new Vector3f(0.5f));
-						gizmo.updateModelMatrix(true);
-						gizmo.load();
-						meshes.addMesh(gizmo);
-					}
+			PCGVoxelMesh mesh = new PCGVoxelMesh(data);
+			mesh.setMaterial(material);
+			mesh.updateModelMatrix(true);
+			mesh.load();
+			meshes.addMesh(mesh);
+		} catch (DLException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	protected static void createMeshes(PCGVoxels voxels, MeshGroup meshes, PCGVoxelMesher mesher, IntFunction<Material> materials, String layers, String type)
+	{
+		try {
+			for (PCGVoxelMeshData data : mesher.mesh(voxels)) {
+
+				Material material = materials.apply(data.getMaterialId());
+
+				assert material != null : "material != null";
+
+				PCGVoxelMesh mesh = new PCGVoxelMesh(data);
+				mesh.setPosition(new Vector3f(voxels.getOrigin()));
+				mesh.setMaterial(material);
+				if (layers != null) {
+					mesh.setLayers(layers);
+				}
+				if (type != null) {
+					mesh.setCustomProperty("type", type);
 				}
+				mesh.updateModelMatrix(true);
+				mesh.load();
+				meshes.addMesh(mesh);
 			}
 		} catch (DLException ex) {
-			throw new RuntimeException();
+			throw new RuntimeException(ex);
 		}
 	}
 }
@@ -0,0 +1,308 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Off heap storage of 4 byte elements (floats or ints) in pages of direct or mapped buffers in native order. A long
+ * element index lifts the limit of 2^31 elements of a single java array. The pages can be passed to GL and written to
+ * or mapped from files without copying. Absolute accessors are used only - so distinct elements can be accessed from
+ * different threads.
+ *
+ * @author Benjamin Schiller
+ */
+public final class PCGOffHeapStorage implements AutoCloseable
+{
+
+	public final static int ELEMENT_SIZE = 4;
+
+	/**
+	 * 4M elements (16 MiB) per page
+	 */
+	public final static int DEFAULT_PAGE_SHIFT = 22;
+
+	public final static int MAX_PAGE_SHIFT = 28;
+
+	protected final long count;
+	protected final int pageShift;
+	protected final int pageMask;
+	protected ByteBuffer[] pages;
+	protected FloatBuffer[] floatPages;
+	protected IntBuffer[] intPages;
+
+	protected PCGOffHeapStorage(long count, int pageShift, ByteBuffer[] pages)
+	{
+		this.count = count;
+		this.pageShift = pageShift;
+		this.pageMask = (1 << pageShift) - 1;
+		this.pages = pages;
+
+		floatPages = new FloatBuffer[pages.length];
+		intPages = new IntBuffer[pages.length];
+
+		for (int i = 0; i < pages.length; ++i) {
+			pages[i].order(ByteOrder.nativeOrder());
+			floatPages[i] = pages[i].asFloatBuffer();
+			intPages[i] = pages[i].asIntBuffer();
+		}
+	}
+
+	protected static int getPageCount(long count, int pageShift)
+	{
+		return (int) ((count + (1L << pageShift) - 1) >>> pageShift);
+	}
+
+	protected static int getPageByteSize(long count, int pageShift, int page)
+	{
+		return (int) (Math.min(1L << pageShift, count - ((long) page << pageShift)) * ELEMENT_SIZE);
+	}
+
+	/**
+	 * @param count elements
+	 * @param pageShift log2 of the elements per page
+	 *
+	 * @return storage with all elements set to 0
+	 */
+	public static PCGOffHeapStorage allocate(long count, int pageShift)
+	{
+		assert count >= 0 : "count >= 0";
+		assert pageShift > 0 && pageShift <= MAX_PAGE_SHIFT : "pageShift > 0 && pageShift <= MAX_PAGE_SHIFT";
+
+		ByteBuffer[] pages = new ByteBuffer[getPageCount(count, pageShift)];
+
+		for (int i = 0; i < pages.length; ++i) {
+			pages[i] = ByteBuffer.allocateDirect(getPageByteSize(count, pageShift, i));
+		}
+
+		return new PCGOffHeapStorage(count, pageShift, pages);
+	}
+
+	/**
+	 * Maps the elements from the channel - the mapping stays valid after the channel got closed
+	 *
+	 * @param channel
+	 * @param position byte position of the first element in the channel
+	 * @param count elements
+	 * @param pageShift log2 of the elements per page
+	 * @param writable changes get written to the file if true - requires a channel opened for reading and writing
+	 *
+	 * @return the mapped storage
+	 *
+	 * @throws IOException
+	 */
+	public static PCGOffHeapStorage map(FileChannel channel, long position, long count, int pageShift, boolean writable) throws IOException
+	{
+		assert channel != null : "channel != null";
+		assert position >= 0 : "position >= 0";
+		assert count >= 0 : "count >= 0";
+		assert pageShift > 0 && pageShift <= MAX_PAGE_SHIFT : "pageShift > 0 && pageShift <= MAX_PAGE_SHIFT";
+
+		if (channel.size() < position + count * ELEMENT_SIZE) {
+			throw new IOException("File is too short for " + count + " elements");
+		}
+
+		FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+		ByteBuffer[] pages = new ByteBuffer[getPageCount(count, pageShift)];
+
+		long pagePosition = position;
+		for (int i = 0; i < pages.length; ++i) {
+			int size = getPageByteSize(count, pageShift, i);
+			pages[i] = channel.map(mode, pagePosition, size);
+			pagePosition += size;
+		}
+
+		return new PCGOffHeapStorage(count, pageShift, pages);
+	}
+
+	/**
+	 * Writes all elements at the current position of the channel
+	 *
+	 * @param channel
+	 *
+	 * @throws IOException
+	 */
+	public void write(FileChannel channel) throws IOException
+	{
+		assert channel != null : "channel != null";
+		assert pages != null : "pages != null";
+
+		for (ByteBuffer page : pages) {
+
+			ByteBuffer source = page.duplicate();
+			source.clear();
+
+			while (source.hasRemaining()) {
+				channel.write(source);
+			}
+		}
+	}
+
+	public float getFloat(long index)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		return floatPages[(int) (index >>> pageShift)].get((int) index & pageMask);
+	}
+
+	public void setFloat(long index, float value)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		floatPages[(int) (index >>> pageShift)].put((int) index & pageMask, value);
+	}
+
+	public int getInt(long index)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		return intPages[(int) (index >>> pageShift)].get((int) index & pageMask);
+	}
+
+	public void setInt(long index, int value)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		intPages[(int) (index >>> pageShift)].put((int) index & pageMask, value);
+	}
+
+	/**
+	 * Copies length elements starting at index into target - ranges may span pages
+	 *
+	 * @param index
+	 * @param target
+	 * @param offset
+	 * @param length
+	 */
+	public void getFloats(long index, float[] target, int offset, int length)
+	{
+		assert index >= 0 && index + length <= count : "index >= 0 && index + length <= count";
+		assert target != null : "target != null";
+
+		while (length > 0) {
+			int pageIndex = (int) index & pageMask;
+			int chunk = Math.min(length, pageMask + 1 - pageIndex);
+			floatPages[(int) (index >>> pageShift)].get(pageIndex, target, offset, chunk);
+			index += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	public void setFloats(long index, float[] source, int offset, int length)
+	{
+		assert index >= 0 && index + length <= count : "index >= 0 && index + length <= count";
+		assert source != null : "source != null";
+
+		while (length > 0) {
+			int pageIndex = (int) index & pageMask;
+			int chunk = Math.min(length, pageMask + 1 - pageIndex);
+			floatPages[(int) (index >>> pageShift)].put(pageIndex, source, offset, chunk);
+			index += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	public void getInts(long index, int[] target, int offset, int length)
+	{
+		assert index >= 0 && index + length <= count : "index >= 0 && index + length <= count";
+		assert target != null : "target != null";
+
+		while (length > 0) {
+			int pageIndex = (int) index & pageMask;
+			int chunk = Math.min(length, pageMask + 1 - pageIndex);
+			intPages[(int) (index >>> pageShift)].get(pageIndex, target, offset, chunk);
+			index += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	public void setInts(long index, int[] source, int offset, int length)
+	{
+		assert index >= 0 && index + length <= count : "index >= 0 && index + length <= count";
+		assert source != null : "source != null";
+
+		while (length > 0) {
+			int pageIndex = (int) index & pageMask;
+			int chunk = Math.min(length, pageMask + 1 - pageIndex);
+			intPages[(int) (index >>> pageShift)].put(pageIndex, source, offset, chunk);
+			index += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Releases the pages - direct memory is returned once the buffers got collected as java 21 offers no explicit
+	 * release without the preview foreign memory api
+	 */
+	@Override
+	public void close()
+	{
+		pages = null;
+		floatPages = null;
+		intPages = null;
+	}
+
+	public boolean isClosed()
+	{
+		return pages == null;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public long getCount()
+	{
+		return count;
+	}
+
+	public int getPageShift()
+	{
+		return pageShift;
+	}
+
+	public int getPageCount()
+	{
+		return pages.length;
+	}
+
+	/**
+	 * @param page
+	 *
+	 * @return a native ordered view of the page i.e. to pass it to glBufferSubData
+	 */
+	public ByteBuffer getPage(int page)
+	{
+		return pages[page].duplicate().order(ByteOrder.nativeOrder());
+	}
+	// "Getters/Setters" </editor-fold>
+}
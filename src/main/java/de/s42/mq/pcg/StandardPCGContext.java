@@ -55,7 +55,6 @@ public class StandardPCGContext implements PCGContext
 	{
 		assert id != null : "id != null";
 
-		// @todo
 		StandardPCGImage image = new StandardPCGImage(id);
 		image.load();
 
@@ -35,4 +35,28 @@ public interface Vertex32Transform
 {
 
 	Vector2f transform(float x, float y, float z, Vector2f target);
+
+	/**
+	 * Transforms a block of positions - implementations should override it with a loop free of allocations and calls
+	 *
+	 * @param data x, y and z of the positions at offset, offset + stride, ...
+	 * @param offset index of the first x in data
+	 * @param stride distance between the positions in data
+	 * @param count amount of positions
+	 * @param target receives the transformed x and y pairs
+	 */
+	default void transform(float[] data, int offset, int stride, int count, float[] target)
+	{
+		assert data != null : "data != null";
+		assert target != null : "target != null";
+		assert target.length >= count * 2 : "target.length >= count * 2";
+
+		Vector2f transformed = new Vector2f();
+
+		for (int i = 0, d = offset; i < count; ++i, d += stride) {
+			transform(data[d], data[d + 1], data[d + 2], transformed);
+			target[i * 2] = transformed.x;
+			target[i * 2 + 1] = transformed.y;
+		}
+	}
 }
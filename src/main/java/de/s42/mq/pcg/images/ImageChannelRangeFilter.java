@@ -0,0 +1,123 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+/**
+ * Accepts colors which have one channel in [min, max] - i.e. to scatter points where a mask is set
+ *
+ * @author Benjamin Schiller
+ */
+public final class ImageChannelRangeFilter implements ImageColorPointFilterFunction
+{
+
+	public final static int CHANNEL_R = 0;
+	public final static int CHANNEL_G = 1;
+	public final static int CHANNEL_B = 2;
+	public final static int CHANNEL_A = 3;
+
+	protected int channel;
+	protected float min;
+	protected float max;
+
+	public ImageChannelRangeFilter()
+	{
+	}
+
+	public ImageChannelRangeFilter(int channel, float min, float max)
+	{
+		assert channel >= CHANNEL_R && channel <= CHANNEL_A : "channel >= CHANNEL_R && channel <= CHANNEL_A";
+		assert min <= max : "min <= max";
+
+		this.channel = channel;
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public final boolean accept(float r, float g, float b, float a)
+	{
+		float value = switch (channel) {
+			case CHANNEL_R ->
+				r;
+			case CHANNEL_G ->
+				g;
+			case CHANNEL_B ->
+				b;
+			default ->
+				a;
+		};
+
+		return value >= min && value <= max;
+	}
+
+	@Override
+	public final void accept(float[] colors, boolean[] target, int count)
+	{
+		assert colors != null : "colors != null";
+		assert target != null : "target != null";
+		assert colors.length >= count * 4 : "colors.length >= count * 4";
+		assert target.length >= count : "target.length >= count";
+
+		for (int i = 0, c = channel; i < count; ++i, c += 4) {
+			float value = colors[c];
+			target[i] = value >= min && value <= max;
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getChannel()
+	{
+		return channel;
+	}
+
+	public void setChannel(int channel)
+	{
+		assert channel >= CHANNEL_R && channel <= CHANNEL_A : "channel >= CHANNEL_R && channel <= CHANNEL_A";
+
+		this.channel = channel;
+	}
+
+	public float getMin()
+	{
+		return min;
+	}
+
+	public void setMin(float min)
+	{
+		this.min = min;
+	}
+
+	public float getMax()
+	{
+		return max;
+	}
+
+	public void setMax(float max)
+	{
+		this.max = max;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -28,25 +28,42 @@ package de.s42.mq.pcg.images;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
 import de.s42.mq.pcg.Vertex32Transform;
-import de.s42.mq.pcg.points.PCGPointProcessor;
 import de.s42.mq.pcg.points.PCGPoints;
+import de.s42.mq.pcg.points.PCGSplittablePointProcessor;
 import de.s42.mq.pcg.points.StandardPCGPoints;
-import org.joml.Vector2f;
-import org.joml.Vector4f;
 
 /**
+ * Processes the points in blocks - transforms the positions, samples the image and applies the filter per block using
+ * scratch arrays which are reused across blocks. The scratch arrays are kept per thread, so an instance can be shared
+ * by parallel ranges.
  *
  * @author Benjamin Schiller
  */
-public class ImageColorPointFilter implements PCGPointProcessor
+public class ImageColorPointFilter implements PCGSplittablePointProcessor
 {
 
 	@SuppressWarnings("unused")
 	private final static Logger log = LogManager.getLogger(ImageColorPointFilter.class.getName());
 
+	public final static int DEFAULT_BLOCK_SIZE = 256;
+
 	protected PCGImage image;
 	protected Vertex32Transform transform;
 	protected ImageColorPointFilterFunction filter;
+	protected int blockSize = DEFAULT_BLOCK_SIZE;
+
+	/**
+	 * Scratch storage of a block per thread - created on first use and grown with the block size
+	 */
+	protected static class BlockScratch
+	{
+
+		protected float[] coordinates = new float[0];
+		protected float[] colors = new float[0];
+		protected boolean[] accepted = new boolean[0];
+	}
+
+	protected final ThreadLocal<BlockScratch> scratch = ThreadLocal.withInitial(BlockScratch::new);
 
 	public ImageColorPointFilter()
 	{
@@ -69,6 +86,21 @@ public class ImageColorPointFilter implements PCGPointProcessor
 		this.filter = filter;
 	}
 
+	/**
+	 * Returns a copy of the processor for each range
+	 *
+	 * @param rangeIndex
+	 * @return
+	 */
+	@Override
+	public ImageColorPointFilter split(int rangeIndex)
+	{
+		ImageColorPointFilter split = new ImageColorPointFilter(image, transform, filter);
+		split.blockSize = blockSize;
+
+		return split;
+	}
+
 	@Override
 	public void process(PCGPoints points, float[] data, int startIndex, int endIndex, int step)
 	{
@@ -77,23 +109,32 @@ public class ImageColorPointFilter implements PCGPointProcessor
 		assert startIndex >= 0 && startIndex <= data.length : "startIndex >= 0 && startIndex < data.length";
 		assert endIndex >= 0 && endIndex <= data.length : "endIndex >= 0 && endIndex < data.length";
 
-		int componentSize = points.getComponentSize();
+		int stride = points.getComponentSize() * step;
+		int count = (endIndex - startIndex + step - 1) / step;
 
-		int componentStepSize = componentSize * step;
-		for (int i = startIndex * componentSize; i < endIndex * componentSize; i += componentStepSize) {
+		BlockScratch blockScratch = scratch.get();
+		if (blockScratch.coordinates.length < blockSize * 2) {
+			blockScratch.coordinates = new float[blockSize * 2];
+			blockScratch.colors = new float[blockSize * 4];
+			blockScratch.accepted = new boolean[blockSize];
+		}
+		float[] coordinates = blockScratch.coordinates;
+		float[] colors = blockScratch.colors;
+		boolean[] accepted = blockScratch.accepted;
 
-			float x = StandardPCGPoints.retrievePositionX(data, i);
-			float y = StandardPCGPoints.retrievePositionY(data, i);
-			float z = StandardPCGPoints.retrievePositionZ(data, i);
+		for (int block = 0; block < count; block += blockSize) {
 
-			Vector2f transformed = transform.transform(x, y, z, new Vector2f());
+			int blockCount = Math.min(blockSize, count - block);
+			int offset = (startIndex + block * step) * points.getComponentSize();
 
-			Vector4f color = image.getRGBA(transformed.x, transformed.y, new Vector4f());
+			transform.transform(data, offset + StandardPCGPoints.PCG_POINTS_STRUCT_OFFSET_POSITION, stride, blockCount, coordinates);
+			image.getRGBA(coordinates, colors, blockCount);
+			filter.accept(colors, accepted, blockCount);
 
 			// Set Mask VISIBLE to 1 if accepted to 0 otherwise
-			StandardPCGPoints.applyIsVisible(data, i, filter.accept(color.x, color.y, color.z, color.w));
-
-			//log.debug("pos", x, y, z, "tr", transformed.x, transformed.y, "col", color.x, color.y, color.z, color.w, "mask", mask);
+			for (int i = 0, d = offset; i < blockCount; ++i, d += stride) {
+				StandardPCGPoints.applyIsVisible(data, d, accepted[i]);
+			}
 		}
 	}
 
@@ -126,4 +167,16 @@ public class ImageColorPointFilter implements PCGPointProcessor
 	{
 		this.filter = filter;
 	}
+
+	public int getBlockSize()
+	{
+		return blockSize;
+	}
+
+	public void setBlockSize(int blockSize)
+	{
+		assert blockSize > 0 : "blockSize > 0";
+
+		this.blockSize = blockSize;
+	}
 }
@@ -33,4 +33,23 @@ public interface ImageColorPointFilterFunction
 {
 
 	boolean accept(float r, float g, float b, float a);
+
+	/**
+	 * Tests a block of colors
+	 *
+	 * @param colors r, g, b and a per color
+	 * @param target receives if the color at the same index is accepted
+	 * @param count amount of colors
+	 */
+	default void accept(float[] colors, boolean[] target, int count)
+	{
+		assert colors != null : "colors != null";
+		assert target != null : "target != null";
+		assert colors.length >= count * 4 : "colors.length >= count * 4";
+		assert target.length >= count : "target.length >= count";
+
+		for (int i = 0; i < count; ++i) {
+			target[i] = accept(colors[i * 4], colors[i * 4 + 1], colors[i * 4 + 2], colors[i * 4 + 3]);
+		}
+	}
 }
@@ -53,4 +53,43 @@ public interface PCGImage
 	 * @return
 	 */
 	Vector4f getRGBA(int x, int y, Vector4f target);
+
+	/**
+	 * In normalized coords [0.0, 1.0] filtered over the given footprint
+	 *
+	 * @param x
+	 * @param y
+	 * @param footprint edge length of the sampled area in normalized coords
+	 * @param target
+	 * @return
+	 */
+	default Vector4f getRGBA(float x, float y, float footprint, Vector4f target)
+	{
+		return getRGBA(x, y, target);
+	}
+
+	/**
+	 * Samples a batch in normalized coords [0.0, 1.0]
+	 *
+	 * @param coordinates x and y pairs
+	 * @param target receives r, g, b and a per sample
+	 * @param count amount of samples
+	 */
+	default void getRGBA(float[] coordinates, float[] target, int count)
+	{
+		assert coordinates != null : "coordinates != null";
+		assert target != null : "target != null";
+		assert coordinates.length >= count * 2 : "coordinates.length >= count * 2";
+		assert target.length >= count * 4 : "target.length >= count * 4";
+
+		Vector4f color = new Vector4f();
+
+		for (int i = 0; i < count; ++i) {
+			getRGBA(coordinates[i * 2], coordinates[i * 2 + 1], color);
+			target[i * 4] = color.x;
+			target[i * 4 + 1] = color.y;
+			target[i * 4 + 2] = color.z;
+			target[i * 4 + 3] = color.w;
+		}
+	}
 }
@@ -0,0 +1,211 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps decoded image data by source id and evicts the least recently used entries once the memory budget is exceeded.
+ * Images hold on to their data after eviction - the budget only limits what the cache retains for later loads.
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGImageCache
+{
+
+	private final static Logger log = LogManager.getLogger(PCGImageCache.class.getName());
+
+	/**
+	 * System property to set the memory budget in bytes of the default cache
+	 */
+	public final static String MEMORY_BUDGET_PROPERTY = "mq.pcgImageCacheBudget";
+
+	public final static long DEFAULT_MEMORY_BUDGET = 256L * 1024L * 1024L;
+
+	protected final static PCGImageCache defaultCache = new PCGImageCache(Long.getLong(MEMORY_BUDGET_PROPERTY, DEFAULT_MEMORY_BUDGET));
+
+	/**
+	 * In access order - the first entry is the least recently used
+	 */
+	protected final LinkedHashMap<String, PCGImageData> images = new LinkedHashMap<>(16, 0.75f, true);
+
+	protected long memoryBudget;
+	protected long memorySize;
+
+	public PCGImageCache(long memoryBudget)
+	{
+		assert memoryBudget >= 0 : "memoryBudget >= 0";
+
+		this.memoryBudget = memoryBudget;
+	}
+
+	public static PCGImageCache getDefault()
+	{
+		return defaultCache;
+	}
+
+	/**
+	 * Loads outside the lock so different images load in parallel - if the same id is loaded concurrently the first
+	 * stored data wins
+	 *
+	 * @param id
+	 * @param loader decodes the data of the id if it is not cached
+	 *
+	 * @return the cached or loaded data
+	 */
+	public PCGImageData get(String id, Function<String, PCGImageData> loader)
+	{
+		assert id != null : "id != null";
+		assert loader != null : "loader != null";
+
+		PCGImageData data = get(id);
+
+		if (data != null) {
+			return data;
+		}
+
+		data = loader.apply(id);
+
+		assert data != null : "data != null";
+
+		return put(id, data);
+	}
+
+	/**
+	 * @param id
+	 *
+	 * @return the cached data or null - marks the data as recently used
+	 */
+	public synchronized PCGImageData get(String id)
+	{
+		assert id != null : "id != null";
+
+		return images.get(id);
+	}
+
+	/**
+	 * @param id
+	 * @param data
+	 *
+	 * @return the data already cached for the id or data
+	 */
+	public synchronized PCGImageData put(String id, PCGImageData data)
+	{
+		assert id != null : "id != null";
+		assert data != null : "data != null";
+
+		PCGImageData existing = images.get(id);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		images.put(id, data);
+		memorySize += data.getMemorySize();
+
+		evict();
+
+		return data;
+	}
+
+	public synchronized boolean remove(String id)
+	{
+		assert id != null : "id != null";
+
+		PCGImageData data = images.remove(id);
+
+		if (data == null) {
+			return false;
+		}
+
+		memorySize -= data.getMemorySize();
+
+		return true;
+	}
+
+	public synchronized void clear()
+	{
+		images.clear();
+		memorySize = 0;
+	}
+
+	public synchronized boolean contains(String id)
+	{
+		assert id != null : "id != null";
+
+		return images.containsKey(id);
+	}
+
+	public synchronized int size()
+	{
+		return images.size();
+	}
+
+	/**
+	 * Removes least recently used entries until the budget is met - the most recent entry is kept even if it exceeds
+	 * the budget on its own
+	 */
+	protected void evict()
+	{
+		Iterator<Map.Entry<String, PCGImageData>> iterator = images.entrySet().iterator();
+
+		while (memorySize > memoryBudget && images.size() > 1) {
+
+			Map.Entry<String, PCGImageData> eldest = iterator.next();
+
+			log.debug("Evicting", eldest.getKey());
+
+			memorySize -= eldest.getValue().getMemorySize();
+			iterator.remove();
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public synchronized long getMemorySize()
+	{
+		return memorySize;
+	}
+
+	public synchronized long getMemoryBudget()
+	{
+		return memoryBudget;
+	}
+
+	public synchronized void setMemoryBudget(long memoryBudget)
+	{
+		assert memoryBudget >= 0 : "memoryBudget >= 0";
+
+		this.memoryBudget = memoryBudget;
+
+		evict();
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,515 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import org.joml.Vector4f;
+
+/**
+ * Immutable decoded RGBA image with 8 or 16 bit channels and a box filtered mip chain. Level 0 is the source image,
+ * each further level halves the size down to 1 x 1. The data can be shared by any number of images and threads.
+ *
+ * @author Benjamin Schiller
+ */
+public final class PCGImageData
+{
+
+	public final static int CHANNELS = 4;
+
+	protected final static float SCALE_8 = 1.0f / 255.0f;
+	protected final static float SCALE_16 = 1.0f / 65535.0f;
+
+	protected final int width;
+	protected final int height;
+	protected final int bitDepth;
+	protected final int[] widths;
+	protected final int[] heights;
+
+	/**
+	 * Levels of 8 bit channels - null if the image has 16 bit channels
+	 */
+	protected final byte[][] levels8;
+
+	/**
+	 * Levels of 16 bit channels - null if the image has 8 bit channels
+	 */
+	protected final short[][] levels16;
+
+	/**
+	 * @param width
+	 * @param height
+	 * @param rgba 8 bit unsigned channels row by row - is used as level 0 and not copied
+	 */
+	public PCGImageData(int width, int height, byte[] rgba)
+	{
+		assert width > 0 : "width > 0";
+		assert height > 0 : "height > 0";
+		assert rgba != null : "rgba != null";
+		assert rgba.length == width * height * CHANNELS : "rgba.length == width * height * CHANNELS";
+
+		this.width = width;
+		this.height = height;
+		bitDepth = 8;
+
+		int levelCount = computeLevelCount(width, height);
+		widths = new int[levelCount];
+		heights = new int[levelCount];
+		levels8 = new byte[levelCount][];
+		levels16 = null;
+
+		widths[0] = width;
+		heights[0] = height;
+		levels8[0] = rgba;
+
+		for (int level = 1; level < levelCount; ++level) {
+			widths[level] = Math.max(1, widths[level - 1] >> 1);
+			heights[level] = Math.max(1, heights[level - 1] >> 1);
+			levels8[level] = new byte[widths[level] * heights[level] * CHANNELS];
+
+			byte[] source = levels8[level - 1];
+			byte[] target = levels8[level];
+			int sourceWidth = widths[level - 1];
+			int sourceHeight = heights[level - 1];
+			int targetWidth = widths[level];
+
+			for (int y = 0; y < heights[level]; ++y) {
+				int row0 = Math.min(y << 1, sourceHeight - 1) * sourceWidth;
+				int row1 = Math.min((y << 1) + 1, sourceHeight - 1) * sourceWidth;
+
+				for (int x = 0; x < targetWidth; ++x) {
+					int column0 = Math.min(x << 1, sourceWidth - 1);
+					int column1 = Math.min((x << 1) + 1, sourceWidth - 1);
+					int t = (x + y * targetWidth) * CHANNELS;
+
+					for (int c = 0; c < CHANNELS; ++c) {
+						int sum = (source[(row0 + column0) * CHANNELS + c] & 0xFF)
+							+ (source[(row0 + column1) * CHANNELS + c] & 0xFF)
+							+ (source[(row1 + column0) * CHANNELS + c] & 0xFF)
+							+ (source[(row1 + column1) * CHANNELS + c] & 0xFF);
+						target[t + c] = (byte) ((sum + 2) >> 2);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param width
+	 * @param height
+	 * @param rgba 16 bit unsigned channels row by row - is used as level 0 and not copied
+	 */
+	public PCGImageData(int width, int height, short[] rgba)
+	{
+		assert width > 0 : "width > 0";
+		assert height > 0 : "height > 0";
+		assert rgba != null : "rgba != null";
+		assert rgba.length == width * height * CHANNELS : "rgba.length == width * height * CHANNELS";
+
+		this.width = width;
+		this.height = height;
+		bitDepth = 16;
+
+		int levelCount = computeLevelCount(width, height);
+		widths = new int[levelCount];
+		heights = new int[levelCount];
+		levels8 = null;
+		levels16 = new short[levelCount][];
+
+		widths[0] = width;
+		heights[0] = height;
+		levels16[0] = rgba;
+
+		for (int level = 1; level < levelCount; ++level) {
+			widths[level] = Math.max(1, widths[level - 1] >> 1);
+			heights[level] = Math.max(1, heights[level - 1] >> 1);
+			levels16[level] = new short[widths[level] * heights[level] * CHANNELS];
+
+			short[] source = levels16[level - 1];
+			short[] target = levels16[level];
+			int sourceWidth = widths[level - 1];
+			int sourceHeight = heights[level - 1];
+			int targetWidth = widths[level];
+
+			for (int y = 0; y < heights[level]; ++y) {
+				int row0 = Math.min(y << 1, sourceHeight - 1) * sourceWidth;
+				int row1 = Math.min((y << 1) + 1, sourceHeight - 1) * sourceWidth;
+
+				for (int x = 0; x < targetWidth; ++x) {
+					int column0 = Math.min(x << 1, sourceWidth - 1);
+					int column1 = Math.min((x << 1) + 1, sourceWidth - 1);
+					int t = (x + y * targetWidth) * CHANNELS;
+
+					for (int c = 0; c < CHANNELS; ++c) {
+						int sum = (source[(row0 + column0) * CHANNELS + c] & 0xFFFF)
+							+ (source[(row0 + column1) * CHANNELS + c] & 0xFFFF)
+							+ (source[(row1 + column0) * CHANNELS + c] & 0xFFFF)
+							+ (source[(row1 + column1) * CHANNELS + c] & 0xFFFF);
+						target[t + c] = (short) ((sum + 2) >> 2);
+					}
+				}
+			}
+		}
+	}
+
+	protected static int computeLevelCount(int width, int height)
+	{
+		return 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+	}
+
+	/**
+	 * @param level
+	 * @param x is clamped into the level
+	 * @param y is clamped into the level
+	 * @param channel 0 - 3 for r, g, b and a
+	 *
+	 * @return the channel in [0.0, 1.0]
+	 */
+	public float getTexel(int level, int x, int y, int channel)
+	{
+		assert level >= 0 && level < widths.length : "level >= 0 && level < widths.length";
+		assert channel >= 0 && channel < CHANNELS : "channel >= 0 && channel < CHANNELS";
+
+		int levelWidth = widths[level];
+		int index = (Math.clamp(x, 0, levelWidth - 1) + Math.clamp(y, 0, heights[level] - 1) * levelWidth) * CHANNELS + channel;
+
+		if (levels8 != null) {
+			return (levels8[level][index] & 0xFF) * SCALE_8;
+		}
+
+		return (levels16[level][index] & 0xFFFF) * SCALE_16;
+	}
+
+	/**
+	 * @param level
+	 * @param x is clamped into the level
+	 * @param y is clamped into the level
+	 * @param target receives the channels in [0.0, 1.0]
+	 *
+	 * @return target
+	 */
+	public Vector4f getTexel(int level, int x, int y, Vector4f target)
+	{
+		assert level >= 0 && level < widths.length : "level >= 0 && level < widths.length";
+		assert target != null : "target != null";
+
+		int levelWidth = widths[level];
+		int index = (Math.clamp(x, 0, levelWidth - 1) + Math.clamp(y, 0, heights[level] - 1) * levelWidth) * CHANNELS;
+
+		if (levels8 != null) {
+			byte[] data = levels8[level];
+			return target.set(
+				(data[index] & 0xFF) * SCALE_8,
+				(data[index + 1] & 0xFF) * SCALE_8,
+				(data[index + 2] & 0xFF) * SCALE_8,
+				(data[index + 3] & 0xFF) * SCALE_8
+			);
+		}
+
+		short[] data = levels16[level];
+		return target.set(
+			(data[index] & 0xFFFF) * SCALE_16,
+			(data[index + 1] & 0xFFFF) * SCALE_16,
+			(data[index + 2] & 0xFFFF) * SCALE_16,
+			(data[index + 3] & 0xFFFF) * SCALE_16
+		);
+	}
+
+	/**
+	 * Samples the nearest texel - x and y in [0.0, 1.0] span from the first to the last texel centers
+	 *
+	 * @param level
+	 * @param x
+	 * @param y
+	 * @param target
+	 *
+	 * @return target
+	 */
+	public Vector4f sampleNearest(int level, float x, float y, Vector4f target)
+	{
+		return getTexel(level, (int) (x * (float) (widths[level] - 1)), (int) (y * (float) (heights[level] - 1)), target);
+	}
+
+	/**
+	 * Interpolates the 4 nearest texels - x and y in [0.0, 1.0] span from the first to the last texel centers
+	 *
+	 * @param level
+	 * @param x
+	 * @param y
+	 * @param target
+	 *
+	 * @return target
+	 */
+	public Vector4f sampleBilinear(int level, float x, float y, Vector4f target)
+	{
+		assert level >= 0 && level < widths.length : "level >= 0 && level < widths.length";
+		assert target != null : "target != null";
+
+		int levelWidth = widths[level];
+		int levelHeight = heights[level];
+
+		float px = Math.clamp(x, 0.0f, 1.0f) * (float) (levelWidth - 1);
+		float py = Math.clamp(y, 0.0f, 1.0f) * (float) (levelHeight - 1);
+
+		int x0 = (int) px;
+		int y0 = (int) py;
+		int x1 = Math.min(x0 + 1, levelWidth - 1);
+		int y1 = Math.min(y0 + 1, levelHeight - 1);
+
+		float fx = px - (float) x0;
+		float fy = py - (float) y0;
+
+		float w00 = (1.0f - fx) * (1.0f - fy);
+		float w10 = fx * (1.0f - fy);
+		float w01 = (1.0f - fx) * fy;
+		float w11 = fx * fy;
+
+		int i00 = (x0 + y0 * levelWidth) * CHANNELS;
+		int i10 = (x1 + y0 * levelWidth) * CHANNELS;
+		int i01 = (x0 + y1 * levelWidth) * CHANNELS;
+		int i11 = (x1 + y1 * levelWidth) * CHANNELS;
+
+		if (levels8 != null) {
+			byte[] data = levels8[level];
+			return target.set(
+				((data[i00] & 0xFF) * w00 + (data[i10] & 0xFF) * w10 + (data[i01] & 0xFF) * w01 + (data[i11] & 0xFF) * w11) * SCALE_8,
+				((data[i00 + 1] & 0xFF) * w00 + (data[i10 + 1] & 0xFF) * w10 + (data[i01 + 1] & 0xFF) * w01 + (data[i11 + 1] & 0xFF) * w11) * SCALE_8,
+				((data[i00 + 2] & 0xFF) * w00 + (data[i10 + 2] & 0xFF) * w10 + (data[i01 + 2] & 0xFF) * w01 + (data[i11 + 2] & 0xFF) * w11) * SCALE_8,
+				((data[i00 + 3] & 0xFF) * w00 + (data[i10 + 3] & 0xFF) * w10 + (data[i01 + 3] & 0xFF) * w01 + (data[i11 + 3] & 0xFF) * w11) * SCALE_8
+			);
+		}
+
+		short[] data = levels16[level];
+		return target.set(
+			((data[i00] & 0xFFFF) * w00 + (data[i10] & 0xFFFF) * w10 + (data[i01] & 0xFFFF) * w01 + (data[i11] & 0xFFFF) * w11) * SCALE_16,
+			((data[i00 + 1] & 0xFFFF) * w00 + (data[i10 + 1] & 0xFFFF) * w10 + (data[i01 + 1] & 0xFFFF) * w01 + (data[i11 + 1] & 0xFFFF) * w11) * SCALE_16,
+			((data[i00 + 2] & 0xFFFF) * w00 + (data[i10 + 2] & 0xFFFF) * w10 + (data[i01 + 2] & 0xFFFF) * w01 + (data[i11 + 2] & 0xFFFF) * w11) * SCALE_16,
+			((data[i00 + 3] & 0xFFFF) * w00 + (data[i10 + 3] & 0xFFFF) * w10 + (data[i01 + 3] & 0xFFFF) * w01 + (data[i11 + 3] & 0xFFFF) * w11) * SCALE_16
+		);
+	}
+
+	/**
+	 * Samples a batch of the nearest texels without allocating
+	 *
+	 * @param level
+	 * @param coordinates x and y pairs in [0.0, 1.0]
+	 * @param target receives r, g, b and a per sample
+	 * @param count amount of samples
+	 */
+	public void sampleNearest(int level, float[] coordinates, float[] target, int count)
+	{
+		assert level >= 0 && level < widths.length : "level >= 0 && level < widths.length";
+		assert coordinates != null : "coordinates != null";
+		assert target != null : "target != null";
+		assert coordinates.length >= count * 2 : "coordinates.length >= count * 2";
+		assert target.length >= count * CHANNELS : "target.length >= count * CHANNELS";
+
+		int levelWidth = widths[level];
+		int levelHeight = heights[level];
+		float scaleX = (float) (levelWidth - 1);
+		float scaleY = (float) (levelHeight - 1);
+		float channelScale = (levels8 != null) ? SCALE_8 : SCALE_16;
+
+		for (int i = 0; i < count; ++i) {
+
+			int x = Math.clamp((int) (coordinates[i * 2] * scaleX), 0, levelWidth - 1);
+			int y = Math.clamp((int) (coordinates[i * 2 + 1] * scaleY), 0, levelHeight - 1);
+			int index = (x + y * levelWidth) * CHANNELS;
+			int t = i * CHANNELS;
+
+			for (int c = 0; c < CHANNELS; ++c) {
+				target[t + c] = getRaw(level, index + c) * channelScale;
+			}
+		}
+	}
+
+	/**
+	 * Samples a batch bilinear without allocating - gives the same values as sampleBilinear per sample
+	 *
+	 * @param level
+	 * @param coordinates x and y pairs in [0.0, 1.0]
+	 * @param target receives r, g, b and a per sample
+	 * @param count amount of samples
+	 */
+	public void sampleBilinear(int level, float[] coordinates, float[] target, int count)
+	{
+		assert level >= 0 && level < widths.length : "level >= 0 && level < widths.length";
+		assert coordinates != null : "coordinates != null";
+		assert target != null : "target != null";
+		assert coordinates.length >= count * 2 : "coordinates.length >= count * 2";
+		assert target.length >= count * CHANNELS : "target.length >= count * CHANNELS";
+
+		int levelWidth = widths[level];
+		int levelHeight = heights[level];
+		float scaleX = (float) (levelWidth - 1);
+		float scaleY = (float) (levelHeight - 1);
+		float channelScale = (levels8 != null) ? SCALE_8 : SCALE_16;
+
+		for (int i = 0; i < count; ++i) {
+
+			float px = Math.clamp(coordinates[i * 2], 0.0f, 1.0f) * scaleX;
+			float py = Math.clamp(coordinates[i * 2 + 1], 0.0f, 1.0f) * scaleY;
+
+			int x0 = (int) px;
+			int y0 = (int) py;
+			int x1 = Math.min(x0 + 1, levelWidth - 1);
+			int y1 = Math.min(y0 + 1, levelHeight - 1);
+
+			float fx = px - (float) x0;
+			float fy = py - (float) y0;
+
+			float w00 = (1.0f - fx) * (1.0f - fy);
+			float w10 = fx * (1.0f - fy);
+			float w01 = (1.0f - fx) * fy;
+			float w11 = fx * fy;
+
+			int i00 = (x0 + y0 * levelWidth) * CHANNELS;
+			int i10 = (x1 + y0 * levelWidth) * CHANNELS;
+			int i01 = (x0 + y1 * levelWidth) * CHANNELS;
+			int i11 = (x1 + y1 * levelWidth) * CHANNELS;
+			int t = i * CHANNELS;
+
+			for (int c = 0; c < CHANNELS; ++c) {
+				target[t + c] = (getRaw(level, i00 + c) * w00 + getRaw(level, i10 + c) * w10
+					+ getRaw(level, i01 + c) * w01 + getRaw(level, i11 + c) * w11) * channelScale;
+			}
+		}
+	}
+
+	/**
+	 * @param level
+	 * @param index
+	 *
+	 * @return the unsigned channel value at index
+	 */
+	protected int getRaw(int level, int index)
+	{
+		if (levels8 != null) {
+			return levels8[level][index] & 0xFF;
+		}
+
+		return levels16[level][index] & 0xFFFF;
+	}
+
+	/**
+	 * Interpolates bilinear in the two levels around lod - lod is clamped into the available levels
+	 *
+	 * @param lod 0.0 is the source image, 1.0 the first mip level
+	 * @param x
+	 * @param y
+	 * @param target
+	 *
+	 * @return target
+	 */
+	public Vector4f sampleTrilinear(float lod, float x, float y, Vector4f target)
+	{
+		assert target != null : "target != null";
+
+		float clampedLod = Math.clamp(lod, 0.0f, (float) (widths.length - 1));
+		int level0 = (int) clampedLod;
+		float f = clampedLod - (float) level0;
+
+		sampleBilinear(level0, x, y, target);
+
+		if (f == 0.0f) {
+			return target;
+		}
+
+		float r = target.x;
+		float g = target.y;
+		float b = target.z;
+		float a = target.w;
+
+		sampleBilinear(level0 + 1, x, y, target);
+
+		return target.set(
+			r + (target.x - r) * f,
+			g + (target.y - g) * f,
+			b + (target.z - b) * f,
+			a + (target.w - a) * f
+		);
+	}
+
+	/**
+	 * @param footprint edge length of the sampled area in normalized coords
+	 *
+	 * @return the lod for the footprint - 0.0 if it covers a texel of the source image or less
+	 */
+	public float getLod(float footprint)
+	{
+		float texels = footprint * (float) Math.max(width, height);
+
+		if (!(texels > 1.0f)) {
+			return 0.0f;
+		}
+
+		return Math.min((float) (Math.log(texels) / Math.log(2.0)), (float) (widths.length - 1));
+	}
+
+	/**
+	 * @return the heap bytes of all levels
+	 */
+	public long getMemorySize()
+	{
+		long size = 0;
+
+		for (int level = 0; level < widths.length; ++level) {
+			size += (long) widths[level] * heights[level] * CHANNELS * (bitDepth / 8);
+		}
+
+		return size;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getWidth()
+	{
+		return width;
+	}
+
+	public int getHeight()
+	{
+		return height;
+	}
+
+	public int getWidth(int level)
+	{
+		return widths[level];
+	}
+
+	public int getHeight(int level)
+	{
+		return heights[level];
+	}
+
+	public int getBitDepth()
+	{
+		return bitDepth;
+	}
+
+	public int getLevelCount()
+	{
+		return widths.length;
+	}
+	// "Getters/Setters" </editor-fold>
+}
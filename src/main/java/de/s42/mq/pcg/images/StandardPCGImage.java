@@ -31,24 +31,30 @@ import de.s42.log.Logger;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
 import org.joml.Vector4f;
-import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
+import static org.lwjgl.stb.STBImage.*;
 import org.lwjgl.system.MemoryStack;
 
 /**
- * @todo this is just a test - implement properly
+ * Samples an image file decoded with stb. The decoded data is shared through a {@link PCGImageCache} and stored with 8
+ * or 16 bit channels as in the source.
+ *
  * @author Benjamin Schiller
  */
 public class StandardPCGImage implements PCGImage
 {
 
-	@SuppressWarnings("unused")
 	private final static Logger log = LogManager.getLogger(StandardPCGImage.class.getName());
 
 	protected String id;
-	protected static int width;
-	protected static int height;
-	protected static float[] data;
+	protected PCGImageCache cache = PCGImageCache.getDefault();
+	protected PCGImageData data;
+
+	/**
+	 * Interpolates the 4 nearest texels in getRGBA(float, float, Vector4f) - samples the nearest texel otherwise
+	 */
+	protected boolean bilinear = true;
 
 	public StandardPCGImage()
 	{
@@ -61,6 +67,15 @@ public class StandardPCGImage implements PCGImage
 		this.id = id;
 	}
 
+	public StandardPCGImage(String id, PCGImageData data)
+	{
+		assert id != null : "id != null";
+		assert data != null : "data != null";
+
+		this.id = id;
+		this.data = data;
+	}
+
 	@Override
 	public Vector4f getRGBA(float x, float y, Vector4f target)
 	{
@@ -70,8 +85,11 @@ public class StandardPCGImage implements PCGImage
 			return target;
 		}
 
-		return getRGBA((int) (x * (float) (width - 1)), (int) (y * (float) (height - 1)), target);
+		if (bilinear) {
+			return data.sampleBilinear(0, x, y, target);
+		}
 
+		return data.sampleNearest(0, x, y, target);
 	}
 
 	@Override
@@ -83,26 +101,64 @@ public class StandardPCGImage implements PCGImage
 			return target;
 		}
 
-		int index = (x + y * width) << 2;
+		return data.getTexel(0, x, y, target);
+	}
+
+	@Override
+	public Vector4f getRGBA(float x, float y, float footprint, Vector4f target)
+	{
+		assert target != null : "target != null";
 
-		target.x = data[index];
-		target.y = data[index + 1];
-		target.z = data[index + 2];
-		target.w = data[index + 3];
+		if (data == null) {
+			return target;
+		}
 
-		return target;
+		return data.sampleTrilinear(data.getLod(footprint), x, y, target);
+	}
+
+	@Override
+	public void getRGBA(float[] coordinates, float[] target, int count)
+	{
+		assert coordinates != null : "coordinates != null";
+		assert target != null : "target != null";
+		assert coordinates.length >= count * 2 : "coordinates.length >= count * 2";
+		assert target.length >= count * 4 : "target.length >= count * 4";
+
+		if (data == null) {
+			return;
+		}
+
+		if (bilinear) {
+			data.sampleBilinear(0, coordinates, target, count);
+		} else {
+			data.sampleNearest(0, coordinates, target, count);
+		}
 	}
 
 	public synchronized void load()
 	{
-		// @todo add proper caching
+		assert id != null : "id != null";
+
 		if (data != null) {
 			return;
 		}
 
+		data = cache.get(id, StandardPCGImage::decode);
+	}
+
+	/**
+	 * Decodes the file with 16 bit channels if the source has them and with 8 bit channels otherwise
+	 *
+	 * @param id the path of the file
+	 *
+	 * @return the decoded data
+	 */
+	public static PCGImageData decode(String id)
+	{
+		assert id != null : "id != null";
+
 		log.info("loading", id);
 
-		// Load height map to memory
 		try (MemoryStack frame = MemoryStack.stackPush()) {
 
 			IntBuffer widthB = frame.mallocInt(1);
@@ -111,36 +167,44 @@ public class StandardPCGImage implements PCGImage
 
 			ByteBuffer sourceData = FilesHelper.getFileAsMappedByteBuffer(id);
 
-			ByteBuffer buffer = stbi_load_from_memory(sourceData, widthB, heightB, componentsB, 4);
+			if (stbi_is_16_bit_from_memory(sourceData)) {
 
-			assert buffer != null : "buffer != null";
+				ShortBuffer buffer = stbi_load_16_from_memory(sourceData, widthB, heightB, componentsB, PCGImageData.CHANNELS);
 
-			// @todo add proper loading
-			width = widthB.get();
-			height = heightB.get();
-			//int components = componentsB.get();
-
-			data = new float[width * height << 2];
+				if (buffer == null) {
+					throw new RuntimeException("Error decoding image " + id + " - " + stbi_failure_reason());
+				}
 
-			int i = 0;
-			while (buffer.hasRemaining() && i < data.length) {
-				data[i] = ((float) Byte.toUnsignedInt(buffer.get())) / 255.0f;
-				data[i + 1] = ((float) Byte.toUnsignedInt(buffer.get())) / 255.0f;
-				data[i + 2] = ((float) Byte.toUnsignedInt(buffer.get())) / 255.0f;
-				data[i + 3] = ((float) Byte.toUnsignedInt(buffer.get())) / 255.0f;
+				try {
+					short[] rgba = new short[widthB.get(0) * heightB.get(0) * PCGImageData.CHANNELS];
+					buffer.get(rgba);
 
-				/*
-				if (i % 10000 == 0) {
-					log.debug(data[i], data[i + 1], data[i + 2], data[i + 3]);
+					return new PCGImageData(widthB.get(0), heightB.get(0), rgba);
+				} finally {
+					stbi_image_free(buffer);
 				}
-				 */
-				i += 4;
+			}
+
+			ByteBuffer buffer = stbi_load_from_memory(sourceData, widthB, heightB, componentsB, PCGImageData.CHANNELS);
+
+			if (buffer == null) {
+				throw new RuntimeException("Error decoding image " + id + " - " + stbi_failure_reason());
+			}
+
+			try {
+				byte[] rgba = new byte[widthB.get(0) * heightB.get(0) * PCGImageData.CHANNELS];
+				buffer.get(rgba);
+
+				return new PCGImageData(widthB.get(0), heightB.get(0), rgba);
+			} finally {
+				stbi_image_free(buffer);
 			}
 		} catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
 	public String getId()
 	{
 		return id;
@@ -150,4 +214,42 @@ public class StandardPCGImage implements PCGImage
 	{
 		this.id = id;
 	}
+
+	public PCGImageData getData()
+	{
+		return data;
+	}
+
+	public PCGImageCache getCache()
+	{
+		return cache;
+	}
+
+	public void setCache(PCGImageCache cache)
+	{
+		assert cache != null : "cache != null";
+
+		this.cache = cache;
+	}
+
+	public boolean isBilinear()
+	{
+		return bilinear;
+	}
+
+	public void setBilinear(boolean bilinear)
+	{
+		this.bilinear = bilinear;
+	}
+
+	public int getWidth()
+	{
+		return (data != null) ? data.getWidth() : 0;
+	}
+
+	public int getHeight()
+	{
+		return (data != null) ? data.getHeight() : 0;
+	}
+	// "Getters/Setters" </editor-fold>
 }
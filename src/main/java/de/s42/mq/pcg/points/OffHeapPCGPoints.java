@@ -0,0 +1,399 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.points;
+
+import de.s42.mq.pcg.PCGOffHeapStorage;
+import static de.s42.mq.pcg.points.StandardPCGPoints.*;
+import de.s42.mq.util.MQExecutors;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.joml.Vector3f;
+
+/**
+ * Points in off heap pages with the same layout as StandardPCGPoints. Processors work unchanged - they get a heap
+ * window of up to DEFAULT_WINDOW_SIZE points which is copied back after processing. With a step the window holds only
+ * the stepped points, so processors see a step of 1. Parallel processing uses the same ranges as StandardPCGPoints and
+ * gives the same result.
+ *
+ * @author Benjamin Schiller
+ */
+public class OffHeapPCGPoints implements PCGPoints, AutoCloseable
+{
+
+	/**
+	 * "MQPP" in native order - a different value means another file type or byte order
+	 */
+	public final static int MAGIC = 0x4D515050;
+	public final static int FORMAT_VERSION = 1;
+	public final static int HEADER_SIZE = 16;
+
+	public final static int DEFAULT_WINDOW_SIZE = PCG_POINTS_DEFAULT_PARALLEL_RANGE_SIZE;
+
+	protected final PCGOffHeapStorage storage;
+	protected final int count;
+	protected final int componentSize;
+
+	/**
+	 * Heap window per thread - holds DEFAULT_WINDOW_SIZE points plus a parent
+	 */
+	protected final ThreadLocal<float[]> windows;
+
+	public OffHeapPCGPoints(int count)
+	{
+		this(count, 0);
+	}
+
+	public OffHeapPCGPoints(int count, int additionalComponentSize)
+	{
+		this(count, additionalComponentSize, PCGOffHeapStorage.DEFAULT_PAGE_SHIFT);
+	}
+
+	public OffHeapPCGPoints(int count, int additionalComponentSize, int pageShift)
+	{
+		this(PCGOffHeapStorage.allocate((long) count * (PCG_POINTS_STRUCT_DEFAULT_COMPONENTS + additionalComponentSize), pageShift),
+			count, PCG_POINTS_STRUCT_DEFAULT_COMPONENTS + additionalComponentSize);
+	}
+
+	protected OffHeapPCGPoints(PCGOffHeapStorage storage, int count, int componentSize)
+	{
+		assert storage != null : "storage != null";
+		assert count >= 0 : "count >= 0";
+		assert componentSize >= PCG_POINTS_STRUCT_DEFAULT_COMPONENTS : "componentSize >= PCG_POINTS_STRUCT_DEFAULT_COMPONENTS";
+		assert storage.getCount() == (long) count * componentSize : "storage.getCount() == (long) count * componentSize";
+
+		this.storage = storage;
+		this.count = count;
+		this.componentSize = componentSize;
+
+		windows = ThreadLocal.withInitial(() -> new float[(DEFAULT_WINDOW_SIZE + 1) * componentSize]);
+	}
+
+	/**
+	 * Maps the points of a file written by write
+	 *
+	 * @param file
+	 * @param writable changes get written to the file if true
+	 *
+	 * @return the mapped points
+	 *
+	 * @throws IOException
+	 */
+	public static OffHeapPCGPoints map(Path file, boolean writable) throws IOException
+	{
+		assert file != null : "file != null";
+
+		try (FileChannel channel = writable
+			? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+			: FileChannel.open(file, StandardOpenOption.READ)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+			channel.read(header, 0);
+			header.flip();
+
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				throw new IOException("Not a points file or written in a different byte order " + file);
+			}
+
+			int version = header.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("Unsupported points file version " + version + " " + file);
+			}
+
+			int count = header.getInt();
+			int componentSize = header.getInt();
+
+			return new OffHeapPCGPoints(
+				PCGOffHeapStorage.map(channel, HEADER_SIZE, (long) count * componentSize, PCGOffHeapStorage.DEFAULT_PAGE_SHIFT, writable),
+				count, componentSize);
+		}
+	}
+
+	/**
+	 * Writes the points straight from the pages
+	 *
+	 * @param file
+	 *
+	 * @throws IOException
+	 */
+	public void write(Path file) throws IOException
+	{
+		assert file != null : "file != null";
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+			header.putInt(MAGIC);
+			header.putInt(FORMAT_VERSION);
+			header.putInt(count);
+			header.putInt(componentSize);
+			header.flip();
+
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+
+			storage.write(channel);
+		}
+	}
+
+	/**
+	 * Copies the points startIndex, startIndex + step, ... into window from windowIndex on
+	 */
+	protected void read(int startIndex, int step, float[] window, int windowIndex, int pointCount)
+	{
+		if (step == 1) {
+			storage.getFloats((long) startIndex * componentSize, window, windowIndex * componentSize, pointCount * componentSize);
+			return;
+		}
+
+		for (int i = 0; i < pointCount; ++i) {
+			storage.getFloats((long) (startIndex + (long) i * step) * componentSize, window, (windowIndex + i) * componentSize, componentSize);
+		}
+	}
+
+	protected void write(int startIndex, int step, float[] window, int windowIndex, int pointCount)
+	{
+		if (step == 1) {
+			storage.setFloats((long) startIndex * componentSize, window, windowIndex * componentSize, pointCount * componentSize);
+			return;
+		}
+
+		for (int i = 0; i < pointCount; ++i) {
+			storage.setFloats((long) (startIndex + (long) i * step) * componentSize, window, (windowIndex + i) * componentSize, componentSize);
+		}
+	}
+
+	protected void processWindows(PCGPointProcessor processor, int startIndex, int endIndex, int step)
+	{
+		float[] window = windows.get();
+
+		for (long index = startIndex; index < endIndex;) {
+
+			int pointCount = (int) Math.min(DEFAULT_WINDOW_SIZE, (endIndex - index + step - 1) / step);
+
+			read((int) index, step, window, 0, pointCount);
+			processor.process(this, window, 0, pointCount, 1);
+			write((int) index, step, window, 0, pointCount);
+
+			index += (long) pointCount * step;
+		}
+	}
+
+	/**
+	 * The parent is copied to the start of each window - it is only copied back if writeParent is true
+	 */
+	protected void processSubWindows(PCGSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step, boolean writeParent)
+	{
+		float[] window = windows.get();
+
+		for (long index = startIndex; index < endIndex;) {
+
+			int pointCount = (int) Math.min(DEFAULT_WINDOW_SIZE, (endIndex - index + step - 1) / step);
+
+			read(parentIndex, 1, window, 0, 1);
+			read((int) index, step, window, 1, pointCount);
+			processor.process(this, window, 0, 1, pointCount + 1, 1);
+			if (writeParent) {
+				write(parentIndex, 1, window, 0, 1);
+			}
+			write((int) index, step, window, 1, pointCount);
+
+			index += (long) pointCount * step;
+		}
+	}
+
+	@Override
+	public void process(PCGPointProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		process(processor, 0, count, 1);
+	}
+
+	@Override
+	public void process(PCGPointProcessor processor, int startIndex, int endIndex)
+	{
+		assert processor != null : "processor != null";
+
+		process(processor, startIndex, endIndex, 1);
+	}
+
+	@Override
+	public void process(PCGPointProcessor processor, int startIndex, int endIndex, int step)
+	{
+		assert processor != null : "processor != null";
+		assert startIndex >= 0 && startIndex <= count : "startIndex >= 0 && startIndex <= count";
+		assert endIndex >= 0 && endIndex <= count : "endIndex >= 0 && endIndex <= count " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+
+		processWindows(processor, startIndex, endIndex, step);
+	}
+
+	@Override
+	public void processSub(PCGSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step)
+	{
+		assert processor != null : "processor != null";
+		assert parentIndex >= 0 && parentIndex < count : "parentIndex >= 0 && parentIndex < count";
+		assert parentIndex < startIndex || parentIndex >= endIndex : "parentIndex < startIndex || parentIndex >= endIndex";
+		assert startIndex >= 0 && startIndex <= count : "startIndex >= 0 && startIndex <= count";
+		assert endIndex >= 0 && endIndex <= count : "endIndex >= 0 && endIndex <= count " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+
+		processSubWindows(processor, parentIndex, startIndex, endIndex, step, true);
+	}
+
+	@Override
+	public void processParallel(PCGSplittablePointProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		processParallel(processor, 0, count, 1, PCG_POINTS_DEFAULT_PARALLEL_RANGE_SIZE, ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public void processParallel(PCGSplittablePointProcessor processor, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor)
+	{
+		assert processor != null : "processor != null";
+		assert startIndex >= 0 && startIndex <= count : "startIndex >= 0 && startIndex <= count";
+		assert endIndex >= 0 && endIndex <= count : "endIndex >= 0 && endIndex <= count " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+		assert rangeSize >= 1 : "rangeSize >= 1";
+		assert executor != null : "executor != null";
+
+		int rangeStride = (int) Math.min((long) rangeSize * step, Integer.MAX_VALUE);
+
+		List<Callable<Void>> ranges = new ArrayList<>();
+		int rangeIndex = 0;
+		for (long rangeStart = startIndex; rangeStart < endIndex; rangeStart += rangeStride) {
+
+			// Split in range order on this thread to keep stateful processors deterministic
+			PCGPointProcessor rangeProcessor = processor.split(rangeIndex++);
+			int start = (int) rangeStart;
+			int end = (int) Math.min(rangeStart + rangeStride, endIndex);
+
+			ranges.add(() -> {
+				processWindows(rangeProcessor, start, end, step);
+				return null;
+			});
+		}
+
+		MQExecutors.invokeAll(ranges, executor, "processing points");
+	}
+
+	/**
+	 * The parent is read only while processing in parallel - changes of the processors to it get dropped
+	 */
+	@Override
+	public void processSubParallel(PCGSplittableSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor)
+	{
+		assert processor != null : "processor != null";
+		assert parentIndex >= 0 && parentIndex < count : "parentIndex >= 0 && parentIndex < count";
+		assert parentIndex < startIndex || parentIndex >= endIndex : "parentIndex < startIndex || parentIndex >= endIndex";
+		assert startIndex >= 0 && startIndex <= count : "startIndex >= 0 && startIndex <= count";
+		assert endIndex >= 0 && endIndex <= count : "endIndex >= 0 && endIndex <= count " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+		assert rangeSize >= 1 : "rangeSize >= 1";
+		assert executor != null : "executor != null";
+
+		int rangeStride = (int) Math.min((long) rangeSize * step, Integer.MAX_VALUE);
+
+		List<Callable<Void>> ranges = new ArrayList<>();
+		int rangeIndex = 0;
+		for (long rangeStart = startIndex; rangeStart < endIndex; rangeStart += rangeStride) {
+
+			PCGSubPointProcessor rangeProcessor = processor.split(rangeIndex++);
+			int start = (int) rangeStart;
+			int end = (int) Math.min(rangeStart + rangeStride, endIndex);
+
+			ranges.add(() -> {
+				processSubWindows(rangeProcessor, parentIndex, start, end, step, false);
+				return null;
+			});
+		}
+
+		MQExecutors.invokeAll(ranges, executor, "processing points");
+	}
+
+	@Override
+	public Vector3f getPosition(int index, Vector3f target)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+		assert target != null : "target != null";
+
+		long componentIndex = (long) index * componentSize + PCG_POINTS_STRUCT_OFFSET_POSITION;
+
+		return target.set(storage.getFloat(componentIndex), storage.getFloat(componentIndex + 1), storage.getFloat(componentIndex + 2));
+	}
+
+	@Override
+	public int getMask(int index)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		return Float.floatToRawIntBits(storage.getFloat((long) index * componentSize + PCG_POINTS_STRUCT_OFFSET_MASK));
+	}
+
+	/**
+	 * Releases the off heap pages - the points can not be used afterwards
+	 */
+	@Override
+	public void close()
+	{
+		storage.close();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	@Override
+	public int getCount()
+	{
+		return count;
+	}
+
+	@Override
+	public int getComponentSize()
+	{
+		return componentSize;
+	}
+
+	public PCGOffHeapStorage getStorage()
+	{
+		return storage;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -25,6 +25,7 @@
 //</editor-fold>
 package de.s42.mq.pcg.points;
 
+import java.util.concurrent.ExecutorService;
 import org.joml.Vector3f;
 
 /**
@@ -34,8 +35,6 @@ import org.joml.Vector3f;
 public interface PCGPoints
 {
 
-	float[] getData();
-
 	int getCount();
 
 	int getComponentSize();
@@ -44,6 +43,37 @@ public interface PCGPoints
 
 	int getMask(int index);
 
+	/**
+	 * Kept for callers from before the off heap points - heap points return their backing array, all others a copy of
+	 * the points which does not write through.
+	 *
+	 * @return the point data
+	 *
+	 * @deprecated use HeapPCGPoints.getData for direct access or process the points
+	 */
+	@Deprecated
+	default float[] getData()
+	{
+		long size = (long) getCount() * getComponentSize();
+
+		if (size > Integer.MAX_VALUE) {
+			throw new UnsupportedOperationException("The points do not fit into one array - " + size + " floats");
+		}
+
+		float[] copy = new float[(int) size];
+		int[] offset = {0};
+
+		// Serial processing passes the points in order
+		process((points, data, startIndex, endIndex, step) -> {
+			for (int i = startIndex; i < endIndex; i += step) {
+				System.arraycopy(data, i * points.getComponentSize(), copy, offset[0], points.getComponentSize());
+				offset[0] += points.getComponentSize();
+			}
+		});
+
+		return copy;
+	}
+
 	void process(PCGPointProcessor processor);
 
 	void process(PCGPointProcessor processor, int startIndex, int endIndex);
@@ -51,4 +81,21 @@ public interface PCGPoints
 	void process(PCGPointProcessor processor, int startIndex, int endIndex, int step);
 
 	void processSub(PCGSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step);
+
+	void processParallel(PCGSplittablePointProcessor processor);
+
+	/**
+	 * Splits the range into ranges of rangeSize points and processes them in parallel. The ranges only depend on
+	 * rangeSize - so the result is identical for any count of threads in the executor.
+	 *
+	 * @param processor
+	 * @param startIndex
+	 * @param endIndex
+	 * @param step
+	 * @param rangeSize points per range
+	 * @param executor
+	 */
+	void processParallel(PCGSplittablePointProcessor processor, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor);
+
+	void processSubParallel(PCGSplittableSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor);
 }
@@ -32,7 +32,7 @@ import de.s42.mq.util.MQRandom;
  *
  * @author Benjamin Schiller
  */
-public class RandomizePointPositions implements PCGPointProcessor, PCGSubPointProcessor
+public class RandomizePointPositions implements PCGSplittablePointProcessor, PCGSplittableSubPointProcessor
 {
 
 	protected final MQRandom random;
@@ -47,6 +47,18 @@ public class RandomizePointPositions implements PCGPointProcessor, PCGSubPointPr
 		this.randomBounds = randomBounds;
 	}
 
+	/**
+	 * Returns a new processor with its own random stream split off this one
+	 *
+	 * @param rangeIndex
+	 * @return
+	 */
+	@Override
+	public RandomizePointPositions split(int rangeIndex)
+	{
+		return new RandomizePointPositions(random.split(), randomBounds);
+	}
+
 	@Override
 	public void process(PCGPoints points, float[] data, int startIndex, int endIndex, int step)
 	{
@@ -25,13 +25,19 @@
 //</editor-fold>
 package de.s42.mq.pcg.points;
 
+import de.s42.mq.util.MQExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import org.joml.Vector3f;
 
 /**
  *
  * @author Benjamin Schiller
  */
-public final class StandardPCGPoints implements PCGPoints
+public final class StandardPCGPoints implements HeapPCGPoints
 {
 
 	public final static int PCG_POINTS_STRUCT_DEFAULT_COMPONENTS = 4;
@@ -41,6 +47,8 @@ public final class StandardPCGPoints implements PCGPoints
 	public final static int PCG_POINT_MASK_VISIBLE = 0b00000001;
 	public final static int PCG_POINT_MASK_ALL = PCG_POINT_MASK_VISIBLE;
 
+	public final static int PCG_POINTS_DEFAULT_PARALLEL_RANGE_SIZE = 16384;
+
 	public static int retrieveMask(float[] data, int componentIndex)
 	{
 		return Float.floatToRawIntBits(data[componentIndex + PCG_POINTS_STRUCT_OFFSET_MASK]);
@@ -217,6 +225,77 @@ public final class StandardPCGPoints implements PCGPoints
 		processor.process(this, data, parentIndex, startIndex, endIndex, step);
 	}
 
+	@Override
+	public void processParallel(PCGSplittablePointProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		processParallel(processor, 0, getCount(), 1, PCG_POINTS_DEFAULT_PARALLEL_RANGE_SIZE, ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public void processParallel(PCGSplittablePointProcessor processor, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor)
+	{
+		assert processor != null : "processor != null";
+		assert startIndex >= 0 && startIndex <= getCount() : "startIndex >= 0 && startIndex <= getCount()";
+		assert endIndex >= 0 && endIndex <= getCount() : "endIndex >= 0 && endIndex <= getCount() " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+		assert rangeSize >= 1 : "rangeSize >= 1";
+		assert executor != null : "executor != null";
+
+		int rangeStride = (int) Math.min((long) rangeSize * step, Integer.MAX_VALUE);
+
+		List<Callable<Void>> ranges = new ArrayList<>();
+		int rangeIndex = 0;
+		for (long rangeStart = startIndex; rangeStart < endIndex; rangeStart += rangeStride) {
+
+			// Split in range order on this thread to keep stateful processors deterministic
+			PCGPointProcessor rangeProcessor = processor.split(rangeIndex++);
+			int start = (int) rangeStart;
+			int end = (int) Math.min(rangeStart + rangeStride, endIndex);
+
+			ranges.add(() -> {
+				rangeProcessor.process(this, data, start, end, step);
+				return null;
+			});
+		}
+
+		MQExecutors.invokeAll(ranges, executor, "processing points");
+	}
+
+	@Override
+	public void processSubParallel(PCGSplittableSubPointProcessor processor, int parentIndex, int startIndex, int endIndex, int step, int rangeSize, ExecutorService executor)
+	{
+		assert processor != null : "processor != null";
+		assert parentIndex >= 0 && parentIndex <= getCount() : "parentIndex >= 0 && parentIndex <= getCount()";
+		assert parentIndex < startIndex || parentIndex >= endIndex : "parentIndex < startIndex || parentIndex >= endIndex";
+		assert startIndex >= 0 && startIndex <= getCount() : "startIndex >= 0 && startIndex <= getCount()";
+		assert endIndex >= 0 && endIndex <= getCount() : "endIndex >= 0 && endIndex <= getCount() " + endIndex;
+		assert startIndex <= endIndex : "startIndex <= endIndex";
+		assert step >= 1 : "step >= 1";
+		assert rangeSize >= 1 : "rangeSize >= 1";
+		assert executor != null : "executor != null";
+
+		int rangeStride = (int) Math.min((long) rangeSize * step, Integer.MAX_VALUE);
+
+		List<Callable<Void>> ranges = new ArrayList<>();
+		int rangeIndex = 0;
+		for (long rangeStart = startIndex; rangeStart < endIndex; rangeStart += rangeStride) {
+
+			PCGSubPointProcessor rangeProcessor = processor.split(rangeIndex++);
+			int start = (int) rangeStart;
+			int end = (int) Math.min(rangeStart + rangeStride, endIndex);
+
+			ranges.add(() -> {
+				rangeProcessor.process(this, data, parentIndex, start, end, step);
+				return null;
+			});
+		}
+
+		MQExecutors.invokeAll(ranges, executor, "processing points");
+	}
+
 	@Override
 	public Vector3f getPosition(int index, Vector3f target)
 	{
@@ -38,6 +38,17 @@ public interface PCGSDF
 
 	float getMin(Vector3f position);
 
+	/**
+	 * Signed euclidean distance to the closest surface - negative inside
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 *
+	 * @return
+	 */
+	float getDistance(float x, float y, float z);
+
 	void addSphere(float x, float y, float z, float radius);
 
 }
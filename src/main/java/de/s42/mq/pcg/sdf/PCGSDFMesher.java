@@ -0,0 +1,487 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.sdf;
+
+import de.s42.mq.pcg.voxels.PCGVoxelMeshData;
+import de.s42.mq.util.MQExecutors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.joml.Vector3f;
+
+/**
+ * Extracts the iso surface of a PCGSDF as indexed triangle mesh on the CPU using surface nets. The bounds are split
+ * into a grid of cells, each cell the surface passes gets one vertex at the average of its edge crossings and each
+ * crossed grid edge gets a quad of the 4 cells around it. The grid is sampled and meshed in chunks of chunkCells^3 cells
+ * in parallel - vertices are shared across chunk borders so the result is a single welded mesh. Positions are in the
+ * space of the SDF, normals are the normalized gradient of the SDF and texture coords are x and z.
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGSDFMesher
+{
+
+	public final static float DEFAULT_CELL_SIZE = 1.0f;
+	public final static int DEFAULT_CHUNK_CELLS = 16;
+
+	protected float cellSize = DEFAULT_CELL_SIZE;
+	protected float isoLevel;
+	protected int chunkCells = DEFAULT_CHUNK_CELLS;
+	protected ExecutorService executor = ForkJoinPool.commonPool();
+
+	/**
+	 * Growing vertex and index arrays of one chunk
+	 */
+	protected static class Builder
+	{
+
+		protected float[] vertices = new float[PCGVoxelMeshData.VERTEX_SIZE * 64];
+		protected int[] indices = new int[96];
+		protected int vertexCount;
+		protected int indexCount;
+		protected int vertexOffset;
+
+		protected void addVertex(float x, float y, float z, float nX, float nY, float nZ, float u, float v)
+		{
+			int i = vertexCount * PCGVoxelMeshData.VERTEX_SIZE;
+
+			if (i + PCGVoxelMeshData.VERTEX_SIZE > vertices.length) {
+				vertices = Arrays.copyOf(vertices, vertices.length * 2);
+			}
+
+			vertices[i] = x;
+			vertices[i + 1] = y;
+			vertices[i + 2] = z;
+			vertices[i + 3] = nX;
+			vertices[i + 4] = nY;
+			vertices[i + 5] = nZ;
+			vertices[i + 6] = u;
+			vertices[i + 7] = v;
+			vertexCount++;
+		}
+
+		protected void addTriangle(int a, int b, int c)
+		{
+			if (indexCount + 3 > indices.length) {
+				indices = Arrays.copyOf(indices, indices.length * 2);
+			}
+
+			indices[indexCount] = a;
+			indices[indexCount + 1] = b;
+			indices[indexCount + 2] = c;
+			indexCount += 3;
+		}
+	}
+
+	/**
+	 * Grid shared by all chunks of one mesh call
+	 */
+	protected class Grid
+	{
+
+		protected final PCGSDF sdf;
+		protected final Vector3f min;
+		protected final int cellsX;
+		protected final int cellsY;
+		protected final int cellsZ;
+		protected final int pointsY;
+		protected final int pointsZ;
+		protected final int chunksY;
+		protected final int chunksZ;
+
+		// Sampled distance minus iso level per grid point
+		protected final float[] samples;
+
+		// Vertex of a cell relative to the vertexOffset of its chunk or -1
+		protected final int[] cellVertices;
+		protected final Builder[] builders;
+
+		// Welded vertices of all chunks - assembled before the faces are created
+		protected float[] vertices;
+
+		protected Grid(PCGSDF sdf, Vector3f min, Vector3f max)
+		{
+			this.sdf = sdf;
+			this.min = new Vector3f(min);
+
+			cellsX = Math.max(1, (int) Math.ceil((max.x - min.x) / cellSize));
+			cellsY = Math.max(1, (int) Math.ceil((max.y - min.y) / cellSize));
+			cellsZ = Math.max(1, (int) Math.ceil((max.z - min.z) / cellSize));
+			pointsY = cellsY + 1;
+			pointsZ = cellsZ + 1;
+
+			int chunksX = (cellsX + chunkCells - 1) / chunkCells;
+			chunksY = (cellsY + chunkCells - 1) / chunkCells;
+			chunksZ = (cellsZ + chunkCells - 1) / chunkCells;
+
+			samples = new float[Math.multiplyExact(Math.multiplyExact(cellsX + 1, pointsY), pointsZ)];
+			cellVertices = new int[cellsX * cellsY * cellsZ];
+			builders = new Builder[chunksX * chunksY * chunksZ];
+
+			for (int i = 0; i < builders.length; ++i) {
+				builders[i] = new Builder();
+			}
+		}
+
+		protected int getPointIndex(int x, int y, int z)
+		{
+			return (x * pointsY + y) * pointsZ + z;
+		}
+
+		protected int getCellIndex(int x, int y, int z)
+		{
+			return (x * cellsY + y) * cellsZ + z;
+		}
+
+		protected int getVertex(int x, int y, int z)
+		{
+			int chunk = ((x / chunkCells) * chunksY + (y / chunkCells)) * chunksZ + (z / chunkCells);
+
+			return builders[chunk].vertexOffset + cellVertices[getCellIndex(x, y, z)];
+		}
+
+		/**
+		 * Samples the min corners of the cells of the chunk and the far planes of the grid
+		 */
+		protected void sample(int startX, int startY, int startZ)
+		{
+			int endX = (startX + chunkCells >= cellsX) ? cellsX + 1 : startX + chunkCells;
+			int endY = (startY + chunkCells >= cellsY) ? cellsY + 1 : startY + chunkCells;
+			int endZ = (startZ + chunkCells >= cellsZ) ? cellsZ + 1 : startZ + chunkCells;
+
+			for (int x = startX; x < endX; ++x) {
+				for (int y = startY; y < endY; ++y) {
+					for (int z = startZ; z < endZ; ++z) {
+						samples[getPointIndex(x, y, z)] = sdf.getDistance(
+							min.x + x * cellSize,
+							min.y + y * cellSize,
+							min.z + z * cellSize
+						) - isoLevel;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Places one vertex in each cell of the chunk the surface passes
+		 */
+		protected void createVertices(Builder builder, int startX, int startY, int startZ)
+		{
+			int endX = Math.min(startX + chunkCells, cellsX);
+			int endY = Math.min(startY + chunkCells, cellsY);
+			int endZ = Math.min(startZ + chunkCells, cellsZ);
+			float[] corners = new float[8];
+			float gradientStep = cellSize * 0.5f;
+
+			for (int x = startX; x < endX; ++x) {
+				for (int y = startY; y < endY; ++y) {
+					for (int z = startZ; z < endZ; ++z) {
+
+						// Corner i is offset by i & 1 in x, i & 2 in y and i & 4 in z
+						int inside = 0;
+						for (int i = 0; i < 8; ++i) {
+							corners[i] = samples[getPointIndex(x + (i & 1), y + ((i >> 1) & 1), z + ((i >> 2) & 1))];
+							if (corners[i] < 0.0f) {
+								inside |= 1 << i;
+							}
+						}
+
+						if (inside == 0 || inside == 0xFF) {
+							cellVertices[getCellIndex(x, y, z)] = -1;
+							continue;
+						}
+
+						// Average of the crossings of the 12 cell edges
+						float sumX = 0.0f;
+						float sumY = 0.0f;
+						float sumZ = 0.0f;
+						int crossings = 0;
+
+						for (int i = 0; i < 8; ++i) {
+							for (int axis = 1; axis <= 4; axis <<= 1) {
+
+								int j = i | axis;
+
+								if ((i & axis) != 0 || ((inside >> i) & 1) == ((inside >> j) & 1)) {
+									continue;
+								}
+
+								float t = corners[i] / (corners[i] - corners[j]);
+
+								sumX += (i & 1) + ((axis == 1) ? t : 0.0f);
+								sumY += ((i >> 1) & 1) + ((axis == 2) ? t : 0.0f);
+								sumZ += ((i >> 2) & 1) + ((axis == 4) ? t : 0.0f);
+								crossings++;
+							}
+						}
+
+						float pX = min.x + (x + sumX / crossings) * cellSize;
+						float pY = min.y + (y + sumY / crossings) * cellSize;
+						float pZ = min.z + (z + sumZ / crossings) * cellSize;
+
+						float nX = sdf.getDistance(pX + gradientStep, pY, pZ) - sdf.getDistance(pX - gradientStep, pY, pZ);
+						float nY = sdf.getDistance(pX, pY + gradientStep, pZ) - sdf.getDistance(pX, pY - gradientStep, pZ);
+						float nZ = sdf.getDistance(pX, pY, pZ + gradientStep) - sdf.getDistance(pX, pY, pZ - gradientStep);
+						float length = (float) Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+
+						if (length > 0.0f) {
+							nX /= length;
+							nY /= length;
+							nZ /= length;
+						} else {
+							nX = 0.0f;
+							nY = 1.0f;
+							nZ = 0.0f;
+						}
+
+						cellVertices[getCellIndex(x, y, z)] = builder.vertexCount;
+						builder.addVertex(pX, pY, pZ, nX, nY, nZ, pX, pZ);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds a quad for each crossed edge starting at the min corner of a cell of the chunk - the 4 cells around an edge
+		 * may belong to neighbour chunks
+		 */
+		protected void createFaces(Builder builder, int startX, int startY, int startZ)
+		{
+			int endX = Math.min(startX + chunkCells, cellsX);
+			int endY = Math.min(startY + chunkCells, cellsY);
+			int endZ = Math.min(startZ + chunkCells, cellsZ);
+
+			for (int x = startX; x < endX; ++x) {
+				for (int y = startY; y < endY; ++y) {
+					for (int z = startZ; z < endZ; ++z) {
+
+						boolean inside = samples[getPointIndex(x, y, z)] < 0.0f;
+
+						// Quads are counter clockwise seen from +axis if the inside is at the start of the edge
+						if (y > 0 && z > 0 && inside != (samples[getPointIndex(x + 1, y, z)] < 0.0f)) {
+							addQuad(builder, inside,
+								getVertex(x, y - 1, z - 1), getVertex(x, y, z - 1),
+								getVertex(x, y, z), getVertex(x, y - 1, z));
+						}
+
+						if (x > 0 && z > 0 && inside != (samples[getPointIndex(x, y + 1, z)] < 0.0f)) {
+							addQuad(builder, inside,
+								getVertex(x - 1, y, z - 1), getVertex(x - 1, y, z),
+								getVertex(x, y, z), getVertex(x, y, z - 1));
+						}
+
+						if (x > 0 && y > 0 && inside != (samples[getPointIndex(x, y, z + 1)] < 0.0f)) {
+							addQuad(builder, inside,
+								getVertex(x - 1, y - 1, z), getVertex(x, y - 1, z),
+								getVertex(x, y, z), getVertex(x - 1, y, z));
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Splits the quad along its shorter diagonal which keeps the triangles closer to the surface at creases
+		 */
+		protected void addQuad(Builder builder, boolean counterClockwise, int a, int b, int c, int d)
+		{
+			if (getSquaredDistance(a, c) > getSquaredDistance(b, d)) {
+				int first = a;
+				a = b;
+				b = c;
+				c = d;
+				d = first;
+			}
+
+			if (counterClockwise) {
+				builder.addTriangle(a, b, c);
+				builder.addTriangle(c, d, a);
+			} else {
+				builder.addTriangle(a, d, c);
+				builder.addTriangle(c, b, a);
+			}
+		}
+
+		protected float getSquaredDistance(int vertexA, int vertexB)
+		{
+			int a = vertexA * PCGVoxelMeshData.VERTEX_SIZE;
+			int b = vertexB * PCGVoxelMeshData.VERTEX_SIZE;
+
+			float dX = vertices[a] - vertices[b];
+			float dY = vertices[a + 1] - vertices[b + 1];
+			float dZ = vertices[a + 2] - vertices[b + 2];
+
+			return dX * dX + dY * dY + dZ * dZ;
+		}
+
+		/**
+		 * Runs the task for the min cell of each chunk - one task per chunk
+		 */
+		protected void forEachChunk(ChunkTask task)
+		{
+			List<Callable<Void>> tasks = new ArrayList<>(builders.length);
+
+			for (int x = 0; x < cellsX; x += chunkCells) {
+				for (int y = 0; y < cellsY; y += chunkCells) {
+					for (int z = 0; z < cellsZ; z += chunkCells) {
+
+						Builder builder = builders[((x / chunkCells) * chunksY + (y / chunkCells)) * chunksZ + (z / chunkCells)];
+						int startX = x;
+						int startY = y;
+						int startZ = z;
+
+						tasks.add(() -> {
+							task.run(builder, startX, startY, startZ);
+							return null;
+						});
+					}
+				}
+			}
+
+			MQExecutors.invokeAll(tasks, executor, "meshing sdf");
+		}
+	}
+
+	@FunctionalInterface
+	protected interface ChunkTask
+	{
+
+		void run(Builder builder, int startX, int startY, int startZ);
+	}
+
+	public PCGSDFMesher()
+	{
+	}
+
+	public PCGSDFMesher(float cellSize)
+	{
+		assert cellSize > 0.0f : "cellSize > 0.0f";
+
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Meshes the surface of the sdf inside the given bounds. The bounds are extended to a multiple of the cell size. A
+	 * surface touching the bounds stays open there.
+	 *
+	 * @param sdf
+	 * @param min
+	 * @param max
+	 *
+	 * @return the welded mesh with material 0
+	 */
+	public PCGVoxelMeshData mesh(PCGSDF sdf, Vector3f min, Vector3f max)
+	{
+		assert sdf != null : "sdf != null";
+		assert min != null : "min != null";
+		assert max != null : "max != null";
+		assert max.x >= min.x && max.y >= min.y && max.z >= min.z : "max >= min";
+
+		Grid grid = new Grid(sdf, min, max);
+
+		grid.forEachChunk((builder, x, y, z) -> grid.sample(x, y, z));
+		grid.forEachChunk(grid::createVertices);
+
+		int vertexCount = 0;
+		for (Builder builder : grid.builders) {
+			builder.vertexOffset = vertexCount;
+			vertexCount += builder.vertexCount;
+		}
+
+		grid.vertices = new float[vertexCount * PCGVoxelMeshData.VERTEX_SIZE];
+		for (Builder builder : grid.builders) {
+			System.arraycopy(builder.vertices, 0, grid.vertices, builder.vertexOffset * PCGVoxelMeshData.VERTEX_SIZE, builder.vertexCount * PCGVoxelMeshData.VERTEX_SIZE);
+		}
+
+		grid.forEachChunk(grid::createFaces);
+
+		int indexCount = 0;
+		for (Builder builder : grid.builders) {
+			indexCount += builder.indexCount;
+		}
+
+		int[] indices = new int[indexCount];
+		int indexOffset = 0;
+
+		for (Builder builder : grid.builders) {
+			System.arraycopy(builder.indices, 0, indices, indexOffset, builder.indexCount);
+			indexOffset += builder.indexCount;
+		}
+
+		return new PCGVoxelMeshData(0, grid.vertices, indices);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public float getCellSize()
+	{
+		return cellSize;
+	}
+
+	public void setCellSize(float cellSize)
+	{
+		assert cellSize > 0.0f : "cellSize > 0.0f";
+
+		this.cellSize = cellSize;
+	}
+
+	public float getIsoLevel()
+	{
+		return isoLevel;
+	}
+
+	public void setIsoLevel(float isoLevel)
+	{
+		this.isoLevel = isoLevel;
+	}
+
+	public int getChunkCells()
+	{
+		return chunkCells;
+	}
+
+	public void setChunkCells(int chunkCells)
+	{
+		assert chunkCells > 0 : "chunkCells > 0";
+
+		this.chunkCells = chunkCells;
+	}
+
+	public ExecutorService getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(ExecutorService executor)
+	{
+		assert executor != null : "executor != null";
+
+		this.executor = executor;
+	}
+	// "Getters/Setters" </editor-fold>
+}
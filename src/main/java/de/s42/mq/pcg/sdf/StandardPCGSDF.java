@@ -26,41 +26,177 @@
 package de.s42.mq.pcg.sdf;
 
 import de.s42.mq.util.MQMath;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import org.joml.Vector3f;
 
 /**
+ * Sphere based sdf. The spheres are registered in a sparse grid of chunks addressed by 64 bit keys. Each chunk is a
+ * brick of CELLS_PER_CHUNK^3 cells which only get allocated once a sphere overlaps them. getMin searches the chunks
+ * around the position and skips all chunks and cells which are further away than the best distance so far. Distances
+ * are capped at the chunk size.
  *
  * @author Benjamin Schiller
  */
 public class StandardPCGSDF implements PCGSDF
 {
 
+	public final static float DEFAULT_CHUNK_SIZE = 16.0f;
+	public final static int CELLS_PER_CHUNK = 4;
+	public final static int CELLS_PER_CHUNK_CUBED = CELLS_PER_CHUNK * CELLS_PER_CHUNK * CELLS_PER_CHUNK;
+
+	// 21 bits per axis allow +-2^20 chunks
+	protected final static int CHUNK_KEY_BITS = 21;
+	protected final static long CHUNK_KEY_MASK = (1L << CHUNK_KEY_BITS) - 1L;
+
 	protected final float[] data;
 	protected final int componentSize;
 	protected int count;
 
-	// @todo Simple hacky optimization to create buckets
-	private final static class Chunk
+	protected final float chunkSize;
+	protected final float cellSize;
+	protected final ChunkMap chunks = new ChunkMap();
+
+	protected final static class Chunk
+	{
+
+		protected final int chunkX;
+		protected final int chunkY;
+		protected final int chunkZ;
+
+		// Sphere indices per cell - cells are allocated on first use
+		protected final int[][] cells = new int[CELLS_PER_CHUNK_CUBED][];
+		protected final int[] cellCounts = new int[CELLS_PER_CHUNK_CUBED];
+		protected int[] occupiedCells = new int[4];
+		protected int occupiedCellCount;
+
+		protected Chunk(int chunkX, int chunkY, int chunkZ)
+		{
+			this.chunkX = chunkX;
+			this.chunkY = chunkY;
+			this.chunkZ = chunkZ;
+		}
+
+		protected void add(int cell, int index)
+		{
+			int[] shapes = cells[cell];
+
+			if (shapes == null) {
+				shapes = new int[4];
+				cells[cell] = shapes;
+
+				if (occupiedCellCount == occupiedCells.length) {
+					occupiedCells = Arrays.copyOf(occupiedCells, occupiedCellCount * 2);
+				}
+				occupiedCells[occupiedCellCount++] = cell;
+			} else if (cellCounts[cell] == shapes.length) {
+				shapes = Arrays.copyOf(shapes, shapes.length * 2);
+				cells[cell] = shapes;
+			}
+
+			shapes[cellCounts[cell]++] = index;
+		}
+	}
+
+	/**
+	 * Open addressing map from 64 bit chunk keys to chunks - avoids boxing keys on every lookup
+	 */
+	protected final static class ChunkMap
 	{
 
-		public int count;
-		public float[] data;
+		protected long[] keys = new long[64];
+		protected Chunk[] values = new Chunk[64];
+		protected int size;
+
+		protected static int hash(long key)
+		{
+			// Finalizer of murmur3
+			key ^= key >>> 33;
+			key *= 0xff51afd7ed558ccdL;
+			key ^= key >>> 33;
+			key *= 0xc4ceb9fe1a85ec53L;
+			key ^= key >>> 33;
+
+			return (int) key;
+		}
+
+		protected Chunk get(long key)
+		{
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+
+			while (values[i] != null) {
+				if (keys[i] == key) {
+					return values[i];
+				}
+				i = (i + 1) & mask;
+			}
+
+			return null;
+		}
+
+		protected void put(long key, Chunk chunk)
+		{
+			if ((size + 1) * 2 > keys.length) {
+				grow();
+			}
+
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+
+			while (values[i] != null) {
+				if (keys[i] == key) {
+					values[i] = chunk;
+					return;
+				}
+				i = (i + 1) & mask;
+			}
+
+			keys[i] = key;
+			values[i] = chunk;
+			size++;
+		}
+
+		protected void grow()
+		{
+			long[] oldKeys = keys;
+			Chunk[] oldValues = values;
+
+			keys = new long[oldKeys.length * 2];
+			values = new Chunk[oldValues.length * 2];
+			size = 0;
+
+			for (int i = 0; i < oldKeys.length; ++i) {
+				if (oldValues[i] != null) {
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
 	}
 
-	private final float chunkSize = 16.0f;
-	private final Map<Integer, Chunk> chunks = new HashMap<>();
+	public static long getChunkKey(int chunkX, int chunkY, int chunkZ)
+	{
+		return ((chunkX & CHUNK_KEY_MASK) << (2 * CHUNK_KEY_BITS))
+			| ((chunkY & CHUNK_KEY_MASK) << CHUNK_KEY_BITS)
+			| (chunkZ & CHUNK_KEY_MASK);
+	}
 
 	public StandardPCGSDF(int elementCount)
+	{
+		this(elementCount, DEFAULT_CHUNK_SIZE);
+	}
+
+	public StandardPCGSDF(int elementCount, float chunkSize)
 	{
 		assert elementCount > 0 : "elementCount > 0";
+		assert chunkSize > 0.0f : "chunkSize > 0.0f";
 
 		// x,y,z,r
 		componentSize = 4;
 
 		data = new float[elementCount * componentSize];
 
+		this.chunkSize = chunkSize;
+		this.cellSize = chunkSize / CELLS_PER_CHUNK;
 	}
 
 	@Override
@@ -74,105 +210,277 @@ public class StandardPCGSDF implements PCGSDF
 	@Override
 	public float getMin(float x, float y, float z)
 	{
-		// @todo Simple hacky optimization to create buckets
-		int xC = (int) (x / chunkSize);
-		int yC = (int) (y / chunkSize);
-		int zC = (int) (z / chunkSize);
+		int cX = (int) MQMath.floor(x / chunkSize);
+		int cY = (int) MQMath.floor(y / chunkSize);
+		int cZ = (int) MQMath.floor(z / chunkSize);
+
+		// Squared distances are capped at the chunk size - so only the direct neighbours are relevant
+		float best = chunkSize * chunkSize;
+
+		// Own chunk first as it most likely contains the closest sphere
+		Chunk own = chunks.get(getChunkKey(cX, cY, cZ));
+		if (own != null) {
+			best = getMin(own, x, y, z, best);
+			if (best < 0.0f) {
+				return 0.0f;
+			}
+		}
 
-		int chunkId = (xC + 32) * 64 * 64 + (yC + 32) * 64 + (zC + 32);
+		for (int dX = -1; dX <= 1; ++dX) {
+			for (int dY = -1; dY <= 1; ++dY) {
+				for (int dZ = -1; dZ <= 1; ++dZ) {
 
-		Chunk chunk = chunks.get(chunkId);
+					if (dX == 0 && dY == 0 && dZ == 0) {
+						continue;
+					}
 
-		if (chunk == null) {
-			return chunkSize;
-		}
+					float chunkMinX = (cX + dX) * chunkSize;
+					float chunkMinY = (cY + dY) * chunkSize;
+					float chunkMinZ = (cZ + dZ) * chunkSize;
 
-		float sqDistance = Float.MAX_VALUE;
-		for (int i = 0; i < chunk.count * componentSize; i += componentSize) {
-			float dX = chunk.data[i] - x;
-			float dY = chunk.data[i + 1] - y;
-			float dZ = chunk.data[i + 2] - z;
-			float sSQR = chunk.data[i + 3];
+					if (getSquaredDistance(x, y, z, chunkMinX, chunkMinY, chunkMinZ, chunkSize) >= best) {
+						continue;
+					}
 
-			float sqD = dX * dX + dY * dY + dZ * dZ;
+					Chunk chunk = chunks.get(getChunkKey(cX + dX, cY + dY, cZ + dZ));
 
-			if (sqD < sSQR) {
-				return 0.0f;
-			}
+					if (chunk == null) {
+						continue;
+					}
 
-			sqDistance = Math.min(sqDistance, sqD - sSQR);
+					best = getMin(chunk, x, y, z, best);
+					if (best < 0.0f) {
+						return 0.0f;
+					}
+				}
+			}
 		}
 
-		return MQMath.sqrt(sqDistance);
+		return MQMath.sqrt(best);
+	}
 
-		/*
-		float sqDistance = Float.MAX_VALUE;
-		for (int i = 0; i < count * componentSize; i += componentSize) {
-			float dX = data[i] - x;
-			float dY = data[i + 1] - y;
-			float dZ = data[i + 2] - z;
-			float sSQR = data[i + 3];
+	/**
+	 * Returns the min of best and the squared distances of the spheres in the chunk or a value smaller 0 if inside
+	 */
+	protected float getMin(Chunk chunk, float x, float y, float z, float best)
+	{
+		float chunkMinX = chunk.chunkX * chunkSize;
+		float chunkMinY = chunk.chunkY * chunkSize;
+		float chunkMinZ = chunk.chunkZ * chunkSize;
 
-			float sqD = dX * dX + dY * dY + dZ * dZ;
+		for (int c = 0; c < chunk.occupiedCellCount; ++c) {
 
-			if (sqD < sSQR) {
-				return 0.0f;
+			int cell = chunk.occupiedCells[c];
+
+			// A sphere closer than best has its closest point in a cell closer than best
+			float cellMinX = chunkMinX + (cell % CELLS_PER_CHUNK) * cellSize;
+			float cellMinY = chunkMinY + ((cell / CELLS_PER_CHUNK) % CELLS_PER_CHUNK) * cellSize;
+			float cellMinZ = chunkMinZ + (cell / (CELLS_PER_CHUNK * CELLS_PER_CHUNK)) * cellSize;
+
+			if (getSquaredDistance(x, y, z, cellMinX, cellMinY, cellMinZ, cellSize) >= best) {
+				continue;
 			}
 
-			sqDistance = Math.min(sqDistance, sqD - sSQR);
+			int[] shapes = chunk.cells[cell];
+			int shapeCount = chunk.cellCounts[cell];
+
+			for (int s = 0; s < shapeCount; ++s) {
+
+				int i = shapes[s] * componentSize;
+
+				float dX = data[i] - x;
+				float dY = data[i + 1] - y;
+				float dZ = data[i + 2] - z;
+				float sSQR = data[i + 3];
+
+				float sqD = dX * dX + dY * dY + dZ * dZ;
+
+				if (sqD < sSQR) {
+					return -1.0f;
+				}
+
+				best = Math.min(best, sqD - sSQR);
+			}
 		}
 
-		return MQMath.sqrt(sqDistance);
-		 */
+		return best;
 	}
 
+	/**
+	 * Distances are capped at the chunk size like getMin
+	 */
 	@Override
-	public void addSphere(float x, float y, float z, float radius)
+	public float getDistance(float x, float y, float z)
 	{
-		assert count * componentSize <= data.length - componentSize : "count * componentSize <= data.length - componentSize";
+		int cX = (int) MQMath.floor(x / chunkSize);
+		int cY = (int) MQMath.floor(y / chunkSize);
+		int cZ = (int) MQMath.floor(z / chunkSize);
+
+		float best = chunkSize;
+
+		// All spheres containing the position are registered in its cell - so inside the own chunk is final
+		Chunk own = chunks.get(getChunkKey(cX, cY, cZ));
+		if (own != null) {
+			best = getDistance(own, x, y, z, best);
+			if (best <= 0.0f) {
+				return best;
+			}
+		}
 
-		// @todo Simple hacky optimization to create buckets
-		int minXC = (int) ((x - radius * radius) / chunkSize);
-		int maxXC = (int) ((x + radius * radius) / chunkSize);
-		int minYC = (int) ((y - radius * radius) / chunkSize);
-		int maxYC = (int) ((y + radius * radius) / chunkSize);
-		int minZC = (int) ((z - radius * radius) / chunkSize);
-		int maxZC = (int) ((z + radius * radius) / chunkSize);
+		for (int dX = -1; dX <= 1; ++dX) {
+			for (int dY = -1; dY <= 1; ++dY) {
+				for (int dZ = -1; dZ <= 1; ++dZ) {
+
+					if (dX == 0 && dY == 0 && dZ == 0) {
+						continue;
+					}
 
-		for (int xC = minXC; xC < maxXC; xC++) {
-			for (int yC = minYC; yC < maxYC; yC++) {
-				for (int zC = minZC; zC < maxZC; zC++) {
+					float chunkMinX = (cX + dX) * chunkSize;
+					float chunkMinY = (cY + dY) * chunkSize;
+					float chunkMinZ = (cZ + dZ) * chunkSize;
 
-					int chunkId = (xC + 32) * 64 * 64 + (yC + 32) * 64 + (zC + 32);
+					if (getSquaredDistance(x, y, z, chunkMinX, chunkMinY, chunkMinZ, chunkSize) >= best * best) {
+						continue;
+					}
 
-					Chunk chunk = chunks.get(chunkId);
+					Chunk chunk = chunks.get(getChunkKey(cX + dX, cY + dY, cZ + dZ));
 
-					if (chunk == null) {
-						chunk = new Chunk();
-						chunk.data = new float[data.length];
-						chunks.put(chunkId, chunk);
+					if (chunk != null) {
+						best = getDistance(chunk, x, y, z, best);
 					}
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Returns the min of best and the signed distances of the spheres in the chunk
+	 */
+	protected float getDistance(Chunk chunk, float x, float y, float z, float best)
+	{
+		float chunkMinX = chunk.chunkX * chunkSize;
+		float chunkMinY = chunk.chunkY * chunkSize;
+		float chunkMinZ = chunk.chunkZ * chunkSize;
+
+		for (int c = 0; c < chunk.occupiedCellCount; ++c) {
+
+			int cell = chunk.occupiedCells[c];
+
+			float cellMinX = chunkMinX + (cell % CELLS_PER_CHUNK) * cellSize;
+			float cellMinY = chunkMinY + ((cell / CELLS_PER_CHUNK) % CELLS_PER_CHUNK) * cellSize;
+			float cellMinZ = chunkMinZ + (cell / (CELLS_PER_CHUNK * CELLS_PER_CHUNK)) * cellSize;
 
-					int chunkIndex = chunk.count * componentSize;
-					chunk.data[chunkIndex] = x;
-					chunk.data[chunkIndex + 1] = y;
-					chunk.data[chunkIndex + 2] = z;
-					chunk.data[chunkIndex + 3] = radius * radius;
-					chunk.count++;
+			// Once inside only cells containing the position can hold spheres containing it
+			float cellDistance = getSquaredDistance(x, y, z, cellMinX, cellMinY, cellMinZ, cellSize);
+			if (cellDistance > 0.0f && (best <= 0.0f || cellDistance >= best * best)) {
+				continue;
+			}
+
+			int[] shapes = chunk.cells[cell];
+			int shapeCount = chunk.cellCounts[cell];
+
+			for (int s = 0; s < shapeCount; ++s) {
+
+				int i = shapes[s] * componentSize;
+
+				float dX = data[i] - x;
+				float dY = data[i + 1] - y;
+				float dZ = data[i + 2] - z;
+				float radius = MQMath.sqrt(data[i + 3]);
+
+				float sqD = dX * dX + dY * dY + dZ * dZ;
+
+				// Skips the sqrt for spheres which can not be closer
+				if (best > 0.0f && sqD >= (best + radius) * (best + radius)) {
+					continue;
 				}
+
+				best = Math.min(best, MQMath.sqrt(sqD) - radius);
 			}
 		}
 
-		/*
+		return best;
+	}
+
+	protected static float getSquaredDistance(float x, float y, float z, float minX, float minY, float minZ, float size)
+	{
+		float dX = Math.max(Math.max(minX - x, x - (minX + size)), 0.0f);
+		float dY = Math.max(Math.max(minY - y, y - (minY + size)), 0.0f);
+		float dZ = Math.max(Math.max(minZ - z, z - (minZ + size)), 0.0f);
+
+		return dX * dX + dY * dY + dZ * dZ;
+	}
+
+	@Override
+	public void addSphere(float x, float y, float z, float radius)
+	{
+		assert count * componentSize <= data.length - componentSize : "count * componentSize <= data.length - componentSize";
+		assert radius >= 0.0f : "radius >= 0.0f";
+
+		int index = count;
 		int i = count * componentSize;
 		data[i] = x;
 		data[i + 1] = y;
 		data[i + 2] = z;
 		data[i + 3] = radius * radius;
 		count++;
-		 */
+
+		// Register in all cells the bounds of the sphere overlap
+		int minX = (int) MQMath.floor((x - radius) / cellSize);
+		int maxX = (int) MQMath.floor((x + radius) / cellSize);
+		int minY = (int) MQMath.floor((y - radius) / cellSize);
+		int maxY = (int) MQMath.floor((y + radius) / cellSize);
+		int minZ = (int) MQMath.floor((z - radius) / cellSize);
+		int maxZ = (int) MQMath.floor((z + radius) / cellSize);
+
+		for (int cX = minX; cX <= maxX; cX++) {
+			for (int cY = minY; cY <= maxY; cY++) {
+				for (int cZ = minZ; cZ <= maxZ; cZ++) {
+					getOrCreateChunk(
+						Math.floorDiv(cX, CELLS_PER_CHUNK),
+						Math.floorDiv(cY, CELLS_PER_CHUNK),
+						Math.floorDiv(cZ, CELLS_PER_CHUNK)
+					).add(
+						Math.floorMod(cX, CELLS_PER_CHUNK)
+						+ Math.floorMod(cY, CELLS_PER_CHUNK) * CELLS_PER_CHUNK
+						+ Math.floorMod(cZ, CELLS_PER_CHUNK) * CELLS_PER_CHUNK * CELLS_PER_CHUNK,
+						index
+					);
+				}
+			}
+		}
+	}
+
+	protected Chunk getOrCreateChunk(int chunkX, int chunkY, int chunkZ)
+	{
+		long key = getChunkKey(chunkX, chunkY, chunkZ);
+
+		Chunk chunk = chunks.get(key);
+
+		if (chunk == null) {
+			chunk = new Chunk(chunkX, chunkY, chunkZ);
+			chunks.put(key, chunk);
+		}
+
+		return chunk;
 	}
 
 	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getCount()
+	{
+		return count;
+	}
+
+	public int getChunkCount()
+	{
+		return chunks.size;
+	}
+
+	public float getChunkSize()
+	{
+		return chunkSize;
+	}
 	// "Getters/Setters" </editor-fold>
 }
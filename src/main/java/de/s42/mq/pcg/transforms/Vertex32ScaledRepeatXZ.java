@@ -55,6 +55,19 @@ public final class Vertex32ScaledRepeatXZ implements Vertex32Transform
 		return target;
 	}
 
+	@Override
+	public final void transform(float[] data, int offset, int stride, int count, float[] target)
+	{
+		assert data != null : "data != null";
+		assert target != null : "target != null";
+		assert target.length >= count * 2 : "target.length >= count * 2";
+
+		for (int i = 0, d = offset; i < count; ++i, d += stride) {
+			target[i * 2] = MQMath.fract(data[d] * scale);
+			target[i * 2 + 1] = MQMath.fract(data[d + 2] * scale);
+		}
+	}
+
 	public float getScale()
 	{
 		return scale;
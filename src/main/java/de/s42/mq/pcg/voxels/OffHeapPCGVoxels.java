@@ -0,0 +1,342 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import de.s42.mq.pcg.PCGOffHeapStorage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+/**
+ * Voxels in off heap pages with the same layout as StandardPCGVoxels. get and set access the pages directly.
+ * PCGVoxelProcessor and PCGVoxelPositionProcessor get a heap copy of all voxels with the dense indices of
+ * StandardPCGVoxels which is copied back after processing. processChunks avoids the copy and hands a
+ * PCGVoxelChunkProcessor one x slice at a time.
+ *
+ * The voxel count is limited to Integer.MAX_VALUE like the int indices of PCGVoxels - unlike points, off heap voxels
+ * only move the data out of the heap and do not raise the count limit.
+ *
+ * @author Benjamin Schiller
+ */
+public class OffHeapPCGVoxels implements PCGVoxels, AutoCloseable
+{
+
+	/**
+	 * "MQPV" in native order - a different value means another file type or byte order
+	 */
+	public final static int MAGIC = 0x4D515056;
+	public final static int FORMAT_VERSION = 1;
+	public final static int HEADER_SIZE = 32;
+
+	protected final PCGOffHeapStorage storage;
+	protected final int width;
+	protected final int height;
+	protected final int depth;
+	protected final int count;
+	protected final Vector3f origin;
+
+	public OffHeapPCGVoxels(int width, int height, int depth, Vector3f origin)
+	{
+		this(width, height, depth, origin, PCGOffHeapStorage.DEFAULT_PAGE_SHIFT);
+	}
+
+	public OffHeapPCGVoxels(int width, int height, int depth, Vector3f origin, int pageShift)
+	{
+		this(PCGOffHeapStorage.allocate((long) width * height * depth, pageShift), width, height, depth, origin);
+	}
+
+	protected OffHeapPCGVoxels(PCGOffHeapStorage storage, int width, int height, int depth, Vector3f origin)
+	{
+		assert storage != null : "storage != null";
+		assert width > 0 : "width > 0";
+		assert height > 0 : "height > 0";
+		assert depth > 0 : "depth > 0";
+		assert (long) width * height * depth <= Integer.MAX_VALUE : "(long) width * height * depth <= Integer.MAX_VALUE";
+		assert origin != null : "origin != null";
+
+		this.storage = storage;
+		this.width = width;
+		this.height = height;
+		this.depth = depth;
+		this.count = width * height * depth;
+		this.origin = new Vector3f(origin);
+	}
+
+	/**
+	 * Maps the voxels of a file written by write
+	 *
+	 * @param file
+	 * @param writable changes get written to the file if true
+	 *
+	 * @return the mapped voxels
+	 *
+	 * @throws IOException
+	 */
+	public static OffHeapPCGVoxels map(Path file, boolean writable) throws IOException
+	{
+		assert file != null : "file != null";
+
+		try (FileChannel channel = writable
+			? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+			: FileChannel.open(file, StandardOpenOption.READ)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+			channel.read(header, 0);
+			header.flip();
+
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				throw new IOException("Not a voxels file or written in a different byte order " + file);
+			}
+
+			int version = header.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("Unsupported voxels file version " + version + " " + file);
+			}
+
+			int width = header.getInt();
+			int height = header.getInt();
+			int depth = header.getInt();
+			Vector3f origin = new Vector3f(header.getFloat(), header.getFloat(), header.getFloat());
+
+			return new OffHeapPCGVoxels(
+				PCGOffHeapStorage.map(channel, HEADER_SIZE, (long) width * height * depth, PCGOffHeapStorage.DEFAULT_PAGE_SHIFT, writable),
+				width, height, depth, origin);
+		}
+	}
+
+	/**
+	 * Writes the voxels straight from the pages
+	 *
+	 * @param file
+	 *
+	 * @throws IOException
+	 */
+	public void write(Path file) throws IOException
+	{
+		assert file != null : "file != null";
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+			header.putInt(MAGIC);
+			header.putInt(FORMAT_VERSION);
+			header.putInt(width);
+			header.putInt(height);
+			header.putInt(depth);
+			header.putFloat(origin.x);
+			header.putFloat(origin.y);
+			header.putFloat(origin.z);
+			header.flip();
+
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+
+			storage.write(channel);
+		}
+	}
+
+	@Override
+	public void process(PCGVoxelProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		int[] data = new int[count];
+
+		storage.getInts(0, data, 0, count);
+		processor.process(this, data);
+		storage.setInts(0, data, 0, count);
+	}
+
+	/**
+	 * Visits all voxels in the order and with the dense data and indices of StandardPCGVoxels on a heap copy
+	 *
+	 * @param processor
+	 */
+	@Override
+	public void process(PCGVoxelPositionProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		int[] data = new int[count];
+
+		storage.getInts(0, data, 0, count);
+
+		int index = 0;
+		for (int x = 0; x < width; ++x) {
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					processor.process(data, (float) x, (float) y, (float) z, index);
+					index++;
+				}
+			}
+		}
+
+		storage.setInts(0, data, 0, count);
+	}
+
+	/**
+	 * Processes one x slice at a time - data holds the slice and index is relative to it (y * depth + z)
+	 *
+	 * @param processor
+	 */
+	public void processChunks(PCGVoxelChunkProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		int sliceSize = height * depth;
+		int[] slice = new int[sliceSize];
+
+		for (int x = 0; x < width; ++x) {
+
+			long sliceStart = (long) x * sliceSize;
+			storage.getInts(sliceStart, slice, 0, sliceSize);
+
+			int index = 0;
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					processor.process(slice, x, y, z, index);
+					index++;
+				}
+			}
+
+			storage.setInts(sliceStart, slice, 0, sliceSize);
+		}
+	}
+
+	/**
+	 * Releases the off heap pages - the voxels can not be used afterwards
+	 */
+	@Override
+	public void close()
+	{
+		storage.close();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public PCGOffHeapStorage getStorage()
+	{
+		return storage;
+	}
+
+	@Override
+	public int getCount()
+	{
+		return count;
+	}
+
+	@Override
+	public int getWidth()
+	{
+		return width;
+	}
+
+	@Override
+	public int getHeight()
+	{
+		return height;
+	}
+
+	@Override
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	@Override
+	public int get(Vector3i position)
+	{
+		assert position != null : "position != null";
+
+		return get(position.x, position.y, position.z);
+	}
+
+	@Override
+	public int get(int x, int y, int z)
+	{
+		return storage.getInt(getIndex(x, y, z));
+	}
+
+	@Override
+	public int get(int index)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		return storage.getInt(index);
+	}
+
+	@Override
+	public int getIndex(Vector3i position)
+	{
+		assert position != null : "position != null";
+
+		return getIndex(position.x, position.y, position.z);
+	}
+
+	@Override
+	public int getIndex(int x, int y, int z)
+	{
+		assert x >= 0 && x < width : "x >= 0 && x < width";
+		assert y >= 0 && y < height : "y >= 0 && y < height";
+		assert z >= 0 && z < depth : "z >= 0 && z < depth";
+
+		return x * height * depth + y * depth + z;
+	}
+
+	@Override
+	public Vector3f getOrigin()
+	{
+		return origin;
+	}
+
+	@Override
+	public void set(Vector3i position, int value)
+	{
+		assert position != null : "position != null";
+
+		set(position.x, position.y, position.z, value);
+	}
+
+	@Override
+	public void set(int x, int y, int z, int value)
+	{
+		set(getIndex(x, y, z), value);
+	}
+
+	@Override
+	public void set(int index, int value)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		storage.setInt(index, value);
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,46 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+/**
+ * Processes the voxels of a volume window by window - the chunks of SparsePCGVoxels or the x slices of
+ * OffHeapPCGVoxels. Unlike for a PCGVoxelPositionProcessor, data only holds the voxels of the current window and index
+ * addresses the voxel in it. Changes to data are stored after each window.
+ *
+ * @author Benjamin Schiller
+ */
+public interface PCGVoxelChunkProcessor
+{
+
+	/**
+	 * @param data voxels of the window
+	 * @param x position in the volume
+	 * @param y position in the volume
+	 * @param z position in the volume
+	 * @param index index of the voxel in data
+	 */
+	void process(int[] data, int x, int y, int z, int index);
+}
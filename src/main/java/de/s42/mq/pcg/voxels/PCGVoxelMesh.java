@@ -0,0 +1,214 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import de.s42.dl.DLAttribute.AttributeDL;
+import de.s42.dl.exceptions.DLException;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import de.s42.mq.loaders.fbx.MQDebug;
+import de.s42.mq.materials.Material;
+import de.s42.mq.meshes.Mesh;
+import de.s42.mq.rendering.RenderContext;
+import de.s42.mq.shaders.Shader;
+import de.s42.mq.util.AABB;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Renders one PCGVoxelMeshData with a single draw call
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGVoxelMesh extends Mesh
+{
+
+	@SuppressWarnings("FieldNameHidesFieldInSuperclass")
+	private final static Logger log = LogManager.getLogger(PCGVoxelMesh.class.getName());
+
+	@AttributeDL(ignore = true)
+	protected PCGVoxelMeshData data;
+
+	@AttributeDL(ignore = true)
+	protected AABB bounds;
+
+	protected int vao = -1;
+	protected int vbo = -1;
+	protected int ibo = -1;
+
+	public PCGVoxelMesh()
+	{
+	}
+
+	public PCGVoxelMesh(PCGVoxelMeshData data)
+	{
+		setData(data);
+	}
+
+	@Override
+	public PCGVoxelMesh copy()
+	{
+		PCGVoxelMesh copy = (PCGVoxelMesh) super.copy();
+		copy.data = data;
+		copy.bounds = bounds;
+		copy.vao = vao;
+		copy.vbo = vbo;
+		copy.ibo = ibo;
+
+		return copy;
+	}
+
+	@Override
+	public void load() throws DLException
+	{
+		assert data != null : "data != null";
+
+		if (isLoaded()) {
+			return;
+		}
+
+		super.load();
+
+		vao = glGenVertexArrays();
+		glBindVertexArray(vao);
+
+		log.trace("Generating voxel mesh", data.getTriangleCount());
+
+		vbo = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, vbo);
+		glBufferData(GL_ARRAY_BUFFER, data.getVertices(), GL_STATIC_DRAW);
+
+		ibo = glGenBuffers();
+		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
+		glBufferData(GL_ELEMENT_ARRAY_BUFFER, data.getIndices(), GL_STATIC_DRAW);
+
+		glBindBuffer(GL_ARRAY_BUFFER, 0);
+		glBindVertexArray(0);
+	}
+
+	@Override
+	public void unload() throws DLException
+	{
+		if (!isLoaded()) {
+			return;
+		}
+
+		glDeleteBuffers(vbo);
+		glDeleteBuffers(ibo);
+		vbo = -1;
+		ibo = -1;
+		glDeleteVertexArrays(vao);
+		vao = -1;
+
+		super.unload();
+	}
+
+	@Override
+	public void render(RenderContext context)
+	{
+		assert context != null : "context != null";
+		assert material != null : "material != null";
+		assert material.isLoaded() : "material.isLoaded()";
+		assert isLoaded() : "isLoaded()";
+
+		// Use override material if given
+		Material mat = (context.getOverrideMaterial() != null) ? context.getOverrideMaterial() : material;
+		Shader shader = mat.getShader();
+
+		updateModelMatrix();
+
+		mat.beforeRendering(context);
+		shader.setMesh(this);
+		shader.beforeRendering(context);
+
+		glBindVertexArray(vao);
+
+		glBindBuffer(GL_ARRAY_BUFFER, vbo);
+		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
+
+		int stride = PCGVoxelMeshData.VERTEX_SIZE * 4;
+
+		if (shader.getInputPosition() > -1) {
+			glVertexAttribPointer(shader.getInputPosition(), 3, GL_FLOAT, false, stride, 0L);
+			glEnableVertexAttribArray(shader.getInputPosition());
+		}
+
+		if (shader.getInputNormal() > -1) {
+			glVertexAttribPointer(shader.getInputNormal(), 3, GL_FLOAT, false, stride, 3 * 4L);
+			glEnableVertexAttribArray(shader.getInputNormal());
+		}
+
+		if (shader.getInputTextureCoords() > -1) {
+			glVertexAttribPointer(shader.getInputTextureCoords(), 2, GL_FLOAT, false, stride, (3 + 3) * 4L);
+			glEnableVertexAttribArray(shader.getInputTextureCoords());
+		}
+
+		glDrawElements(GL_TRIANGLES, data.getIndexCount(), GL_UNSIGNED_INT, 0L);
+		MQDebug.incDrawCallData(1, 1, data.getTriangleCount());
+
+		glBindBuffer(GL_ARRAY_BUFFER, 0);
+		glBindVertexArray(0);
+
+		shader.afterRendering(context);
+		mat.afterRendering(context);
+	}
+
+	@Override
+	public AABB getAABB()
+	{
+		Matrix4f matrix = getTransform().getMatrix();
+
+		Vector4f min = (new Vector4f(bounds.min, 1.0f)).mul(matrix);
+		min.div(min.w);
+
+		Vector4f max = (new Vector4f(bounds.max, 1.0f)).mul(matrix);
+		max.div(max.w);
+
+		return new AABB(min.xyz(new Vector3f()), max.xyz(new Vector3f()));
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public PCGVoxelMeshData getData()
+	{
+		return data;
+	}
+
+	public void setData(PCGVoxelMeshData data)
+	{
+		assert data != null : "data != null";
+		assert !isLoaded() : "!isLoaded()";
+
+		this.data = data;
+		bounds = data.getBounds();
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,108 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import de.s42.mq.util.AABB;
+
+/**
+ * Indexed triangle data of one material of a meshed PCGVoxels volume. Vertices are interleaved as position, normal and
+ * texture coords like the other meshes. Positions are relative to the origin of the voxels.
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGVoxelMeshData
+{
+
+	// x,y,z,nx,ny,nz,u,v
+	public final static int VERTEX_SIZE = 3 + 3 + 2;
+
+	protected final int materialId;
+	protected final float[] vertices;
+	protected final int[] indices;
+
+	public PCGVoxelMeshData(int materialId, float[] vertices, int[] indices)
+	{
+		assert vertices != null : "vertices != null";
+		assert indices != null : "indices != null";
+		assert vertices.length % VERTEX_SIZE == 0 : "vertices.length % VERTEX_SIZE == 0";
+		assert indices.length % 3 == 0 : "indices.length % 3 == 0";
+
+		this.materialId = materialId;
+		this.vertices = vertices;
+		this.indices = indices;
+	}
+
+	public AABB getBounds()
+	{
+		AABB bounds = new AABB(
+			Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+			Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY
+		);
+
+		for (int i = 0; i < vertices.length; i += VERTEX_SIZE) {
+			bounds.min.x = Math.min(bounds.min.x, vertices[i]);
+			bounds.min.y = Math.min(bounds.min.y, vertices[i + 1]);
+			bounds.min.z = Math.min(bounds.min.z, vertices[i + 2]);
+			bounds.max.x = Math.max(bounds.max.x, vertices[i]);
+			bounds.max.y = Math.max(bounds.max.y, vertices[i + 1]);
+			bounds.max.z = Math.max(bounds.max.z, vertices[i + 2]);
+		}
+
+		return bounds;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getMaterialId()
+	{
+		return materialId;
+	}
+
+	public float[] getVertices()
+	{
+		return vertices;
+	}
+
+	public int[] getIndices()
+	{
+		return indices;
+	}
+
+	public int getVertexCount()
+	{
+		return vertices.length / VERTEX_SIZE;
+	}
+
+	public int getIndexCount()
+	{
+		return indices.length;
+	}
+
+	public int getTriangleCount()
+	{
+		return indices.length / 3;
+	}
+	// "Getters/Setters" </editor-fold>
+}
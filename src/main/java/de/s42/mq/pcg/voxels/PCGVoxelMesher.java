@@ -0,0 +1,294 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntUnaryOperator;
+import org.joml.Vector3i;
+
+/**
+ * Turns PCGVoxels into indexed triangle meshes on the CPU. Faces between two filled voxels are culled and coplanar faces
+ * of the same material are greedily merged into rectangles. Voxels with value 0 are empty. Each voxel is a unit cube
+ * centered at its coordinate like the cube gizmos. The materialMapper maps a voxel value to a material id
+ * (default all filled voxels have material 0), one PCGVoxelMeshData is created per used material id. Only the filled
+ * bounds of the voxels (see PCGVoxels.getFilledBounds) are read and swept - sparse voxels skip their empty chunks.
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGVoxelMesher
+{
+
+	public final static IntUnaryOperator SINGLE_MATERIAL = (value) -> 0;
+	public final static IntUnaryOperator VALUE_AS_MATERIAL = (value) -> value;
+
+	protected IntUnaryOperator materialMapper = SINGLE_MATERIAL;
+
+	/**
+	 * Growing vertex and index arrays of one material
+	 */
+	protected static class Builder
+	{
+
+		protected final int materialId;
+		protected float[] vertices = new float[PCGVoxelMeshData.VERTEX_SIZE * 64];
+		protected int[] indices = new int[96];
+		protected int vertexCount;
+		protected int indexCount;
+
+		protected Builder(int materialId)
+		{
+			this.materialId = materialId;
+		}
+
+		protected void addVertex(float x, float y, float z, float nX, float nY, float nZ, float u, float v)
+		{
+			int i = vertexCount * PCGVoxelMeshData.VERTEX_SIZE;
+
+			if (i + PCGVoxelMeshData.VERTEX_SIZE > vertices.length) {
+				vertices = Arrays.copyOf(vertices, vertices.length * 2);
+			}
+
+			vertices[i] = x;
+			vertices[i + 1] = y;
+			vertices[i + 2] = z;
+			vertices[i + 3] = nX;
+			vertices[i + 4] = nY;
+			vertices[i + 5] = nZ;
+			vertices[i + 6] = u;
+			vertices[i + 7] = v;
+			vertexCount++;
+		}
+
+		protected void addTriangle(int a, int b, int c)
+		{
+			if (indexCount + 3 > indices.length) {
+				indices = Arrays.copyOf(indices, indices.length * 2);
+			}
+
+			indices[indexCount] = a;
+			indices[indexCount + 1] = b;
+			indices[indexCount + 2] = c;
+			indexCount += 3;
+		}
+
+		protected PCGVoxelMeshData build()
+		{
+			return new PCGVoxelMeshData(
+				materialId,
+				Arrays.copyOf(vertices, vertexCount * PCGVoxelMeshData.VERTEX_SIZE),
+				Arrays.copyOf(indices, indexCount)
+			);
+		}
+	}
+
+	public PCGVoxelMesher()
+	{
+	}
+
+	public PCGVoxelMesher(IntUnaryOperator materialMapper)
+	{
+		assert materialMapper != null : "materialMapper != null";
+
+		this.materialMapper = materialMapper;
+	}
+
+	/**
+	 * Meshes the given voxels
+	 *
+	 * @param voxels
+	 *
+	 * @return one mesh data per used material id sorted by material id
+	 */
+	public List<PCGVoxelMeshData> mesh(PCGVoxels voxels)
+	{
+		assert voxels != null : "voxels != null";
+
+		Vector3i min = new Vector3i();
+		Vector3i max = new Vector3i();
+
+		if (!voxels.getFilledBounds(min, max)) {
+			return new ArrayList<>();
+		}
+
+		// Everything outside the bounds is empty - so faces on the bounds are found like on the volume borders
+		int[] offset = {min.x, min.y, min.z};
+		int[] dims = {max.x - min.x, max.y - min.y, max.z - min.z};
+
+		// Same layout as PCGVoxels.getIndex
+		int[] strides = {dims[1] * dims[2], dims[2], 1};
+
+		// Material id + 1 per voxel, 0 is empty - read through get to support voxels without a heap array
+		int[] materials = new int[dims[0] * dims[1] * dims[2]];
+		int index = 0;
+		for (int x = min.x; x < max.x; ++x) {
+			for (int y = min.y; y < max.y; ++y) {
+				for (int z = min.z; z < max.z; ++z) {
+					int value = voxels.get(x, y, z);
+					if (value != 0) {
+						int materialId = materialMapper.applyAsInt(value);
+						assert materialId >= 0 : "materialId >= 0";
+						materials[index] = materialId + 1;
+					}
+					index++;
+				}
+			}
+		}
+
+		Map<Integer, Builder> builders = new TreeMap<>();
+		int[] mask = new int[Math.max(dims[0] * dims[1], Math.max(dims[1] * dims[2], dims[0] * dims[2]))];
+
+		for (int d = 0; d < 3; ++d) {
+
+			int u = (d + 1) % 3;
+			int v = (d + 2) % 3;
+
+			// Visit each plane between two slices including the outer ones
+			for (int s = -1; s < dims[d]; ++s) {
+
+				// Positive entries are faces looking along +d, negative ones along -d
+				int n = 0;
+				for (int j = 0; j < dims[v]; ++j) {
+					for (int i = 0; i < dims[u]; ++i) {
+
+						int base = i * strides[u] + j * strides[v];
+						int a = (s >= 0) ? materials[base + s * strides[d]] : 0;
+						int b = (s < dims[d] - 1) ? materials[base + (s + 1) * strides[d]] : 0;
+
+						if (a != 0 && b == 0) {
+							mask[n] = a;
+						} else if (a == 0 && b != 0) {
+							mask[n] = -b;
+						} else {
+							mask[n] = 0;
+						}
+						n++;
+					}
+				}
+
+				// Greedily merge equal entries into rectangles
+				n = 0;
+				for (int j = 0; j < dims[v]; ++j) {
+					for (int i = 0; i < dims[u];) {
+
+						int m = mask[n];
+
+						if (m == 0) {
+							i++;
+							n++;
+							continue;
+						}
+
+						int w = 1;
+						while (i + w < dims[u] && mask[n + w] == m) {
+							w++;
+						}
+
+						int h = 1;
+						expand:
+						while (j + h < dims[v]) {
+							for (int k = 0; k < w; ++k) {
+								if (mask[n + k + h * dims[u]] != m) {
+									break expand;
+								}
+							}
+							h++;
+						}
+
+						int materialId = Math.abs(m) - 1;
+						Builder builder = builders.computeIfAbsent(materialId, Builder::new);
+						addQuad(builder, d, u, v, s + 1 + offset[d], i + offset[u], j + offset[v], w, h, m > 0);
+
+						for (int l = 0; l < h; ++l) {
+							Arrays.fill(mask, n + l * dims[u], n + l * dims[u] + w, 0);
+						}
+
+						i += w;
+						n += w;
+					}
+				}
+			}
+		}
+
+		List<PCGVoxelMeshData> result = new ArrayList<>(builders.size());
+		for (Builder builder : builders.values()) {
+			result.add(builder.build());
+		}
+
+		return result;
+	}
+
+	protected static void addQuad(Builder builder, int d, int u, int v, int plane, int i, int j, int w, int h, boolean positive)
+	{
+		// Voxels are centered at their coordinates
+		float[] p = new float[3];
+		p[d] = plane - 0.5f;
+		p[u] = i - 0.5f;
+		p[v] = j - 0.5f;
+
+		float[] du = new float[3];
+		du[u] = w;
+
+		float[] dv = new float[3];
+		dv[v] = h;
+
+		float[] normal = new float[3];
+		normal[d] = positive ? 1.0f : -1.0f;
+
+		int first = builder.vertexCount;
+
+		builder.addVertex(p[0], p[1], p[2], normal[0], normal[1], normal[2], 0.0f, 0.0f);
+		builder.addVertex(p[0] + du[0], p[1] + du[1], p[2] + du[2], normal[0], normal[1], normal[2], w, 0.0f);
+		builder.addVertex(p[0] + du[0] + dv[0], p[1] + du[1] + dv[1], p[2] + du[2] + dv[2], normal[0], normal[1], normal[2], w, h);
+		builder.addVertex(p[0] + dv[0], p[1] + dv[1], p[2] + dv[2], normal[0], normal[1], normal[2], 0.0f, h);
+
+		// u x v = d so the quad is counter clockwise seen from +d
+		if (positive) {
+			builder.addTriangle(first, first + 1, first + 2);
+			builder.addTriangle(first + 2, first + 3, first);
+		} else {
+			builder.addTriangle(first, first + 3, first + 2);
+			builder.addTriangle(first + 2, first + 1, first);
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public IntUnaryOperator getMaterialMapper()
+	{
+		return materialMapper;
+	}
+
+	public void setMaterialMapper(IntUnaryOperator materialMapper)
+	{
+		assert materialMapper != null : "materialMapper != null";
+
+		this.materialMapper = materialMapper;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -35,8 +35,6 @@ import org.joml.Vector3i;
 public interface PCGVoxels
 {
 
-	int[] getData();
-
 	int getWidth();
 
 	int getHeight();
@@ -49,6 +47,28 @@ public interface PCGVoxels
 
 	int get(Vector3i position);
 
+	int get(int index);
+
+	/**
+	 * Kept for callers from before the off heap and sparse voxels - heap voxels return their backing array, all others
+	 * a copy of the voxels which does not write through.
+	 *
+	 * @return the voxel values by index
+	 *
+	 * @deprecated use HeapPCGVoxels.getData for direct access or process the voxels
+	 */
+	@Deprecated
+	default int[] getData()
+	{
+		int[] copy = new int[getCount()];
+
+		for (int i = 0; i < copy.length; ++i) {
+			copy[i] = get(i);
+		}
+
+		return copy;
+	}
+
 	int getIndex(int x, int y, int z);
 
 	int getIndex(Vector3i position);
@@ -64,4 +84,24 @@ public interface PCGVoxels
 	void process(PCGVoxelProcessor processor);
 
 	void process(PCGVoxelPositionProcessor processor);
+
+	/**
+	 * Bounds containing all non empty voxels - they may be larger. Lets PCGVoxelMesher skip empty space, the default is
+	 * the whole volume.
+	 *
+	 * @param min first voxel inside the bounds
+	 * @param max first voxel after the bounds
+	 *
+	 * @return false if the voxels are all empty
+	 */
+	default boolean getFilledBounds(Vector3i min, Vector3i max)
+	{
+		assert min != null : "min != null";
+		assert max != null : "max != null";
+
+		min.set(0, 0, 0);
+		max.set(getWidth(), getHeight(), getDepth());
+
+		return getCount() > 0;
+	}
 }
@@ -0,0 +1,685 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+/**
+ * Voxels in chunks of 16 x 16 x 16. Chunks with a single value are collapsed to that value - empty chunks take no
+ * memory at all. Other chunks store a palette of their values and packed palette indices of 1 to 16 bits per voxel.
+ * Indices and neighbours (see retrieveOffsetValue) follow the dense layout of StandardPCGVoxels. PCGVoxelProcessor and
+ * PCGVoxelPositionProcessor work on a dense copy like on StandardPCGVoxels, processChunks and processNonEmptyChunks
+ * avoid the copy and hand a PCGVoxelChunkProcessor one chunk at a time.
+ *
+ * @author Benjamin Schiller
+ */
+public class SparsePCGVoxels implements PCGVoxels
+{
+
+	public final static int CHUNK_SHIFT = 4;
+	public final static int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	public final static int CHUNK_MASK = CHUNK_SIZE - 1;
+	public final static int CHUNK_VOLUME = CHUNK_SIZE * CHUNK_SIZE * CHUNK_SIZE;
+
+	/**
+	 * Same as StandardPCGVoxels.retrieveOffsetValue - the offset is applied to the dense index
+	 *
+	 * @param voxels
+	 * @param componentIndex
+	 * @param offX
+	 * @param offY
+	 * @param offZ
+	 *
+	 * @return
+	 */
+	public static int retrieveOffsetValue(SparsePCGVoxels voxels, int componentIndex, int offX, int offY, int offZ)
+	{
+		int offset = offX * voxels.height * voxels.depth + offY * voxels.depth + offZ;
+
+		return voxels.get(componentIndex + offset);
+	}
+
+	/**
+	 * Values of one chunk - either uniform or a palette with packed indices
+	 */
+	protected final static class Chunk
+	{
+
+		/**
+		 * Voxels of the chunk inside the volume - less than CHUNK_VOLUME for chunks at the far borders
+		 */
+		protected final int volume;
+
+		/**
+		 * Value of all voxels if palette is null
+		 */
+		protected int uniform;
+		protected int[] palette;
+
+		/**
+		 * Voxels inside the volume per palette entry - entries with 0 voxels get reused
+		 */
+		protected int[] counts;
+		protected int paletteSize;
+		protected int bits;
+		protected long[] indices;
+
+		protected Chunk(int uniform, int volume)
+		{
+			assert volume > 0 && volume <= CHUNK_VOLUME : "volume > 0 && volume <= CHUNK_VOLUME";
+
+			this.uniform = uniform;
+			this.volume = volume;
+		}
+
+		protected boolean isUniform()
+		{
+			return palette == null;
+		}
+
+		protected int readIndex(int local)
+		{
+			int bit = local * bits;
+
+			return (int) (indices[bit >>> 6] >>> (bit & 63)) & ((1 << bits) - 1);
+		}
+
+		protected void writeIndex(int local, int entry)
+		{
+			int bit = local * bits;
+			long mask = (long) ((1 << bits) - 1) << (bit & 63);
+
+			indices[bit >>> 6] = (indices[bit >>> 6] & ~mask) | ((long) entry << (bit & 63));
+		}
+
+		protected int get(int local)
+		{
+			if (palette == null) {
+				return uniform;
+			}
+
+			return palette[readIndex(local)];
+		}
+
+		/**
+		 * @param local
+		 * @param value
+		 *
+		 * @return true if the chunk is uniform afterwards
+		 */
+		protected boolean set(int local, int value)
+		{
+			if (palette == null) {
+
+				if (value == uniform) {
+					return true;
+				}
+
+				// All voxels start at the old value - the write below may collapse the chunk right away
+				palette = new int[]{uniform, value};
+				counts = new int[]{volume, 0};
+				paletteSize = 2;
+				bits = 1;
+				indices = new long[CHUNK_VOLUME / 64];
+			}
+
+			int previous = readIndex(local);
+
+			if (palette[previous] == value) {
+				return false;
+			}
+
+			int entry = findOrAddEntry(value);
+
+			writeIndex(local, entry);
+			counts[previous]--;
+			counts[entry]++;
+
+			// Voxels outside the volume are never read - so they do not prevent collapsing
+			if (counts[entry] == volume) {
+				uniform = value;
+				palette = null;
+				counts = null;
+				indices = null;
+				paletteSize = 0;
+				bits = 0;
+
+				return true;
+			}
+
+			return false;
+		}
+
+		protected int findOrAddEntry(int value)
+		{
+			int free = -1;
+
+			for (int i = 0; i < paletteSize; ++i) {
+				if (palette[i] == value) {
+					return i;
+				}
+				if (free == -1 && counts[i] == 0) {
+					free = i;
+				}
+			}
+
+			if (free != -1) {
+				palette[free] = value;
+				return free;
+			}
+
+			if (paletteSize == (1 << bits)) {
+				grow();
+			}
+
+			if (paletteSize == palette.length) {
+				int[] newPalette = new int[palette.length * 2];
+				int[] newCounts = new int[palette.length * 2];
+				System.arraycopy(palette, 0, newPalette, 0, paletteSize);
+				System.arraycopy(counts, 0, newCounts, 0, paletteSize);
+				palette = newPalette;
+				counts = newCounts;
+			}
+
+			palette[paletteSize] = value;
+
+			return paletteSize++;
+		}
+
+		/**
+		 * Doubles the bits per index (1, 2, 4, 8, 16) so indices never span two longs
+		 */
+		protected void grow()
+		{
+			assert bits < 16 : "bits < 16";
+
+			int oldBits = bits;
+			long[] oldIndices = indices;
+
+			bits = oldBits * 2;
+			indices = new long[CHUNK_VOLUME * bits / 64];
+
+			int oldMask = (1 << oldBits) - 1;
+			for (int local = 0; local < CHUNK_VOLUME; ++local) {
+				int bit = local * oldBits;
+				writeIndex(local, (int) (oldIndices[bit >>> 6] >>> (bit & 63)) & oldMask);
+			}
+		}
+
+		protected long getMemorySize()
+		{
+			if (palette == null) {
+				return 0;
+			}
+
+			return (long) indices.length * 8 + (long) palette.length * 4 * 2;
+		}
+	}
+
+	protected final int width;
+	protected final int height;
+	protected final int depth;
+	protected final int count;
+	protected final int chunksX;
+	protected final int chunksY;
+	protected final int chunksZ;
+	protected final Vector3f origin;
+
+	/**
+	 * Null for empty chunks
+	 */
+	protected final Chunk[] chunks;
+
+	public SparsePCGVoxels(int width, int height, int depth, Vector3f origin)
+	{
+		assert width > 0 : "width > 0";
+		assert height > 0 : "height > 0";
+		assert depth > 0 : "depth > 0";
+		assert (long) width * height * depth <= Integer.MAX_VALUE : "(long) width * height * depth <= Integer.MAX_VALUE";
+		assert origin != null : "origin != null";
+
+		this.width = width;
+		this.height = height;
+		this.depth = depth;
+		this.count = width * height * depth;
+		this.origin = new Vector3f(origin);
+
+		chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+		chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+		chunksZ = (depth + CHUNK_MASK) >> CHUNK_SHIFT;
+		chunks = new Chunk[chunksX * chunksY * chunksZ];
+	}
+
+	protected int getChunkIndex(int x, int y, int z)
+	{
+		return ((x >> CHUNK_SHIFT) * chunksY + (y >> CHUNK_SHIFT)) * chunksZ + (z >> CHUNK_SHIFT);
+	}
+
+	/**
+	 * @return the count of voxels inside the volume of the chunk containing the position
+	 */
+	protected int getChunkVolume(int x, int y, int z)
+	{
+		int startX = x & ~CHUNK_MASK;
+		int startY = y & ~CHUNK_MASK;
+		int startZ = z & ~CHUNK_MASK;
+
+		return Math.min(CHUNK_SIZE, width - startX) * Math.min(CHUNK_SIZE, height - startY) * Math.min(CHUNK_SIZE, depth - startZ);
+	}
+
+	protected static int getLocalIndex(int x, int y, int z)
+	{
+		return ((x & CHUNK_MASK) << (CHUNK_SHIFT * 2)) | ((y & CHUNK_MASK) << CHUNK_SHIFT) | (z & CHUNK_MASK);
+	}
+
+	/**
+	 * Copies all voxels into a dense array, lets the processor work on it and stores the changed voxels back
+	 *
+	 * @param processor
+	 */
+	@Override
+	public void process(PCGVoxelProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		int[] data = toArray();
+
+		processor.process(this, data);
+
+		store(data);
+	}
+
+	/**
+	 * Visits all voxels in the order and with the dense data and indices of StandardPCGVoxels - so the voxels are
+	 * copied into a dense array and the changed voxels are stored back afterwards. Use processChunks to avoid the copy.
+	 *
+	 * @param processor
+	 */
+	@Override
+	public void process(PCGVoxelPositionProcessor processor)
+	{
+		assert processor != null : "processor != null";
+
+		int[] data = toArray();
+
+		int index = 0;
+		for (int x = 0; x < width; ++x) {
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					processor.process(data, (float) x, (float) y, (float) z, index);
+					index++;
+				}
+			}
+		}
+
+		store(data);
+	}
+
+	/**
+	 * Visits all voxels chunk by chunk - data holds the voxels of the current chunk
+	 *
+	 * @param processor
+	 */
+	public void processChunks(PCGVoxelChunkProcessor processor)
+	{
+		processChunks(processor, false);
+	}
+
+	/**
+	 * Same as processChunks but skips empty chunks
+	 *
+	 * @param processor
+	 */
+	public void processNonEmptyChunks(PCGVoxelChunkProcessor processor)
+	{
+		processChunks(processor, true);
+	}
+
+	protected void processChunks(PCGVoxelChunkProcessor processor, boolean skipEmpty)
+	{
+		assert processor != null : "processor != null";
+
+		int[] data = new int[CHUNK_VOLUME];
+
+		for (int cX = 0; cX < chunksX; ++cX) {
+			for (int cY = 0; cY < chunksY; ++cY) {
+				for (int cZ = 0; cZ < chunksZ; ++cZ) {
+
+					int chunkIndex = (cX * chunksY + cY) * chunksZ + cZ;
+					Chunk chunk = chunks[chunkIndex];
+
+					if (skipEmpty && chunk == null) {
+						continue;
+					}
+
+					for (int local = 0; local < CHUNK_VOLUME; ++local) {
+						data[local] = (chunk != null) ? chunk.get(local) : 0;
+					}
+
+					int startX = cX << CHUNK_SHIFT;
+					int startY = cY << CHUNK_SHIFT;
+					int startZ = cZ << CHUNK_SHIFT;
+					int endX = Math.min(startX + CHUNK_SIZE, width);
+					int endY = Math.min(startY + CHUNK_SIZE, height);
+					int endZ = Math.min(startZ + CHUNK_SIZE, depth);
+
+					for (int x = startX; x < endX; ++x) {
+						for (int y = startY; y < endY; ++y) {
+							for (int z = startZ; z < endZ; ++z) {
+								processor.process(data, x, y, z, getLocalIndex(x, y, z));
+							}
+						}
+					}
+
+					for (int x = startX; x < endX; ++x) {
+						for (int y = startY; y < endY; ++y) {
+							for (int z = startZ; z < endZ; ++z) {
+								set(x, y, z, data[getLocalIndex(x, y, z)]);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores the changed voxels of a dense copy
+	 *
+	 * @param data
+	 */
+	protected void store(int[] data)
+	{
+		assert data != null : "data != null";
+		assert data.length == count : "data.length == count";
+
+		int index = 0;
+		for (int x = 0; x < width; ++x) {
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					int value = data[index++];
+					if (value != get(x, y, z)) {
+						set(x, y, z, value);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return a dense copy in the layout of StandardPCGVoxels
+	 */
+	public int[] toArray()
+	{
+		int[] data = new int[count];
+
+		for (int x = 0; x < width; ++x) {
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					Chunk chunk = chunks[getChunkIndex(x, y, z)];
+					if (chunk != null) {
+						data[(x * height + y) * depth + z] = chunk.get(getLocalIndex(x, y, z));
+					}
+				}
+			}
+		}
+
+		return data;
+	}
+
+	/**
+	 * @return the heap bytes of the chunk contents - the chunk table is not included
+	 */
+	public long getMemorySize()
+	{
+		long size = 0;
+
+		for (Chunk chunk : chunks) {
+			if (chunk != null) {
+				size += chunk.getMemorySize();
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return chunks which contain any non 0 value
+	 */
+	public int getNonEmptyChunkCount()
+	{
+		int nonEmpty = 0;
+
+		for (Chunk chunk : chunks) {
+			if (chunk != null) {
+				nonEmpty++;
+			}
+		}
+
+		return nonEmpty;
+	}
+
+	/**
+	 * The bounds of the non empty chunks - found from the chunk grid without visiting any voxel
+	 *
+	 * @param min
+	 * @param max
+	 *
+	 * @return false if all chunks are empty
+	 */
+	@Override
+	public boolean getFilledBounds(Vector3i min, Vector3i max)
+	{
+		assert min != null : "min != null";
+		assert max != null : "max != null";
+
+		int minX = chunksX, minY = chunksY, minZ = chunksZ;
+		int maxX = -1, maxY = -1, maxZ = -1;
+
+		int chunkIndex = 0;
+		for (int cX = 0; cX < chunksX; ++cX) {
+			for (int cY = 0; cY < chunksY; ++cY) {
+				for (int cZ = 0; cZ < chunksZ; ++cZ) {
+					if (chunks[chunkIndex] != null) {
+						minX = Math.min(minX, cX);
+						minY = Math.min(minY, cY);
+						minZ = Math.min(minZ, cZ);
+						maxX = Math.max(maxX, cX);
+						maxY = Math.max(maxY, cY);
+						maxZ = Math.max(maxZ, cZ);
+					}
+					chunkIndex++;
+				}
+			}
+		}
+
+		if (maxX == -1) {
+			min.set(0, 0, 0);
+			max.set(0, 0, 0);
+			return false;
+		}
+
+		min.set(minX * CHUNK_SIZE, minY * CHUNK_SIZE, minZ * CHUNK_SIZE);
+		max.set(
+			Math.min((maxX + 1) * CHUNK_SIZE, width),
+			Math.min((maxY + 1) * CHUNK_SIZE, height),
+			Math.min((maxZ + 1) * CHUNK_SIZE, depth));
+
+		return true;
+	}
+
+	/**
+	 * @return chunks which store a palette
+	 */
+	public int getPaletteChunkCount()
+	{
+		int paletteChunks = 0;
+
+		for (Chunk chunk : chunks) {
+			if (chunk != null && !chunk.isUniform()) {
+				paletteChunks++;
+			}
+		}
+
+		return paletteChunks;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	@Override
+	public int getCount()
+	{
+		return count;
+	}
+
+	@Override
+	public int getWidth()
+	{
+		return width;
+	}
+
+	@Override
+	public int getHeight()
+	{
+		return height;
+	}
+
+	@Override
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	public int getChunkCount()
+	{
+		return chunks.length;
+	}
+
+	@Override
+	public int get(Vector3i position)
+	{
+		assert position != null : "position != null";
+
+		return get(position.x, position.y, position.z);
+	}
+
+	@Override
+	public int get(int x, int y, int z)
+	{
+		assert x >= 0 && x < width : "x >= 0 && x < width";
+		assert y >= 0 && y < height : "y >= 0 && y < height";
+		assert z >= 0 && z < depth : "z >= 0 && z < depth";
+
+		Chunk chunk = chunks[getChunkIndex(x, y, z)];
+
+		if (chunk == null) {
+			return 0;
+		}
+
+		return chunk.get(getLocalIndex(x, y, z));
+	}
+
+	@Override
+	public int get(int index)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		int z = index % depth;
+		int xy = index / depth;
+
+		return get(xy / height, xy % height, z);
+	}
+
+	@Override
+	public int getIndex(Vector3i position)
+	{
+		assert position != null : "position != null";
+
+		return getIndex(position.x, position.y, position.z);
+	}
+
+	@Override
+	public int getIndex(int x, int y, int z)
+	{
+		assert x >= 0 && x < width : "x >= 0 && x < width";
+		assert y >= 0 && y < height : "y >= 0 && y < height";
+		assert z >= 0 && z < depth : "z >= 0 && z < depth";
+
+		return x * height * depth + y * depth + z;
+	}
+
+	@Override
+	public Vector3f getOrigin()
+	{
+		return origin;
+	}
+
+	@Override
+	public void set(Vector3i position, int value)
+	{
+		assert position != null : "position != null";
+
+		set(position.x, position.y, position.z, value);
+	}
+
+	@Override
+	public void set(int x, int y, int z, int value)
+	{
+		assert x >= 0 && x < width : "x >= 0 && x < width";
+		assert y >= 0 && y < height : "y >= 0 && y < height";
+		assert z >= 0 && z < depth : "z >= 0 && z < depth";
+
+		int chunkIndex = getChunkIndex(x, y, z);
+		Chunk chunk = chunks[chunkIndex];
+
+		if (chunk == null) {
+
+			if (value == 0) {
+				return;
+			}
+
+			chunk = new Chunk(0, getChunkVolume(x, y, z));
+			chunks[chunkIndex] = chunk;
+		}
+
+		// Collapsed empty chunks are dropped
+		if (chunk.set(getLocalIndex(x, y, z), value) && chunk.uniform == 0) {
+			chunks[chunkIndex] = null;
+		}
+	}
+
+	@Override
+	public void set(int index, int value)
+	{
+		assert index >= 0 && index < count : "index >= 0 && index < count";
+
+		int z = index % depth;
+		int xy = index / depth;
+
+		set(xy / height, xy % height, z, value);
+	}
+	// "Getters/Setters" </editor-fold>
+}
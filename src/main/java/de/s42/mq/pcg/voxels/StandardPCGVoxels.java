@@ -32,7 +32,7 @@ import org.joml.Vector3i;
  *
  * @author Benjamin Schiller
  */
-public class StandardPCGVoxels implements PCGVoxels
+public class StandardPCGVoxels implements HeapPCGVoxels
 {
 
 	public static void applyValue(int[] data, int componentIndex, int value)
@@ -88,10 +88,10 @@ public class StandardPCGVoxels implements PCGVoxels
 		assert processor != null : "processor != null";
 
 		int index = 0;
-		for (float x = 0.0f; x < width; x += 1.0f) {
-			for (float y = 0.0f; y < height; y += 1.0f) {
-				for (float z = 0.0f; z < depth; z += 1.0f) {
-					processor.process(data, x, y, z, index);
+		for (int x = 0; x < width; ++x) {
+			for (int y = 0; y < height; ++y) {
+				for (int z = 0; z < depth; ++z) {
+					processor.process(data, (float) x, (float) y, (float) z, index);
 					index++;
 				}
 			}
@@ -143,6 +143,14 @@ public class StandardPCGVoxels implements PCGVoxels
 		return data[getIndex(x, y, z)];
 	}
 
+	@Override
+	public int get(int index)
+	{
+		assert index >= 0 && index < data.length : "index >= 0 && index < data.length";
+
+		return data[index];
+	}
+
 	@Override
 	public int getIndex(Vector3i position)
 	{
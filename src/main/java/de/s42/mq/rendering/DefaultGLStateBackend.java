@@ -0,0 +1,126 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL20.glDeleteProgram;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL30.glDisablei;
+import static org.lwjgl.opengl.GL30.glEnablei;
+
+/**
+ * Issues the calls to the GL context of the current thread
+ *
+ * @author Benjamin Schiller
+ */
+public class DefaultGLStateBackend implements GLStateBackend
+{
+
+	@Override
+	public void enable(int capability)
+	{
+		glEnable(capability);
+	}
+
+	@Override
+	public void disable(int capability)
+	{
+		glDisable(capability);
+	}
+
+	@Override
+	public void enablei(int capability, int index)
+	{
+		glEnablei(capability, index);
+	}
+
+	@Override
+	public void disablei(int capability, int index)
+	{
+		glDisablei(capability, index);
+	}
+
+	@Override
+	public void useProgram(int program)
+	{
+		glUseProgram(program);
+	}
+
+	@Override
+	public void deleteProgram(int program)
+	{
+		glDeleteProgram(program);
+	}
+
+	@Override
+	public void activeTexture(int texture)
+	{
+		glActiveTexture(texture);
+	}
+
+	@Override
+	public void bindTexture(int target, int texture)
+	{
+		glBindTexture(target, texture);
+	}
+
+	@Override
+	public void deleteTexture(int texture)
+	{
+		glDeleteTextures(texture);
+	}
+
+	@Override
+	public void blendFunc(int sourceFactor, int destFactor)
+	{
+		glBlendFunc(sourceFactor, destFactor);
+	}
+
+	@Override
+	public void depthFunc(int func)
+	{
+		glDepthFunc(func);
+	}
+
+	@Override
+	public void depthMask(boolean flag)
+	{
+		glDepthMask(flag);
+	}
+
+	@Override
+	public void cullFace(int mode)
+	{
+		glCullFace(mode);
+	}
+
+	@Override
+	public void polygonMode(int face, int mode)
+	{
+		glPolygonMode(face, mode);
+	}
+}
@@ -0,0 +1,442 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.Arrays;
+import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_FRONT_AND_BACK;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP;
+
+/**
+ * Tracks the GL state which is changed per draw and filters calls which would not change it. All changes of the
+ * tracked state have to go through the GLState of the thread - code which touches the state directly (or an unknown
+ * context) has to call reset afterwards. The issued and skipped calls are counted per frame.
+ *
+ * @author Benjamin Schiller
+ */
+public class GLState
+{
+
+	public final static int MAX_TEXTURE_UNITS = 32;
+	public final static int MAX_DRAW_BUFFERS = 8;
+
+	protected final static int UNKNOWN = -1;
+	protected final static byte UNKNOWN_FLAG = -1;
+
+	protected final static ThreadLocal<GLState> current = ThreadLocal.withInitial(() -> new GLState(new DefaultGLStateBackend()));
+
+	protected final GLStateBackend backend;
+
+	protected int[] capabilities = new int[8];
+	protected byte[] capabilityStates = new byte[8];
+	protected int capabilityCount;
+	protected final byte[] blendStates = new byte[MAX_DRAW_BUFFERS];
+
+	protected int program;
+	protected int activeTextureUnit;
+	protected final int[] textures2D = new int[MAX_TEXTURE_UNITS];
+	protected final int[] texturesCubeMap = new int[MAX_TEXTURE_UNITS];
+	protected int blendSourceFactor;
+	protected int blendDestFactor;
+	protected int depthFunc;
+	protected byte depthMask;
+	protected int cullFace;
+	protected int polygonMode;
+
+	protected long issuedCount;
+	protected long skippedCount;
+	protected long lastFrameIssuedCount;
+	protected long lastFrameSkippedCount;
+
+	public GLState(GLStateBackend backend)
+	{
+		assert backend != null : "backend != null";
+
+		this.backend = backend;
+
+		reset();
+	}
+
+	/**
+	 * @return the state of the GL context of the current thread
+	 */
+	public static GLState current()
+	{
+		return current.get();
+	}
+
+	/**
+	 * Replaces the state of the current thread - i.e. with a RecordingGLStateBackend in tests
+	 *
+	 * @param state
+	 */
+	public static void setCurrent(GLState state)
+	{
+		assert state != null : "state != null";
+
+		current.set(state);
+	}
+
+	/**
+	 * Forgets the tracked state so the next calls are issued - call it after code outside of the GLState touched GL
+	 */
+	public void reset()
+	{
+		Arrays.fill(capabilityStates, UNKNOWN_FLAG);
+		Arrays.fill(blendStates, UNKNOWN_FLAG);
+		Arrays.fill(textures2D, UNKNOWN);
+		Arrays.fill(texturesCubeMap, UNKNOWN);
+		program = UNKNOWN;
+		activeTextureUnit = UNKNOWN;
+		blendSourceFactor = UNKNOWN;
+		blendDestFactor = UNKNOWN;
+		depthFunc = UNKNOWN;
+		depthMask = UNKNOWN_FLAG;
+		cullFace = UNKNOWN;
+		polygonMode = UNKNOWN;
+	}
+
+	/**
+	 * Keeps the counts of the ending frame and starts counting the next
+	 */
+	public void endFrame()
+	{
+		lastFrameIssuedCount = issuedCount;
+		lastFrameSkippedCount = skippedCount;
+		issuedCount = 0;
+		skippedCount = 0;
+	}
+
+	protected int getCapabilitySlot(int capability)
+	{
+		for (int i = 0; i < capabilityCount; ++i) {
+			if (capabilities[i] == capability) {
+				return i;
+			}
+		}
+
+		if (capabilityCount == capabilities.length) {
+			capabilities = Arrays.copyOf(capabilities, capabilityCount * 2);
+			capabilityStates = Arrays.copyOf(capabilityStates, capabilityCount * 2);
+		}
+
+		capabilities[capabilityCount] = capability;
+		capabilityStates[capabilityCount] = UNKNOWN_FLAG;
+
+		return capabilityCount++;
+	}
+
+	public void enable(int capability)
+	{
+		setEnabled(capability, true);
+	}
+
+	public void disable(int capability)
+	{
+		setEnabled(capability, false);
+	}
+
+	public void setEnabled(int capability, boolean enabled)
+	{
+		int slot = getCapabilitySlot(capability);
+		byte state = enabled ? (byte) 1 : (byte) 0;
+
+		if (capabilityStates[slot] == state) {
+			skippedCount++;
+			return;
+		}
+
+		capabilityStates[slot] = state;
+
+		// Enabling blend sets it for all draw buffers
+		if (capability == GL_BLEND) {
+			Arrays.fill(blendStates, state);
+		}
+
+		if (enabled) {
+			backend.enable(capability);
+		} else {
+			backend.disable(capability);
+		}
+		issuedCount++;
+	}
+
+	/**
+	 * @param drawBuffer
+	 * @param enabled
+	 */
+	public void setBlendEnabled(int drawBuffer, boolean enabled)
+	{
+		assert drawBuffer >= 0 && drawBuffer < MAX_DRAW_BUFFERS : "drawBuffer >= 0 && drawBuffer < MAX_DRAW_BUFFERS";
+
+		byte state = enabled ? (byte) 1 : (byte) 0;
+
+		if (blendStates[drawBuffer] == state) {
+			skippedCount++;
+			return;
+		}
+
+		blendStates[drawBuffer] = state;
+
+		// The draw buffers might differ now
+		capabilityStates[getCapabilitySlot(GL_BLEND)] = UNKNOWN_FLAG;
+
+		if (enabled) {
+			backend.enablei(GL_BLEND, drawBuffer);
+		} else {
+			backend.disablei(GL_BLEND, drawBuffer);
+		}
+		issuedCount++;
+	}
+
+	public void useProgram(int program)
+	{
+		if (this.program == program) {
+			skippedCount++;
+			return;
+		}
+
+		this.program = program;
+		backend.useProgram(program);
+		issuedCount++;
+	}
+
+	public void deleteProgram(int program)
+	{
+		// A deleted program stays in use until another one is used - its id may not be reused until then
+		if (this.program == program) {
+			this.program = UNKNOWN;
+		}
+
+		backend.deleteProgram(program);
+		issuedCount++;
+	}
+
+	/**
+	 * @param unit 0 - MAX_TEXTURE_UNITS - 1
+	 */
+	public void activeTexture(int unit)
+	{
+		assert unit >= 0 && unit < MAX_TEXTURE_UNITS : "unit >= 0 && unit < MAX_TEXTURE_UNITS";
+
+		if (activeTextureUnit == unit) {
+			skippedCount++;
+			return;
+		}
+
+		activeTextureUnit = unit;
+		backend.activeTexture(GL_TEXTURE0 + unit);
+		issuedCount++;
+	}
+
+	/**
+	 * Binds the texture to the unit for sampling. The unit is only activated if the binding changes - use
+	 * activeTexture and bindTexture(target, texture) before modifying the texture.
+	 *
+	 * @param unit
+	 * @param target
+	 * @param texture
+	 */
+	public void bindTexture(int unit, int target, int texture)
+	{
+		assert unit >= 0 && unit < MAX_TEXTURE_UNITS : "unit >= 0 && unit < MAX_TEXTURE_UNITS";
+
+		int[] bound = getBoundTextures(target);
+
+		// Does not have to activate the unit if the texture is bound already
+		if (bound != null && bound[unit] == texture) {
+			skippedCount++;
+			return;
+		}
+
+		activeTexture(unit);
+		bindTexture(target, texture);
+	}
+
+	/**
+	 * Binds the texture to the active unit
+	 *
+	 * @param target
+	 * @param texture
+	 */
+	public void bindTexture(int target, int texture)
+	{
+		int[] bound = getBoundTextures(target);
+
+		// Untracked targets or units are always bound
+		if (bound == null || activeTextureUnit == UNKNOWN) {
+			backend.bindTexture(target, texture);
+			issuedCount++;
+			return;
+		}
+
+		if (bound[activeTextureUnit] == texture) {
+			skippedCount++;
+			return;
+		}
+
+		bound[activeTextureUnit] = texture;
+		backend.bindTexture(target, texture);
+		issuedCount++;
+	}
+
+	public void deleteTexture(int texture)
+	{
+		// Deleting unbinds the texture from all units
+		for (int i = 0; i < MAX_TEXTURE_UNITS; ++i) {
+			if (textures2D[i] == texture) {
+				textures2D[i] = 0;
+			}
+			if (texturesCubeMap[i] == texture) {
+				texturesCubeMap[i] = 0;
+			}
+		}
+
+		backend.deleteTexture(texture);
+		issuedCount++;
+	}
+
+	protected int[] getBoundTextures(int target)
+	{
+		if (target == GL_TEXTURE_2D) {
+			return textures2D;
+		}
+
+		if (target == GL_TEXTURE_CUBE_MAP) {
+			return texturesCubeMap;
+		}
+
+		return null;
+	}
+
+	public void blendFunc(int sourceFactor, int destFactor)
+	{
+		if (blendSourceFactor == sourceFactor && blendDestFactor == destFactor) {
+			skippedCount++;
+			return;
+		}
+
+		blendSourceFactor = sourceFactor;
+		blendDestFactor = destFactor;
+		backend.blendFunc(sourceFactor, destFactor);
+		issuedCount++;
+	}
+
+	public void depthFunc(int func)
+	{
+		if (depthFunc == func) {
+			skippedCount++;
+			return;
+		}
+
+		depthFunc = func;
+		backend.depthFunc(func);
+		issuedCount++;
+	}
+
+	public void depthMask(boolean flag)
+	{
+		byte state = flag ? (byte) 1 : (byte) 0;
+
+		if (depthMask == state) {
+			skippedCount++;
+			return;
+		}
+
+		depthMask = state;
+		backend.depthMask(flag);
+		issuedCount++;
+	}
+
+	public void cullFace(int mode)
+	{
+		if (cullFace == mode) {
+			skippedCount++;
+			return;
+		}
+
+		cullFace = mode;
+		backend.cullFace(mode);
+		issuedCount++;
+	}
+
+	/**
+	 * Sets the polygon mode for GL_FRONT_AND_BACK
+	 *
+	 * @param mode
+	 */
+	public void polygonMode(int mode)
+	{
+		if (polygonMode == mode) {
+			skippedCount++;
+			return;
+		}
+
+		polygonMode = mode;
+		backend.polygonMode(GL_FRONT_AND_BACK, mode);
+		issuedCount++;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public GLStateBackend getBackend()
+	{
+		return backend;
+	}
+
+	public int getProgram()
+	{
+		return program;
+	}
+
+	/**
+	 * @return calls issued to the backend in the current frame
+	 */
+	public long getIssuedCount()
+	{
+		return issuedCount;
+	}
+
+	/**
+	 * @return calls skipped in the current frame as they would not have changed the state
+	 */
+	public long getSkippedCount()
+	{
+		return skippedCount;
+	}
+
+	public long getLastFrameIssuedCount()
+	{
+		return lastFrameIssuedCount;
+	}
+
+	public long getLastFrameSkippedCount()
+	{
+		return lastFrameSkippedCount;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,66 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+/**
+ * The GL calls the GLState issues after filtering the redundant ones
+ *
+ * @author Benjamin Schiller
+ */
+public interface GLStateBackend
+{
+
+	public void enable(int capability);
+
+	public void disable(int capability);
+
+	public void enablei(int capability, int index);
+
+	public void disablei(int capability, int index);
+
+	public void useProgram(int program);
+
+	public void deleteProgram(int program);
+
+	/**
+	 * @param texture GL_TEXTURE0 + unit
+	 */
+	public void activeTexture(int texture);
+
+	public void bindTexture(int target, int texture);
+
+	public void deleteTexture(int texture);
+
+	public void blendFunc(int sourceFactor, int destFactor);
+
+	public void depthFunc(int func);
+
+	public void depthMask(boolean flag);
+
+	public void cullFace(int mode);
+
+	public void polygonMode(int face, int mode);
+}
@@ -0,0 +1,248 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.opengl.GL44.*;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * GPU buffer for an InstanceStorage. Only the dirty ranges get uploaded once per frame. If buffer storage (GL 4.4 or
+ * ARB_buffer_storage) is available the buffer is persistently mapped and split into REGION_COUNT regions which are
+ * cycled and guarded by fences, so the CPU never writes into data the GPU might still read. Otherwise there is one
+ * region which is updated with glBufferSubData.
+ *
+ * @author Benjamin Schiller
+ */
+public class InstanceBuffer
+{
+
+	public final static int REGION_COUNT = 3;
+
+	/**
+	 * Dirty ranges with at most this many clean slots in between are uploaded as one range
+	 */
+	public final static int MERGE_GAP = 4;
+
+	protected final static long FENCE_TIMEOUT_NANOS = 1_000_000L;
+
+	protected final InstanceStorage storage;
+	protected final boolean persistent;
+	protected final int regionCount;
+
+	protected int buffer = -1;
+	protected int bufferCapacity;
+	protected int region;
+	protected long[] fences;
+
+	// Persistent mapping of all regions or staging buffer for glBufferSubData
+	protected ByteBuffer mapped;
+	protected FloatBuffer mappedFloats;
+
+	public InstanceBuffer(int instanceSize)
+	{
+		this(instanceSize, isBufferStorageSupported());
+	}
+
+	public InstanceBuffer(int instanceSize, boolean persistent)
+	{
+		this.persistent = persistent;
+		this.regionCount = persistent ? REGION_COUNT : 1;
+		this.storage = new InstanceStorage(instanceSize, regionCount);
+		this.fences = new long[regionCount];
+	}
+
+	public static boolean isBufferStorageSupported()
+	{
+		GLCapabilities capabilities = GL.getCapabilities();
+
+		return capabilities.OpenGL44 || capabilities.GL_ARB_buffer_storage;
+	}
+
+	/**
+	 * Has to be called once per frame before drawing - switches to the next region and uploads its dirty ranges
+	 */
+	public void update()
+	{
+		if (buffer == -1 || bufferCapacity < storage.getCapacity()) {
+			allocate();
+		}
+
+		region = (region + 1) % regionCount;
+
+		if (persistent) {
+			waitForFence(region);
+		}
+
+		int instanceSize = storage.getInstanceSize();
+		float[] data = storage.getData();
+		long regionBase = (long) region * bufferCapacity * instanceSize;
+
+		glBindBuffer(GL_ARRAY_BUFFER, buffer);
+
+		storage.flush(region, MERGE_GAP, (firstSlot, slotCount) -> {
+
+			int offset = firstSlot * instanceSize;
+			int length = slotCount * instanceSize;
+
+			mappedFloats.put((int) regionBase + offset, data, offset, length);
+
+			if (!persistent) {
+				nglBufferSubData(GL_ARRAY_BUFFER, (long) offset * 4, (long) length * 4,
+					MemoryUtil.memAddress(mappedFloats) + (long) offset * 4);
+			}
+		});
+
+		glBindBuffer(GL_ARRAY_BUFFER, 0);
+	}
+
+	/**
+	 * Has to be called after the last draw of the frame which reads from this buffer
+	 */
+	public void fence()
+	{
+		if (!persistent) {
+			return;
+		}
+
+		if (fences[region] != 0L) {
+			glDeleteSync(fences[region]);
+		}
+
+		fences[region] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+	}
+
+	public void delete()
+	{
+		for (int i = 0; i < regionCount; ++i) {
+			if (fences[i] != 0L) {
+				glDeleteSync(fences[i]);
+				fences[i] = 0L;
+			}
+		}
+
+		if (buffer != -1) {
+			if (persistent) {
+				glBindBuffer(GL_ARRAY_BUFFER, buffer);
+				glUnmapBuffer(GL_ARRAY_BUFFER);
+				glBindBuffer(GL_ARRAY_BUFFER, 0);
+			}
+
+			glDeleteBuffers(buffer);
+			buffer = -1;
+		}
+
+		if (mapped != null) {
+			if (!persistent) {
+				MemoryUtil.memFree(mapped);
+			}
+			mapped = null;
+			mappedFloats = null;
+		}
+
+		bufferCapacity = 0;
+	}
+
+	protected void allocate()
+	{
+		delete();
+
+		bufferCapacity = storage.getCapacity();
+		long regionByteSize = (long) bufferCapacity * storage.getInstanceSize() * 4;
+
+		buffer = glGenBuffers();
+		glBindBuffer(GL_ARRAY_BUFFER, buffer);
+
+		if (persistent) {
+			int flags = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+			glBufferStorage(GL_ARRAY_BUFFER, regionByteSize * regionCount, flags);
+			mapped = glMapBufferRange(GL_ARRAY_BUFFER, 0, regionByteSize * regionCount, flags);
+		} else {
+			glBufferData(GL_ARRAY_BUFFER, regionByteSize, GL_DYNAMIC_DRAW);
+			mapped = MemoryUtil.memAlloc((int) regionByteSize);
+		}
+
+		glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+		mappedFloats = mapped.asFloatBuffer();
+
+		// New buffer contains no valid data
+		storage.markAllDirty();
+	}
+
+	protected void waitForFence(int fenceRegion)
+	{
+		long fence = fences[fenceRegion];
+
+		if (fence == 0L) {
+			return;
+		}
+
+		int result = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+		while (result == GL_TIMEOUT_EXPIRED) {
+			result = glClientWaitSync(fence, 0, FENCE_TIMEOUT_NANOS);
+		}
+
+		glDeleteSync(fence);
+		fences[fenceRegion] = 0L;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public InstanceStorage getStorage()
+	{
+		return storage;
+	}
+
+	public int getBuffer()
+	{
+		return buffer;
+	}
+
+	public boolean isPersistent()
+	{
+		return persistent;
+	}
+
+	/**
+	 * @return byte offset of the region which has to be used for drawing in this frame
+	 */
+	public long getRegionOffset()
+	{
+		return (long) region * bufferCapacity * storage.getInstanceSize() * 4;
+	}
+
+	public int getCount()
+	{
+		return storage.getCount();
+	}
+	// "Getters/Setters" </editor-fold>
+}
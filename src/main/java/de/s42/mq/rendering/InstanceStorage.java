@@ -0,0 +1,313 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.Arrays;
+
+/**
+ * CPU side storage of per instance data which persists across frames. Each instance gets a handle which stays valid
+ * until it is freed. The live instances are kept packed in the slots [0, count) so they can be drawn with one instanced
+ * call - freeing moves the last instance into the freed slot. Changed slots are tracked per region (one region per
+ * buffered copy on the GPU) so only dirty ranges have to be uploaded. Contains no GL calls.
+ *
+ * @author Benjamin Schiller
+ */
+public class InstanceStorage
+{
+
+	@FunctionalInterface
+	public interface DirtyRangeConsumer
+	{
+
+		public void accept(int firstSlot, int slotCount);
+	}
+
+	public final static int DEFAULT_CAPACITY = 64;
+
+	protected final int instanceSize;
+	protected final int regionCount;
+
+	protected float[] data;
+	protected int capacity;
+	protected int count;
+
+	// handle -> slot and slot -> handle
+	protected int[] slots;
+	protected int[] handles;
+	protected int[] freeHandles;
+	protected int freeHandleCount;
+	protected int handleCount;
+
+	// One dirty bit per slot and region
+	protected long[][] dirty;
+
+	public InstanceStorage(int instanceSize, int regionCount)
+	{
+		this(instanceSize, regionCount, DEFAULT_CAPACITY);
+	}
+
+	public InstanceStorage(int instanceSize, int regionCount, int initialCapacity)
+	{
+		assert instanceSize > 0 : "instanceSize > 0";
+		assert regionCount > 0 : "regionCount > 0";
+		assert initialCapacity > 0 : "initialCapacity > 0";
+
+		this.instanceSize = instanceSize;
+		this.regionCount = regionCount;
+		this.capacity = initialCapacity;
+
+		data = new float[capacity * instanceSize];
+		slots = new int[capacity];
+		handles = new int[capacity];
+		freeHandles = new int[capacity];
+		dirty = new long[regionCount][(capacity + 63) >>> 6];
+	}
+
+	/**
+	 * Allocates a new instance at the end of the packed slots
+	 *
+	 * @return handle of the instance
+	 */
+	public int allocate()
+	{
+		if (count == capacity) {
+			grow();
+		}
+
+		int handle = (freeHandleCount > 0) ? freeHandles[--freeHandleCount] : handleCount++;
+		int slot = count++;
+
+		slots[handle] = slot;
+		handles[slot] = handle;
+
+		Arrays.fill(data, slot * instanceSize, (slot + 1) * instanceSize, 0.0f);
+		markDirty(slot);
+
+		return handle;
+	}
+
+	/**
+	 * Frees the instance - the last instance is moved into its slot
+	 *
+	 * @param handle
+	 */
+	public void free(int handle)
+	{
+		assert isValid(handle) : "isValid(handle)";
+
+		int slot = slots[handle];
+		int last = count - 1;
+
+		if (slot != last) {
+			System.arraycopy(data, last * instanceSize, data, slot * instanceSize, instanceSize);
+
+			int movedHandle = handles[last];
+			slots[movedHandle] = slot;
+			handles[slot] = movedHandle;
+			markDirty(slot);
+		}
+
+		slots[handle] = -1;
+		freeHandles[freeHandleCount++] = handle;
+		count--;
+	}
+
+	/**
+	 * Copies instanceSize values into the instance and marks it dirty if anything changed
+	 *
+	 * @param handle
+	 * @param values
+	 * @param offset
+	 *
+	 * @return true if the instance changed
+	 */
+	public boolean set(int handle, float[] values, int offset)
+	{
+		assert isValid(handle) : "isValid(handle)";
+		assert values != null : "values != null";
+		assert offset >= 0 && offset + instanceSize <= values.length : "offset >= 0 && offset + instanceSize <= values.length";
+
+		int slot = slots[handle];
+		int base = slot * instanceSize;
+
+		if (Arrays.equals(data, base, base + instanceSize, values, offset, offset + instanceSize)) {
+			return false;
+		}
+
+		System.arraycopy(values, offset, data, base, instanceSize);
+		markDirty(slot);
+
+		return true;
+	}
+
+	public float get(int handle, int component)
+	{
+		assert isValid(handle) : "isValid(handle)";
+		assert component >= 0 && component < instanceSize : "component >= 0 && component < instanceSize";
+
+		return data[slots[handle] * instanceSize + component];
+	}
+
+	public boolean isValid(int handle)
+	{
+		return handle >= 0 && handle < handleCount && slots[handle] >= 0;
+	}
+
+	public void markDirty(int slot)
+	{
+		assert slot >= 0 && slot < capacity : "slot >= 0 && slot < capacity";
+
+		for (long[] regionDirty : dirty) {
+			regionDirty[slot >>> 6] |= 1L << slot;
+		}
+	}
+
+	/**
+	 * Marks all live slots dirty in all regions - used when the GPU buffers got recreated
+	 */
+	public void markAllDirty()
+	{
+		for (int slot = 0; slot < count; ++slot) {
+			markDirty(slot);
+		}
+	}
+
+	public boolean isDirty(int region, int slot)
+	{
+		assert region >= 0 && region < regionCount : "region >= 0 && region < regionCount";
+
+		return (dirty[region][slot >>> 6] & (1L << slot)) != 0L;
+	}
+
+	/**
+	 * Reports the dirty live slots of the region as ranges and clears them. Ranges with gaps of up to mergeGap clean
+	 * slots get merged as one larger upload is cheaper than many small ones.
+	 *
+	 * @param region
+	 * @param mergeGap
+	 * @param consumer
+	 *
+	 * @return number of dirty slots
+	 */
+	public int flush(int region, int mergeGap, DirtyRangeConsumer consumer)
+	{
+		assert region >= 0 && region < regionCount : "region >= 0 && region < regionCount";
+		assert mergeGap >= 0 : "mergeGap >= 0";
+		assert consumer != null : "consumer != null";
+
+		long[] regionDirty = dirty[region];
+		int dirtyCount = 0;
+		int rangeStart = -1;
+		int rangeEnd = -1;
+
+		for (int word = 0; word < regionDirty.length && (word << 6) < count; ++word) {
+
+			long bits = regionDirty[word];
+			regionDirty[word] = 0L;
+
+			while (bits != 0L) {
+				int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1L;
+
+				// Freed slots dont need an upload
+				if (slot >= count) {
+					break;
+				}
+
+				dirtyCount++;
+
+				if (rangeStart < 0) {
+					rangeStart = slot;
+				} else if (slot - rangeEnd > mergeGap + 1) {
+					consumer.accept(rangeStart, rangeEnd - rangeStart + 1);
+					rangeStart = slot;
+				}
+				rangeEnd = slot;
+			}
+		}
+
+		// Clear remaining bits of freed slots
+		for (int word = (count + 63) >>> 6; word < regionDirty.length; ++word) {
+			regionDirty[word] = 0L;
+		}
+
+		if (rangeStart >= 0) {
+			consumer.accept(rangeStart, rangeEnd - rangeStart + 1);
+		}
+
+		return dirtyCount;
+	}
+
+	protected void grow()
+	{
+		int newCapacity = capacity * 2;
+
+		data = Arrays.copyOf(data, newCapacity * instanceSize);
+		slots = Arrays.copyOf(slots, newCapacity);
+		handles = Arrays.copyOf(handles, newCapacity);
+		freeHandles = Arrays.copyOf(freeHandles, newCapacity);
+
+		for (int r = 0; r < regionCount; ++r) {
+			dirty[r] = Arrays.copyOf(dirty[r], (newCapacity + 63) >>> 6);
+		}
+
+		capacity = newCapacity;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public float[] getData()
+	{
+		return data;
+	}
+
+	public int getInstanceSize()
+	{
+		return instanceSize;
+	}
+
+	public int getRegionCount()
+	{
+		return regionCount;
+	}
+
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	public int getCount()
+	{
+		return count;
+	}
+
+	public int getSlot(int handle)
+	{
+		assert isValid(handle) : "isValid(handle)";
+
+		return slots[handle];
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,218 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+/**
+ * Selects lod levels by comparing squared camera distances against the distance ranges of the levels, so no square
+ * root and no allocation is needed per mesh. The current level of a mesh is kept until the distance leaves its range
+ * widened by the hysteresis, which prevents popping between levels at the range borders. The distances are scaled by
+ * the distanceScale and a global bias. If a frame time budget is set, the bias rises while frames are over budget
+ * (coarser levels) and relaxes again once they are well below.
+ *
+ * The selection only reads the selector - it can be shared by parallel preparation ranges.
+ *
+ * @author Benjamin Schiller
+ */
+public class LodSelector
+{
+
+	public final static int NO_LEVEL = -1;
+
+	public final static float DEFAULT_HYSTERESIS = 0.1f;
+	public final static float DEFAULT_MAX_BIAS = 4.0f;
+	public final static float DEFAULT_BIAS_RATE = 0.05f;
+
+	/**
+	 * The bias is relaxed once the frame time is below this share of the budget
+	 */
+	public final static float BIAS_RELAX_LOAD = 0.8f;
+
+	protected float distanceScale = 1.0f;
+	protected float hysteresis = DEFAULT_HYSTERESIS;
+	protected float bias = 1.0f;
+	protected float minBias = 1.0f;
+	protected float maxBias = DEFAULT_MAX_BIAS;
+	protected float biasRate = DEFAULT_BIAS_RATE;
+
+	/**
+	 * Frame time budget in seconds - 0 keeps the bias fixed
+	 */
+	protected float frameTimeBudget;
+
+	/**
+	 * Selects the level for the distance
+	 *
+	 * @param distanceSquared squared distance of the camera to the mesh
+	 * @param ranges min and max distance of each level - a level is in range for min &lt; distance &lt;= max
+	 * @param current the level selected in the last frame or NO_LEVEL
+	 *
+	 * @return the selected level or NO_LEVEL if the distance is in no range
+	 */
+	public int selectLevel(float distanceSquared, float[] ranges, int current)
+	{
+		assert ranges != null : "ranges != null";
+		assert ranges.length % 2 == 0 : "ranges.length % 2 == 0";
+
+		float scale = distanceScale * bias;
+		float scaledDistanceSquared = distanceSquared * scale * scale;
+		int levelCount = ranges.length / 2;
+
+		// Keep the current level while in its widened range
+		if (current >= 0 && current < levelCount
+			&& isInRange(scaledDistanceSquared, ranges[current * 2] * (1.0f - hysteresis), ranges[current * 2 + 1] * (1.0f + hysteresis))) {
+			return current;
+		}
+
+		for (int level = 0; level < levelCount; ++level) {
+			if (isInRange(scaledDistanceSquared, ranges[level * 2], ranges[level * 2 + 1])) {
+				return level;
+			}
+		}
+
+		return NO_LEVEL;
+	}
+
+	protected static boolean isInRange(float distanceSquared, float min, float max)
+	{
+		return distanceSquared > min * min && distanceSquared <= max * max;
+	}
+
+	/**
+	 * @param distanceSquared
+	 *
+	 * @return the distance scaled like in selectLevel - for meshes which select their lod by distance themselves
+	 */
+	public float getScaledDistance(float distanceSquared)
+	{
+		return (float) Math.sqrt(distanceSquared) * distanceScale * bias;
+	}
+
+	/**
+	 * Adapts the bias to the time of the last frame - call once per frame before selecting
+	 *
+	 * @param frameTime in seconds
+	 */
+	public void updateBias(float frameTime)
+	{
+		if (frameTimeBudget <= 0.0f) {
+			return;
+		}
+
+		float load = frameTime / frameTimeBudget;
+
+		if (load > 1.0f) {
+			bias = Math.min(maxBias, bias * (1.0f + biasRate));
+		} else if (load < BIAS_RELAX_LOAD) {
+			bias = Math.max(minBias, bias * (1.0f - biasRate));
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public float getDistanceScale()
+	{
+		return distanceScale;
+	}
+
+	public void setDistanceScale(float distanceScale)
+	{
+		assert distanceScale > 0.0f : "distanceScale > 0.0f";
+
+		this.distanceScale = distanceScale;
+	}
+
+	public float getHysteresis()
+	{
+		return hysteresis;
+	}
+
+	public void setHysteresis(float hysteresis)
+	{
+		assert hysteresis >= 0.0f && hysteresis < 1.0f : "hysteresis >= 0.0f && hysteresis < 1.0f";
+
+		this.hysteresis = hysteresis;
+	}
+
+	public float getBias()
+	{
+		return bias;
+	}
+
+	public void setBias(float bias)
+	{
+		assert bias > 0.0f : "bias > 0.0f";
+
+		this.bias = bias;
+	}
+
+	public float getMinBias()
+	{
+		return minBias;
+	}
+
+	public void setMinBias(float minBias)
+	{
+		assert minBias > 0.0f : "minBias > 0.0f";
+
+		this.minBias = minBias;
+	}
+
+	public float getMaxBias()
+	{
+		return maxBias;
+	}
+
+	public void setMaxBias(float maxBias)
+	{
+		assert maxBias > 0.0f : "maxBias > 0.0f";
+
+		this.maxBias = maxBias;
+	}
+
+	public float getBiasRate()
+	{
+		return biasRate;
+	}
+
+	public void setBiasRate(float biasRate)
+	{
+		assert biasRate >= 0.0f && biasRate < 1.0f : "biasRate >= 0.0f && biasRate < 1.0f";
+
+		this.biasRate = biasRate;
+	}
+
+	public float getFrameTimeBudget()
+	{
+		return frameTimeBudget;
+	}
+
+	public void setFrameTimeBudget(float frameTimeBudget)
+	{
+		assert frameTimeBudget >= 0.0f : "frameTimeBudget >= 0.0f";
+
+		this.frameTimeBudget = frameTimeBudget;
+	}
+	// "Getters/Setters" </editor-fold>
+}
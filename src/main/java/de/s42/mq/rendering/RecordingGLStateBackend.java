@@ -0,0 +1,141 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the issued calls as strings like "enable 2929" instead of calling GL - allows to verify the GLState and
+ * rendering code without a GL context
+ *
+ * @author Benjamin Schiller
+ */
+public class RecordingGLStateBackend implements GLStateBackend
+{
+
+	protected final List<String> calls = new ArrayList<>();
+
+	protected void record(String call)
+	{
+		calls.add(call);
+	}
+
+	@Override
+	public void enable(int capability)
+	{
+		record("enable " + capability);
+	}
+
+	@Override
+	public void disable(int capability)
+	{
+		record("disable " + capability);
+	}
+
+	@Override
+	public void enablei(int capability, int index)
+	{
+		record("enablei " + capability + " " + index);
+	}
+
+	@Override
+	public void disablei(int capability, int index)
+	{
+		record("disablei " + capability + " " + index);
+	}
+
+	@Override
+	public void useProgram(int program)
+	{
+		record("useProgram " + program);
+	}
+
+	@Override
+	public void deleteProgram(int program)
+	{
+		record("deleteProgram " + program);
+	}
+
+	@Override
+	public void activeTexture(int texture)
+	{
+		record("activeTexture " + texture);
+	}
+
+	@Override
+	public void bindTexture(int target, int texture)
+	{
+		record("bindTexture " + target + " " + texture);
+	}
+
+	@Override
+	public void deleteTexture(int texture)
+	{
+		record("deleteTexture " + texture);
+	}
+
+	@Override
+	public void blendFunc(int sourceFactor, int destFactor)
+	{
+		record("blendFunc " + sourceFactor + " " + destFactor);
+	}
+
+	@Override
+	public void depthFunc(int func)
+	{
+		record("depthFunc " + func);
+	}
+
+	@Override
+	public void depthMask(boolean flag)
+	{
+		record("depthMask " + flag);
+	}
+
+	@Override
+	public void cullFace(int mode)
+	{
+		record("cullFace " + mode);
+	}
+
+	@Override
+	public void polygonMode(int face, int mode)
+	{
+		record("polygonMode " + face + " " + mode);
+	}
+
+	public void clear()
+	{
+		calls.clear();
+	}
+
+	public List<String> getCalls()
+	{
+		return Collections.unmodifiableList(calls);
+	}
+}
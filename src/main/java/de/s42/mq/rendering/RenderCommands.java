@@ -0,0 +1,55 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.List;
+
+/**
+ * Receives the sorted and batched draws of a RenderQueue. Rendering implements it with GL calls, tests can record the
+ * commands to verify order and batching.
+ *
+ * @author Benjamin Schiller
+ * @param <T> type of the queued items
+ */
+public interface RenderCommands<T>
+{
+
+	/**
+	 * Called before the first draw and whenever the state of the following draws differs from the previous ones
+	 *
+	 * @param item first item with the new state
+	 */
+	public void changeState(T item);
+
+	public void draw(T item);
+
+	/**
+	 * Draws consecutive items which share the same batch in one instanced draw
+	 *
+	 * @param items the list is only valid during the call
+	 */
+	public void drawInstanced(List<T> items);
+}
@@ -19,23 +19,21 @@ import de.s42.mq.MQColor;
 import de.s42.mq.buffers.FXBuffer;
 import de.s42.mq.buffers.FrameBuffer;
 import de.s42.mq.cameras.Camera;
-import de.s42.mq.collision.Collider;
 import de.s42.mq.data.FloatData;
 import de.s42.mq.data.IntegerData;
 import de.s42.mq.loaders.fbx.FbxSubMesh;
-import de.s42.mq.loaders.fbx.FbxSubMesh.InstanceData;
 import de.s42.mq.materials.Material;
+import de.s42.mq.meshes.LayerMask;
 import de.s42.mq.meshes.Mesh;
 import de.s42.mq.meshes.MeshGroup;
+import de.s42.mq.shaders.Shader;
 import de.s42.mq.shaders.Shader.CullType;
 import de.s42.mq.ui.AbstractWindowTask;
 import de.s42.mq.ui.UIComponent;
 import de.s42.mq.ui.layout.Layout;
 import java.util.*;
-import org.joml.FrustumIntersection;
+import java.util.concurrent.Callable;
 import org.joml.Matrix4f;
-import org.joml.Matrix4x3f;
-import org.joml.Vector3f;
 
 /**
  *
@@ -66,6 +64,21 @@ public class RenderMeshesTask extends AbstractWindowTask
 	@AttributeDL(required = false, defaultValue = "1.0")
 	protected float lodMeshDistanceScale = 1.0f;
 
+	@AttributeDL(required = false, defaultValue = "0.1")
+	protected float lodHysteresis = LodSelector.DEFAULT_HYSTERESIS;
+
+	/**
+	 * Frame time budget in seconds which raises the lod bias when exceeded - 0 disables it
+	 */
+	@AttributeDL(required = false, defaultValue = "0.0")
+	protected float lodFrameTimeBudget = 0.0f;
+
+	@AttributeDL(required = false, defaultValue = "4.0")
+	protected float lodMaxBias = LodSelector.DEFAULT_MAX_BIAS;
+
+	@AttributeDL(required = false, defaultValue = "true")
+	protected boolean parallelPreparation = true;
+
 	@AttributeDL(required = false)
 	protected String[] layers;
 
@@ -81,7 +94,84 @@ public class RenderMeshesTask extends AbstractWindowTask
 	protected Camera shadowCamera;
 	protected FXBuffer shadowBuffer;
 
-	protected final static List<InstanceData> INSTANCE_DATA = new ArrayList<>();
+	/**
+	 * Instanced fbx sub meshes which share vao and material. The instances keep their slots across frames so only
+	 * changed transforms have to be uploaded.
+	 */
+	protected static class InstanceGroup
+	{
+
+		protected final InstanceBuffer buffer = new InstanceBuffer(Shader.INSTANCE_DATA_BYTE_SIZE / 4);
+		protected final Map<FbxSubMesh, InstanceSlot> slots = new IdentityHashMap<>();
+		protected final List<FbxSubMesh> meshes = new ArrayList<>();
+		protected final float[] values = new float[Shader.INSTANCE_DATA_BYTE_SIZE / 4];
+
+		/**
+		 * Frame in which the instances got packed and in which they got drawn
+		 */
+		protected int frame;
+		protected int submitFrame;
+	}
+
+	protected static class InstanceSlot
+	{
+
+		protected final int handle;
+		protected int frame;
+
+		protected InstanceSlot(int handle)
+		{
+			this.handle = handle;
+		}
+	}
+
+	/**
+	 * Groups which were not rendered for this many frames release their buffers
+	 */
+	protected final static int INSTANCE_GROUP_RELEASE_FRAMES = 120;
+
+	/**
+	 * Draws the sorted queue items
+	 */
+	protected class MeshRenderCommands implements RenderCommands<Mesh>
+	{
+
+		protected RenderContext context;
+
+		@Override
+		public void changeState(Mesh mesh)
+		{
+			// Nothing to bind here - each mesh applies its material and shader in render
+		}
+
+		@Override
+		public void draw(Mesh mesh)
+		{
+			mesh.setCamera(camera);
+			mesh.render(context);
+		}
+
+		@Override
+		public void drawInstanced(List<Mesh> meshes)
+		{
+			renderInstanced(meshes, context);
+		}
+	}
+
+	/**
+	 * Instance groups by material id and vao
+	 */
+	protected final Map<Long, InstanceGroup> instanceGroups = new HashMap<>();
+	protected final RenderQueue<Mesh> queue = new RenderQueue<>();
+	protected final RenderPreparation preparation = new RenderPreparation();
+	protected final MeshRenderCommands commands = new MeshRenderCommands();
+	protected int frame;
+
+	/**
+	 * The masks of the task layers and their combined mask - computed from layers on first use
+	 */
+	protected long[] layerMasks;
+	protected long layerMask;
 
 	@Override
 	protected void runTaskFirstTime()
@@ -108,11 +198,15 @@ public class RenderMeshesTask extends AbstractWindowTask
 		}
 	}
 
-	protected final static Map<String, List<Mesh>> meshesCache = new HashMap<>();
-
-	public final static void clearMeshesCache()
+	protected void updateLayerMasks()
 	{
-		meshesCache.clear();
+		layerMasks = new long[(layers != null) ? layers.length : 0];
+		layerMask = 0L;
+
+		for (int i = 0; i < layerMasks.length; ++i) {
+			layerMasks[i] = LayerMask.getMask(layers[i]);
+			layerMask |= layerMasks[i];
+		}
 	}
 
 	@Override
@@ -149,24 +243,13 @@ public class RenderMeshesTask extends AbstractWindowTask
 			context.setShadowTexture(shadowBuffer.getTexture());
 		}
 
-		String cacheKey = "" + meshes.hashCode() + "" + layers[0];
-
-		List<Mesh> ms = meshesCache.get(cacheKey);
-
-		if (ms == null) {
-
-			List l = Arrays.asList(layers);
-
-			ms = meshes.findMeshesByFilter((mesh) -> {
-				return mesh != null
-					&& mesh.isEnabled()
-					&& !(mesh instanceof MeshGroup)
-					&& mesh.containsLayers(l);
-			});
-
-			meshesCache.put(cacheKey, ms);
+		if (layerMasks == null) {
+			updateLayerMasks();
 		}
 
+		// The registry is kept up to date by the meshes - no need to search the tree
+		List<Mesh> ms = meshes.getRegistry().getMeshes(layerMask);
+
 		Matrix4f viewProjection = camera.getViewProjectionMatrix();
 
 		// Update UI
@@ -180,91 +263,242 @@ public class RenderMeshesTask extends AbstractWindowTask
 			}
 		}
 
-		Map<String, List<FbxSubMesh>> meshesByKey = new HashMap<>();
+		frame++;
 
-		FrustumIntersection intersection = new FrustumIntersection(viewProjection, true);
+		// Select the lods, cull and compute the depths in parallel ranges
+		preparation.setClipMeshes(clipMeshes);
+		preparation.setLodMeshes(lodMeshes);
+		preparation.setParallel(parallelPreparation);
 
-		Vector3f cameraPosition = camera.getWorldPosition();
+		LodSelector lodSelector = preparation.getLodSelector();
+		lodSelector.setDistanceScale(lodMeshDistanceScale);
+		lodSelector.setHysteresis(lodHysteresis);
+		lodSelector.setFrameTimeBudget(lodFrameTimeBudget);
+		lodSelector.setMaxBias(lodMaxBias);
+		lodSelector.updateBias(deltaTime.getFloatValue());
 
-		for (Mesh m : ms) {
+		preparation.prepare(ms, camera.getViewMatrix(), viewProjection, camera.getWorldPosition());
 
-			// Cull mesh lod wich is not in range
-			if (lodMeshes && m.getLod() > -1) {
+		// Merge the draw lists in range order - keeps the queue order of a serial run
+		queue.clear();
 
-				float distance = (new Vector3f(cameraPosition)).sub(m.getWorldPosition()).length();
+		for (int r = 0; r < preparation.getRangeCount(); ++r) {
 
-				m = m.getLodMesh(distance);
+			RenderPreparation.DrawList drawList = preparation.getDrawList(r);
 
-				if (m == null) {
-					continue;
-				}
+			for (int i = 0; i < drawList.size(); ++i) {
+				addToQueue(drawList.getMesh(i), drawList.getDepth(i));
 			}
+		}
 
-			// Frustum cull meshes
-			if (clipMeshes) {
-				Collider collider = m.getBoundsCollider();
+		prepareInstances();
 
-				if (!collider.intersectsFrustum(intersection)) {
-					continue;
-				}
+		// Draw sorted by layer, state and depth with the fbx sub meshes batched into instanced draws
+		commands.context = context;
+		try {
+			queue.submit(commands);
+		} finally {
+			commands.context = null;
+		}
+
+		// Release the buffers of groups which were not rendered for a while
+		Iterator<InstanceGroup> groups = instanceGroups.values().iterator();
+		while (groups.hasNext()) {
+
+			InstanceGroup group = groups.next();
+
+			if (frame - group.frame > INSTANCE_GROUP_RELEASE_FRAMES) {
+				group.buffer.delete();
+				groups.remove();
 			}
+		}
+
+		if (buffer != null) {
+			buffer.endRender();
+		}
+	}
 
-			// Dont render but gather the fbx sub meshes for later instanced rendering
-			if (m instanceof FbxSubMesh fbxSubMesh
-				&& (fbxSubMesh.getInstanceCount() == 1
-				|| fbxSubMesh.containsLayer("instanceSpawn"))) {
+	/**
+	 * Adds the mesh with its sort key to the queue. Meshes which blend or do not depth test are ordered back to front
+	 * and keep their scene order at equal depth, all others are grouped by shader, material and mesh.
+	 *
+	 * @param mesh
+	 * @param depth view depth of the mesh
+	 */
+	protected void addToQueue(Mesh mesh, float depth)
+	{
+		Material material = mesh.getMaterial();
+		Shader shader = (material != null) ? material.getShader() : null;
+		int shaderId = queue.getId(shader);
+		int materialId = queue.getId(material);
+		int layer = getLayerIndex(mesh);
+		long state = ((long) shaderId << 32) | materialId;
 
-				String key = "" + fbxSubMesh.getVao() + fbxSubMesh.getMaterial().getName();
+		boolean ordered = shader == null || shader.isRenderTransparent() || !shader.isDepthTest();
 
-				if (!meshesByKey.containsKey(key)) {
-					meshesByKey.put(key, new ArrayList<>());
-				}
+		// Gather the fbx sub meshes sharing vao and material for instanced rendering - meshes with own instances draw them
+		if (mesh instanceof FbxSubMesh fbxSubMesh && fbxSubMesh.getInstanceCount() == 1) {
 
-				meshesByKey.get(key).add(fbxSubMesh);
+			long key = ordered
+				? RenderSortKey.createTransparent(layer, depth)
+				: RenderSortKey.createOpaque(layer, shaderId, materialId, fbxSubMesh.getVao(), depth);
 
-				continue;
-			}
+			queue.add(key, mesh, state, ((long) materialId << 32) | fbxSubMesh.getVao());
+			return;
+		}
+
+		long key = ordered
+			? RenderSortKey.createTransparent(layer, depth)
+			: RenderSortKey.createOpaque(layer, shaderId, materialId, System.identityHashCode(mesh), depth);
+
+		queue.add(key, mesh, state, RenderQueue.NO_BATCH);
+	}
 
-			//log.debug("Mesh", m.getName());
-			m.setCamera(camera);
-			m.render(context);
+	/**
+	 * @param mesh
+	 *
+	 * @return the index of the first of the task layers the mesh is in - meshes in earlier layers are drawn first
+	 */
+	protected int getLayerIndex(Mesh mesh)
+	{
+		int count = Math.min(layerMasks.length, RenderSortKey.MAX_LAYER);
+		long meshLayerMask = mesh.getLayerMask();
+
+		for (int i = 0; i < count; ++i) {
+			if ((meshLayerMask & layerMasks[i]) != 0L) {
+				return i;
+			}
 		}
 
-		// Render fbx sub meshes instanced
-		// @todo Optimize handling of instaning spawner meshes - currently can cause a lot of mem usage if spawner changes often (culling ...)
-		for (Map.Entry<String, List<FbxSubMesh>> entry : meshesByKey.entrySet()) {
+		return RenderSortKey.MAX_LAYER;
+	}
 
-			List<FbxSubMesh> fbxMeshes = entry.getValue();
+	protected InstanceGroup getInstanceGroup(FbxSubMesh fbxSubMesh)
+	{
+		long batch = ((long) queue.getId(fbxSubMesh.getMaterial()) << 32) | fbxSubMesh.getVao();
 
-			FbxSubMesh fbxSubMesh = fbxMeshes.getFirst();
+		return instanceGroups.computeIfAbsent(batch, (k) -> new InstanceGroup());
+	}
 
-			INSTANCE_DATA.clear();
-			for (int i = 0; i < fbxMeshes.size(); ++i) {
+	/**
+	 * Assigns the batches of the sorted queue to their instance groups and packs the instance data of the groups in
+	 * parallel. Uploading is left to renderInstanced on the gl thread.
+	 */
+	protected void prepareInstances()
+	{
+		List<Callable<Void>> jobs = new ArrayList<>();
 
-				FbxSubMesh fbxSM = fbxMeshes.get(i);
-				InstanceData iData = new FbxSubMesh.InstanceData();
+		queue.forEachBatch((batchMeshes) -> {
 
-				iData.identifier = fbxSM.getIdentifier();
-				iData.tint = MQColor.White;
-				iData.matrix = fbxSM.getTransform().getMatrix().get4x3(new Matrix4x3f());
+			InstanceGroup group = getInstanceGroup((FbxSubMesh) batchMeshes.getFirst());
 
-				INSTANCE_DATA.add(iData);
+			// The batch got split by the sort order - only its first part is drawn instanced
+			if (group.frame == frame) {
+				return;
 			}
 
-			fbxSubMesh.addLayer("instanceSpawn");
-			fbxSubMesh.updateInstanceData(INSTANCE_DATA);
+			group.frame = frame;
+			group.meshes.clear();
+			for (Mesh mesh : batchMeshes) {
+				group.meshes.add((FbxSubMesh) mesh);
+			}
 
-			// Small workaround to create all instances relative to world origin
-			fbxSubMesh.getTransform().getMatrix().identity();
+			jobs.add(() -> {
+				updateInstances(group);
+				return null;
+			});
+		});
+
+		preparation.invokeAll(jobs);
+	}
 
-			fbxSubMesh.setCamera(camera);
-			fbxSubMesh.render(context);
-			fbxSubMesh.updateModelMatrix(true);
-			//fbxSubMesh.getTransform().update(true);
+	/**
+	 * Renders the fbx sub meshes of one batch with one instanced draw
+	 *
+	 * @param meshes
+	 * @param context
+	 */
+	protected void renderInstanced(List<Mesh> meshes, RenderContext context)
+	{
+		FbxSubMesh fbxSubMesh = (FbxSubMesh) meshes.getFirst();
+
+		InstanceGroup group = getInstanceGroup(fbxSubMesh);
+
+		// The batch got split by the sort order - its instances are already in use this frame
+		if (group.submitFrame == frame) {
+			for (Mesh mesh : meshes) {
+				mesh.setCamera(camera);
+				mesh.render(context);
+			}
+			return;
 		}
 
-		if (buffer != null) {
-			buffer.endRender();
+		group.submitFrame = frame;
+
+		// The instances got packed in prepareInstances
+		group.buffer.update();
+
+		// Small workaround to create all instances relative to world origin
+		fbxSubMesh.getTransform().getMatrix().identity();
+
+		fbxSubMesh.setCamera(camera);
+		fbxSubMesh.render(context, group.buffer);
+		group.buffer.fence();
+		fbxSubMesh.updateModelMatrix(true);
+	}
+
+	/**
+	 * Writes the current transforms of the group meshes into their slots and frees the slots of meshes which are gone.
+	 * Only touches the group so groups can be updated in parallel.
+	 *
+	 * @param group
+	 */
+	protected void updateInstances(InstanceGroup group)
+	{
+		InstanceStorage storage = group.buffer.getStorage();
+		float[] instanceValues = group.values;
+
+		for (FbxSubMesh fbxSubMesh : group.meshes) {
+
+			InstanceSlot slot = group.slots.get(fbxSubMesh);
+
+			if (slot == null) {
+				slot = new InstanceSlot(storage.allocate());
+				group.slots.put(fbxSubMesh, slot);
+			}
+
+			slot.frame = frame;
+
+			// 4x3 matrix column major - see FbxSubMesh.updateInstanceData
+			Matrix4f matrix = fbxSubMesh.getTransform().getMatrix();
+			instanceValues[0] = matrix.m00();
+			instanceValues[1] = matrix.m01();
+			instanceValues[2] = matrix.m02();
+			instanceValues[3] = matrix.m10();
+			instanceValues[4] = matrix.m11();
+			instanceValues[5] = matrix.m12();
+			instanceValues[6] = matrix.m20();
+			instanceValues[7] = matrix.m21();
+			instanceValues[8] = matrix.m22();
+			instanceValues[9] = matrix.m30();
+			instanceValues[10] = matrix.m31();
+			instanceValues[11] = matrix.m32();
+			MQColor.White.getRGB(instanceValues, 12);
+			instanceValues[15] = fbxSubMesh.getIdentifier();
+
+			storage.set(slot.handle, instanceValues, 0);
+		}
+
+		// Free meshes which got culled or removed
+		if (group.slots.size() > group.meshes.size()) {
+			Iterator<InstanceSlot> slots = group.slots.values().iterator();
+			while (slots.hasNext()) {
+				InstanceSlot slot = slots.next();
+				if (slot.frame != frame) {
+					storage.free(slot.handle);
+					slots.remove();
+				}
+			}
 		}
 	}
 
@@ -307,6 +541,7 @@ public class RenderMeshesTask extends AbstractWindowTask
 	public void setLayers(String[] layers)
 	{
 		this.layers = layers;
+		layerMasks = null;
 	}
 
 	public Material getOverrideMaterial()
@@ -408,5 +643,50 @@ public class RenderMeshesTask extends AbstractWindowTask
 	{
 		this.lodMeshDistanceScale = lodMeshDistanceScale;
 	}
+
+	public float getLodHysteresis()
+	{
+		return lodHysteresis;
+	}
+
+	public void setLodHysteresis(float lodHysteresis)
+	{
+		this.lodHysteresis = lodHysteresis;
+	}
+
+	public float getLodFrameTimeBudget()
+	{
+		return lodFrameTimeBudget;
+	}
+
+	public void setLodFrameTimeBudget(float lodFrameTimeBudget)
+	{
+		this.lodFrameTimeBudget = lodFrameTimeBudget;
+	}
+
+	public float getLodMaxBias()
+	{
+		return lodMaxBias;
+	}
+
+	public void setLodMaxBias(float lodMaxBias)
+	{
+		this.lodMaxBias = lodMaxBias;
+	}
+
+	public boolean isParallelPreparation()
+	{
+		return parallelPreparation;
+	}
+
+	public void setParallelPreparation(boolean parallelPreparation)
+	{
+		this.parallelPreparation = parallelPreparation;
+	}
+
+	public RenderPreparation getPreparation()
+	{
+		return preparation;
+	}
 	// "Getters/Setters" </editor-fold>
 }
@@ -0,0 +1,339 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import de.s42.mq.collision.Collider;
+import de.s42.mq.meshes.Mesh;
+import de.s42.mq.util.MQExecutors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * CPU side of preparing a frame - selects the lod meshes, frustum culls and computes the view depth of the meshes in
+ * fixed size ranges on an executor. Each range writes its own draw list, so the lists can be merged in range order
+ * which keeps the result identical to a serial run. It does not issue any GL calls and can run headless.
+ *
+ * The meshes of one frame must be distinct as their bounds caches are updated by the range processing them. The lod
+ * level selected for a mesh is kept per preparation (so per view) by the index of the mesh in the prepared list - this
+ * keeps the lod hysteresis of different views independent.
+ *
+ * @author Benjamin Schiller
+ */
+public class RenderPreparation
+{
+
+	public final static int DEFAULT_RANGE_SIZE = 1024;
+
+	/**
+	 * The visible meshes of one range with their view depth
+	 */
+	public static class DrawList
+	{
+
+		protected Mesh[] meshes = new Mesh[16];
+		protected float[] depths = new float[16];
+		protected int count;
+
+		public void add(Mesh mesh, float depth)
+		{
+			if (count == meshes.length) {
+				meshes = Arrays.copyOf(meshes, count * 2);
+				depths = Arrays.copyOf(depths, count * 2);
+			}
+
+			meshes[count] = mesh;
+			depths[count] = depth;
+			count++;
+		}
+
+		public void clear()
+		{
+			// Release the references of the last frame
+			Arrays.fill(meshes, 0, count, null);
+			count = 0;
+		}
+
+		public Mesh getMesh(int index)
+		{
+			assert index >= 0 && index < count : "index >= 0 && index < count";
+
+			return meshes[index];
+		}
+
+		public float getDepth(int index)
+		{
+			assert index >= 0 && index < count : "index >= 0 && index < count";
+
+			return depths[index];
+		}
+
+		public int size()
+		{
+			return count;
+		}
+	}
+
+	protected ExecutorService executor = ForkJoinPool.commonPool();
+	protected LodSelector lodSelector = new LodSelector();
+	protected int rangeSize = DEFAULT_RANGE_SIZE;
+	protected boolean clipMeshes;
+	protected boolean lodMeshes = true;
+	protected boolean parallel = true;
+
+	/**
+	 * The draw lists are kept across frames - only the first rangeCount are used in a frame
+	 */
+	protected final List<DrawList> drawLists = new ArrayList<>();
+	protected int rangeCount;
+
+	/**
+	 * Lod level selected in the last prepare for the mesh at the same index in lodLevelMeshes
+	 */
+	protected int[] lodLevels = new int[0];
+	protected Mesh[] lodLevelMeshes = new Mesh[0];
+
+	/**
+	 * Prepares the given meshes into one draw list per range
+	 *
+	 * @param meshes
+	 * @param view
+	 * @param viewProjection
+	 * @param cameraPosition
+	 *
+	 * @return the number of meshes to draw
+	 */
+	public int prepare(List<Mesh> meshes, Matrix4f view, Matrix4f viewProjection, Vector3f cameraPosition)
+	{
+		assert meshes != null : "meshes != null";
+		assert view != null : "view != null";
+		assert viewProjection != null : "viewProjection != null";
+		assert cameraPosition != null : "cameraPosition != null";
+
+		FrustumIntersection intersection = clipMeshes ? new FrustumIntersection(viewProjection, true) : null;
+
+		int count = meshes.size();
+		rangeCount = (count + rangeSize - 1) / rangeSize;
+
+		while (drawLists.size() < rangeCount) {
+			drawLists.add(new DrawList());
+		}
+
+		if (lodLevels.length < count) {
+			lodLevels = Arrays.copyOf(lodLevels, count);
+			lodLevelMeshes = Arrays.copyOf(lodLevelMeshes, count);
+		} else {
+			// Release the references to meshes which are no longer prepared
+			Arrays.fill(lodLevelMeshes, count, lodLevelMeshes.length, null);
+		}
+
+		List<Callable<Void>> ranges = new ArrayList<>(rangeCount);
+		for (int r = 0; r < rangeCount; ++r) {
+
+			DrawList drawList = drawLists.get(r);
+			int start = r * rangeSize;
+			int end = Math.min(start + rangeSize, count);
+
+			ranges.add(() -> {
+				prepareRange(meshes, start, end, drawList, view, intersection, cameraPosition);
+				return null;
+			});
+		}
+
+		invokeAll(ranges);
+
+		int result = 0;
+		for (int r = 0; r < rangeCount; ++r) {
+			result += drawLists.get(r).size();
+		}
+
+		return result;
+	}
+
+	protected void prepareRange(List<Mesh> meshes, int start, int end, DrawList drawList, Matrix4f view, FrustumIntersection intersection, Vector3f cameraPosition)
+	{
+		drawList.clear();
+
+		for (int i = start; i < end; ++i) {
+
+			Mesh mesh = meshes.get(i);
+
+			// World position like getWorldPosition but without allocating
+			Matrix4f matrix = mesh.getModelMatrix();
+			float x = matrix.m30() / matrix.m33();
+			float y = matrix.m31() / matrix.m33();
+			float z = matrix.m32() / matrix.m33();
+
+			// Cull mesh lod wich is not in range
+			if (lodMeshes && mesh.getLod() > -1) {
+
+				float dx = x - cameraPosition.x;
+				float dy = y - cameraPosition.y;
+				float dz = z - cameraPosition.z;
+
+				// A different mesh at this index has no previous level
+				if (lodLevelMeshes[i] != mesh) {
+					lodLevelMeshes[i] = mesh;
+					lodLevels[i] = LodSelector.NO_LEVEL;
+				}
+
+				Mesh lodMesh = mesh.selectLodMesh(lodSelector, dx * dx + dy * dy + dz * dz, lodLevels, i);
+
+				if (lodMesh == null) {
+					continue;
+				}
+
+				if (lodMesh != mesh) {
+					mesh = lodMesh;
+					matrix = mesh.getModelMatrix();
+					x = matrix.m30() / matrix.m33();
+					y = matrix.m31() / matrix.m33();
+					z = matrix.m32() / matrix.m33();
+				}
+			}
+
+			// Frustum cull meshes
+			if (intersection != null) {
+				Collider collider = mesh.getBoundsCollider();
+
+				if (!collider.intersectsFrustum(intersection)) {
+					continue;
+				}
+			}
+
+			float depth = -(view.m02() * x + view.m12() * y + view.m22() * z + view.m32());
+
+			drawList.add(mesh, depth);
+		}
+	}
+
+	/**
+	 * Runs the jobs on the executor and waits for all of them - runs them on the calling thread if not parallel or if
+	 * there is just one
+	 *
+	 * @param jobs
+	 */
+	public void invokeAll(List<Callable<Void>> jobs)
+	{
+		assert jobs != null : "jobs != null";
+
+		MQExecutors.invokeAll(jobs, parallel ? executor : null, "preparing render");
+	}
+
+	/**
+	 * @param index
+	 *
+	 * @return the draw list of the range with the given index of the last prepare
+	 */
+	public DrawList getDrawList(int index)
+	{
+		assert index >= 0 && index < rangeCount : "index >= 0 && index < rangeCount";
+
+		return drawLists.get(index);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	/**
+	 * @return the number of draw lists of the last prepare
+	 */
+	public int getRangeCount()
+	{
+		return rangeCount;
+	}
+
+	public LodSelector getLodSelector()
+	{
+		return lodSelector;
+	}
+
+	public void setLodSelector(LodSelector lodSelector)
+	{
+		assert lodSelector != null : "lodSelector != null";
+
+		this.lodSelector = lodSelector;
+	}
+
+	public ExecutorService getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(ExecutorService executor)
+	{
+		assert executor != null : "executor != null";
+
+		this.executor = executor;
+	}
+
+	public int getRangeSize()
+	{
+		return rangeSize;
+	}
+
+	public void setRangeSize(int rangeSize)
+	{
+		assert rangeSize > 0 : "rangeSize > 0";
+
+		this.rangeSize = rangeSize;
+	}
+
+	public boolean isClipMeshes()
+	{
+		return clipMeshes;
+	}
+
+	public void setClipMeshes(boolean clipMeshes)
+	{
+		this.clipMeshes = clipMeshes;
+	}
+
+	public boolean isLodMeshes()
+	{
+		return lodMeshes;
+	}
+
+	public void setLodMeshes(boolean lodMeshes)
+	{
+		this.lodMeshes = lodMeshes;
+	}
+
+	public boolean isParallel()
+	{
+		return parallel;
+	}
+
+	public void setParallel(boolean parallel)
+	{
+		this.parallel = parallel;
+	}
+	// "Getters/Setters" </editor-fold>
+}
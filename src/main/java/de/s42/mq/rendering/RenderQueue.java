@@ -0,0 +1,327 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects the draw items of a frame with their RenderSortKey, sorts them with a stable LSD radix sort and submits
+ * them to RenderCommands. Consecutive items with the same state lead to just one state change, consecutive items with
+ * the same batch are drawn instanced. The queue keeps its arrays across frames so it does not allocate once it has
+ * grown.
+ *
+ * @author Benjamin Schiller
+ * @param <T> type of the queued items
+ */
+public class RenderQueue<T>
+{
+
+	/**
+	 * Batch of items which can not be drawn instanced
+	 */
+	public final static long NO_BATCH = 0L;
+
+	protected final static int INITIAL_CAPACITY = 256;
+
+	/**
+	 * The ids are released on clear once there are more - so objects which are gone are not kept forever
+	 */
+	protected final static int MAX_IDS = 1 << 16;
+
+	protected Object[] items = new Object[INITIAL_CAPACITY];
+	protected long[] states = new long[INITIAL_CAPACITY];
+	protected long[] batches = new long[INITIAL_CAPACITY];
+	protected long[] keys = new long[INITIAL_CAPACITY];
+	protected long[] sortedKeys = new long[INITIAL_CAPACITY];
+	protected long[] swapKeys = new long[INITIAL_CAPACITY];
+	protected int[] order = new int[INITIAL_CAPACITY];
+	protected int[] swapOrder = new int[INITIAL_CAPACITY];
+	protected final int[] histogram = new int[256];
+	protected int count;
+	protected boolean sorted;
+
+	protected final Map<Object, Integer> ids = new IdentityHashMap<>();
+	protected final List<T> batchItems = new ArrayList<>();
+
+	/**
+	 * @param object
+	 *
+	 * @return a small id > 0 which stays the same for the object across frames
+	 */
+	public int getId(Object object)
+	{
+		if (object == null) {
+			return 0;
+		}
+
+		return ids.computeIfAbsent(object, (o) -> ids.size() + 1);
+	}
+
+	public void clear()
+	{
+		// Release the references of the last frame
+		Arrays.fill(items, 0, count, null);
+		count = 0;
+		sorted = false;
+
+		if (ids.size() > MAX_IDS) {
+			ids.clear();
+		}
+	}
+
+	public void add(long key, T item)
+	{
+		add(key, item, 0L, NO_BATCH);
+	}
+
+	/**
+	 * @param key see RenderSortKey
+	 * @param item
+	 * @param state items with different states get a changeState before drawing
+	 * @param batch consecutive items with the same batch and state are drawn instanced - NO_BATCH draws it alone
+	 */
+	public void add(long key, T item, long state, long batch)
+	{
+		assert item != null : "item != null";
+
+		if (count == items.length) {
+			grow();
+		}
+
+		items[count] = item;
+		keys[count] = key;
+		states[count] = state;
+		batches[count] = batch;
+		count++;
+		sorted = false;
+	}
+
+	protected void grow()
+	{
+		int capacity = items.length * 2;
+
+		items = Arrays.copyOf(items, capacity);
+		keys = Arrays.copyOf(keys, capacity);
+		states = Arrays.copyOf(states, capacity);
+		batches = Arrays.copyOf(batches, capacity);
+		sortedKeys = new long[capacity];
+		swapKeys = new long[capacity];
+		order = new int[capacity];
+		swapOrder = new int[capacity];
+	}
+
+	/**
+	 * Sorts the items by their keys unsigned - items with equal keys keep the order they were added in
+	 */
+	public void sort()
+	{
+		long[] srcKeys = sortedKeys;
+		long[] dstKeys = swapKeys;
+		int[] srcOrder = order;
+		int[] dstOrder = swapOrder;
+
+		System.arraycopy(keys, 0, srcKeys, 0, count);
+		for (int i = 0; i < count; ++i) {
+			srcOrder[i] = i;
+		}
+
+		if (count > 1) {
+
+			for (int shift = 0; shift < 64; shift += 8) {
+
+				Arrays.fill(histogram, 0);
+				for (int i = 0; i < count; ++i) {
+					histogram[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+				}
+
+				// All keys share this byte - nothing to reorder
+				if (histogram[(int) (srcKeys[0] >>> shift) & 0xFF] == count) {
+					continue;
+				}
+
+				int offset = 0;
+				for (int b = 0; b < 256; ++b) {
+					int c = histogram[b];
+					histogram[b] = offset;
+					offset += c;
+				}
+
+				for (int i = 0; i < count; ++i) {
+					int position = histogram[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+					dstKeys[position] = srcKeys[i];
+					dstOrder[position] = srcOrder[i];
+				}
+
+				long[] tempKeys = srcKeys;
+				srcKeys = dstKeys;
+				dstKeys = tempKeys;
+				int[] tempOrder = srcOrder;
+				srcOrder = dstOrder;
+				dstOrder = tempOrder;
+			}
+		}
+
+		sortedKeys = srcKeys;
+		swapKeys = dstKeys;
+		order = srcOrder;
+		swapOrder = dstOrder;
+		sorted = true;
+	}
+
+	/**
+	 * Submits the items in sorted order - sorts first if items were added since the last sort
+	 *
+	 * @param commands
+	 */
+	@SuppressWarnings("unchecked")
+	public void submit(RenderCommands<T> commands)
+	{
+		assert commands != null : "commands != null";
+
+		if (!sorted) {
+			sort();
+		}
+
+		long state = 0L;
+		int i = 0;
+
+		while (i < count) {
+
+			int index = order[i];
+			T item = (T) items[index];
+
+			if (i == 0 || states[index] != state) {
+				state = states[index];
+				commands.changeState(item);
+			}
+
+			long batch = batches[index];
+
+			if (batch == NO_BATCH) {
+				commands.draw(item);
+				i++;
+				continue;
+			}
+
+			batchItems.add(item);
+			i++;
+			while (i < count && batches[order[i]] == batch && states[order[i]] == state) {
+				batchItems.add((T) items[order[i]]);
+				i++;
+			}
+
+			try {
+				commands.drawInstanced(batchItems);
+			} finally {
+				batchItems.clear();
+			}
+		}
+	}
+
+	/**
+	 * Passes the items of each instanced draw in the order submit draws them - allows to prepare the batches before
+	 * submitting. Sorts first if items were added since the last sort. The list is only valid during the call.
+	 *
+	 * @param consumer
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachBatch(Consumer<List<T>> consumer)
+	{
+		assert consumer != null : "consumer != null";
+
+		if (!sorted) {
+			sort();
+		}
+
+		int i = 0;
+
+		while (i < count) {
+
+			int index = order[i];
+			long batch = batches[index];
+			long state = states[index];
+			i++;
+
+			if (batch == NO_BATCH) {
+				continue;
+			}
+
+			batchItems.add((T) items[index]);
+			while (i < count && batches[order[i]] == batch && states[order[i]] == state) {
+				batchItems.add((T) items[order[i]]);
+				i++;
+			}
+
+			try {
+				consumer.accept(batchItems);
+			} finally {
+				batchItems.clear();
+			}
+		}
+	}
+
+	/**
+	 * @param i
+	 *
+	 * @return the i-th item in sorted order
+	 */
+	@SuppressWarnings("unchecked")
+	public T getSorted(int i)
+	{
+		assert sorted : "sorted";
+		assert i >= 0 && i < count : "i >= 0 && i < count";
+
+		return (T) items[order[i]];
+	}
+
+	/**
+	 * @param i
+	 *
+	 * @return the i-th key in sorted order
+	 */
+	public long getSortedKey(int i)
+	{
+		assert sorted : "sorted";
+		assert i >= 0 && i < count : "i >= 0 && i < count";
+
+		return sortedKeys[i];
+	}
+
+	public int size()
+	{
+		return count;
+	}
+
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+}
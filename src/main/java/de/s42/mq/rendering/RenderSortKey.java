@@ -0,0 +1,122 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+/**
+ * Builds the 64 bit keys the RenderQueue sorts by. Keys are compared unsigned.
+ *
+ * <pre>
+ * opaque:      layer:4 | pass:2 | shader:12 | material:14 | mesh:16 | depth:16 (front to back)
+ * transparent: layer:4 | pass:2 | depth:16 (back to front) | 0:42
+ * </pre>
+ *
+ * Transparent items are only ordered by depth so items of equal depth keep their scene order as the sort is stable.
+ * Ids are masked to the width of their field - colliding ids just affect the order, not the batching.
+ *
+ * @author Benjamin Schiller
+ */
+public final class RenderSortKey
+{
+
+	public final static int PASS_OPAQUE = 0;
+	public final static int PASS_TRANSPARENT = 1;
+
+	public final static int MAX_LAYER = 0xF;
+	public final static int LAYER_SHIFT = 60;
+	public final static int PASS_SHIFT = 58;
+	public final static int SHADER_SHIFT = 46;
+	public final static int MATERIAL_SHIFT = 32;
+	public final static int MESH_SHIFT = 16;
+	public final static int TRANSPARENT_DEPTH_SHIFT = 42;
+
+	private RenderSortKey()
+	{
+		// never instantiated
+	}
+
+	/**
+	 * @param layer 0 - 15, lower layers are drawn first
+	 * @param shader
+	 * @param material
+	 * @param mesh
+	 * @param depth view space distance
+	 *
+	 * @return key sorting by layer, state and mesh and then front to back
+	 */
+	public static long createOpaque(int layer, int shader, int material, int mesh, float depth)
+	{
+		assert layer >= 0 && layer <= MAX_LAYER : "layer >= 0 && layer <= MAX_LAYER";
+
+		return ((long) layer << LAYER_SHIFT)
+			| ((long) PASS_OPAQUE << PASS_SHIFT)
+			| ((long) (shader & 0xFFF) << SHADER_SHIFT)
+			| ((long) (material & 0x3FFF) << MATERIAL_SHIFT)
+			| ((long) (mesh & 0xFFFF) << MESH_SHIFT)
+			| quantizeDepth(depth);
+	}
+
+	/**
+	 * @param layer 0 - 15, lower layers are drawn first
+	 * @param depth view space distance
+	 *
+	 * @return key sorting by layer and then back to front
+	 */
+	public static long createTransparent(int layer, float depth)
+	{
+		assert layer >= 0 && layer <= MAX_LAYER : "layer >= 0 && layer <= MAX_LAYER";
+
+		return ((long) layer << LAYER_SHIFT)
+			| ((long) PASS_TRANSPARENT << PASS_SHIFT)
+			| ((long) (0xFFFF - quantizeDepth(depth)) << TRANSPARENT_DEPTH_SHIFT);
+	}
+
+	/**
+	 * The bits of positive floats order like the floats - the upper 16 bits keep the order with a precision relative to
+	 * the depth and do not need a far plane
+	 *
+	 * @param depth
+	 *
+	 * @return 0 - 0xFFFF, depths behind the camera are 0
+	 */
+	public static int quantizeDepth(float depth)
+	{
+		if (!(depth > 0.0f)) {
+			return 0;
+		}
+
+		return Math.min(Float.floatToIntBits(depth) >>> 15, 0xFFFF);
+	}
+
+	public static int getLayer(long key)
+	{
+		return (int) (key >>> LAYER_SHIFT);
+	}
+
+	public static int getPass(long key)
+	{
+		return (int) (key >>> PASS_SHIFT) & 0x3;
+	}
+}
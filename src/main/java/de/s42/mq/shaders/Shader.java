@@ -32,6 +32,7 @@ import de.s42.mq.dlt.UniformOrConst;
 import de.s42.mq.materials.CubeTexture;
 import de.s42.mq.materials.Texture;
 import de.s42.mq.meshes.Mesh;
+import de.s42.mq.rendering.GLState;
 import de.s42.mq.rendering.RenderContext;
 import de.s42.mq.ui.editor;
 import java.nio.ByteBuffer;
@@ -364,7 +365,7 @@ public abstract class Shader extends AbstractAsset
 
 		setShaderProgramId(program);
 
-		glUseProgram(program);
+		GLState.current().useProgram(program);
 
 		fetchUniforms();
 		fetchAttributes();
@@ -375,7 +376,7 @@ public abstract class Shader extends AbstractAsset
 
 		log.stopTrace("Shader.load:loadShader");
 
-		glUseProgram(0);
+		GLState.current().useProgram(0);
 
 		log.stopDebug("Shader.load");
 	}
@@ -388,7 +389,7 @@ public abstract class Shader extends AbstractAsset
 		}
 
 		if (getShaderProgramId() != -1) {
-			glDeleteProgram(getShaderProgramId());
+			GLState.current().deleteProgram(getShaderProgramId());
 			setShaderProgramId(-1);
 		}
 
@@ -399,60 +400,49 @@ public abstract class Shader extends AbstractAsset
 	{
 		assert context != null : "context != null";
 
-		glUseProgram(getShaderProgramId());
+		GLState state = GLState.current();
 
-		glEnable(GL_TEXTURE_CUBE_MAP_SEAMLESS);
+		state.useProgram(getShaderProgramId());
+
+		state.enable(GL_TEXTURE_CUBE_MAP_SEAMLESS);
 
 		if (context.getOverrideCullType() != null) {
-			glCullFace(context.getOverrideCullType().glFormat);
-			glEnable(GL_CULL_FACE);
+			state.cullFace(context.getOverrideCullType().glFormat);
+			state.enable(GL_CULL_FACE);
 		} else if (isCullFace() && getCullType() != CullType.NONE) {
-			glCullFace(getCullType().glFormat);
-			glEnable(GL_CULL_FACE);
-		} else {
-			glDisable(GL_CULL_FACE);
-		}
-
-		if (isDepthTest()) {
-			glEnable(GL_DEPTH_TEST);
+			state.cullFace(getCullType().glFormat);
+			state.enable(GL_CULL_FACE);
 		} else {
-			glDisable(GL_DEPTH_TEST);
+			state.disable(GL_CULL_FACE);
 		}
 
-		glDepthMask(isDepthWrite());
-		glDepthFunc(getDepthFunc().glFormat);
-
-		if (isStencilTest()) {
-			glEnable(GL_STENCIL_TEST);
-		} else {
-			glDisable(GL_STENCIL_TEST);
-		}
-
-		if (isWireframe()) {
-			glPolygonMode(GL_FRONT_AND_BACK, GL_LINE);
-		} else {
-			glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-		}
+		state.setEnabled(GL_DEPTH_TEST, isDepthTest());
+		state.depthMask(isDepthWrite());
+		state.depthFunc(getDepthFunc().glFormat);
+		state.setEnabled(GL_STENCIL_TEST, isStencilTest());
+		state.polygonMode(isWireframe() ? GL_LINE : GL_FILL);
 
 		if (isRenderTransparent()) {
-			glEnablei(GL_BLEND, 0);
+			state.setBlendEnabled(0, true);
 			// @todo later allow even more complex blending?
 			//glBlendEquationSeparate(GL_FUNC_ADD, GL_FUNC_ADD);
 			//glBlendFuncSeparate(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, GL_ONE, GL_ZERO);
-			glBlendFunc(getSourceFunc().glFormat, getDestFunc().glFormat);
+			state.blendFunc(getSourceFunc().glFormat, getDestFunc().glFormat);
 		} else {
-			glDisablei(GL_BLEND, 0);
+			state.setBlendEnabled(0, false);
 		}
 	}
 
 	public void afterRendering(RenderContext context)
 	{
-		glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-		glUseProgram(0);
+		// The state is left as it is - the next shader sets what it needs and the GLState skips what did not change
+		GLState state = GLState.current();
+
+		state.polygonMode(GL_FILL);
 
 		if (isRenderTransparent()) {
-			glDisablei(GL_BLEND, 0);
-			glBlendFunc(BlendFunc.ONE.glFormat, BlendFunc.ZERO.glFormat);
+			state.setBlendEnabled(0, false);
+			state.blendFunc(BlendFunc.ONE.glFormat, BlendFunc.ZERO.glFormat);
 		}
 	}
 
@@ -910,8 +900,7 @@ public abstract class Shader extends AbstractAsset
 		assert index >= 0;
 		assert index < 32;
 
-		glActiveTexture(GL_TEXTURE0 + index);
-		glBindTexture(GL_TEXTURE_CUBE_MAP, textureId);
+		GLState.current().bindTexture(index, GL_TEXTURE_CUBE_MAP, textureId);
 	}
 
 	public void unsetCubeTexture(int index)
@@ -948,8 +937,7 @@ public abstract class Shader extends AbstractAsset
 		assert index >= 0;
 		assert index < 32;
 
-		glActiveTexture(GL_TEXTURE0 + index);
-		glBindTexture(GL_TEXTURE_2D, textureId);
+		GLState.current().bindTexture(index, GL_TEXTURE_2D, textureId);
 	}
 
 	public void setDraw0ColorAttachment()
@@ -16,6 +16,7 @@ import de.s42.dl.annotations.files.IsFileDLAnnotation.isFile;
 import de.s42.dl.exceptions.DLException;
 import de.s42.dl.exceptions.InvalidInstance;
 import de.s42.mq.assets.AbstractAsset;
+import de.s42.mq.assets.PreparableAsset;
 import de.s42.mq.data.BooleanData;
 import java.nio.*;
 import java.nio.file.Path;
@@ -33,7 +34,7 @@ import static org.lwjgl.system.MemoryUtil.NULL;
  *
  * @author Benjamin Schiller
  */
-public class AudioClip extends AbstractAsset
+public class AudioClip extends AbstractAsset implements PreparableAsset
 {
 
 	private final static Logger log = LogManager.getLogger(AudioClip.class.getName());
@@ -65,8 +66,35 @@ public class AudioClip extends AbstractAsset
 
 	protected int bufferId = -1;
 	protected int channels = -1;
+	protected int sampleRate = -1;
 	protected float duration = -1.0f;
 
+	/**
+	 * Decodes the vorbis source into pcm - is thread safe and does not need an AL context
+	 *
+	 * @throws DLException
+	 */
+	@Override
+	public synchronized void prepare() throws DLException
+	{
+		if (isPrepared()) {
+			return;
+		}
+
+		try ( STBVorbisInfo info = STBVorbisInfo.malloc()) {
+			pcm = readVorbis(source, info);
+			sampleRate = info.sample_rate();
+		} catch (Exception ex) {
+			throw new InvalidInstance("Could not load sound " + ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public synchronized boolean isPrepared()
+	{
+		return pcm != null;
+	}
+
 	@Override
 	public void load() throws DLException
 	{
@@ -74,20 +102,17 @@ public class AudioClip extends AbstractAsset
 			return;
 		}
 
+		// Decodes on this thread if it was not prepared by an AssetLoader
+		prepare();
+
 		super.load();
 
 		bufferId = alGenBuffers();
 
-		try ( STBVorbisInfo info = STBVorbisInfo.malloc()) {
-			pcm = readVorbis(source, info);
-
-			alBufferData(bufferId, info.channels() == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm, info.sample_rate());
+		alBufferData(bufferId, channels == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm, sampleRate);
 
-			if (info.channels() > 1 && (getAbsolute().getBooleanValue() || getRelative().getBooleanValue())) {
-				log.warn("The clip " + getSource().toAbsolutePath().toString() + " can not be attenuated with absolute or relative models as it is not MONO!");
-			}
-		} catch (Exception ex) {
-			throw new InvalidInstance("Could not load sound " + ex.getMessage(), ex);
+		if (channels > 1 && (getAbsolute().getBooleanValue() || getRelative().getBooleanValue())) {
+			log.warn("The clip " + getSource().toAbsolutePath().toString() + " can not be attenuated with absolute or relative models as it is not MONO!");
 		}
 	}
 
@@ -184,6 +209,11 @@ public class AudioClip extends AbstractAsset
 		return channels;
 	}
 
+	public int getSampleRate()
+	{
+		return sampleRate;
+	}
+
 	public float getDuration()
 	{
 		return duration;
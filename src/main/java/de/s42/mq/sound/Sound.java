@@ -15,11 +15,14 @@ import de.s42.dl.DLAnnotation.AnnotationDL;
 import de.s42.dl.DLAttribute.AttributeDL;
 import de.s42.dl.exceptions.DLException;
 import de.s42.mq.assets.AbstractAsset;
+import de.s42.mq.assets.Asset;
 import de.s42.mq.data.*;
 import de.s42.mq.dl.annotations.EditableDLAnnotation;
 import de.s42.mq.dl.annotations.MaxDLAnnotation;
 import de.s42.mq.dl.annotations.MinDLAnnotation;
 import de.s42.mq.dl.annotations.StepDLAnnotation;
+import java.util.Collections;
+import java.util.List;
 import org.joml.Vector3f;
 import static org.lwjgl.openal.AL10.AL_MAX_DISTANCE;
 import static org.lwjgl.openal.AL10.AL_ROLLOFF_FACTOR;
@@ -150,6 +153,16 @@ public class Sound extends AbstractAsset
 		}
 	}
 
+	@Override
+	public List<Asset> getDependencies()
+	{
+		if (clip == null) {
+			return Collections.emptyList();
+		}
+
+		return List.of(clip);
+	}
+
 	@Override
 	public void unload() throws DLException
 	{
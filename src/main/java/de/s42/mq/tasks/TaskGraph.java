@@ -0,0 +1,472 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.dl.DLAttribute.AttributeDL;
+import de.s42.dl.types.DLContainer;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import de.s42.mq.data.BooleanData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs its child tasks as a dependency graph. Dependencies are declared up front - either with
+ * {@link #addDependency(Task, Task)} or in DL by setting waitForTask of an AbstractTask child to a sibling of the graph.
+ * When a taskManager is given, each child is scheduled as soon as all its predecessors are done and its successors are
+ * released by the finishing predecessor. So no worker ever blocks waiting for another task. Without a taskManager the
+ * children are run in topological order on the calling thread.
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGraph extends AbstractTask implements DLContainer<Task>
+{
+
+	private final static Logger log = LogManager.getLogger(TaskGraph.class.getName());
+
+	protected final List<Task> tasks = new ArrayList<>();
+	protected final Map<Task, List<Task>> dependencies = new IdentityHashMap<>();
+
+	protected TaskManager taskManager;
+
+	protected BooleanData repeat;
+
+	/**
+	 * Replaced as a whole by build - runs take their nodes and roots from createRun so repeated runs started on a
+	 * worker see a consistent graph
+	 */
+	@AttributeDL(ignore = true)
+	protected volatile Node[] nodes;
+
+	@AttributeDL(ignore = true)
+	protected int[] roots;
+
+	@AttributeDL(ignore = true)
+	protected volatile Run currentRun;
+
+	/**
+	 * Wraps a child task of the graph and releases its successors once it is done
+	 */
+	protected static class Node implements Task
+	{
+
+		protected final Task task;
+		protected final int index;
+		protected int predecessorCount;
+		protected int[] successors = new int[0];
+		protected Run run;
+
+		protected Node(Task task, int index)
+		{
+			this.task = task;
+			this.index = index;
+		}
+
+		@Override
+		public void run()
+		{
+			Run r = run;
+
+			// After a failure the remaining nodes are just released so the run still finishes
+			if (r.failure.get() != null) {
+				r.done(this);
+				return;
+			}
+
+			// The failure is surfaced by waitForFinished - rethrowing would take down the worker
+			try {
+				task.run();
+			} catch (RuntimeException ex) {
+				r.fail(this, ex);
+			} finally {
+				r.done(this);
+			}
+		}
+
+		@Override
+		public String getName()
+		{
+			return task.getName();
+		}
+
+		@Override
+		public boolean isRunInMainThread()
+		{
+			return task.isRunInMainThread();
+		}
+
+		@Override
+		public void waitForFinished() throws InterruptedException
+		{
+			task.waitForFinished();
+		}
+
+		@Override
+		public void waitForFinished(long timeoutInMillis) throws InterruptedException
+		{
+			task.waitForFinished(timeoutInMillis);
+		}
+
+		@Override
+		public void setWorker(Worker worker)
+		{
+			task.setWorker(worker);
+		}
+	}
+
+	/**
+	 * State of one execution of the graph
+	 */
+	protected class Run
+	{
+
+		protected final Node[] runNodes;
+		protected final int[] runRoots;
+		protected final AtomicIntegerArray pending;
+		protected final AtomicInteger remaining;
+		protected final CountDownLatch finished = new CountDownLatch(1);
+		protected final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+		protected Run(Node[] runNodes, int[] runRoots)
+		{
+			this.runNodes = runNodes;
+			this.runRoots = runRoots;
+			pending = new AtomicIntegerArray(runNodes.length);
+			for (int i = 0; i < runNodes.length; ++i) {
+				pending.set(i, runNodes[i].predecessorCount);
+			}
+			remaining = new AtomicInteger(runNodes.length);
+		}
+
+		protected void start()
+		{
+			if (runNodes.length == 0) {
+				finish();
+				return;
+			}
+
+			for (int root : runRoots) {
+				schedule(runNodes[root]);
+			}
+		}
+
+		protected void schedule(Node node)
+		{
+			node.run = this;
+			taskManager.schedule(node);
+		}
+
+		protected void done(Node node)
+		{
+			for (int successor : node.successors) {
+				if (pending.decrementAndGet(successor) == 0) {
+					schedule(runNodes[successor]);
+				}
+			}
+
+			if (remaining.decrementAndGet() == 0) {
+				finish();
+			}
+		}
+
+		protected void fail(Node node, RuntimeException ex)
+		{
+			log.error("Task '" + node.getName() + "' failed in task graph '" + getName() + "' " + ex.getMessage(), ex);
+
+			failure.compareAndSet(null, ex);
+		}
+
+		protected void finish()
+		{
+			finished.countDown();
+
+			// Start the next run without blocking anybody - a failed run is not repeated
+			if (failure.get() == null && repeat != null && repeat.getBooleanValue()) {
+				startRun();
+			}
+		}
+
+		protected void rethrowFailure()
+		{
+			RuntimeException ex = failure.get();
+
+			if (ex != null) {
+				throw new RuntimeException("Error running task graph '" + getName() + "' - " + ex.getMessage(), ex);
+			}
+		}
+	}
+
+	@Override
+	protected void runTask()
+	{
+		// No task manager - run in topological order in this thread
+		if (taskManager == null) {
+			do {
+				for (Node node : createRun().runNodes) {
+					node.task.run();
+				}
+			} while (repeat != null && repeat.getBooleanValue());
+			return;
+		}
+
+		startRun();
+	}
+
+	protected void startRun()
+	{
+		Run run = createRun();
+		currentRun = run;
+		run.start();
+	}
+
+	/**
+	 * Builds the graph if it changed and takes its nodes and roots for one run
+	 */
+	protected synchronized Run createRun()
+	{
+		if (nodes == null) {
+			build();
+		}
+
+		return new Run(nodes, roots);
+	}
+
+	/**
+	 * Resolves the dependencies into nodes sorted in topological order
+	 */
+	protected synchronized void build()
+	{
+		int count = tasks.size();
+		Map<Task, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < count; ++i) {
+			indices.put(tasks.get(i), i);
+			captureWaitForTask(tasks.get(i));
+		}
+
+		int[] predecessorCounts = new int[count];
+		List<List<Integer>> successors = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			successors.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < count; ++i) {
+			for (Task predecessor : getPredecessors(tasks.get(i))) {
+				Integer p = indices.get(predecessor);
+				if (p == null) {
+					throw new IllegalStateException("Task '" + tasks.get(i).getName() + "' depends on '" + predecessor.getName() + "' which is not part of the graph '" + getName() + "'");
+				}
+				successors.get(p).add(i);
+				predecessorCounts[i]++;
+			}
+		}
+
+		// Kahn - sort topological and detect cycles
+		int[] order = new int[count];
+		int[] inDegree = predecessorCounts.clone();
+		int head = 0;
+		int tail = 0;
+		for (int i = 0; i < count; ++i) {
+			if (inDegree[i] == 0) {
+				order[tail++] = i;
+			}
+		}
+		int rootCount = tail;
+		while (head < tail) {
+			int n = order[head++];
+			for (int s : successors.get(n)) {
+				if (--inDegree[s] == 0) {
+					order[tail++] = s;
+				}
+			}
+		}
+
+		if (tail != count) {
+			throw new IllegalStateException("Task graph '" + getName() + "' contains a cycle");
+		}
+
+		// Nodes are stored in topological order
+		int[] position = new int[count];
+		for (int i = 0; i < count; ++i) {
+			position[order[i]] = i;
+		}
+
+		Node[] newNodes = new Node[count];
+		for (int i = 0; i < count; ++i) {
+			int t = order[i];
+			Node node = new Node(tasks.get(t), i);
+			node.predecessorCount = predecessorCounts[t];
+			List<Integer> s = successors.get(t);
+			node.successors = new int[s.size()];
+			for (int j = 0; j < node.successors.length; ++j) {
+				node.successors[j] = position[s.get(j)];
+			}
+			newNodes[i] = node;
+		}
+
+		int[] newRoots = new int[rootCount];
+		for (int i = 0; i < rootCount; ++i) {
+			newRoots[i] = position[order[i]];
+		}
+
+		log.debug("Built task graph", getName(), count);
+
+		roots = newRoots;
+		nodes = newNodes;
+	}
+
+	protected List<Task> getPredecessors(Task task)
+	{
+		return dependencies.getOrDefault(task, Collections.EMPTY_LIST);
+	}
+
+	/**
+	 * Allows to declare dependencies in DL with waitForTask. It is moved into the dependencies so the graph releases the
+	 * task once its predecessor is done - AbstractTask would block its worker waiting for it otherwise.
+	 *
+	 * @param task
+	 */
+	protected void captureWaitForTask(Task task)
+	{
+		if (task instanceof AbstractTask abstractTask) {
+
+			Task waitFor = abstractTask.getWaitForTask();
+			if (waitFor instanceof ReferenceTask referenceTask) {
+				waitFor = referenceTask.getReference();
+			}
+
+			if (waitFor != null) {
+				List<Task> taskDependencies = dependencies.computeIfAbsent(task, (t) -> new ArrayList<>());
+				if (!taskDependencies.contains(waitFor)) {
+					taskDependencies.add(waitFor);
+				}
+				abstractTask.setWaitForTask(null);
+			}
+		}
+	}
+
+	public synchronized void add(Task task)
+	{
+		assert task != null;
+
+		tasks.add(task);
+		captureWaitForTask(task);
+		nodes = null;
+	}
+
+	public synchronized void addDependency(Task task, Task dependsOn)
+	{
+		assert task != null;
+		assert dependsOn != null;
+		assert task != dependsOn;
+
+		dependencies.computeIfAbsent(task, (t) -> new ArrayList<>()).add(dependsOn);
+		nodes = null;
+	}
+
+	/**
+	 * Waits until the graph has been started and its current run has finished. Is meant for callers outside the task
+	 * system - tasks inside should declare dependencies instead. If a task of the run failed, its exception is rethrown
+	 * wrapped in a RuntimeException.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Override
+	public void waitForFinished() throws InterruptedException
+	{
+		super.waitForFinished();
+
+		Run run = currentRun;
+		if (run != null) {
+			run.finished.await();
+			run.rethrowFailure();
+		}
+	}
+
+	@Override
+	public void waitForFinished(long timeoutInMillis) throws InterruptedException
+	{
+		long start = System.nanoTime();
+
+		super.waitForFinished(timeoutInMillis);
+
+		Run run = currentRun;
+		if (run != null) {
+			long remainingMillis = timeoutInMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (remainingMillis > 0 && run.finished.await(remainingMillis, TimeUnit.MILLISECONDS)) {
+				run.rethrowFailure();
+			}
+		}
+	}
+
+	@Override
+	public void addChild(String name, Task child)
+	{
+		assert child != null;
+
+		//remove intermediate reference for performance reasons
+		if (child instanceof ReferenceTask referenceTask) {
+			add(referenceTask.getReference());
+		} else {
+			add(child);
+		}
+	}
+
+	@Override
+	public List<Task> getChildren()
+	{
+		return (List<Task>) Collections.unmodifiableList(tasks);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public TaskManager getTaskManager()
+	{
+		return taskManager;
+	}
+
+	public void setTaskManager(TaskManager taskManager)
+	{
+		this.taskManager = taskManager;
+	}
+
+	public BooleanData getRepeat()
+	{
+		return repeat;
+	}
+
+	public void setRepeat(BooleanData repeat)
+	{
+		this.repeat = repeat;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,366 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.dl.DLAttribute.AttributeDL;
+import de.s42.dl.exceptions.DLException;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import de.s42.mq.assets.AbstractAsset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TaskManager with one task deque per worker and work stealing between the workers. Submissions are spread round robin
+ * over the workers, tasks scheduled from within a worker stay on that worker. Idle workers steal from the others.
+ * Submission never throws on a full queue - if maxTasksInQueue is greater than 0 schedule calls from outside the workers
+ * block until enough tasks are done (backpressure), with 0 the queues are unbounded.
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingTaskManager extends AbstractAsset implements TaskManager
+{
+
+	private final static Logger log = LogManager.getLogger(WorkStealingTaskManager.class.getName());
+
+	@AttributeDL(required = true, defaultValue = "1")
+	protected int workerCount = 1;
+
+	@AttributeDL(required = true, defaultValue = "0")
+	protected int maxTasksInQueue = 0;
+
+	private boolean workerDaemons;
+	private CountDownLatch startSignal;
+	private CountDownLatch endSignal;
+	private final List<Thread> threads = Collections.synchronizedList(new ArrayList());
+	private WorkStealingTaskManagerWorker[] workers;
+	private final ThreadLocal<WorkStealingTaskManagerWorker> currentWorker = new ThreadLocal<>();
+	private final AtomicInteger nextWorker = new AtomicInteger(0);
+	private final AtomicInteger tasksToDo = new AtomicInteger(0);
+	private BlockingQueue<Task> mainThreadTasks;
+
+	public WorkStealingTaskManager()
+	{
+
+	}
+
+	@Override
+	public void load() throws DLException
+	{
+		if (isLoaded()) {
+			return;
+		}
+
+		assert workerCount > 0;
+		assert maxTasksInQueue >= 0;
+
+		super.load();
+
+		log.info("Load", name);
+
+		startSignal = new CountDownLatch(workerCount);
+		endSignal = new CountDownLatch(workerCount);
+		mainThreadTasks = new LinkedBlockingQueue<>();
+		workers = new WorkStealingTaskManagerWorker[workerCount];
+
+		for (int i = 0; i < workerCount; ++i) {
+			workers[i] = new WorkStealingTaskManagerWorker(this, i, startSignal, endSignal);
+		}
+
+		for (int i = 0; i < workerCount; ++i) {
+			Thread thread = new Thread(workers[i], "WorkStealingTaskManagerWorker" + i);
+			thread.setDaemon(workerDaemons);
+			log.info("Starting Worker", thread.getName());
+			thread.start();
+			threads.add(thread);
+		}
+	}
+
+	@Override
+	public void unload() throws DLException
+	{
+		if (!isLoaded()) {
+			return;
+		}
+
+		log.info("Unload", name);
+
+		for (WorkStealingTaskManagerWorker worker : workers) {
+			worker.setTerminated(true);
+		}
+
+		waitForWorkers();
+
+		startSignal = null;
+		endSignal = null;
+		workers = null;
+		mainThreadTasks = null;
+		threads.clear();
+
+		super.unload();
+	}
+
+	@Override
+	public void schedule(Task task)
+	{
+		assert isLoaded();
+		assert task != null;
+
+		if (task.isRunInMainThread()) {
+			mainThreadTasks.add(task);
+			return;
+		}
+
+		WorkStealingTaskManagerWorker worker = currentWorker.get();
+
+		// Tasks scheduled by a worker stay local and never block as this could deadlock the pool
+		if (worker != null) {
+			tasksToDo.incrementAndGet();
+			worker.push(task);
+			wakeUpIdleWorker(worker);
+			return;
+		}
+
+		reserve();
+
+		worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+		worker.push(task);
+
+		// One wake up per task - the target if it is idle, otherwise an idle worker to steal it from the busy target
+		if (worker.isIdle()) {
+			worker.wakeUp();
+		} else {
+			wakeUpIdleWorker(worker);
+		}
+	}
+
+	@Override
+	public void schedule(Collection<Task> newTasks)
+	{
+		assert isLoaded();
+		assert newTasks != null;
+
+		for (Task task : newTasks) {
+			schedule(task);
+		}
+	}
+
+	@Override
+	public void schedule(Task[] newTasks)
+	{
+		assert isLoaded();
+		assert newTasks != null;
+
+		for (Task task : newTasks) {
+			schedule(task);
+		}
+	}
+
+	/**
+	 * Counts a new task - blocks while maxTasksInQueue tasks are pending if maxTasksInQueue is greater than 0
+	 */
+	protected void reserve()
+	{
+		if (maxTasksInQueue <= 0) {
+			tasksToDo.incrementAndGet();
+			return;
+		}
+
+		synchronized (tasksToDo) {
+			while (tasksToDo.get() >= maxTasksInQueue) {
+				try {
+					tasksToDo.wait();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(ex);
+				}
+			}
+			tasksToDo.incrementAndGet();
+		}
+	}
+
+	protected void taskDone()
+	{
+		int c = tasksToDo.decrementAndGet();
+
+		// Notify waitForTasksDone and blocked schedulers
+		if (c == 0 || (maxTasksInQueue > 0 && c == maxTasksInQueue - 1)) {
+			synchronized (tasksToDo) {
+				tasksToDo.notifyAll();
+			}
+		}
+	}
+
+	protected Task steal(WorkStealingTaskManagerWorker thief)
+	{
+		assert thief != null;
+
+		WorkStealingTaskManagerWorker[] ws = workers;
+
+		if (ws == null) {
+			return null;
+		}
+
+		// Start next to the thief to spread stealing over the victims
+		for (int i = 1; i < ws.length; ++i) {
+			Task task = ws[(thief.getIndex() + i) % ws.length].stealTask();
+			if (task != null) {
+				return task;
+			}
+		}
+
+		return null;
+	}
+
+	protected boolean hasStealableTasks(WorkStealingTaskManagerWorker thief)
+	{
+		assert thief != null;
+
+		WorkStealingTaskManagerWorker[] ws = workers;
+
+		if (ws == null) {
+			return false;
+		}
+
+		for (WorkStealingTaskManagerWorker worker : ws) {
+			if (worker != thief && worker.hasTasks()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected void wakeUpIdleWorker(WorkStealingTaskManagerWorker except)
+	{
+		for (WorkStealingTaskManagerWorker worker : workers) {
+			if (worker != except && worker.isIdle()) {
+				worker.wakeUp();
+				return;
+			}
+		}
+	}
+
+	protected void setCurrentWorker(WorkStealingTaskManagerWorker worker)
+	{
+		if (worker != null) {
+			currentWorker.set(worker);
+		} else {
+			currentWorker.remove();
+		}
+	}
+
+	public void waitForWorkers()
+	{
+		assert isLoaded();
+
+		try {
+			startSignal.await();
+			endSignal.await();
+		} catch (InterruptedException ex) {
+			//log.error("Interrupted", ex);
+		}
+	}
+
+	@Override
+	public void waitForTasksDone()
+	{
+		assert isLoaded();
+
+		synchronized (tasksToDo) {
+			while (tasksToDo.get() > 0) {
+				try {
+					tasksToDo.wait();
+				} catch (InterruptedException ex) {
+					//log.error("Error waiting for tasks", ex);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void runMainThread()
+	{
+		assert isLoaded();
+
+		log.info("Start runMainThread");
+
+		while (!mainThreadTasks.isEmpty()) {
+
+			try {
+				Task task = mainThreadTasks.take();
+				task.run();
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		log.info("Exit runMainThread");
+	}
+
+	public int getTasksToDo()
+	{
+		return tasksToDo.get();
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getWorkerCount()
+	{
+		return workerCount;
+	}
+
+	public void setWorkerCount(int workerCount)
+	{
+		this.workerCount = workerCount;
+	}
+
+	public boolean isWorkerDaemons()
+	{
+		return workerDaemons;
+	}
+
+	public void setWorkerDaemons(boolean workerDaemons)
+	{
+		this.workerDaemons = workerDaemons;
+	}
+
+	public int getMaxTasksInQueue()
+	{
+		return maxTasksInQueue;
+	}
+
+	public void setMaxTasksInQueue(int maxTasksInQueue)
+	{
+		this.maxTasksInQueue = maxTasksInQueue;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -0,0 +1,192 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Worker of the WorkStealingTaskManager. Each worker owns a deque of tasks. It runs its own tasks in submission order
+ * (head) and steals from the tail of the other workers deques once its own deque is empty.
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingTaskManagerWorker implements Runnable, Worker
+{
+
+	private final static Logger log = LogManager.getLogger(WorkStealingTaskManagerWorker.class.getName());
+
+	/**
+	 * Idle workers wake up at least this often to look for work to steal
+	 */
+	protected final static long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final WorkStealingTaskManager manager;
+	private final int index;
+	private final CountDownLatch startSignal;
+	private final CountDownLatch endSignal;
+	private final Deque<Task> tasks = new ConcurrentLinkedDeque<>();
+
+	private volatile Thread thread;
+	private volatile boolean idle;
+	private volatile boolean terminated;
+
+	public WorkStealingTaskManagerWorker(WorkStealingTaskManager manager, int index, CountDownLatch startSignal, CountDownLatch endSignal)
+	{
+		assert manager != null;
+		assert index >= 0;
+		assert startSignal != null;
+		assert endSignal != null;
+
+		this.manager = manager;
+		this.index = index;
+		this.startSignal = startSignal;
+		this.endSignal = endSignal;
+	}
+
+	@Override
+	@SuppressWarnings({"CallToPrintStackTrace", "UseSpecificCatch"})
+	public void run()
+	{
+		log.info("Started");
+
+		thread = Thread.currentThread();
+		manager.setCurrentWorker(this);
+
+		startSignal.countDown();
+
+		while (!isTerminated() && !Thread.currentThread().isInterrupted()) {
+
+			try {
+				Task task = findTask();
+
+				if (task != null) {
+
+					task.setWorker(this);
+					task.run();
+
+					manager.taskDone();
+				} else {
+					park();
+				}
+			} catch (Exception ex) {
+				log.error(ex);
+				System.exit(-1);
+			}
+		}
+
+		manager.setCurrentWorker(null);
+
+		log.info("Exiting");
+
+		endSignal.countDown();
+	}
+
+	protected Task findTask()
+	{
+		// Own tasks first
+		Task task = tasks.pollFirst();
+
+		if (task != null) {
+			return task;
+		}
+
+		return manager.steal(this);
+	}
+
+	protected void park()
+	{
+		idle = true;
+
+		// Recheck after announcing idle - a scheduler either sees the idle flag or this sees its task
+		if (!hasTasks() && !manager.hasStealableTasks(this) && !isTerminated()) {
+			LockSupport.parkNanos(this, MAX_IDLE_NANOS);
+		}
+
+		idle = false;
+	}
+
+	protected void push(Task task)
+	{
+		assert task != null;
+
+		tasks.addLast(task);
+	}
+
+	protected Task stealTask()
+	{
+		return tasks.pollLast();
+	}
+
+	protected boolean hasTasks()
+	{
+		return !tasks.isEmpty();
+	}
+
+	protected void wakeUp()
+	{
+		Thread t = thread;
+
+		if (t != null) {
+			LockSupport.unpark(t);
+		}
+	}
+
+	public int getIndex()
+	{
+		return index;
+	}
+
+	public int getTaskCount()
+	{
+		return tasks.size();
+	}
+
+	public boolean isIdle()
+	{
+		return idle;
+	}
+
+	@Override
+	public boolean isTerminated()
+	{
+		return terminated;
+	}
+
+	public void setTerminated(boolean terminated)
+	{
+		this.terminated = terminated;
+
+		if (terminated) {
+			wakeUp();
+		}
+	}
+}
@@ -19,6 +19,7 @@ import de.s42.log.LogManager;
 import de.s42.log.Logger;
 import de.s42.mq.assets.AbstractAsset;
 import de.s42.mq.data.Vector2Data;
+import de.s42.mq.rendering.GLState;
 import static de.s42.mq.util.GLFWHelper.getImageBufferFromImagePath;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -94,6 +95,8 @@ public class Window extends AbstractAsset
 
 		// display in window
 		glfwSwapBuffers(glfwWindowHandle);
+
+		GLState.current().endFrame();
 	}
 
 	public boolean shouldClose()
@@ -118,6 +121,9 @@ public class Window extends AbstractAsset
 
 		glfwMakeContextCurrent(glfwWindowHandle);
 
+		// The tracked state might be the one of another context
+		GLState.current().reset();
+
 		if (capabilities == null) {
 			capabilities = GL.createCapabilities();
 
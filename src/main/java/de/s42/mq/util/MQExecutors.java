@@ -0,0 +1,83 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.util;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public final class MQExecutors
+{
+
+	private MQExecutors()
+	{
+	}
+
+	/**
+	 * Runs the tasks on the executor and waits for all of them. Runs them on the calling thread if executor is null or
+	 * if there is just one task. Failures are rethrown as RuntimeException with the given description.
+	 *
+	 * @param tasks
+	 * @param executor
+	 * @param description what the tasks do - i.e. "processing points"
+	 */
+	public static void invokeAll(List<? extends Callable<Void>> tasks, ExecutorService executor, String description)
+	{
+		assert tasks != null : "tasks != null";
+		assert description != null : "description != null";
+
+		// Not worth a context switch
+		if (executor == null || tasks.size() <= 1) {
+			try {
+				for (Callable<Void> task : tasks) {
+					task.call();
+				}
+				return;
+			} catch (RuntimeException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new RuntimeException("Error " + description + " - " + ex.getMessage(), ex);
+			}
+		}
+
+		try {
+			for (Future<Void> task : executor.invokeAll(tasks)) {
+				task.get();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted " + description, ex);
+		} catch (ExecutionException ex) {
+			throw new RuntimeException("Error " + description + " - " + ex.getCause().getMessage(), ex.getCause());
+		}
+	}
+}
@@ -51,6 +51,22 @@ public final class MQRandom
 		random = new SplittableRandom(seed);
 	}
 
+	private MQRandom(SplittableRandom random)
+	{
+		this.random = random;
+	}
+
+	/**
+	 * Returns a new independent random stream and advances this one. The result is deterministic as long as the splits
+	 * happen in the same order.
+	 *
+	 * @return
+	 */
+	public MQRandom split()
+	{
+		return new MQRandom(random.split());
+	}
+
 	public void setSeed(long seed)
 	{
 		random = new SplittableRandom(seed);
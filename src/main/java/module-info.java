@@ -49,6 +49,7 @@ module de.sft.mq.rc
 	exports de.s42.mq.input.mouse;
 	exports de.s42.mq.loaders.obj;
 	exports de.s42.mq.loaders.fbx;
+	exports de.s42.mq.loaders.baked;
 	exports de.s42.mq.materials;
 	exports de.s42.mq.meshes;
 	exports de.s42.mq.pcg;
@@ -0,0 +1,170 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.assets;
+
+import de.s42.dl.exceptions.DLException;
+import de.s42.mq.data.FloatData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class AssetLoaderNGTest
+{
+
+	protected static class TestAsset extends AbstractAsset implements PreparableAsset
+	{
+
+		protected final List<String> loadOrder;
+		protected final List<Asset> dependencies = new ArrayList<>();
+		protected volatile boolean prepared;
+		protected boolean preparedBeforeLoad;
+		protected Thread loadThread;
+		protected boolean failPrepare;
+
+		public TestAsset(String name, List<String> loadOrder)
+		{
+			setName(name);
+			this.loadOrder = loadOrder;
+		}
+
+		@Override
+		public void prepare() throws DLException
+		{
+			if (failPrepare) {
+				throw new DLException("Failed " + getName());
+			}
+
+			prepared = true;
+		}
+
+		@Override
+		public boolean isPrepared()
+		{
+			return prepared;
+		}
+
+		@Override
+		public void load() throws DLException
+		{
+			if (isLoaded()) {
+				return;
+			}
+
+			preparedBeforeLoad = prepared;
+
+			prepare();
+
+			super.load();
+
+			loadThread = Thread.currentThread();
+			loadOrder.add(getName());
+		}
+
+		@Override
+		public List<Asset> getDependencies()
+		{
+			return Collections.unmodifiableList(dependencies);
+		}
+	}
+
+	@Test
+	public void preparesOnWorkersAndLoadsInOrder() throws DLException
+	{
+		List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+
+		TestAsset a = new TestAsset("a", loadOrder);
+		TestAsset b = new TestAsset("b", loadOrder);
+		TestAsset c = new TestAsset("c", loadOrder);
+
+		// a depends on c which is declared after it
+		a.dependencies.add(c);
+
+		FloatData progress = new FloatData(0.0f);
+		AssetLoader loader = new AssetLoader();
+		loader.setProgress(progress);
+		loader.load(List.of(a, b, c));
+
+		assertEquals(loadOrder, List.of("c", "a", "b"));
+		assertEquals(loader.getAssetCount(), 3);
+		assertEquals(loader.getLoadedCount(), 3);
+		assertEquals(loader.getPreparedCount(), 3);
+		assertEquals(progress.getFloatValue(), 1.0f);
+
+		for (TestAsset asset : List.of(a, b, c)) {
+			assertTrue(asset.isLoaded(), "Asset is loaded");
+			assertTrue(asset.preparedBeforeLoad, "Prepared by the loader");
+			assertEquals(asset.loadThread, Thread.currentThread(), "Loaded on the calling thread");
+		}
+	}
+
+	@Test
+	public void containedAssetsAreLoadedBeforeTheirContainer() throws DLException
+	{
+		List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+
+		Assets container = new Assets();
+		container.setName("container");
+		container.add(new TestAsset("inner1", loadOrder));
+		container.add(new TestAsset("inner2", loadOrder));
+
+		Assets root = new Assets();
+		root.add(new TestAsset("outer", loadOrder));
+		root.add(container);
+		root.load();
+
+		assertEquals(loadOrder, List.of("outer", "inner1", "inner2"));
+		assertTrue(container.isLoaded(), "Container is loaded");
+	}
+
+	@Test
+	public void failedPreparationFailsLoading()
+	{
+		List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+
+		TestAsset a = new TestAsset("a", loadOrder);
+		TestAsset b = new TestAsset("b", loadOrder);
+		b.failPrepare = true;
+
+		try {
+			new AssetLoader().load(List.of(a, b));
+			fail("Loading has to fail");
+		} catch (RuntimeException | DLException ex) {
+			assertTrue(ex.getMessage().contains("Failed b"), "Error names the cause");
+		}
+
+		assertTrue(a.isLoaded(), "Assets before the failed one are loaded");
+		assertFalse(b.isLoaded(), "Failed asset is not loaded");
+	}
+}
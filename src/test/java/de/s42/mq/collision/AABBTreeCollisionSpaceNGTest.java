@@ -0,0 +1,195 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.collision;
+
+import de.s42.mq.util.AABB;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Validates that the AABBTreeCollisionSpace returns the same results as the linear DefaultCollisionSpace
+ *
+ * @author Benjamin Schiller
+ */
+public class AABBTreeCollisionSpaceNGTest
+{
+
+	protected final static int COLLIDER_COUNT = 2000;
+	protected final static int QUERY_COUNT = 500;
+	protected final static float WORLD_SIZE = 100.0f;
+
+	protected static Vector3f randomPosition(Random random)
+	{
+		return new Vector3f(
+			(random.nextFloat() - 0.5f) * WORLD_SIZE,
+			(random.nextFloat() - 0.5f) * WORLD_SIZE,
+			(random.nextFloat() - 0.5f) * WORLD_SIZE
+		);
+	}
+
+	protected static List<Collider> createColliders(Random random)
+	{
+		List<Collider> colliders = new ArrayList<>();
+
+		for (int i = 0; i < COLLIDER_COUNT; ++i) {
+			if (i % 10 == 0) {
+				colliders.add(new PointCollider(randomPosition(random)));
+			} else {
+				colliders.add(new SphereCollider(randomPosition(random), 0.1f + random.nextFloat() * 3.0f));
+			}
+		}
+
+		return colliders;
+	}
+
+	protected static void assertSameResults(DefaultCollisionSpace linear, AABBTreeCollisionSpace tree, Random random)
+	{
+		Vector3f linearHit = new Vector3f();
+		Vector3f treeHit = new Vector3f();
+
+		for (int q = 0; q < QUERY_COUNT; ++q) {
+
+			// Point
+			Vector3f position = randomPosition(random);
+			assertSame(tree.find(position), linear.find(position));
+
+			// AABB
+			Vector3f min = randomPosition(random);
+			AABB aabb = new AABB(min, new Vector3f(min).add(random.nextFloat() * 20.0f, random.nextFloat() * 20.0f, random.nextFloat() * 20.0f));
+			assertEquals(tree.findInAABB(aabb), linear.findInAABB(aabb));
+
+			// Ray
+			Ray ray = new Ray(randomPosition(random), randomPosition(random).normalize());
+			Collider linearCollider = linear.intersect(ray, linearHit);
+			Collider treeCollider = tree.intersect(ray, treeHit);
+			assertSame(treeCollider, linearCollider);
+			if (linearCollider != null) {
+				assertEquals(treeHit, linearHit);
+			}
+		}
+
+		// Frustums
+		for (int q = 0; q < 50; ++q) {
+			Matrix4f viewProjection = new Matrix4f()
+				.perspective((float) Math.toRadians(30.0f + random.nextFloat() * 60.0f), 1.5f, 0.1f, 10.0f + random.nextFloat() * 100.0f)
+				.lookAt(randomPosition(random), randomPosition(random), new Vector3f(0.0f, 1.0f, 0.0f));
+			FrustumIntersection frustum = new FrustumIntersection(viewProjection, true);
+			assertEquals(tree.findInFrustum(frustum), linear.findInFrustum(frustum));
+		}
+	}
+
+	@Test
+	public void sameResultsAsLinearSpace()
+	{
+		Random random = new Random(42);
+
+		DefaultCollisionSpace linear = new DefaultCollisionSpace();
+		AABBTreeCollisionSpace tree = new AABBTreeCollisionSpace();
+
+		for (Collider collider : createColliders(random)) {
+			linear.addCollider(collider);
+			tree.addCollider(collider);
+		}
+
+		assertEquals(tree.size(), COLLIDER_COUNT);
+		// Balanced tree
+		assertTrue(tree.getTree().getHeight() < 32);
+
+		assertSameResults(linear, tree, random);
+	}
+
+	@Test
+	public void sameResultsAfterUpdatesAndRemoves()
+	{
+		Random random = new Random(4242);
+
+		DefaultCollisionSpace linear = new DefaultCollisionSpace();
+		AABBTreeCollisionSpace tree = new AABBTreeCollisionSpace(0.5f);
+
+		List<Collider> colliders = createColliders(random);
+		for (Collider collider : colliders) {
+			linear.addCollider(collider);
+			tree.addCollider(collider);
+		}
+
+		// Move small and large distances - small moves stay inside the fat bounds
+		for (int i = 0; i < colliders.size(); i += 2) {
+			Collider collider = colliders.get(i);
+			if (i % 4 == 0) {
+				collider.getOrigin().add(0.1f, -0.1f, 0.1f);
+			} else {
+				collider.getOrigin().set(randomPosition(random));
+			}
+			tree.updateCollider(collider);
+		}
+
+		// Remove some
+		for (int i = 1; i < colliders.size(); i += 7) {
+			linear.removeCollider(colliders.get(i));
+			tree.removeCollider(colliders.get(i));
+		}
+
+		assertEquals(tree.size(), colliders.size() - (colliders.size() + 5) / 7);
+		for (int i = 0; i < tree.size(); ++i) {
+			assertSame(tree.get(i), linear.get(i));
+		}
+
+		assertSameResults(linear, tree, random);
+	}
+
+	@Test
+	public void unboundedCollidersAreFound()
+	{
+		DefaultCollisionSpace linear = new DefaultCollisionSpace();
+		AABBTreeCollisionSpace tree = new AABBTreeCollisionSpace();
+
+		Collider plane = new PlaneCollider(new Vector3f(0.0f, -1.0f, 0.0f), new Vector3f(0.0f, 1.0f, 0.0f));
+		Collider sphere = new SphereCollider(new Vector3f(0.0f, 5.0f, 0.0f), 1.0f);
+
+		linear.addCollider(plane);
+		linear.addCollider(sphere);
+		tree.addCollider(plane);
+		tree.addCollider(sphere);
+
+		Vector3f hit = new Vector3f();
+		Ray down = new Ray(new Vector3f(0.0f, 10.0f, 0.0f), new Vector3f(0.0f, -1.0f, 0.0f));
+		assertSame(tree.intersect(down, hit), sphere);
+		assertSame(linear.intersect(down, hit), sphere);
+
+		Ray aside = new Ray(new Vector3f(5.0f, 10.0f, 0.0f), new Vector3f(0.0f, -1.0f, 0.0f));
+		assertSame(tree.intersect(aside, hit), plane);
+		assertSame(linear.intersect(aside, hit), plane);
+		assertEquals(hit, new Vector3f(5.0f, -1.0f, 0.0f));
+	}
+}
@@ -0,0 +1,213 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class BeanAccessorNGTest
+{
+
+	public static class Bean
+	{
+
+		protected String name;
+		protected float scale;
+		protected int count;
+		protected long id;
+		protected boolean visible;
+		protected String secret;
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public void setName(String name)
+		{
+			this.name = name;
+		}
+
+		public float getScale()
+		{
+			return scale;
+		}
+
+		public void setScale(float scale)
+		{
+			this.scale = scale;
+		}
+
+		public int getCount()
+		{
+			return count;
+		}
+
+		public void setCount(int count)
+		{
+			this.count = count;
+		}
+
+		public long getId()
+		{
+			return id;
+		}
+
+		public void setId(long id)
+		{
+			this.id = id;
+		}
+
+		public boolean isVisible()
+		{
+			return visible;
+		}
+
+		public void setVisible(boolean visible)
+		{
+			this.visible = visible;
+		}
+
+		public String getDescription()
+		{
+			return name + " " + count;
+		}
+
+		public void setSecret(String secret)
+		{
+			this.secret = secret;
+		}
+	}
+
+	static class HiddenBean
+	{
+
+		protected float value;
+
+		public float getValue()
+		{
+			return value;
+		}
+
+		public void setValue(float value)
+		{
+			this.value = value;
+		}
+	}
+
+	@Test
+	public void objectProperty()
+	{
+		Bean bean = new Bean();
+		BeanAccessor accessor = BeanAccessor.of(Bean.class, "name");
+
+		assertEquals(accessor.getPropertyClass(), String.class);
+		assertTrue(accessor.isReadable());
+		assertTrue(accessor.isWritable());
+
+		accessor.set(bean, "test");
+		assertEquals(bean.getName(), "test");
+		assertEquals(accessor.get(bean), "test");
+	}
+
+	@Test
+	public void primitiveProperties()
+	{
+		Bean bean = new Bean();
+
+		BeanAccessor scale = BeanAccessor.of(Bean.class, "scale");
+		BeanAccessor count = BeanAccessor.of(Bean.class, "count");
+		BeanAccessor id = BeanAccessor.of(Bean.class, "id");
+		BeanAccessor visible = BeanAccessor.of(Bean.class, "visible");
+
+		assertTrue(scale.isPrimitive());
+		assertTrue(count.isPrimitive());
+		assertTrue(id.isPrimitive());
+		assertTrue(visible.isPrimitive());
+
+		scale.setFloat(bean, 2.5f);
+		count.setInt(bean, 7);
+		id.setLong(bean, 1L << 40);
+		visible.setBoolean(bean, true);
+
+		assertEquals(scale.getFloat(bean), 2.5f);
+		assertEquals(count.getInt(bean), 7);
+		assertEquals(id.getLong(bean), 1L << 40);
+		assertTrue(visible.getBoolean(bean));
+
+		// Boxed access still works on primitive properties
+		scale.set(bean, 3.5f);
+		assertEquals(scale.get(bean), 3.5f);
+		assertEquals(count.get(bean), 7);
+		assertEquals(visible.get(bean), true);
+	}
+
+	@Test
+	public void readOnlyAndWriteOnlyProperties()
+	{
+		Bean bean = new Bean();
+		bean.setName("a");
+		bean.setCount(1);
+
+		BeanAccessor description = BeanAccessor.of(Bean.class, "description");
+		assertTrue(description.isReadable());
+		assertFalse(description.isWritable());
+		assertEquals(description.get(bean), "a 1");
+
+		BeanAccessor secret = BeanAccessor.of(Bean.class, "secret");
+		assertFalse(secret.isReadable());
+		assertTrue(secret.isWritable());
+		assertEquals(secret.getPropertyClass(), String.class);
+		secret.set(bean, "s");
+		assertEquals(bean.secret, "s");
+	}
+
+	@Test
+	public void nonPublicBeanFallsBack()
+	{
+		HiddenBean bean = new HiddenBean();
+		BeanAccessor accessor = BeanAccessor.of(HiddenBean.class, "value");
+
+		accessor.setFloat(bean, 4.0f);
+		assertEquals(accessor.getFloat(bean), 4.0f);
+		assertEquals(accessor.get(bean), 4.0f);
+	}
+
+	@Test
+	public void accessorsAreCached()
+	{
+		assertSame(BeanAccessor.of(Bean.class, "name"), BeanAccessor.of(Bean.class, "name"));
+		assertNull(BeanAccessor.of(Bean.class, "unknown"));
+	}
+}
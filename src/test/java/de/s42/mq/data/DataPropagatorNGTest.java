@@ -0,0 +1,175 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class DataPropagatorNGTest
+{
+
+	@Test
+	public void immediateWithoutPropagator()
+	{
+		FloatData data = new FloatData(1.0f);
+		List<Float> received = new ArrayList<>();
+		DataHandler<Float> handler = (changed) -> received.add(changed.getValue());
+		data.addHandler(handler);
+
+		data.setFloatValue(2.0f);
+		data.handleUpdate();
+		data.setFloatValue(3.0f);
+		data.handleUpdate();
+
+		assertEquals(received, List.of(2.0f, 3.0f));
+	}
+
+	@Test
+	public void transactionCoalescesChanges()
+	{
+		DataPropagator propagator = new DataPropagator();
+		FloatData data = new FloatData(1.0f);
+		List<Float> received = new ArrayList<>();
+		DataHandler<Float> handler = (changed) -> received.add(changed.getValue());
+		data.addHandler(handler);
+
+		int count = propagator.transaction(() -> {
+			data.setFloatValue(2.0f);
+			data.handleUpdate();
+			data.setFloatValue(3.0f);
+			data.handleUpdate();
+
+			assertTrue(received.isEmpty(), "Changes are deferred within the transaction");
+		});
+
+		assertEquals(count, 1);
+		assertEquals(received, List.of(3.0f));
+		assertEquals(DataPropagator.getCurrent(), null);
+	}
+
+	@Test
+	public void diamondIsGlitchFree()
+	{
+		DataPropagator propagator = new DataPropagator();
+		IntegerData a = new IntegerData(1);
+		a.setPropagator(propagator);
+
+		ComputedData<Integer> b = new ComputedData<>(() -> a.getIntegerValue() * 2, a);
+		ComputedData<Integer> c = new ComputedData<>(() -> a.getIntegerValue() + b.getValue(), a, b);
+
+		List<Integer> received = new ArrayList<>();
+		int[] computeCount = new int[1];
+		DataHandler<Integer> handler = (changed) -> {
+			computeCount[0]++;
+			received.add(changed.getValue());
+		};
+		c.addHandler(handler);
+
+		a.setIntegerValue(2);
+		a.handleUpdate();
+		assertTrue(received.isEmpty(), "Changes wait for the flush");
+
+		propagator.flush();
+
+		assertEquals(b.getDepth(), 1);
+		assertEquals(c.getDepth(), 2);
+		assertEquals(received, List.of(6));
+		assertEquals(computeCount[0], 1);
+	}
+
+	@Test
+	public void unchangedComputedValueDoesNotNotify()
+	{
+		DataPropagator propagator = new DataPropagator();
+		IntegerData a = new IntegerData(1);
+		ComputedData<Boolean> positive = new ComputedData<>(() -> a.getIntegerValue() > 0, a);
+
+		List<Boolean> received = new ArrayList<>();
+		DataHandler<Boolean> handler = (changed) -> received.add(changed.getValue());
+		positive.addHandler(handler);
+
+		propagator.transaction(() -> {
+			a.setIntegerValue(5);
+			a.handleUpdate();
+		});
+		assertTrue(received.isEmpty(), "Computed value did not change");
+
+		propagator.transaction(() -> {
+			a.setIntegerValue(-1);
+			a.handleUpdate();
+		});
+		assertEquals(received, List.of(false));
+	}
+
+	@Test
+	public void changesByHandlersAreFlushedInTheSamePass()
+	{
+		DataPropagator propagator = new DataPropagator();
+		IntegerData a = new IntegerData(0);
+		IntegerData b = new IntegerData(0);
+		a.setPropagator(propagator);
+
+		DataHandler<Integer> copy = (changed) -> {
+			b.setIntegerValue(changed.getValue());
+			b.handleUpdate();
+		};
+		a.addHandler(copy);
+
+		List<Integer> received = new ArrayList<>();
+		DataHandler<Integer> handler = (changed) -> received.add(changed.getValue());
+		b.addHandler(handler);
+
+		a.setIntegerValue(7);
+		a.handleUpdate();
+
+		assertEquals(propagator.flush(), 2);
+		assertEquals(received, List.of(7));
+		assertEquals(propagator.getScheduledCount(), 0);
+	}
+
+	@Test
+	public void removeHandler()
+	{
+		FloatData data = new FloatData(1.0f);
+		List<Float> received = new ArrayList<>();
+		DataHandler<Float> handler = (changed) -> received.add(changed.getValue());
+		data.addHandler(handler);
+		data.removeHandler(handler);
+
+		data.setFloatValue(2.0f);
+		data.handleUpdate();
+
+		assertTrue(received.isEmpty(), "Removed handler is not notified");
+		assertEquals(data.getHandlerCount(), 0);
+	}
+}
@@ -0,0 +1,169 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class DefaultEventManagerNGTest
+{
+
+	@Test
+	public void topicListenersReceiveOnlyTheirTopic()
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		List<String> received = new ArrayList<>();
+
+		eventManager.register((event) -> received.add("all:" + event.getTopic()));
+		eventManager.register("a", (event) -> received.add("a:" + event.getValue()));
+		eventManager.register("b", (event) -> received.add("b:" + event.getValue()));
+
+		eventManager.send("a", 1);
+		eventManager.send("b", 2);
+		eventManager.send("c", 3);
+
+		assertEquals(received, List.of("all:a", "a:1", "all:b", "b:2", "all:c"));
+	}
+
+	@Test
+	public void unregisterRemovesListener()
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		List<Object> received = new ArrayList<>();
+
+		Consumer<Event> listener = (event) -> received.add(event.getValue());
+		Consumer<Event> global = (event) -> received.add("all");
+
+		eventManager.register("a", listener);
+		eventManager.register(global);
+		eventManager.unregister("a", listener);
+		eventManager.unregister(global);
+
+		eventManager.send("a", 1);
+
+		assertTrue(received.isEmpty(), "No listener receives the event");
+		assertEquals(eventManager.getListenerCount(), 0);
+		assertEquals(eventManager.getListenerCount("a"), 0);
+	}
+
+	@Test
+	public void registerWhileSendingTakesEffectWithNextEvent()
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		List<String> received = new ArrayList<>();
+
+		eventManager.register("a", (event) -> {
+			received.add("first");
+			eventManager.register("a", (e) -> received.add("added"));
+		});
+
+		eventManager.send("a", null);
+		assertEquals(received, List.of("first"));
+
+		received.clear();
+		eventManager.send("a", null);
+		assertEquals(received, List.of("first", "added"));
+	}
+
+	@Test
+	public void postedEventsAreDispatchedInOrder()
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		List<Object> received = new ArrayList<>();
+
+		eventManager.register("a", (event) -> {
+			received.add(event.getValue());
+
+			// Events posted while dispatching wait for the next dispatch
+			if (event.getValue().equals(1)) {
+				eventManager.post(new BaseEvent("a", 3));
+			}
+		});
+
+		eventManager.post(new BaseEvent("a", 1));
+		eventManager.post(new BaseEvent("a", 2));
+		assertTrue(received.isEmpty(), "Posted events are not sent immediately");
+
+		assertEquals(eventManager.dispatchQueued(), 2);
+		assertEquals(received, List.of(1, 2));
+		assertEquals(eventManager.getQueuedEventCount(), 1);
+
+		assertEquals(eventManager.dispatchQueued(), 1);
+		assertEquals(received, List.of(1, 2, 3));
+	}
+
+	@Test
+	public void sendAsyncUsesExecutor() throws InterruptedException
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		CountDownLatch latch = new CountDownLatch(100);
+
+		eventManager.register("a", (event) -> latch.countDown());
+
+		for (int i = 0; i < 100; ++i) {
+			eventManager.sendAsync(new BaseEvent("a", i));
+		}
+
+		assertTrue(latch.await(10, TimeUnit.SECONDS), "All async events are received");
+	}
+
+	@Test
+	public void concurrentRegisterAndSend() throws InterruptedException
+	{
+		DefaultEventManager eventManager = new DefaultEventManager();
+		int threadCount = 4;
+		int listenersPerThread = 1000;
+
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < threadCount; ++t) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < listenersPerThread; ++i) {
+					eventManager.register("a", (event) -> {
+					});
+					eventManager.send("a", i);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(eventManager.getListenerCount("a"), threadCount * listenersPerThread);
+	}
+}
@@ -0,0 +1,253 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.joml.Vector3f;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class BakedMeshReaderNGTest
+{
+
+	protected static BakedSubMesh createSubMesh(String name, int vertexCount, float offset)
+	{
+		BakedSubMesh subMesh = new BakedSubMesh(name);
+		subMesh.setMaterial("Material." + name);
+		subMesh.setLayers("opaque", "shadow");
+
+		float[] positions = new float[vertexCount * 3];
+		float[] uvs = new float[vertexCount * 2];
+		for (int i = 0; i < positions.length; ++i) {
+			positions[i] = offset + i * 0.5f;
+		}
+		for (int i = 0; i < uvs.length; ++i) {
+			uvs[i] = i / (float) uvs.length;
+		}
+
+		int[] indices = new int[(vertexCount - 2) * 3];
+		for (int t = 0; t < vertexCount - 2; ++t) {
+			indices[t * 3] = 0;
+			indices[t * 3 + 1] = t + 1;
+			indices[t * 3 + 2] = t + 2;
+		}
+
+		subMesh.addStream(new BakedStream(BakedStream.POSITIONS, 3, FloatBuffer.wrap(positions)));
+		subMesh.addStream(new BakedStream(BakedStream.TEXTURE_COORDS, 2, FloatBuffer.wrap(uvs)));
+		subMesh.setIndices(IntBuffer.wrap(indices));
+		subMesh.updateBounds();
+
+		return subMesh;
+	}
+
+	protected static BakedMesh createMesh()
+	{
+		BakedNode root = new BakedNode("root");
+		root.getProperties().put("float", 1.5f);
+		root.getProperties().put("int", 42);
+		root.getProperties().put("double", 2.25);
+		root.getProperties().put("long", Long.MAX_VALUE);
+		root.getProperties().put("vector", new Vector3f(1.0f, 2.0f, 3.0f));
+		root.getProperties().put("string", "ünicode");
+		root.getProperties().put("boolean", true);
+
+		BakedNode child = new BakedNode("child");
+		System.arraycopy(new float[]{1.0f, 2.0f, 3.0f, 0.0f, 0.7071f, 0.0f, 0.7071f, 2.0f, 2.0f, 2.0f}, 0, child.getTransform(), 0, BakedNode.TRANSFORM_SIZE);
+		root.addChild(child);
+
+		BakedSubMesh lead = createSubMesh("tree.lod0", 5, 0.0f);
+		lead.setLod(0);
+		lead.setLodDistanceMax(20.0f);
+		lead.getProperties().put("layers", "opaque,shadow");
+
+		BakedSubMesh lod = createSubMesh("tree.lod1", 3, 10.0f);
+		lod.setLod(1);
+		lod.setLodDistanceMin(20.0f);
+		lod.setMaterial(null);
+		lead.addLod(lod);
+
+		child.addSubMesh(lead);
+		child.addSubMesh(createSubMesh("rock", 4, -3.0f));
+		child.addChild(new BakedNode("empty"));
+
+		return new BakedMesh("key", root);
+	}
+
+	protected static void assertStreamEquals(BakedStream actual, BakedStream expected)
+	{
+		assertEquals(actual.getSemantic(), expected.getSemantic());
+		assertEquals(actual.getComponents(), expected.getComponents());
+		assertEquals(actual.getData().remaining(), expected.getData().remaining());
+		for (int i = 0; i < expected.getData().remaining(); ++i) {
+			assertEquals(actual.getData().get(i), expected.getData().get(i));
+		}
+	}
+
+	protected static void assertSubMeshEquals(BakedSubMesh actual, BakedSubMesh expected)
+	{
+		assertEquals(actual.getName(), expected.getName());
+		assertEquals(actual.getMaterial(), expected.getMaterial());
+		assertEquals(actual.getLod(), expected.getLod());
+		assertEquals(actual.getLodDistanceMin(), expected.getLodDistanceMin());
+		assertEquals(actual.getLodDistanceMax(), expected.getLodDistanceMax());
+		assertEquals(actual.getLayers(), expected.getLayers());
+		assertEquals(actual.getTransform(), expected.getTransform());
+		assertEquals(actual.getBounds(), expected.getBounds());
+		assertEquals(actual.getProperties(), expected.getProperties());
+		assertEquals(actual.getIndices(), expected.getIndices());
+
+		assertEquals(actual.getStreams().size(), expected.getStreams().size());
+		for (int i = 0; i < expected.getStreams().size(); ++i) {
+			assertStreamEquals(actual.getStreams().get(i), expected.getStreams().get(i));
+		}
+
+		assertEquals(actual.getLods().size(), expected.getLods().size());
+		for (int i = 0; i < expected.getLods().size(); ++i) {
+			assertSubMeshEquals(actual.getLods().get(i), expected.getLods().get(i));
+		}
+	}
+
+	protected static void assertNodeEquals(BakedNode actual, BakedNode expected)
+	{
+		assertEquals(actual.getName(), expected.getName());
+		assertEquals(actual.getTransform(), expected.getTransform());
+		assertEquals(actual.getProperties(), expected.getProperties());
+		// Properties keep their order
+		assertEquals(actual.getProperties().keySet().toArray(), expected.getProperties().keySet().toArray());
+
+		assertEquals(actual.getSubMeshes().size(), expected.getSubMeshes().size());
+		for (int i = 0; i < expected.getSubMeshes().size(); ++i) {
+			assertSubMeshEquals(actual.getSubMeshes().get(i), expected.getSubMeshes().get(i));
+		}
+
+		assertEquals(actual.getChildren().size(), expected.getChildren().size());
+		for (int i = 0; i < expected.getChildren().size(); ++i) {
+			assertNodeEquals(actual.getChildren().get(i), expected.getChildren().get(i));
+		}
+	}
+
+	@Test
+	public void roundTripBuffer() throws IOException
+	{
+		BakedMesh expected = createMesh();
+
+		ByteBuffer data = new BakedMeshWriter(16).write(expected);
+		assertEquals(data.limit() % 4, 0, "Baked data is 4 byte aligned");
+
+		BakedMesh actual = BakedMeshReader.read(data);
+
+		assertEquals(actual.getKey(), expected.getKey());
+		assertNodeEquals(actual.getRoot(), expected.getRoot());
+	}
+
+	@Test
+	public void roundTripMappedFile() throws IOException
+	{
+		BakedMesh expected = createMesh();
+		Path file = Files.createTempFile("mesh", ".mqbm");
+
+		try {
+			BakedMeshWriter.write(expected, file);
+
+			BakedMesh actual = BakedMeshReader.read(file);
+
+			assertEquals(actual.getKey(), expected.getKey());
+			assertNodeEquals(actual.getRoot(), expected.getRoot());
+
+			BakedSubMesh subMesh = actual.getRoot().getChildren().get(0).getSubMeshes().get(0);
+			assertTrue(subMesh.getStream(BakedStream.POSITIONS).getData().isDirect(), "Streams are views of the mapped file");
+			assertTrue(subMesh.getIndices().isDirect(), "Indices are views of the mapped file");
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void boundsAreComputedFromPositions()
+	{
+		BakedSubMesh subMesh = new BakedSubMesh("mesh");
+		subMesh.addStream(new BakedStream(BakedStream.INTERLEAVED, 8, FloatBuffer.wrap(new float[]{
+			-1.0f, 2.0f, 3.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f,
+			4.0f, -5.0f, 6.0f, 0.0f, 1.0f, 0.0f, 1.0f, 1.0f
+		})));
+
+		subMesh.updateBounds();
+
+		assertEquals(subMesh.getBounds(), new float[]{-1.0f, -5.0f, 3.0f, 4.0f, 2.0f, 6.0f});
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void unsupportedPropertiesFailWriting() throws IOException
+	{
+		BakedNode root = new BakedNode("root");
+		root.getProperties().put("object", new Object());
+
+		new BakedMeshWriter().write(new BakedMesh("key", root));
+	}
+
+	@Test
+	public void invalidDataFailsReading() throws IOException
+	{
+		ByteBuffer data = new BakedMeshWriter().write(createMesh());
+
+		// Wrong version
+		ByteBuffer versioned = ByteBuffer.allocate(data.remaining()).put(data.duplicate()).flip();
+		versioned.putInt(4, BakedMeshWriter.FORMAT_VERSION + 1);
+		assertThrows(IOException.class, () -> BakedMeshReader.read(versioned));
+
+		// Truncated
+		ByteBuffer truncated = data.duplicate().limit(data.limit() / 2);
+		assertThrows(IOException.class, () -> BakedMeshReader.read(truncated));
+
+		// No baked mesh at all
+		assertThrows(IOException.class, () -> BakedMeshReader.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+	}
+
+	@Test
+	public void propertiesKeepTheirTypes() throws IOException
+	{
+		BakedMesh actual = BakedMeshReader.read(new BakedMeshWriter().write(createMesh()));
+		Map<String, Object> properties = actual.getRoot().getProperties();
+
+		assertEquals(properties.get("float").getClass(), Float.class);
+		assertEquals(properties.get("int").getClass(), Integer.class);
+		assertEquals(properties.get("double").getClass(), Double.class);
+		assertEquals(properties.get("long").getClass(), Long.class);
+		assertEquals(properties.get("vector").getClass(), Vector3f.class);
+		assertEquals(properties.get("string").getClass(), String.class);
+		assertEquals(properties.get("boolean").getClass(), Boolean.class);
+	}
+}
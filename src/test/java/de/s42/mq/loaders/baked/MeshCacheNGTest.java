@@ -0,0 +1,137 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.baked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class MeshCacheNGTest
+{
+
+	protected Path directory;
+
+	@BeforeMethod
+	public void createDirectory() throws IOException
+	{
+		directory = Files.createTempDirectory("mesh-cache");
+	}
+
+	@AfterMethod
+	public void deleteDirectory() throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	protected static ByteBuffer content(String content)
+	{
+		return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void keyDependsOnContentAndSettings()
+	{
+		String key = MeshCache.createKey(content("v 0 0 0"), "obj optimize=true");
+
+		assertEquals(MeshCache.createKey(content("v 0 0 0"), "obj optimize=true"), key);
+		assertNotEquals(MeshCache.createKey(content("v 0 0 1"), "obj optimize=true"), key);
+		assertNotEquals(MeshCache.createKey(content("v 0 0 0"), "obj optimize=false"), key);
+	}
+
+	@Test
+	public void keyOfFileMatchesKeyOfContent() throws IOException
+	{
+		Path source = directory.resolve("mesh.obj");
+		Files.writeString(source, "v 0 0 0");
+
+		assertEquals(MeshCache.createKey(source, "obj"), MeshCache.createKey(content("v 0 0 0"), "obj"));
+	}
+
+	@Test
+	public void storeAndLoad()
+	{
+		MeshCache cache = new MeshCache(directory.resolve("cache"));
+		BakedMesh mesh = BakedMeshReaderNGTest.createMesh();
+
+		assertNull(cache.load(mesh.getKey()), "Miss before storing");
+		assertTrue(cache.store(mesh));
+
+		BakedMesh loaded = cache.load(mesh.getKey());
+		assertNotNull(loaded);
+		BakedMeshReaderNGTest.assertNodeEquals(loaded.getRoot(), mesh.getRoot());
+	}
+
+	@Test
+	public void invalidFilesAreRemoved() throws IOException
+	{
+		MeshCache cache = new MeshCache(directory);
+		Path path = cache.getPath("broken");
+		Files.write(path, new byte[]{1, 2, 3});
+
+		assertNull(cache.load("broken"));
+		assertFalse(Files.exists(path), "Invalid baked mesh is removed");
+	}
+
+	@Test
+	public void keyMismatchIsAMiss() throws IOException
+	{
+		MeshCache cache = new MeshCache(directory);
+		BakedMesh mesh = BakedMeshReaderNGTest.createMesh();
+		cache.store(mesh);
+
+		Files.move(cache.getPath(mesh.getKey()), cache.getPath("other"));
+
+		assertNull(cache.load("other"));
+	}
+
+	@Test
+	public void disabledCacheDoesNothing()
+	{
+		MeshCache cache = new MeshCache(directory);
+		cache.setEnabled(false);
+		BakedMesh mesh = BakedMeshReaderNGTest.createMesh();
+
+		assertFalse(cache.store(mesh));
+		assertFalse(Files.exists(cache.getPath(mesh.getKey())));
+		assertNull(cache.load(mesh.getKey()));
+	}
+}
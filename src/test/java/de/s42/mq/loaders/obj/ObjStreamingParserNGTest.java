@@ -0,0 +1,244 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.loaders.obj;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.joml.Vector3f;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class ObjStreamingParserNGTest
+{
+
+	protected static String randomFloat(Random random)
+	{
+		int decimals = 1 + random.nextInt(9);
+		double magnitude = Math.pow(10.0, random.nextInt(6) - 2);
+
+		return String.format(Locale.ROOT, "%." + decimals + "f", (random.nextDouble() * 2.0 - 1.0) * magnitude);
+	}
+
+	/**
+	 * Creates an obj in the subset the ANTLR grammar of ObjLoader understands
+	 */
+	protected static String createRandomObj(Random random, int vertexCount, int faceCount)
+	{
+		StringBuilder obj = new StringBuilder();
+
+		obj.append("# Random obj\n");
+		obj.append("mtllib test.mtl\n");
+		obj.append("o Random\n");
+
+		for (int i = 0; i < vertexCount; ++i) {
+			obj.append("v ").append(randomFloat(random)).append(" ").append(randomFloat(random)).append(" ").append(randomFloat(random)).append("\n");
+			obj.append("vn ").append(randomFloat(random)).append(" ").append(randomFloat(random)).append(" ").append(randomFloat(random)).append("\n");
+			obj.append("vt ").append(randomFloat(random)).append(" ").append(randomFloat(random)).append("\n");
+		}
+
+		obj.append("g Group\n");
+
+		for (int i = 0; i < faceCount; ++i) {
+
+			if (random.nextInt(50) == 0) {
+				obj.append("usemtl Material").append(random.nextInt(4)).append("\n");
+			}
+
+			if (random.nextInt(50) == 0) {
+				obj.append(random.nextBoolean() ? "s off\n" : "s 1\n");
+			}
+
+			obj.append("f");
+			for (int v = 0; v < 3; ++v) {
+				obj.append(" ").append(1 + random.nextInt(vertexCount))
+					.append("/").append(1 + random.nextInt(vertexCount))
+					.append("/").append(1 + random.nextInt(vertexCount));
+			}
+			obj.append("\n");
+		}
+
+		return obj.toString();
+	}
+
+	protected static ObjData parse(String obj, int chunkSize, ExecutorService executor)
+	{
+		return new ObjStreamingParser(chunkSize, executor).parse(ByteBuffer.wrap(obj.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	protected static ObjData parse(String obj)
+	{
+		return new ObjStreamingParser().parse(ByteBuffer.wrap(obj.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	protected static void assertVector(float[] data, int offset, Vector3f expected)
+	{
+		assertEquals(data[offset], expected.x);
+		assertEquals(data[offset + 1], expected.y);
+		assertEquals(data[offset + 2], expected.z);
+	}
+
+	@Test
+	public void equalsObjLoader()
+	{
+		String obj = createRandomObj(new Random(42), 2000, 5000);
+
+		ObjLoader expected = ObjLoader.loadFromString(obj);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			// Small chunks to parse in parallel
+			for (ObjData data : new ObjData[]{parse(obj), parse(obj, 4096, executor)}) {
+
+				assertEquals(data.getPositionCount(), expected.positions.size());
+				for (int i = 0; i < expected.positions.size(); ++i) {
+					assertVector(data.getPositions(), i * 3, expected.positions.get(i));
+				}
+
+				assertEquals(data.getNormalCount(), expected.normals.size());
+				for (int i = 0; i < expected.normals.size(); ++i) {
+					assertVector(data.getNormals(), i * 3, expected.normals.get(i));
+				}
+
+				assertEquals(data.getTexturePositionCount(), expected.texturePositions.size());
+				for (int i = 0; i < expected.texturePositions.size(); ++i) {
+					assertEquals(data.getTexturePositions()[i * 2], expected.texturePositions.get(i).x);
+					assertEquals(data.getTexturePositions()[i * 2 + 1], expected.texturePositions.get(i).y);
+				}
+
+				assertEquals(data.getTriangleCount(), expected.faces.size());
+				for (int i = 0; i < expected.faces.size(); ++i) {
+					for (int j = 0; j < ObjData.FACE_SIZE; ++j) {
+						assertEquals(data.getFaces()[i * ObjData.FACE_SIZE + j], expected.faces.get(i)[j]);
+					}
+					assertEquals(data.getFaceMaterial(i), expected.faceMaterial.get(i));
+					assertEquals(data.isFaceSmooth(i), (boolean) expected.faceSmooth.get(i));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void parsesPolygonsAndIndexForms()
+	{
+		ObjData data = parse(""
+			+ "v 0.0 0.0 0.0\n"
+			+ "v 1 0 0\n"
+			+ "v 1e0 1.0E0 0\r\n"
+			+ "v -0 +1.0 .0\n"
+			+ "vt 0.5 0.25\n"
+			+ "vn 0 0 1\n"
+			+ "f 1 2 3 4 # quad\n"
+			+ "f 1/1 2/1 3/1\n"
+			+ "f 1//1 2//1 3//1\n"
+			+ "f -4/-1/-1 -3/-1/-1 -2/-1/-1\n"
+			+ "s 0\n"
+			+ "usemtl Red\n"
+			+ "f\t1 3 4\n"
+		);
+
+		assertEquals(data.getPositionCount(), 4);
+		assertVector(data.getPositions(), 6, new Vector3f(1.0f, 1.0f, 0.0f));
+		assertVector(data.getPositions(), 9, new Vector3f(-0.0f, 1.0f, 0.0f));
+		assertEquals(data.getTexturePositions()[1], 0.75f);
+
+		assertEquals(data.getTriangleCount(), 6);
+
+		// Quad is triangulated as fan
+		int[] faces = data.getFaces();
+		assertEquals(new int[]{faces[0], faces[3], faces[6]}, new int[]{0, 1, 2});
+		assertEquals(new int[]{faces[9], faces[12], faces[15]}, new int[]{0, 2, 3});
+		assertEquals(new int[]{faces[1], faces[2]}, new int[]{-1, -1});
+
+		// v/t
+		assertEquals(new int[]{faces[18], faces[19], faces[20]}, new int[]{0, 0, -1});
+
+		// v//n
+		assertEquals(new int[]{faces[27], faces[28], faces[29]}, new int[]{0, -1, 0});
+
+		// Relative indices
+		assertEquals(new int[]{faces[36], faces[37], faces[38], faces[39]}, new int[]{0, 0, 0, 1});
+
+		assertEquals(data.getFaceMaterial(0), ObjStreamingParser.DEFAULT_MATERIAL);
+		assertEquals(data.getFaceMaterial(5), "Red");
+		assertFalse(data.isFaceSmooth(5));
+	}
+
+	@Test
+	public void parallelEqualsSequential()
+	{
+		StringBuilder obj = new StringBuilder();
+		Random random = new Random(3);
+
+		// Relative indices and state changes have to be resolved across the chunks
+		for (int i = 0; i < 3000; ++i) {
+			obj.append("v ").append(randomFloat(random)).append(" ").append(random.nextFloat()).append(" ").append(random.nextInt(100)).append("\n");
+			obj.append("vn 0 1 0\n");
+			if (i > 4) {
+				if (i % 97 == 0) {
+					obj.append("usemtl M").append(i % 5).append("\n");
+				}
+				if (i % 89 == 0) {
+					obj.append("s ").append(i % 2).append("\n");
+				}
+				obj.append("f -1//-1 -3//-2 -5//-3 -4//-1\n");
+			}
+		}
+
+		ObjData sequential = parse(obj.toString());
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+
+		try {
+			for (int chunkSize : new int[]{1, 100, 1000, 10000}) {
+				ObjData parallel = parse(obj.toString(), chunkSize, executor);
+
+				assertEquals(parallel.getPositions(), sequential.getPositions());
+				assertEquals(parallel.getNormals(), sequential.getNormals());
+				assertEquals(parallel.getFaces(), sequential.getFaces());
+				assertEquals(parallel.getFaceMaterials(), sequential.getFaceMaterials());
+				assertEquals(parallel.getMaterials(), sequential.getMaterials());
+				for (int i = 0; i < sequential.getTriangleCount(); ++i) {
+					assertEquals(parallel.isFaceSmooth(i), sequential.isFaceSmooth(i));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertTrue(sequential.getMaterials().size() > 1);
+	}
+}
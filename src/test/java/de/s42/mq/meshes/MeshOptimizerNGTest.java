@@ -0,0 +1,181 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class MeshOptimizerNGTest
+{
+
+	protected final static int VERTEX_SIZE = 5;
+
+	/**
+	 * Non indexed grid of size x size quads with position and uv - the triangles are shuffled
+	 */
+	protected static float[] createShuffledGrid(int size, long seed)
+	{
+		List<float[]> triangles = new ArrayList<>();
+
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < size; ++y) {
+				triangles.add(concat(gridVertex(x, y, size), gridVertex(x + 1, y, size), gridVertex(x + 1, y + 1, size)));
+				triangles.add(concat(gridVertex(x + 1, y + 1, size), gridVertex(x, y + 1, size), gridVertex(x, y, size)));
+			}
+		}
+
+		Collections.shuffle(triangles, new Random(seed));
+
+		float[] vertices = new float[triangles.size() * 3 * VERTEX_SIZE];
+		for (int t = 0; t < triangles.size(); ++t) {
+			System.arraycopy(triangles.get(t), 0, vertices, t * 3 * VERTEX_SIZE, 3 * VERTEX_SIZE);
+		}
+
+		return vertices;
+	}
+
+	protected static float[] gridVertex(int x, int y, int size)
+	{
+		return new float[]{x, 0.0f, y, (float) x / size, (float) y / size};
+	}
+
+	protected static float[] concat(float[]... parts)
+	{
+		float[] result = new float[parts.length * VERTEX_SIZE];
+		for (int i = 0; i < parts.length; ++i) {
+			System.arraycopy(parts[i], 0, result, i * VERTEX_SIZE, VERTEX_SIZE);
+		}
+		return result;
+	}
+
+	/**
+	 * Triangles as strings starting with their smallest vertex so the winding is kept but the order is irrelevant
+	 */
+	protected static List<String> getTriangles(float[] vertices, int[] indices)
+	{
+		List<String> triangles = new ArrayList<>();
+
+		for (int t = 0; t < indices.length / 3; ++t) {
+			String[] corners = new String[3];
+			for (int i = 0; i < 3; ++i) {
+				int v = indices[t * 3 + i];
+				corners[i] = Arrays.toString(Arrays.copyOfRange(vertices, v * VERTEX_SIZE, (v + 1) * VERTEX_SIZE));
+			}
+
+			int first = 0;
+			for (int i = 1; i < 3; ++i) {
+				if (corners[i].compareTo(corners[first]) < 0) {
+					first = i;
+				}
+			}
+
+			triangles.add(corners[first] + corners[(first + 1) % 3] + corners[(first + 2) % 3]);
+		}
+
+		Collections.sort(triangles);
+
+		return triangles;
+	}
+
+	protected static int[] identityIndices(int count)
+	{
+		int[] indices = new int[count];
+		for (int i = 0; i < count; ++i) {
+			indices[i] = i;
+		}
+		return indices;
+	}
+
+	@Test
+	public void deduplicateMergesSharedVertices()
+	{
+		int size = 20;
+		float[] vertices = createShuffledGrid(size, 1);
+
+		IndexedMeshData mesh = MeshOptimizer.deduplicate(vertices, VERTEX_SIZE);
+
+		assertEquals(mesh.getVertexCount(), (size + 1) * (size + 1));
+		assertEquals(mesh.getTriangleCount(), size * size * 2);
+		assertEquals(getTriangles(mesh.getVertices(), mesh.getIndices()), getTriangles(vertices, identityIndices(vertices.length / VERTEX_SIZE)));
+	}
+
+	@Test
+	public void optimizeVertexCacheReducesMisses()
+	{
+		IndexedMeshData mesh = MeshOptimizer.deduplicate(createShuffledGrid(64, 2), VERTEX_SIZE);
+
+		int[] optimized = MeshOptimizer.optimizeVertexCache(mesh.getIndices(), mesh.getVertexCount());
+
+		float before = MeshOptimizer.computeACMR(mesh.getIndices(), mesh.getVertexCount(), 16);
+		float after = MeshOptimizer.computeACMR(optimized, mesh.getVertexCount(), 16);
+
+		assertTrue(before > 2.0f, "Shuffled mesh misses the cache " + before);
+		assertTrue(after < 0.8f, "Optimized mesh hits the cache " + after);
+		assertEquals(getTriangles(mesh.getVertices(), optimized), getTriangles(mesh.getVertices(), mesh.getIndices()));
+	}
+
+	@Test
+	public void optimizeVertexFetchOrdersByFirstUse()
+	{
+		float[] vertices = createShuffledGrid(16, 3);
+
+		IndexedMeshData mesh = MeshOptimizer.optimize(vertices, VERTEX_SIZE);
+
+		int next = 0;
+		for (int index : mesh.getIndices()) {
+			assertTrue(index <= next, "Vertex " + index + " is used in order");
+			if (index == next) {
+				next++;
+			}
+		}
+
+		assertEquals(next, mesh.getVertexCount());
+		assertEquals(getTriangles(mesh.getVertices(), mesh.getIndices()), getTriangles(vertices, identityIndices(vertices.length / VERTEX_SIZE)));
+	}
+
+	@Test
+	public void handlesEmptyAndDegenerateInput()
+	{
+		IndexedMeshData empty = MeshOptimizer.optimize(new float[0], VERTEX_SIZE);
+		assertEquals(empty.getVertexCount(), 0);
+		assertEquals(empty.getTriangleCount(), 0);
+
+		float[] degenerate = concat(gridVertex(0, 0, 1), gridVertex(0, 0, 1), gridVertex(1, 1, 1));
+		IndexedMeshData mesh = MeshOptimizer.optimize(degenerate, VERTEX_SIZE);
+		assertEquals(mesh.getVertexCount(), 2);
+		assertEquals(mesh.getIndices(), new int[]{0, 0, 1});
+	}
+}
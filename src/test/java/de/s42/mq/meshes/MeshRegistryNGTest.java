@@ -0,0 +1,189 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.meshes;
+
+import de.s42.mq.rendering.RenderContext;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class MeshRegistryNGTest
+{
+
+	public static class TestMesh extends Mesh
+	{
+
+		public TestMesh()
+		{
+		}
+
+		public TestMesh(String name, String... layers)
+		{
+			setName(name);
+			setLayers(layers);
+		}
+
+		@Override
+		public void render(RenderContext context)
+		{
+		}
+	}
+
+	protected static MeshGroup createGroup(Mesh... meshes)
+	{
+		MeshGroup group = new MeshGroup();
+
+		for (Mesh mesh : meshes) {
+			group.addMesh(mesh);
+		}
+
+		return group;
+	}
+
+	@Test
+	public void layerMasksAreStable()
+	{
+		long opaque = LayerMask.getMask("registryOpaque");
+
+		assertEquals(LayerMask.getMask("registryOpaque"), opaque);
+		assertEquals(Long.bitCount(opaque), 1);
+		assertNotEquals(LayerMask.getMask("registryTransparent"), opaque);
+		assertEquals(LayerMask.findMask("registryNeverUsed"), 0L);
+		assertEquals(LayerMask.getMask("registryOpaque", "registryTransparent"), opaque | LayerMask.getMask("registryTransparent"));
+	}
+
+	@Test
+	public void containsLayers()
+	{
+		TestMesh mesh = new TestMesh("a", "registryOpaque", "registryShadow");
+		TestMesh withoutLayers = new TestMesh();
+
+		assertTrue(mesh.containsLayer("registryShadow"));
+		assertFalse(mesh.containsLayer("registryNeverUsed"));
+		assertTrue(mesh.containsLayers(List.of("registryUi", "registryOpaque")));
+		assertFalse(mesh.containsLayers(List.of("registryNeverUsed")));
+		assertFalse(mesh.containsLayers(List.of()));
+		assertTrue(withoutLayers.containsLayers(List.of()));
+		assertFalse(withoutLayers.containsLayers(List.of("registryNeverUsed")));
+		assertTrue(withoutLayers.containsLayers(0L));
+	}
+
+	@Test
+	public void meshesAreReturnedInSceneOrder()
+	{
+		TestMesh a = new TestMesh("a", "registryOpaque");
+		TestMesh b = new TestMesh("b", "registryUi");
+		TestMesh c = new TestMesh("c", "registryOpaque", "registryUi");
+		TestMesh d = new TestMesh("d", "registryOpaque");
+		TestMesh e = new TestMesh("e");
+
+		MeshGroup root = createGroup(a, b, createGroup(c, e), d);
+		MeshRegistry registry = root.getRegistry();
+
+		assertEquals(registry.size(), 5);
+		assertEquals(registry.getMeshes("registryOpaque", "registryUi"), List.of(a, b, c, d));
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, c, d));
+		assertEquals(registry.getMeshes(0L), List.of(e));
+	}
+
+	@Test
+	public void enableAndLayerChangesUpdateTheRegistry()
+	{
+		TestMesh a = new TestMesh("a", "registryOpaque");
+		TestMesh b = new TestMesh("b", "registryOpaque");
+
+		MeshGroup root = createGroup(a, b);
+		MeshRegistry registry = root.getRegistry();
+
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, b));
+
+		b.setEnabled(false);
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a));
+
+		a.setLayers("registryUi");
+		assertEquals(registry.getMeshes("registryOpaque"), List.of());
+		assertEquals(registry.getMeshes("registryUi"), List.of(a));
+
+		a.addLayer("registryOpaque");
+		b.setEnabled(true);
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, b));
+	}
+
+	@Test
+	public void addAndRemoveUpdateTheRegistry()
+	{
+		TestMesh a = new TestMesh("a", "registryOpaque");
+		TestMesh c = new TestMesh("c", "registryOpaque");
+		TestMesh d = new TestMesh("d", "registryOpaque");
+
+		MeshGroup sub = createGroup(c);
+		MeshGroup root = createGroup(a, sub, d);
+		MeshRegistry registry = root.getRegistry();
+
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, c, d));
+
+		// Added into a nested group - appears in scene order
+		TestMesh added = new TestMesh("added", "registryOpaque");
+		sub.addMesh(added);
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, c, added, d));
+
+		root.removeMesh(sub);
+		assertEquals(registry.getMeshes("registryOpaque"), List.of(a, d));
+		assertFalse(registry.contains(added));
+
+		// Changes of removed meshes are ignored
+		added.setLayers("registryUi");
+		assertEquals(registry.getMeshes("registryUi"), List.of());
+
+		root.clearMeshes();
+		assertEquals(registry.size(), 0);
+	}
+
+	@Test
+	public void nestedRegistriesAreUpdated()
+	{
+		TestMesh a = new TestMesh("a", "registryOpaque");
+
+		MeshGroup sub = createGroup(a);
+		MeshGroup root = createGroup(sub);
+		MeshRegistry rootRegistry = root.getRegistry();
+		MeshRegistry subRegistry = sub.getRegistry();
+
+		TestMesh b = new TestMesh("b", "registryOpaque");
+		sub.addMesh(b);
+		a.setEnabled(false);
+
+		assertEquals(rootRegistry.getMeshes("registryOpaque"), List.of(b));
+		assertEquals(subRegistry.getMeshes("registryOpaque"), List.of(b));
+	}
+}
@@ -0,0 +1,214 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import de.s42.mq.pcg.Vertex32Transform;
+import de.s42.mq.pcg.points.StandardPCGPoints;
+import de.s42.mq.pcg.transforms.Vertex32ScaledRepeatXZ;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import static org.testng.Assert.*;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class ImageColorPointFilterNGTest
+{
+
+	protected final static int COUNT = 10000;
+
+	protected static PCGImage createNoise(int size)
+	{
+		Random random = new Random(7);
+		byte[] rgba = new byte[size * size * 4];
+		random.nextBytes(rgba);
+
+		return new StandardPCGImage("noise", new PCGImageData(size, size, rgba));
+	}
+
+	protected static StandardPCGPoints createPoints()
+	{
+		Random random = new Random(42);
+		StandardPCGPoints points = new StandardPCGPoints(COUNT, 1);
+		float[] data = points.getData();
+
+		for (int i = 0; i < COUNT; ++i) {
+			int index = i * points.getComponentSize();
+			StandardPCGPoints.applyPosition(data, index, random.nextFloat() * 100.0f - 50.0f, random.nextFloat(), random.nextFloat() * 100.0f - 50.0f);
+			StandardPCGPoints.applyIsVisible(data, index, true);
+		}
+
+		return points;
+	}
+
+	/**
+	 * Applies the filter point by point as the filter did before processing in blocks
+	 */
+	protected static boolean[] filterPerPoint(StandardPCGPoints points, PCGImage image, Vertex32Transform transform, ImageColorPointFilterFunction filter, int startIndex, int endIndex, int step)
+	{
+		float[] data = points.getData();
+		boolean[] visible = new boolean[COUNT];
+
+		for (int i = 0; i < COUNT; ++i) {
+			int index = i * points.getComponentSize();
+			visible[i] = StandardPCGPoints.retrieveIsVisible(data, index);
+
+			if (i >= startIndex && i < endIndex && (i - startIndex) % step == 0) {
+				Vector2f transformed = transform.transform(
+					StandardPCGPoints.retrievePositionX(data, index),
+					StandardPCGPoints.retrievePositionY(data, index),
+					StandardPCGPoints.retrievePositionZ(data, index),
+					new Vector2f());
+				Vector4f color = image.getRGBA(transformed.x, transformed.y, new Vector4f());
+				visible[i] = filter.accept(color.x, color.y, color.z, color.w);
+			}
+		}
+
+		return visible;
+	}
+
+	protected static void assertVisible(StandardPCGPoints points, boolean[] expected)
+	{
+		for (int i = 0; i < COUNT; ++i) {
+			assertEquals(StandardPCGPoints.retrieveIsVisible(points.getData(), i * points.getComponentSize()), expected[i], "Point " + i);
+		}
+	}
+
+	@Test
+	public void blocksMatchPerPointFiltering()
+	{
+		PCGImage image = createNoise(64);
+		Vertex32Transform repeat = new Vertex32ScaledRepeatXZ(0.05f);
+		// A lambda uses the default block implementations
+		Vertex32Transform lambdaTransform = (x, y, z, target) -> target.set(Math.clamp(x / 100.0f + 0.5f, 0.0f, 1.0f), Math.clamp(z / 100.0f + 0.5f, 0.0f, 1.0f));
+		ImageChannelRangeFilter range = new ImageChannelRangeFilter(ImageChannelRangeFilter.CHANNEL_G, 0.25f, 0.75f);
+		ImageColorPointFilterFunction lambdaFilter = (r, g, b, a) -> r > b;
+
+		for (Vertex32Transform transform : new Vertex32Transform[]{repeat, lambdaTransform}) {
+			for (ImageColorPointFilterFunction filter : new ImageColorPointFilterFunction[]{range, lambdaFilter}) {
+				for (int step : new int[]{1, 3}) {
+
+					StandardPCGPoints points = createPoints();
+					boolean[] expected = filterPerPoint(points, image, transform, filter, 17, 9001, step);
+
+					ImageColorPointFilter pointFilter = new ImageColorPointFilter(image, transform, filter);
+					pointFilter.setBlockSize(100);
+					points.process(pointFilter, 17, 9001, step);
+
+					assertVisible(points, expected);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parallelMatchesSerial()
+	{
+		PCGImage image = createNoise(64);
+		ImageColorPointFilter pointFilter = new ImageColorPointFilter(image, new Vertex32ScaledRepeatXZ(0.05f), new ImageChannelRangeFilter(ImageChannelRangeFilter.CHANNEL_R, 0.0f, 0.5f));
+
+		StandardPCGPoints serial = createPoints();
+		serial.process(pointFilter);
+
+		StandardPCGPoints parallel = createPoints();
+		parallel.processParallel(pointFilter, 0, COUNT, 1, 777, ForkJoinPool.commonPool());
+
+		assertEquals(parallel.getData(), serial.getData());
+	}
+
+	@Test
+	public void processorReceivesSampledColors()
+	{
+		PCGImage image = createNoise(32);
+		Vertex32Transform transform = new Vertex32ScaledRepeatXZ(0.1f);
+		StandardPCGPoints points = createPoints();
+
+		ImageColorPointProcessor processor = new ImageColorPointProcessor(image, transform,
+			(data, index, r, g, b, a) -> StandardPCGPoints.applyExtendedComponent(data, index, 0, r + g + b + a));
+		points.process(processor, 0, COUNT, 2);
+
+		float[] data = points.getData();
+		Vector2f transformed = new Vector2f();
+		Vector4f color = new Vector4f();
+
+		for (int i = 0; i < COUNT; ++i) {
+			int index = i * points.getComponentSize();
+			float value = StandardPCGPoints.retrieveExtendedComponent(data, index, 0);
+
+			if (i % 2 == 0) {
+				transform.transform(data[index], data[index + 1], data[index + 2], transformed);
+				image.getRGBA(transformed.x, transformed.y, color);
+				assertEquals(value, color.x + color.y + color.z + color.w, "Point " + i);
+			} else {
+				assertEquals(value, 0.0f, "Point " + i);
+			}
+		}
+	}
+
+	@Test
+	public void filteringDoesNotAllocatePerPoint() throws Exception
+	{
+		// Read by reflection as the module does not require java.management
+		Object bean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+		Class<?> beanType = Class.forName("com.sun.management.ThreadMXBean");
+
+		if (!beanType.isInstance(bean)
+			|| !(Boolean) beanType.getMethod("isThreadAllocatedMemorySupported").invoke(bean)
+			|| !(Boolean) beanType.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean)) {
+			throw new SkipException("Counting the allocated bytes of a thread is not supported");
+		}
+
+		Method getAllocatedBytes = beanType.getMethod("getThreadAllocatedBytes", long.class);
+		Object[] threadId = {Thread.currentThread().threadId()};
+
+		PCGImage image = createNoise(64);
+		StandardPCGPoints points = createPoints();
+		ImageColorPointFilter pointFilter = new ImageColorPointFilter(image, new Vertex32ScaledRepeatXZ(0.05f), new ImageChannelRangeFilter(ImageChannelRangeFilter.CHANNEL_A, 0.1f, 0.9f));
+
+		// Warm up - creates the scratch storage and loads the classes used for processing and counting
+		for (int i = 0; i < 3; ++i) {
+			points.process(pointFilter);
+		}
+		long overhead = -(Long) getAllocatedBytes.invoke(bean, threadId) + (Long) getAllocatedBytes.invoke(bean, threadId);
+
+		int iterations = 10;
+		long before = (Long) getAllocatedBytes.invoke(bean, threadId);
+		for (int i = 0; i < iterations; ++i) {
+			points.process(pointFilter);
+		}
+		long allocated = (Long) getAllocatedBytes.invoke(bean, threadId) - before - overhead;
+
+		// A single Vector2f per point would take at least 16 bytes per point - allow 1
+		long limit = (long) iterations * COUNT;
+		assertTrue(allocated < limit, "Allocated " + allocated + " bytes for " + limit + " points");
+	}
+}
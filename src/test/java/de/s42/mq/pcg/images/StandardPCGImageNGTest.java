@@ -0,0 +1,238 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.images;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Vector4f;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class StandardPCGImageNGTest
+{
+
+	protected final static float EPSILON = 0.0001f;
+
+	/**
+	 * @return an image with r = x and g = y in texels, b = 255 and a = the given alpha
+	 */
+	protected static PCGImageData createGradient(int width, int height, int alpha)
+	{
+		byte[] rgba = new byte[width * height * 4];
+
+		for (int y = 0; y < height; ++y) {
+			for (int x = 0; x < width; ++x) {
+				int i = (x + y * width) * 4;
+				rgba[i] = (byte) x;
+				rgba[i + 1] = (byte) y;
+				rgba[i + 2] = (byte) 255;
+				rgba[i + 3] = (byte) alpha;
+			}
+		}
+
+		return new PCGImageData(width, height, rgba);
+	}
+
+	@Test
+	public void imagesDoNotShareData()
+	{
+		StandardPCGImage a = new StandardPCGImage("a", createGradient(4, 4, 0));
+		StandardPCGImage b = new StandardPCGImage("b", createGradient(8, 2, 255));
+
+		assertEquals(a.getWidth(), 4);
+		assertEquals(b.getWidth(), 8);
+		assertEquals(a.getRGBA(0, 0, new Vector4f()).w, 0.0f);
+		assertEquals(b.getRGBA(0, 0, new Vector4f()).w, 1.0f);
+	}
+
+	@Test
+	public void nearestAndBilinearSampling()
+	{
+		StandardPCGImage image = new StandardPCGImage("gradient", createGradient(5, 5, 255));
+		Vector4f color = new Vector4f();
+
+		// 0.0 and 1.0 hit the first and the last texel
+		image.getRGBA(0.0f, 0.0f, color);
+		assertEquals(color.x, 0.0f, EPSILON);
+		image.getRGBA(1.0f, 1.0f, color);
+		assertEquals(color.x, 4.0f / 255.0f, EPSILON);
+		assertEquals(color.y, 4.0f / 255.0f, EPSILON);
+
+		// Between texels 1 and 2
+		image.getRGBA(0.375f, 0.625f, color);
+		assertEquals(color.x, 1.5f / 255.0f, EPSILON);
+		assertEquals(color.y, 2.5f / 255.0f, EPSILON);
+		assertEquals(color.z, 1.0f, EPSILON);
+
+		image.setBilinear(false);
+		image.getRGBA(0.375f, 0.625f, color);
+		assertEquals(color.x, 1.0f / 255.0f, EPSILON);
+		assertEquals(color.y, 2.0f / 255.0f, EPSILON);
+
+		// Out of range coordinates are clamped
+		image.getRGBA(7, -3, color);
+		assertEquals(color.x, 4.0f / 255.0f, EPSILON);
+		assertEquals(color.y, 0.0f, EPSILON);
+	}
+
+	@Test
+	public void sixteenBitChannels()
+	{
+		short[] rgba = {
+			(short) 0, (short) 1000, (short) 65535, (short) 65535,
+			(short) 65535, (short) 3000, (short) 0, (short) 65535
+		};
+
+		PCGImageData data = new PCGImageData(2, 1, rgba);
+		StandardPCGImage image = new StandardPCGImage("16", data);
+		Vector4f color = image.getRGBA(0.5f, 0.0f, new Vector4f());
+
+		assertEquals(data.getBitDepth(), 16);
+		assertEquals(data.getMemorySize(), (2 + 1) * 4 * 2);
+		assertEquals(color.x, 0.5f, EPSILON);
+		assertEquals(color.y, 2000.0f / 65535.0f, EPSILON);
+		assertEquals(color.z, 0.5f, EPSILON);
+	}
+
+	@Test
+	public void mipLevelsAverageAndTrilinearSampling()
+	{
+		PCGImageData data = createGradient(8, 4, 255);
+
+		assertEquals(data.getLevelCount(), 4);
+		assertEquals(data.getWidth(1), 4);
+		assertEquals(data.getHeight(1), 2);
+		assertEquals(data.getWidth(3), 1);
+		assertEquals(data.getHeight(3), 1);
+
+		// Compact - source 8 * 4 texels plus 4 * 2, 2 * 1 and 1 * 1
+		assertEquals(data.getMemorySize(), (32 + 8 + 2 + 1) * 4);
+
+		Vector4f color = new Vector4f();
+
+		// Average of x 0 .. 7 = 3.5 rounded
+		data.getTexel(3, 0, 0, color);
+		assertEquals(color.x, 4.0f / 255.0f, EPSILON);
+
+		assertEquals(data.getLod(1.0f / 8.0f), 0.0f, EPSILON);
+		assertEquals(data.getLod(2.0f / 8.0f), 1.0f, EPSILON);
+		assertEquals(data.getLod(100.0f), 3.0f, EPSILON);
+
+		// Halfway between level 0 and 1 at the first texel
+		Vector4f level0 = data.sampleBilinear(0, 0.0f, 0.0f, new Vector4f());
+		Vector4f level1 = data.sampleBilinear(1, 0.0f, 0.0f, new Vector4f());
+		data.sampleTrilinear(0.5f, 0.0f, 0.0f, color);
+		assertEquals(color.x, (level0.x + level1.x) * 0.5f, EPSILON);
+
+		StandardPCGImage image = new StandardPCGImage("gradient", data);
+		image.getRGBA(0.0f, 0.0f, 100.0f, color);
+		assertEquals(color.x, 4.0f / 255.0f, EPSILON);
+	}
+
+	@Test
+	public void batchMatchesSingleSamples()
+	{
+		StandardPCGImage image = new StandardPCGImage("gradient", createGradient(16, 16, 128));
+		int count = 100;
+		float[] coordinates = new float[count * 2];
+		float[] colors = new float[count * 4];
+
+		for (int i = 0; i < coordinates.length; ++i) {
+			coordinates[i] = (float) ((i * 37) % 101) / 100.0f;
+		}
+
+		image.getRGBA(coordinates, colors, count);
+
+		Vector4f color = new Vector4f();
+		for (int i = 0; i < count; ++i) {
+			image.getRGBA(coordinates[i * 2], coordinates[i * 2 + 1], color);
+			assertEquals(colors[i * 4], color.x);
+			assertEquals(colors[i * 4 + 1], color.y);
+			assertEquals(colors[i * 4 + 2], color.z);
+			assertEquals(colors[i * 4 + 3], color.w);
+		}
+	}
+
+	@Test
+	public void cacheSharesDataById()
+	{
+		PCGImageCache cache = new PCGImageCache(PCGImageCache.DEFAULT_MEMORY_BUDGET);
+		List<String> loaded = new ArrayList<>();
+
+		StandardPCGImage a = new StandardPCGImage("mask");
+		a.setCache(cache);
+		StandardPCGImage b = new StandardPCGImage("mask");
+		b.setCache(cache);
+
+		// Loads through the cache without touching the file system
+		cache.get("mask", (id) -> {
+			loaded.add(id);
+			return createGradient(4, 4, 255);
+		});
+
+		a.load();
+		b.load();
+
+		assertEquals(loaded, List.of("mask"));
+		assertSame(a.getData(), b.getData());
+	}
+
+	@Test
+	public void cacheEvictsLeastRecentlyUsed()
+	{
+		// Each 4 x 4 image takes (16 + 4 + 1) * 4 = 84 bytes
+		PCGImageCache cache = new PCGImageCache(84 * 3);
+
+		cache.put("a", createGradient(4, 4, 255));
+		cache.put("b", createGradient(4, 4, 255));
+		cache.put("c", createGradient(4, 4, 255));
+		assertEquals(cache.getMemorySize(), 84 * 3);
+
+		// Touch a so b is the least recently used
+		assertNotNull(cache.get("a"));
+
+		cache.put("d", createGradient(4, 4, 255));
+
+		assertEquals(cache.size(), 3);
+		assertFalse(cache.contains("b"));
+		assertTrue(cache.contains("a"));
+		assertTrue(cache.contains("c"));
+		assertTrue(cache.contains("d"));
+
+		// Lowering the budget evicts but keeps the most recent entry
+		cache.setMemoryBudget(0);
+		assertEquals(cache.size(), 1);
+		assertTrue(cache.contains("d"));
+		assertEquals(cache.getMemorySize(), 84);
+
+		assertTrue(cache.remove("d"));
+		assertEquals(cache.getMemorySize(), 0);
+	}
+}
@@ -0,0 +1,189 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.points;
+
+import de.s42.mq.util.AABB;
+import de.s42.mq.util.MQRandom;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.joml.Vector3f;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class OffHeapPCGPointsNGTest
+{
+
+	protected final static int POINT_COUNT = 50000;
+	protected final static int RANGE_SIZE = 1000;
+
+	/**
+	 * 1024 floats per page - 5 components per point make points span pages
+	 */
+	protected final static int PAGE_SHIFT = 10;
+
+	protected static RandomizePointPositions createRandomize(long seed)
+	{
+		return new RandomizePointPositions(new MQRandom(seed), new AABB(-10.0f, 0.0f, -10.0f, 10.0f, 5.0f, 10.0f));
+	}
+
+	protected static void assertSameData(OffHeapPCGPoints points, StandardPCGPoints expected)
+	{
+		float[] data = expected.getData();
+
+		assertEquals(points.getCount(), expected.getCount());
+		assertEquals(points.getComponentSize(), expected.getComponentSize());
+
+		for (int i = 0; i < data.length; ++i) {
+			assertEquals(points.getStorage().getFloat(i), data[i], "Element " + i);
+		}
+	}
+
+	@Test
+	public void processingMatchesStandardPoints()
+	{
+		for (int step : new int[]{1, 3}) {
+
+			try (OffHeapPCGPoints points = new OffHeapPCGPoints(POINT_COUNT, 1, PAGE_SHIFT)) {
+				StandardPCGPoints expected = new StandardPCGPoints(POINT_COUNT, 1);
+
+				points.process(createRandomize(42), 7, POINT_COUNT - 11, step);
+				expected.process(createRandomize(42), 7, POINT_COUNT - 11, step);
+
+				assertSameData(points, expected);
+			}
+		}
+	}
+
+	@Test
+	public void parallelProcessingMatchesStandardPoints()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			for (int step : new int[]{1, 3}) {
+
+				try (OffHeapPCGPoints points = new OffHeapPCGPoints(POINT_COUNT, 1, PAGE_SHIFT)) {
+					StandardPCGPoints expected = new StandardPCGPoints(POINT_COUNT, 1);
+
+					points.processParallel(createRandomize(7), 0, POINT_COUNT, step, RANGE_SIZE, pool);
+					expected.processParallel(createRandomize(7), 0, POINT_COUNT, step, RANGE_SIZE, pool);
+
+					assertSameData(points, expected);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void subProcessingMatchesStandardPoints()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try (OffHeapPCGPoints points = new OffHeapPCGPoints(POINT_COUNT, 0, PAGE_SHIFT)) {
+			StandardPCGPoints expected = new StandardPCGPoints(POINT_COUNT);
+
+			points.getStorage().setFloat(0, 100.0f);
+			StandardPCGPoints.applyPositionX(expected.getData(), 0, 100.0f);
+
+			points.processSub(createRandomize(1), 0, 1, POINT_COUNT / 2, 1);
+			expected.processSub(createRandomize(1), 0, 1, POINT_COUNT / 2, 1);
+
+			points.processSubParallel(createRandomize(2), 0, POINT_COUNT / 2, POINT_COUNT, 2, RANGE_SIZE, pool);
+			expected.processSubParallel(createRandomize(2), 0, POINT_COUNT / 2, POINT_COUNT, 2, RANGE_SIZE, pool);
+
+			assertSameData(points, expected);
+			assertEquals(points.getPosition(POINT_COUNT / 4, new Vector3f()), expected.getPosition(POINT_COUNT / 4, new Vector3f()));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void writeAndMap() throws IOException
+	{
+		Path file = Files.createTempFile("pcg-points", ".mqpp");
+
+		try {
+			try (OffHeapPCGPoints points = new OffHeapPCGPoints(POINT_COUNT, 2)) {
+				points.process(createRandomize(3));
+				points.write(file);
+
+				try (OffHeapPCGPoints mapped = OffHeapPCGPoints.map(file, true)) {
+
+					assertEquals(mapped.getCount(), POINT_COUNT);
+					assertEquals(mapped.getComponentSize(), 6);
+
+					for (int i = 0; i < POINT_COUNT * 6; ++i) {
+						assertEquals(mapped.getStorage().getFloat(i), points.getStorage().getFloat(i), "Element " + i);
+					}
+
+					// Writable mappings change the file
+					mapped.process((processed, data, startIndex, endIndex, step) -> {
+						for (int i = startIndex; i < endIndex; i += step) {
+							StandardPCGPoints.applyIsVisible(data, i * processed.getComponentSize(), true);
+						}
+					});
+				}
+
+				try (OffHeapPCGPoints mapped = OffHeapPCGPoints.map(file, false)) {
+					assertEquals(mapped.getMask(POINT_COUNT - 1), StandardPCGPoints.PCG_POINT_MASK_VISIBLE);
+					assertEquals(mapped.getPosition(5, new Vector3f()), points.getPosition(5, new Vector3f()));
+				}
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void getDataCopiesThePoints()
+	{
+		try (OffHeapPCGPoints points = new OffHeapPCGPoints(POINT_COUNT, 1, PAGE_SHIFT)) {
+			StandardPCGPoints expected = new StandardPCGPoints(POINT_COUNT, 1);
+
+			points.process(createRandomize(5));
+			expected.process(createRandomize(5));
+
+			PCGPoints untyped = points;
+			float[] data = untyped.getData();
+
+			assertEquals(data, expected.getData());
+
+			// A copy does not write through
+			data[0] = 1000.0f;
+			assertEquals(points.getStorage().getFloat(0), expected.getData()[0]);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.points;
+
+import de.s42.mq.util.AABB;
+import de.s42.mq.util.MQRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class StandardPCGPointsNGTest
+{
+
+	protected final static int POINT_COUNT = 100000;
+	protected final static int RANGE_SIZE = 1000;
+	protected final static int[] THREAD_COUNTS = {1, 2, 3, 8};
+
+	protected static float[] randomizeParallel(int threads, int step)
+	{
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try {
+			StandardPCGPoints points = new StandardPCGPoints(POINT_COUNT, 1);
+			RandomizePointPositions randomize = new RandomizePointPositions(new MQRandom(42), new AABB(-10.0f, 0.0f, -10.0f, 10.0f, 5.0f, 10.0f));
+			points.processParallel(randomize, 0, POINT_COUNT, step, RANGE_SIZE, pool);
+
+			return points.getData();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void parallelProcessingIsIndependentOfThreadCount()
+	{
+		float[] expected = randomizeParallel(1, 1);
+
+		for (int threads : THREAD_COUNTS) {
+			assertEquals(randomizeParallel(threads, 1), expected);
+		}
+
+		// All points got processed
+		for (int i = 0; i < expected.length; i += 5) {
+			assertTrue(expected[i] != 0.0f || expected[i + 1] != 0.0f || expected[i + 2] != 0.0f);
+		}
+	}
+
+	@Test
+	public void parallelProcessingRespectsStep()
+	{
+		float[] expected = randomizeParallel(1, 3);
+
+		for (int threads : THREAD_COUNTS) {
+			assertEquals(randomizeParallel(threads, 3), expected);
+		}
+
+		// Only every third point got processed
+		assertNotEquals(expected[0], 0.0f);
+		assertEquals(expected[5], 0.0f);
+		assertEquals(expected[10], 0.0f);
+		assertNotEquals(expected[15], 0.0f);
+	}
+
+	@Test
+	public void parallelSubProcessingIsIndependentOfThreadCount()
+	{
+		float[] expected = null;
+
+		for (int threads : THREAD_COUNTS) {
+
+			ForkJoinPool pool = new ForkJoinPool(threads);
+
+			try {
+				StandardPCGPoints points = new StandardPCGPoints(POINT_COUNT);
+				StandardPCGPoints.applyPosition(points.getData(), 0, 100.0f, 200.0f, 300.0f);
+				RandomizePointPositions randomize = new RandomizePointPositions(new MQRandom(4242), new AABB(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f));
+				points.processSubParallel(randomize, 0, 1, POINT_COUNT, 1, RANGE_SIZE, pool);
+
+				if (expected == null) {
+					expected = points.getData();
+				} else {
+					assertEquals(points.getData(), expected);
+				}
+			} finally {
+				pool.shutdown();
+			}
+		}
+
+		// Children are placed around the parent
+		assertTrue(expected[POINT_COUNT / 2 * 4] >= 99.0f && expected[POINT_COUNT / 2 * 4] <= 101.0f);
+	}
+}
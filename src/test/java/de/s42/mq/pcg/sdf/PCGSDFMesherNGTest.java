@@ -0,0 +1,199 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.sdf;
+
+import de.s42.mq.pcg.voxels.PCGVoxelMeshData;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.joml.Vector3f;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGSDFMesherNGTest
+{
+
+	protected static Vector3f getPosition(PCGVoxelMeshData data, int vertex)
+	{
+		int i = vertex * PCGVoxelMeshData.VERTEX_SIZE;
+
+		return new Vector3f(data.getVertices()[i], data.getVertices()[i + 1], data.getVertices()[i + 2]);
+	}
+
+	protected static Vector3f getNormal(PCGVoxelMeshData data, int vertex)
+	{
+		int i = vertex * PCGVoxelMeshData.VERTEX_SIZE;
+
+		return new Vector3f(data.getVertices()[i + 3], data.getVertices()[i + 4], data.getVertices()[i + 5]);
+	}
+
+	/**
+	 * Every edge of a closed welded mesh is used as often in each direction - open seams between chunks would not be
+	 */
+	protected static void assertClosed(PCGVoxelMeshData data)
+	{
+		int[] indices = data.getIndices();
+		Map<Long, Integer> edges = new HashMap<>();
+
+		for (int i = 0; i < indices.length; i += 3) {
+			for (int e = 0; e < 3; ++e) {
+				long edge = ((long) indices[i + e] << 32) | indices[i + (e + 1) % 3];
+				edges.merge(edge, 1, Integer::sum);
+			}
+		}
+
+		for (Map.Entry<Long, Integer> entry : edges.entrySet()) {
+			long reverse = (entry.getKey() << 32) | (entry.getKey() >>> 32);
+			assertEquals(edges.get(reverse), entry.getValue(), "Edge has a twin");
+		}
+	}
+
+	/**
+	 * Sums the triangle areas and checks the winding of triangles larger than minCheckedArea matches the vertex normals
+	 */
+	protected static float getArea(PCGVoxelMeshData data, float minCheckedArea)
+	{
+		int[] indices = data.getIndices();
+		float area = 0.0f;
+
+		for (int i = 0; i < indices.length; i += 3) {
+			Vector3f a = getPosition(data, indices[i]);
+			Vector3f ab = getPosition(data, indices[i + 1]).sub(a);
+			Vector3f ac = getPosition(data, indices[i + 2]).sub(a);
+			Vector3f cross = ab.cross(ac);
+
+			float triangleArea = cross.length() * 0.5f;
+
+			if (triangleArea > minCheckedArea) {
+				assertTrue(cross.dot(getNormal(data, indices[i])) > 0.0f, "Triangle is counter clockwise seen from its normal");
+			}
+
+			area += triangleArea;
+		}
+
+		return area;
+	}
+
+	@Test
+	public void sphereIsClosedAndRound()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(1);
+		sdf.addSphere(-3.0f, 2.0f, 1.0f, 5.0f);
+
+		PCGSDFMesher mesher = new PCGSDFMesher(0.5f);
+		// Small chunks so the surface crosses many chunk borders
+		mesher.setChunkCells(4);
+
+		PCGVoxelMeshData data = mesher.mesh(sdf, new Vector3f(-10.0f, -5.0f, -6.0f), new Vector3f(4.0f, 9.0f, 8.0f));
+		Vector3f center = new Vector3f(-3.0f, 2.0f, 1.0f);
+
+		assertTrue(data.getTriangleCount() > 1000, "Enough triangles");
+		assertClosed(data);
+
+		for (int v = 0; v < data.getVertexCount(); ++v) {
+			Vector3f position = getPosition(data, v);
+			Vector3f radial = new Vector3f(position).sub(center);
+
+			assertEquals(radial.length(), 5.0f, 0.1f, "Vertex on the surface");
+			assertTrue(radial.normalize().dot(getNormal(data, v)) > 0.99f, "Normal points outwards");
+		}
+
+		// Surfaces through grid points create some degenerate triangles
+		assertEquals(getArea(data, 1.0e-6f), 4.0f * (float) Math.PI * 25.0f, 4.0f * (float) Math.PI * 25.0f * 0.05f);
+	}
+
+	@Test
+	public void chunksAndThreadsDoNotChangeTheResult()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(3);
+		sdf.addSphere(0.0f, 0.0f, 0.0f, 3.0f);
+		sdf.addSphere(3.5f, 1.0f, 0.0f, 2.0f);
+		sdf.addSphere(-2.0f, -2.5f, 1.0f, 1.5f);
+
+		Vector3f min = new Vector3f(-6.0f, -6.0f, -6.0f);
+		Vector3f max = new Vector3f(7.0f, 6.0f, 6.0f);
+
+		PCGSDFMesher single = new PCGSDFMesher(0.25f);
+		single.setChunkCells(1000);
+		PCGVoxelMeshData expected = single.mesh(sdf, min, max);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			PCGSDFMesher chunked = new PCGSDFMesher(0.25f);
+			chunked.setChunkCells(7);
+			chunked.setExecutor(executor);
+			PCGVoxelMeshData actual = chunked.mesh(sdf, min, max);
+
+			assertEquals(actual.getVertexCount(), expected.getVertexCount());
+			assertEquals(actual.getTriangleCount(), expected.getTriangleCount());
+			// Surface nets fold small triangles where the spheres meet
+			float minCheckedArea = 0.1f * 0.25f * 0.25f;
+			assertEquals(getArea(actual, minCheckedArea), getArea(expected, minCheckedArea), 0.01f);
+			assertClosed(actual);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void isoLevelGrowsTheSurface()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(1);
+		sdf.addSphere(0.0f, 0.0f, 0.0f, 2.0f);
+
+		PCGSDFMesher mesher = new PCGSDFMesher(0.25f);
+		mesher.setIsoLevel(1.0f);
+
+		PCGVoxelMeshData data = mesher.mesh(sdf, new Vector3f(-4.0f), new Vector3f(4.0f));
+
+		for (int v = 0; v < data.getVertexCount(); ++v) {
+			assertEquals(getPosition(data, v).length(), 3.0f, 0.05f);
+		}
+	}
+
+	@Test
+	public void emptyAndClippedSurfaces()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(1);
+		sdf.addSphere(0.0f, 0.0f, 0.0f, 2.0f);
+
+		PCGSDFMesher mesher = new PCGSDFMesher(0.5f);
+
+		assertEquals(mesher.mesh(sdf, new Vector3f(10.0f), new Vector3f(14.0f)).getTriangleCount(), 0);
+		assertEquals(mesher.mesh(sdf, new Vector3f(-1.0f), new Vector3f(1.0f)).getTriangleCount(), 0);
+
+		// Only the upper half is inside the bounds
+		PCGVoxelMeshData half = mesher.mesh(sdf, new Vector3f(-3.0f, 0.25f, -3.0f), new Vector3f(3.0f));
+		assertTrue(half.getTriangleCount() > 0, "Upper half is meshed");
+		assertTrue(half.getBounds().min.y >= 0.25f, "Nothing below the bounds");
+	}
+}
@@ -0,0 +1,167 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.sdf;
+
+import java.util.Random;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class StandardPCGSDFNGTest
+{
+
+	protected final static float EPSILON = 0.0001f;
+
+	protected static float bruteForceMin(float[] spheres, int count, float x, float y, float z, float maxDistance)
+	{
+		float sqDistance = maxDistance * maxDistance;
+
+		for (int i = 0; i < count * 4; i += 4) {
+			float dX = spheres[i] - x;
+			float dY = spheres[i + 1] - y;
+			float dZ = spheres[i + 2] - z;
+			float sSQR = spheres[i + 3] * spheres[i + 3];
+
+			float sqD = dX * dX + dY * dY + dZ * dZ;
+
+			if (sqD < sSQR) {
+				return 0.0f;
+			}
+
+			sqDistance = Math.min(sqDistance, sqD - sSQR);
+		}
+
+		return (float) Math.sqrt(sqDistance);
+	}
+
+	protected static float bruteForceDistance(float[] spheres, int count, float x, float y, float z, float maxDistance)
+	{
+		float distance = maxDistance;
+
+		for (int i = 0; i < count * 4; i += 4) {
+			float dX = spheres[i] - x;
+			float dY = spheres[i + 1] - y;
+			float dZ = spheres[i + 2] - z;
+
+			distance = Math.min(distance, (float) Math.sqrt(dX * dX + dY * dY + dZ * dZ) - spheres[i + 3]);
+		}
+
+		return distance;
+	}
+
+	@Test
+	public void matchesBruteForceIncludingNegativeCoordinates()
+	{
+		Random random = new Random(42);
+		int count = 2000;
+		StandardPCGSDF sdf = new StandardPCGSDF(count);
+		float[] spheres = new float[count * 4];
+
+		for (int i = 0; i < count; ++i) {
+			spheres[i * 4] = random.nextFloat() * 400.0f - 200.0f;
+			spheres[i * 4 + 1] = random.nextFloat() * 100.0f - 50.0f;
+			spheres[i * 4 + 2] = random.nextFloat() * 400.0f - 200.0f;
+			// Mostly small spheres which the old bucketing never registered
+			spheres[i * 4 + 3] = (random.nextInt(10) == 0) ? random.nextFloat() * 20.0f : random.nextFloat() * 0.9f;
+			sdf.addSphere(spheres[i * 4], spheres[i * 4 + 1], spheres[i * 4 + 2], spheres[i * 4 + 3]);
+		}
+
+		for (int i = 0; i < 20000; ++i) {
+			float x = random.nextFloat() * 440.0f - 220.0f;
+			float y = random.nextFloat() * 140.0f - 70.0f;
+			float z = random.nextFloat() * 440.0f - 220.0f;
+
+			float expected = bruteForceMin(spheres, count, x, y, z, sdf.getChunkSize());
+
+			assertEquals(sdf.getMin(x, y, z), expected, EPSILON, "getMin(" + x + ", " + y + ", " + z + ")");
+		}
+	}
+
+	@Test
+	public void smallSpheresAreRegistered()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(1);
+		sdf.addSphere(-8.5f, 8.25f, 7.0f, 0.5f);
+
+		assertEquals(sdf.getMin(-8.5f, 8.25f, 7.0f), 0.0f);
+		assertEquals(sdf.getMin(-8.5f, 8.25f, 9.0f), (float) Math.sqrt(4.0f - 0.25f), EPSILON);
+		assertEquals(sdf.getChunkCount(), 1);
+	}
+
+	@Test
+	public void chunksAreAllocatedOnlyWhereSpheresAre()
+	{
+		StandardPCGSDF sdf = new StandardPCGSDF(2);
+
+		// Far apart - beyond the 64 chunks the old ids could address
+		sdf.addSphere(10008.0f, 8.0f, 8.0f, 1.0f);
+		sdf.addSphere(-10008.0f, 8.0f, 8.0f, 1.0f);
+
+		assertEquals(sdf.getChunkCount(), 2);
+		assertEquals(sdf.getMin(10008.0f, 8.0f, 8.0f), 0.0f);
+		assertEquals(sdf.getMin(-10008.0f, 8.0f, 8.0f), 0.0f);
+		assertEquals(sdf.getMin(0.0f, 8.0f, 8.0f), sdf.getChunkSize());
+		assertTrue(sdf.getMin(10011.0f, 8.0f, 8.0f) > 0.0f);
+	}
+
+	@Test
+	public void distanceMatchesBruteForce()
+	{
+		Random random = new Random(17);
+		int count = 1000;
+		StandardPCGSDF sdf = new StandardPCGSDF(count);
+		float[] spheres = new float[count * 4];
+
+		for (int i = 0; i < count; ++i) {
+			spheres[i * 4] = random.nextFloat() * 200.0f - 100.0f;
+			spheres[i * 4 + 1] = random.nextFloat() * 50.0f - 25.0f;
+			spheres[i * 4 + 2] = random.nextFloat() * 200.0f - 100.0f;
+			spheres[i * 4 + 3] = (random.nextInt(10) == 0) ? random.nextFloat() * 12.0f : random.nextFloat() * 2.0f;
+			sdf.addSphere(spheres[i * 4], spheres[i * 4 + 1], spheres[i * 4 + 2], spheres[i * 4 + 3]);
+		}
+
+		int inside = 0;
+		for (int i = 0; i < 20000; ++i) {
+			float x = random.nextFloat() * 240.0f - 120.0f;
+			float y = random.nextFloat() * 90.0f - 45.0f;
+			float z = random.nextFloat() * 240.0f - 120.0f;
+
+			float expected = bruteForceDistance(spheres, count, x, y, z, sdf.getChunkSize());
+
+			assertEquals(sdf.getDistance(x, y, z), expected, 0.001f, "getDistance(" + x + ", " + y + ", " + z + ")");
+
+			if (expected < 0.0f) {
+				inside++;
+			}
+		}
+
+		assertTrue(inside > 0, "Some positions are inside");
+	}
+}
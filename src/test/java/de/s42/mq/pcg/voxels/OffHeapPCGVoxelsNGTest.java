@@ -0,0 +1,163 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.joml.Vector3f;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class OffHeapPCGVoxelsNGTest
+{
+
+	protected static void fillRandom(PCGVoxels voxels, long seed)
+	{
+		Random random = new Random(seed);
+
+		for (int i = 0; i < voxels.getCount(); ++i) {
+			voxels.set(i, random.nextInt(4) == 0 ? random.nextInt(3) + 1 : 0);
+		}
+	}
+
+	@Test
+	public void matchesStandardVoxels()
+	{
+		// 256 ints per page so slices and rows span pages
+		try (OffHeapPCGVoxels voxels = new OffHeapPCGVoxels(13, 9, 11, new Vector3f(1.0f, 2.0f, 3.0f), 8)) {
+			StandardPCGVoxels expected = new StandardPCGVoxels(13, 9, 11, new Vector3f(1.0f, 2.0f, 3.0f));
+
+			fillRandom(voxels, 42);
+			fillRandom(expected, 42);
+
+			for (int x = 0; x < 13; ++x) {
+				for (int y = 0; y < 9; ++y) {
+					for (int z = 0; z < 11; ++z) {
+						assertEquals(voxels.getIndex(x, y, z), expected.getIndex(x, y, z));
+						assertEquals(voxels.get(x, y, z), expected.get(x, y, z));
+					}
+				}
+			}
+
+			// All process paths write back
+			voxels.process((PCGVoxels processed, int[] data) -> data[processed.getIndex(1, 2, 3)] = 9);
+			expected.set(1, 2, 3, 9);
+
+			// Dense indices - neighbours are read at the offset index in visiting order
+			PCGVoxelPositionProcessor neighbours = (data, x, y, z, index) -> {
+				if (z < 10.0f && data[index] == 0) {
+					data[index] = StandardPCGVoxels.retrieveOffsetValue(expected, data, index, 0, 0, 1);
+				}
+			};
+			voxels.process(neighbours);
+			expected.process(neighbours);
+
+			voxels.processChunks((data, x, y, z, index) -> {
+				if (x == 4) {
+					data[index] = y;
+				}
+			});
+			for (int y = 0; y < 9; ++y) {
+				for (int z = 0; z < 11; ++z) {
+					expected.set(4, y, z, y);
+				}
+			}
+
+			for (int i = 0; i < expected.getCount(); ++i) {
+				assertEquals(voxels.get(i), expected.get(i), "Voxel " + i);
+			}
+
+			// The mesher reads through get
+			PCGVoxelMesher mesher = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL);
+			List<PCGVoxelMeshData> meshes = mesher.mesh(voxels);
+			List<PCGVoxelMeshData> expectedMeshes = mesher.mesh(expected);
+
+			assertEquals(meshes.size(), expectedMeshes.size());
+			for (int i = 0; i < meshes.size(); ++i) {
+				assertEquals(meshes.get(i).getVertices(), expectedMeshes.get(i).getVertices());
+				assertEquals(meshes.get(i).getIndices(), expectedMeshes.get(i).getIndices());
+			}
+		}
+	}
+
+	@Test
+	public void writeAndMap() throws IOException
+	{
+		Path file = Files.createTempFile("pcg-voxels", ".mqpv");
+
+		try {
+			try (OffHeapPCGVoxels voxels = new OffHeapPCGVoxels(32, 16, 8, new Vector3f(-1.0f, 0.0f, 1.0f))) {
+				fillRandom(voxels, 7);
+				voxels.write(file);
+
+				try (OffHeapPCGVoxels mapped = OffHeapPCGVoxels.map(file, false)) {
+
+					assertEquals(mapped.getWidth(), 32);
+					assertEquals(mapped.getHeight(), 16);
+					assertEquals(mapped.getDepth(), 8);
+					assertEquals(mapped.getOrigin(), new Vector3f(-1.0f, 0.0f, 1.0f));
+
+					for (int i = 0; i < voxels.getCount(); ++i) {
+						assertEquals(mapped.get(i), voxels.get(i), "Voxel " + i);
+					}
+
+					// The pages hold the file content as is
+					assertEquals(mapped.getStorage().getPage(0).getInt(4 * 5), voxels.get(5));
+				}
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void getDataCopiesTheVoxels()
+	{
+		try (OffHeapPCGVoxels voxels = new OffHeapPCGVoxels(13, 9, 11, new Vector3f(), 8)) {
+			StandardPCGVoxels expected = new StandardPCGVoxels(13, 9, 11, new Vector3f());
+
+			fillRandom(voxels, 3);
+			fillRandom(expected, 3);
+
+			PCGVoxels untyped = voxels;
+			int[] data = untyped.getData();
+
+			assertEquals(data, expected.getData());
+
+			// A copy does not write through
+			data[0] = 7;
+			assertEquals(voxels.get(0), expected.get(0));
+		}
+	}
+}
@@ -0,0 +1,180 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import de.s42.mq.util.AABB;
+import java.util.List;
+import java.util.Random;
+import org.joml.Vector3f;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class PCGVoxelMesherNGTest
+{
+
+	protected final static float EPSILON = 0.0001f;
+
+	protected static int countExposedFaces(StandardPCGVoxels voxels)
+	{
+		int[][] directions = {{1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}};
+		int faces = 0;
+
+		for (int x = 0; x < voxels.getWidth(); ++x) {
+			for (int y = 0; y < voxels.getHeight(); ++y) {
+				for (int z = 0; z < voxels.getDepth(); ++z) {
+
+					if (voxels.get(x, y, z) == 0) {
+						continue;
+					}
+
+					for (int[] d : directions) {
+						int nX = x + d[0];
+						int nY = y + d[1];
+						int nZ = z + d[2];
+
+						if (nX < 0 || nY < 0 || nZ < 0
+							|| nX >= voxels.getWidth() || nY >= voxels.getHeight() || nZ >= voxels.getDepth()
+							|| voxels.get(nX, nY, nZ) == 0) {
+							faces++;
+						}
+					}
+				}
+			}
+		}
+
+		return faces;
+	}
+
+	/**
+	 * Sums the triangle areas and checks the winding matches the stored normals
+	 */
+	protected static float getArea(PCGVoxelMeshData data)
+	{
+		float[] vertices = data.getVertices();
+		int[] indices = data.getIndices();
+		float area = 0.0f;
+
+		for (int i = 0; i < indices.length; i += 3) {
+			int a = indices[i] * PCGVoxelMeshData.VERTEX_SIZE;
+			int b = indices[i + 1] * PCGVoxelMeshData.VERTEX_SIZE;
+			int c = indices[i + 2] * PCGVoxelMeshData.VERTEX_SIZE;
+
+			Vector3f pA = new Vector3f(vertices[a], vertices[a + 1], vertices[a + 2]);
+			Vector3f ab = new Vector3f(vertices[b], vertices[b + 1], vertices[b + 2]).sub(pA);
+			Vector3f ac = new Vector3f(vertices[c], vertices[c + 1], vertices[c + 2]).sub(pA);
+			Vector3f cross = ab.cross(ac);
+			Vector3f normal = new Vector3f(vertices[a + 3], vertices[a + 4], vertices[a + 5]);
+
+			assertTrue(cross.dot(normal) > 0.0f, "Triangle is counter clockwise seen from its normal");
+
+			area += cross.length() * 0.5f;
+		}
+
+		return area;
+	}
+
+	@Test
+	public void singleVoxelIsCube()
+	{
+		StandardPCGVoxels voxels = new StandardPCGVoxels(3, 3, 3, new Vector3f());
+		voxels.set(1, 1, 1, 5);
+
+		List<PCGVoxelMeshData> meshes = new PCGVoxelMesher().mesh(voxels);
+
+		assertEquals(meshes.size(), 1);
+		PCGVoxelMeshData data = meshes.get(0);
+		assertEquals(data.getMaterialId(), 0);
+		assertEquals(data.getVertexCount(), 24);
+		assertEquals(data.getTriangleCount(), 12);
+		assertEquals(getArea(data), 6.0f, EPSILON);
+
+		AABB bounds = data.getBounds();
+		assertEquals(bounds.min, new Vector3f(0.5f, 0.5f, 0.5f));
+		assertEquals(bounds.max, new Vector3f(1.5f, 1.5f, 1.5f));
+	}
+
+	@Test
+	public void filledBoxIsMergedToSixQuads()
+	{
+		StandardPCGVoxels voxels = new StandardPCGVoxels(7, 4, 5, new Vector3f());
+		for (int i = 0; i < voxels.getCount(); ++i) {
+			voxels.set(i, 1);
+		}
+
+		PCGVoxelMeshData data = new PCGVoxelMesher().mesh(voxels).get(0);
+
+		assertEquals(data.getTriangleCount(), 12);
+		assertEquals(getArea(data), 2.0f * (7 * 4 + 4 * 5 + 7 * 5), EPSILON);
+	}
+
+	@Test
+	public void valuesAsMaterialsSplitMeshes()
+	{
+		StandardPCGVoxels voxels = new StandardPCGVoxels(2, 1, 1, new Vector3f());
+		voxels.set(0, 0, 0, 3);
+		voxels.set(1, 0, 0, 1);
+
+		List<PCGVoxelMeshData> meshes = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(voxels);
+
+		// Sorted by material id and the shared face is culled
+		assertEquals(meshes.size(), 2);
+		assertEquals(meshes.get(0).getMaterialId(), 1);
+		assertEquals(meshes.get(1).getMaterialId(), 3);
+		assertEquals(getArea(meshes.get(0)), 5.0f, EPSILON);
+		assertEquals(getArea(meshes.get(1)), 5.0f, EPSILON);
+
+		// Single material merges across values
+		PCGVoxelMeshData single = new PCGVoxelMesher().mesh(voxels).get(0);
+		assertEquals(single.getTriangleCount(), 12);
+	}
+
+	@Test
+	public void randomVolumeCoversAllExposedFaces()
+	{
+		Random random = new Random(7);
+		StandardPCGVoxels voxels = new StandardPCGVoxels(16, 12, 9, new Vector3f());
+		for (int i = 0; i < voxels.getCount(); ++i) {
+			voxels.set(i, (random.nextInt(3) == 0) ? 0 : 1 + random.nextInt(2));
+		}
+
+		int exposedFaces = countExposedFaces(voxels);
+
+		PCGVoxelMeshData single = new PCGVoxelMesher().mesh(voxels).get(0);
+		assertEquals(getArea(single), exposedFaces, EPSILON);
+		assertTrue(single.getTriangleCount() < exposedFaces * 2, "Faces got merged");
+
+		float area = 0.0f;
+		for (PCGVoxelMeshData data : new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(voxels)) {
+			area += getArea(data);
+		}
+		assertEquals(area, exposedFaces, EPSILON);
+	}
+}
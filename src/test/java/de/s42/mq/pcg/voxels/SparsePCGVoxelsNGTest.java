@@ -0,0 +1,358 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.pcg.voxels;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class SparsePCGVoxelsNGTest
+{
+
+	/**
+	 * Fills a few boxes with random values and clears parts again
+	 */
+	protected static void fill(Random random, PCGVoxels... targets)
+	{
+		int width = targets[0].getWidth();
+		int height = targets[0].getHeight();
+		int depth = targets[0].getDepth();
+
+		for (int box = 0; box < 12; ++box) {
+
+			int minX = random.nextInt(width);
+			int minY = random.nextInt(height);
+			int minZ = random.nextInt(depth);
+			int maxX = Math.min(width, minX + 1 + random.nextInt(20));
+			int maxY = Math.min(height, minY + 1 + random.nextInt(20));
+			int maxZ = Math.min(depth, minZ + 1 + random.nextInt(20));
+			boolean noise = random.nextBoolean();
+			int value = (box % 4 == 3) ? 0 : 1 + random.nextInt(5);
+
+			for (int x = minX; x < maxX; ++x) {
+				for (int y = minY; y < maxY; ++y) {
+					for (int z = minZ; z < maxZ; ++z) {
+						int v = noise ? random.nextInt(40) : value;
+						for (PCGVoxels target : targets) {
+							target.set(x, y, z, v);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	protected static void assertSame(SparsePCGVoxels sparse, StandardPCGVoxels dense)
+	{
+		assertEquals(sparse.toArray(), dense.getData());
+
+		for (int i = 0; i < dense.getCount(); ++i) {
+			assertEquals(sparse.get(i), dense.get(i), "Voxel " + i);
+		}
+	}
+
+	@Test
+	public void matchesDense()
+	{
+		Random random = new Random(11);
+		StandardPCGVoxels dense = new StandardPCGVoxels(37, 21, 50, new Vector3f());
+		SparsePCGVoxels sparse = new SparsePCGVoxels(37, 21, 50, new Vector3f());
+
+		fill(random, dense, sparse);
+
+		assertSame(sparse, dense);
+
+		for (int x = 0; x < dense.getWidth(); ++x) {
+			for (int y = 0; y < dense.getHeight(); ++y) {
+				for (int z = 0; z < dense.getDepth(); ++z) {
+					assertEquals(sparse.get(x, y, z), dense.get(x, y, z));
+					assertEquals(sparse.getIndex(x, y, z), dense.getIndex(x, y, z));
+				}
+			}
+		}
+
+		// Neighbours use the dense index math
+		int[] data = dense.getData();
+		for (int i = 0; i < 2000; ++i) {
+			int offX = random.nextInt(3) - 1;
+			int offY = random.nextInt(3) - 1;
+			int offZ = random.nextInt(3) - 1;
+			int index = dense.getIndex(1 + random.nextInt(35), 1 + random.nextInt(19), 1 + random.nextInt(48));
+
+			assertEquals(
+				SparsePCGVoxels.retrieveOffsetValue(sparse, index, offX, offY, offZ),
+				StandardPCGVoxels.retrieveOffsetValue(dense, data, index, offX, offY, offZ)
+			);
+		}
+	}
+
+	@Test
+	public void chunksCollapse()
+	{
+		SparsePCGVoxels sparse = new SparsePCGVoxels(32, 16, 16, new Vector3f());
+
+		assertEquals(sparse.getChunkCount(), 2);
+		assertEquals(sparse.getNonEmptyChunkCount(), 0);
+
+		// Fill the first chunk - it becomes uniform and needs no palette
+		for (int x = 0; x < 16; ++x) {
+			for (int y = 0; y < 16; ++y) {
+				for (int z = 0; z < 16; ++z) {
+					sparse.set(x, y, z, 7);
+				}
+			}
+		}
+
+		assertEquals(sparse.getNonEmptyChunkCount(), 1);
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+		assertEquals(sparse.getMemorySize(), 0);
+		assertEquals(sparse.get(15, 15, 15), 7);
+		assertEquals(sparse.get(16, 0, 0), 0);
+
+		sparse.set(3, 4, 5, 2);
+		assertEquals(sparse.getPaletteChunkCount(), 1);
+		assertEquals(sparse.get(3, 4, 5), 2);
+
+		sparse.set(3, 4, 5, 7);
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+
+		// Clearing drops the chunk
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			sparse.set(i, 0);
+		}
+		assertEquals(sparse.getNonEmptyChunkCount(), 0);
+	}
+
+	@Test
+	public void edgeChunksCollapse()
+	{
+		// Most chunks extend past the borders
+		SparsePCGVoxels sparse = new SparsePCGVoxels(37, 21, 50, new Vector3f());
+
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			sparse.set(i, 3);
+		}
+
+		assertEquals(sparse.getNonEmptyChunkCount(), sparse.getChunkCount());
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+		assertEquals(sparse.getMemorySize(), 0);
+
+		sparse.set(36, 20, 49, 4);
+		assertEquals(sparse.getPaletteChunkCount(), 1);
+
+		sparse.set(36, 20, 49, 0);
+		sparse.set(36, 20, 49, 3);
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+
+		// Clearing drops the edge chunks
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			sparse.set(i, 0);
+		}
+		assertEquals(sparse.getNonEmptyChunkCount(), 0);
+	}
+
+	@Test
+	public void singleVoxelEdgeChunksCollapse()
+	{
+		// The corner chunk holds just one voxel inside the volume
+		SparsePCGVoxels sparse = new SparsePCGVoxels(17, 17, 17, new Vector3f());
+
+		sparse.set(16, 16, 16, 5);
+		assertEquals(sparse.get(16, 16, 16), 5);
+		assertEquals(sparse.getNonEmptyChunkCount(), 1);
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+
+		sparse.set(16, 16, 16, 6);
+		assertEquals(sparse.get(16, 16, 16), 6);
+		assertEquals(sparse.getPaletteChunkCount(), 0);
+
+		sparse.set(16, 16, 16, 0);
+		assertEquals(sparse.getNonEmptyChunkCount(), 0);
+	}
+
+	@Test
+	public void paletteGrows()
+	{
+		SparsePCGVoxels sparse = new SparsePCGVoxels(16, 16, 16, new Vector3f());
+
+		// Every voxel gets its own value - 4096 values need 16 bits per voxel
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			sparse.set(i, i * 31 + 1);
+		}
+
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			assertEquals(sparse.get(i), i * 31 + 1);
+		}
+
+		// Freed palette entries are reused
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			sparse.set(i, (i % 3 == 0) ? -5 : i * 31 + 1);
+		}
+
+		for (int i = 0; i < sparse.getCount(); ++i) {
+			assertEquals(sparse.get(i), (i % 3 == 0) ? -5 : i * 31 + 1);
+		}
+	}
+
+	@Test
+	public void processorsMatchDense()
+	{
+		Random random = new Random(5);
+		StandardPCGVoxels dense = new StandardPCGVoxels(20, 33, 17, new Vector3f());
+		SparsePCGVoxels sparse = new SparsePCGVoxels(20, 33, 17, new Vector3f());
+
+		fill(random, dense, sparse);
+
+		PCGVoxelPositionProcessor positionProcessor = (data, x, y, z, index) -> {
+			if (y > 10.0f && data[index] == 0) {
+				data[index] = (int) (x + z);
+			}
+		};
+
+		dense.process(positionProcessor);
+		sparse.process(positionProcessor);
+		assertSame(sparse, dense);
+
+		// Neighbours are read at the dense offset index in visiting order
+		PCGVoxelPositionProcessor neighbourProcessor = (data, x, y, z, index) -> {
+			if (x > 0.0f && y < 32.0f && data[index] == 0) {
+				data[index] = StandardPCGVoxels.retrieveOffsetValue(dense, data, index, -1, 1, 0);
+			}
+		};
+
+		dense.process(neighbourProcessor);
+		sparse.process(neighbourProcessor);
+		assertSame(sparse, dense);
+
+		// Chunk windows with the position in the volume
+		PCGVoxelChunkProcessor chunkProcessor = (data, x, y, z, index) -> {
+			data[index] += x + y * z;
+		};
+
+		dense.process((data, x, y, z, index) -> {
+			data[index] += (int) x + (int) y * (int) z;
+		});
+		sparse.processChunks(chunkProcessor);
+		assertSame(sparse, dense);
+
+		PCGVoxelProcessor processor = (voxels, data) -> {
+			for (int i = 0; i < data.length; ++i) {
+				data[i] = data[i] % 3;
+			}
+		};
+
+		dense.process(processor);
+		sparse.process(processor);
+		assertSame(sparse, dense);
+	}
+
+	@Test
+	public void processNonEmptyChunksSkipsEmptyChunks()
+	{
+		SparsePCGVoxels sparse = new SparsePCGVoxels(64, 64, 64, new Vector3f());
+
+		sparse.set(1, 2, 3, 4);
+		sparse.set(40, 50, 60, 9);
+
+		int[] visited = new int[1];
+		int[] sum = new int[1];
+		sparse.processNonEmptyChunks((data, x, y, z, index) -> {
+			visited[0]++;
+			sum[0] += data[index];
+		});
+
+		assertEquals(visited[0], 2 * SparsePCGVoxels.CHUNK_VOLUME);
+		assertEquals(sum[0], 13);
+		assertTrue(sparse.getMemorySize() < sparse.getCount(), "Far smaller than a dense int array");
+	}
+
+	@Test
+	public void meshesLikeDense()
+	{
+		Random random = new Random(3);
+		StandardPCGVoxels dense = new StandardPCGVoxels(24, 18, 30, new Vector3f());
+		SparsePCGVoxels sparse = new SparsePCGVoxels(24, 18, 30, new Vector3f());
+
+		fill(random, dense, sparse);
+
+		List<PCGVoxelMeshData> expected = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(dense);
+		List<PCGVoxelMeshData> actual = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(sparse);
+
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(actual.get(i).getMaterialId(), expected.get(i).getMaterialId());
+			assertTrue(Arrays.equals(actual.get(i).getVertices(), expected.get(i).getVertices()));
+			assertEquals(actual.get(i).getIndices(), expected.get(i).getIndices());
+		}
+	}
+
+	@Test
+	public void meshesFilledBoundsLikeDense()
+	{
+		StandardPCGVoxels dense = new StandardPCGVoxels(64, 48, 80, new Vector3f());
+		SparsePCGVoxels sparse = new SparsePCGVoxels(64, 48, 80, new Vector3f());
+
+		Vector3i min = new Vector3i();
+		Vector3i max = new Vector3i();
+		assertFalse(sparse.getFilledBounds(min, max));
+
+		// A blob across chunk borders away from the volume borders
+		for (int x = 30; x < 36; ++x) {
+			for (int y = 20; y < 23; ++y) {
+				for (int z = 45; z < 60; ++z) {
+					dense.set(x, y, z, 1 + (x + z) % 2);
+					sparse.set(x, y, z, 1 + (x + z) % 2);
+				}
+			}
+		}
+
+		assertTrue(sparse.getFilledBounds(min, max));
+		assertEquals(min, new Vector3i(16, 16, 32));
+		assertEquals(max, new Vector3i(48, 32, 64));
+
+		List<PCGVoxelMeshData> expected = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(dense);
+		List<PCGVoxelMeshData> actual = new PCGVoxelMesher(PCGVoxelMesher.VALUE_AS_MATERIAL).mesh(sparse);
+
+		assertEquals(actual.size(), expected.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(actual.get(i).getMaterialId(), expected.get(i).getMaterialId());
+			assertTrue(Arrays.equals(actual.get(i).getVertices(), expected.get(i).getVertices()));
+			assertEquals(actual.get(i).getIndices(), expected.get(i).getIndices());
+		}
+
+		assertTrue(new PCGVoxelMesher().mesh(new SparsePCGVoxels(20, 20, 20, new Vector3f())).isEmpty());
+	}
+}
@@ -0,0 +1,205 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.List;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class GLStateNGTest
+{
+
+	@Test
+	public void redundantCallsAreSkipped()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.enable(GL_DEPTH_TEST);
+		state.enable(GL_DEPTH_TEST);
+		state.useProgram(3);
+		state.useProgram(3);
+		state.depthFunc(GL_LESS);
+		state.depthFunc(GL_LESS);
+		state.depthMask(true);
+		state.depthMask(true);
+		state.blendFunc(GL_ONE, GL_ZERO);
+		state.blendFunc(GL_ONE, GL_ZERO);
+		state.cullFace(GL_BACK);
+		state.cullFace(GL_BACK);
+		state.polygonMode(GL_FILL);
+		state.polygonMode(GL_FILL);
+		state.disable(GL_DEPTH_TEST);
+
+		assertEquals(backend.getCalls(), List.of(
+			"enable " + GL_DEPTH_TEST,
+			"useProgram 3",
+			"depthFunc " + GL_LESS,
+			"depthMask true",
+			"blendFunc " + GL_ONE + " " + GL_ZERO,
+			"cullFace " + GL_BACK,
+			"polygonMode " + GL_FRONT_AND_BACK + " " + GL_FILL,
+			"disable " + GL_DEPTH_TEST
+		));
+		assertEquals(state.getIssuedCount(), 8);
+		assertEquals(state.getSkippedCount(), 7);
+	}
+
+	@Test
+	public void textureBindingsAreTrackedPerUnit()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.bindTexture(0, GL_TEXTURE_2D, 10);
+		state.bindTexture(1, GL_TEXTURE_2D, 11);
+		state.bindTexture(0, GL_TEXTURE_2D, 10);
+		state.bindTexture(1, GL_TEXTURE_CUBE_MAP, 12);
+		state.bindTexture(1, GL_TEXTURE_2D, 11);
+
+		assertEquals(backend.getCalls(), List.of(
+			"activeTexture " + GL_TEXTURE0,
+			"bindTexture " + GL_TEXTURE_2D + " 10",
+			"activeTexture " + (GL_TEXTURE0 + 1),
+			"bindTexture " + GL_TEXTURE_2D + " 11",
+			"bindTexture " + GL_TEXTURE_CUBE_MAP + " 12"
+		));
+	}
+
+	@Test
+	public void deletingUnbindsTextures()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.bindTexture(2, GL_TEXTURE_2D, 7);
+		state.deleteTexture(7);
+		backend.clear();
+
+		// The id may be reused by a new texture - it has to be bound again
+		state.bindTexture(2, GL_TEXTURE_2D, 7);
+
+		assertEquals(backend.getCalls(), List.of("bindTexture " + GL_TEXTURE_2D + " 7"));
+	}
+
+	@Test
+	public void resetIssuesTheNextCalls()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.useProgram(1);
+		state.enable(GL_CULL_FACE);
+		state.reset();
+		state.useProgram(1);
+		state.enable(GL_CULL_FACE);
+
+		assertEquals(backend.getCalls().size(), 4);
+	}
+
+	@Test
+	public void unknownActiveUnitIsNotCached()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.bindTexture(GL_TEXTURE_2D, 5);
+		state.bindTexture(GL_TEXTURE_2D, 5);
+
+		assertEquals(backend.getCalls().size(), 2, "Without a known active unit every bind is issued");
+
+		state.activeTexture(0);
+		state.bindTexture(GL_TEXTURE_2D, 5);
+		state.bindTexture(GL_TEXTURE_2D, 5);
+
+		assertEquals(backend.getCalls().size(), 4);
+	}
+
+	@Test
+	public void blendPerDrawBuffer()
+	{
+		RecordingGLStateBackend backend = new RecordingGLStateBackend();
+		GLState state = new GLState(backend);
+
+		state.setBlendEnabled(0, true);
+		state.setBlendEnabled(0, true);
+		state.setBlendEnabled(1, false);
+
+		// Enabling for all buffers is issued even if buffer 0 is enabled already
+		state.enable(GL_BLEND);
+		state.setBlendEnabled(1, true);
+
+		assertEquals(backend.getCalls(), List.of(
+			"enablei " + GL_BLEND + " 0",
+			"disablei " + GL_BLEND + " 1",
+			"enable " + GL_BLEND
+		));
+	}
+
+	@Test
+	public void countsPerFrame()
+	{
+		GLState state = new GLState(new RecordingGLStateBackend());
+
+		state.useProgram(1);
+		state.useProgram(1);
+		state.endFrame();
+
+		assertEquals(state.getLastFrameIssuedCount(), 1);
+		assertEquals(state.getLastFrameSkippedCount(), 1);
+		assertEquals(state.getIssuedCount(), 0);
+		assertEquals(state.getSkippedCount(), 0);
+	}
+
+	@Test
+	public void currentIsPerThread() throws InterruptedException
+	{
+		GLState state = new GLState(new RecordingGLStateBackend());
+		GLState.setCurrent(state);
+
+		assertSame(GLState.current(), state);
+
+		GLState[] other = new GLState[1];
+		Thread thread = new Thread(() -> {
+			GLState.setCurrent(new GLState(new RecordingGLStateBackend()));
+			other[0] = GLState.current();
+		});
+		thread.start();
+		thread.join();
+
+		assertTrue(other[0] != state, "Other threads have their own state");
+		assertSame(GLState.current(), state);
+	}
+}
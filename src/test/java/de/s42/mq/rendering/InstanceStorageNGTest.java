@@ -0,0 +1,180 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class InstanceStorageNGTest
+{
+
+	protected final static int INSTANCE_SIZE = 4;
+
+	protected static float[] values(float value)
+	{
+		return new float[]{value, value + 1.0f, value + 2.0f, value + 3.0f};
+	}
+
+	protected static List<int[]> flush(InstanceStorage storage, int region, int mergeGap)
+	{
+		List<int[]> ranges = new ArrayList<>();
+
+		storage.flush(region, mergeGap, (firstSlot, slotCount) -> {
+			ranges.add(new int[]{firstSlot, slotCount});
+		});
+
+		return ranges;
+	}
+
+	@Test
+	public void unchangedValuesAreNotDirty()
+	{
+		InstanceStorage storage = new InstanceStorage(INSTANCE_SIZE, 1);
+
+		int a = storage.allocate();
+		int b = storage.allocate();
+		storage.set(a, values(1.0f), 0);
+		storage.set(b, values(2.0f), 0);
+		flush(storage, 0, 0);
+
+		assertFalse(storage.set(a, values(1.0f), 0), "Same values do not change the instance");
+		assertTrue(flush(storage, 0, 0).isEmpty(), "Nothing is dirty after setting the same values");
+
+		assertTrue(storage.set(b, values(5.0f), 0), "Different values change the instance");
+		List<int[]> ranges = flush(storage, 0, 0);
+		assertEquals(ranges.size(), 1);
+		assertEquals(ranges.get(0), new int[]{1, 1});
+		assertEquals(storage.get(b, 0), 5.0f);
+	}
+
+	@Test
+	public void dirtyRangesAreMerged()
+	{
+		InstanceStorage storage = new InstanceStorage(INSTANCE_SIZE, 1);
+
+		int[] handles = new int[20];
+		for (int i = 0; i < handles.length; ++i) {
+			handles[i] = storage.allocate();
+		}
+		flush(storage, 0, 0);
+
+		for (int i : new int[]{2, 3, 5, 12, 19}) {
+			storage.set(handles[i], values(i), 0);
+		}
+
+		List<int[]> exact = flush(storage, 0, 0);
+		assertEquals(exact.size(), 4);
+		assertEquals(exact.get(0), new int[]{2, 2});
+		assertEquals(exact.get(1), new int[]{5, 1});
+		assertEquals(exact.get(2), new int[]{12, 1});
+		assertEquals(exact.get(3), new int[]{19, 1});
+
+		for (int i : new int[]{2, 3, 5, 12, 19}) {
+			storage.set(handles[i], values(i + 100.0f), 0);
+		}
+
+		List<int[]> merged = flush(storage, 0, 1);
+		assertEquals(merged.size(), 3);
+		assertEquals(merged.get(0), new int[]{2, 4});
+	}
+
+	@Test
+	public void regionsAreFlushedIndependently()
+	{
+		InstanceStorage storage = new InstanceStorage(INSTANCE_SIZE, 3);
+
+		int a = storage.allocate();
+		for (int region = 0; region < 3; ++region) {
+			flush(storage, region, 0);
+		}
+
+		storage.set(a, values(7.0f), 0);
+
+		for (int region = 0; region < 3; ++region) {
+			assertTrue(storage.isDirty(region, 0), "Change is pending for region " + region);
+			assertEquals(flush(storage, region, 0).size(), 1);
+			assertFalse(storage.isDirty(region, 0), "Change is uploaded for region " + region);
+		}
+	}
+
+	@Test
+	public void freeKeepsSlotsPackedAndHandlesStable()
+	{
+		InstanceStorage storage = new InstanceStorage(INSTANCE_SIZE, 1, 2);
+
+		int[] handles = new int[100];
+		for (int i = 0; i < handles.length; ++i) {
+			handles[i] = storage.allocate();
+			storage.set(handles[i], values(i), 0);
+		}
+
+		assertEquals(storage.getCount(), 100);
+		assertTrue(storage.getCapacity() >= 100, "Capacity grew");
+		flush(storage, 0, 0);
+
+		// Free every third instance
+		for (int i = 0; i < handles.length; i += 3) {
+			storage.free(handles[i]);
+		}
+
+		assertEquals(storage.getCount(), 66);
+
+		boolean[] usedSlots = new boolean[storage.getCount()];
+		for (int i = 0; i < handles.length; ++i) {
+			if (i % 3 == 0) {
+				assertFalse(storage.isValid(handles[i]), "Freed handle is invalid");
+				continue;
+			}
+
+			int slot = storage.getSlot(handles[i]);
+			assertTrue(slot < storage.getCount(), "Slot is packed");
+			assertFalse(usedSlots[slot], "Slot is unique");
+			usedSlots[slot] = true;
+			assertEquals(storage.get(handles[i], 0), (float) i, "Values moved with the instance");
+		}
+
+		// Only moved slots need an upload and no range exceeds the live count
+		int dirtySlots = 0;
+		for (int[] range : flush(storage, 0, 0)) {
+			assertTrue(range[0] + range[1] <= storage.getCount(), "Range is within the live instances");
+			dirtySlots += range[1];
+		}
+		assertTrue(dirtySlots > 0 && dirtySlots <= 34, "Moved slots are dirty " + dirtySlots);
+
+		// Freed handles get reused
+		int reused = storage.allocate();
+		assertTrue(storage.isValid(reused), "Reused handle is valid");
+		assertEquals(storage.getSlot(reused), 66);
+	}
+}
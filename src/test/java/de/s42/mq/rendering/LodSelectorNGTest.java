@@ -0,0 +1,121 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import static de.s42.mq.rendering.LodSelector.NO_LEVEL;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class LodSelectorNGTest
+{
+
+	protected final static float[] RANGES = {
+		0.0f, 10.0f,
+		10.0f, 50.0f,
+		50.0f, 100.0f
+	};
+
+	protected static float squared(float distance)
+	{
+		return distance * distance;
+	}
+
+	@Test
+	public void selectsLevelBySquaredDistance()
+	{
+		LodSelector selector = new LodSelector();
+
+		assertEquals(selector.selectLevel(squared(5.0f), RANGES, NO_LEVEL), 0);
+		assertEquals(selector.selectLevel(squared(10.0f), RANGES, NO_LEVEL), 0);
+		assertEquals(selector.selectLevel(squared(20.0f), RANGES, NO_LEVEL), 1);
+		assertEquals(selector.selectLevel(squared(99.0f), RANGES, NO_LEVEL), 2);
+		assertEquals(selector.selectLevel(squared(200.0f), RANGES, NO_LEVEL), NO_LEVEL);
+	}
+
+	@Test
+	public void hysteresisKeepsTheCurrentLevel()
+	{
+		LodSelector selector = new LodSelector();
+		selector.setHysteresis(0.1f);
+
+		// Moving away - level 0 is kept up to 11
+		assertEquals(selector.selectLevel(squared(10.5f), RANGES, 0), 0);
+		assertEquals(selector.selectLevel(squared(11.5f), RANGES, 0), 1);
+
+		// Moving back - level 1 is kept down to 9
+		assertEquals(selector.selectLevel(squared(9.5f), RANGES, 1), 1);
+		assertEquals(selector.selectLevel(squared(8.5f), RANGES, 1), 0);
+
+		// Culled meshes reappear at the exact border
+		assertEquals(selector.selectLevel(squared(105.0f), RANGES, 2), 2);
+		assertEquals(selector.selectLevel(squared(105.0f), RANGES, NO_LEVEL), NO_LEVEL);
+	}
+
+	@Test
+	public void scaleAndBiasScaleTheDistance()
+	{
+		LodSelector selector = new LodSelector();
+		selector.setHysteresis(0.0f);
+		selector.setDistanceScale(2.0f);
+
+		assertEquals(selector.selectLevel(squared(15.0f), RANGES, NO_LEVEL), 1);
+
+		selector.setBias(2.0f);
+
+		assertEquals(selector.selectLevel(squared(15.0f), RANGES, NO_LEVEL), 2);
+		assertEquals(selector.getScaledDistance(squared(15.0f)), 60.0f, 0.0001f);
+	}
+
+	@Test
+	public void biasFollowsTheFrameTimeBudget()
+	{
+		LodSelector selector = new LodSelector();
+
+		// Without a budget the bias is fixed
+		selector.updateBias(1.0f);
+		assertEquals(selector.getBias(), 1.0f);
+
+		selector.setFrameTimeBudget(1.0f / 60.0f);
+
+		for (int i = 0; i < 1000; ++i) {
+			selector.updateBias(1.0f / 30.0f);
+		}
+		assertEquals(selector.getBias(), LodSelector.DEFAULT_MAX_BIAS);
+
+		// Slightly below budget keeps the bias
+		selector.updateBias(0.9f / 60.0f);
+		assertEquals(selector.getBias(), LodSelector.DEFAULT_MAX_BIAS);
+
+		for (int i = 0; i < 1000; ++i) {
+			selector.updateBias(1.0f / 120.0f);
+		}
+		assertEquals(selector.getBias(), 1.0f);
+	}
+}
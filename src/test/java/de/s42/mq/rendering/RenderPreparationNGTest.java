@@ -0,0 +1,203 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import de.s42.mq.meshes.Mesh;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class RenderPreparationNGTest
+{
+
+	/**
+	 * Mesh which is only visible up to its max lod distance
+	 */
+	public static class TestMesh extends Mesh
+	{
+
+		public TestMesh()
+		{
+		}
+
+		public TestMesh(float x, float y, float z)
+		{
+			setPosition(new Vector3f(x, y, z));
+			updateModelMatrix();
+		}
+
+		@Override
+		public Mesh getLodMesh(float distance)
+		{
+			return (distance <= lodDistanceMax) ? this : null;
+		}
+
+		@Override
+		public void render(RenderContext context)
+		{
+		}
+	}
+
+	/**
+	 * Mesh with the single lod range 0 to lodDistanceMax selected by the selector
+	 */
+	public static class HysteresisMesh extends TestMesh
+	{
+
+		public HysteresisMesh(float x, float y, float z)
+		{
+			super(x, y, z);
+		}
+
+		@Override
+		public Mesh selectLodMesh(LodSelector selector, float distanceSquared, int[] levels, int index)
+		{
+			levels[index] = selector.selectLevel(distanceSquared, new float[]{0.0f, lodDistanceMax}, levels[index]);
+
+			return (levels[index] == 0) ? this : null;
+		}
+	}
+
+	protected static List<String> flatten(RenderPreparation preparation)
+	{
+		List<String> result = new ArrayList<>();
+
+		for (int r = 0; r < preparation.getRangeCount(); ++r) {
+			RenderPreparation.DrawList drawList = preparation.getDrawList(r);
+			for (int i = 0; i < drawList.size(); ++i) {
+				result.add(System.identityHashCode(drawList.getMesh(i)) + ":" + drawList.getDepth(i));
+			}
+		}
+
+		return result;
+	}
+
+	@Test
+	public void cullsByFrustumAndLod()
+	{
+		// Camera in the origin looking down -z
+		Matrix4f view = new Matrix4f();
+		Matrix4f viewProjection = new Matrix4f().perspective((float) Math.toRadians(90.0), 1.0f, 0.1f, 100.0f).mul(view);
+
+		TestMesh front = new TestMesh(0.0f, 0.0f, -10.0f);
+		TestMesh behind = new TestMesh(0.0f, 0.0f, 10.0f);
+		TestMesh far = new TestMesh(0.0f, 0.0f, -50.0f);
+		far.setLod(0);
+		far.setLodDistanceMax(20.0f);
+
+		RenderPreparation preparation = new RenderPreparation();
+		preparation.setClipMeshes(true);
+
+		int count = preparation.prepare(List.of(front, behind, far), view, viewProjection, new Vector3f());
+
+		assertEquals(count, 1);
+		assertEquals(preparation.getRangeCount(), 1);
+		assertEquals(preparation.getDrawList(0).getMesh(0), front);
+		assertEquals(preparation.getDrawList(0).getDepth(0), 10.0f, 0.0001f);
+
+		// Without culling and lods all are drawn
+		preparation.setClipMeshes(false);
+		preparation.setLodMeshes(false);
+
+		assertEquals(preparation.prepare(List.of(front, behind, far), view, viewProjection, new Vector3f()), 3);
+	}
+
+	@Test
+	public void parallelMatchesSerial()
+	{
+		Random random = new Random(42);
+		List<Mesh> meshes = new ArrayList<>();
+
+		for (int i = 0; i < 10000; ++i) {
+			TestMesh mesh = new TestMesh(random.nextFloat() * 200.0f - 100.0f, random.nextFloat() * 20.0f - 10.0f, random.nextFloat() * 200.0f - 100.0f);
+			if (i % 3 == 0) {
+				mesh.setLod(0);
+				mesh.setLodDistanceMax(50.0f);
+			}
+			meshes.add(mesh);
+		}
+
+		Matrix4f view = new Matrix4f().lookAt(0.0f, 5.0f, 20.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f);
+		Matrix4f viewProjection = new Matrix4f().perspective((float) Math.toRadians(60.0), 1.5f, 0.1f, 200.0f).mul(view);
+		Vector3f cameraPosition = new Vector3f(0.0f, 5.0f, 20.0f);
+
+		RenderPreparation serial = new RenderPreparation();
+		serial.setParallel(false);
+		serial.setRangeSize(meshes.size());
+		serial.setClipMeshes(true);
+
+		RenderPreparation parallel = new RenderPreparation();
+		parallel.setRangeSize(128);
+		parallel.setClipMeshes(true);
+
+		int serialCount = serial.prepare(meshes, view, viewProjection, cameraPosition);
+		int parallelCount = parallel.prepare(meshes, view, viewProjection, cameraPosition);
+
+		assertEquals(parallel.getRangeCount(), 79);
+		assertEquals(parallelCount, serialCount);
+		assertEquals(flatten(parallel), flatten(serial));
+
+		// Reused draw lists give the same result
+		parallel.prepare(meshes, view, viewProjection, cameraPosition);
+		assertEquals(flatten(parallel), flatten(serial));
+	}
+
+	@Test
+	public void lodLevelsArePerPreparation()
+	{
+		HysteresisMesh mesh = new HysteresisMesh(0.0f, 0.0f, 0.0f);
+		mesh.setLod(0);
+		mesh.setLodDistanceMax(10.0f);
+
+		Matrix4f view = new Matrix4f();
+		Matrix4f viewProjection = new Matrix4f();
+
+		// The main view has seen the mesh up close - the shadow view sees it first at the border
+		RenderPreparation main = new RenderPreparation();
+		RenderPreparation shadow = new RenderPreparation();
+
+		assertEquals(main.prepare(List.of(mesh), view, viewProjection, new Vector3f(5.0f, 0.0f, 0.0f)), 1);
+		assertEquals(shadow.prepare(List.of(mesh), view, viewProjection, new Vector3f(10.5f, 0.0f, 0.0f)), 0);
+
+		// Main keeps the level within the hysteresis independent of the shadow view
+		assertEquals(main.prepare(List.of(mesh), view, viewProjection, new Vector3f(10.5f, 0.0f, 0.0f)), 1);
+		assertEquals(shadow.prepare(List.of(mesh), view, viewProjection, new Vector3f(10.5f, 0.0f, 0.0f)), 0);
+
+		// A different mesh at the same index starts without a level
+		HysteresisMesh other = new HysteresisMesh(0.0f, 0.0f, 0.0f);
+		other.setLod(0);
+		other.setLodDistanceMax(10.0f);
+		assertEquals(main.prepare(List.of(other), view, viewProjection, new Vector3f(10.5f, 0.0f, 0.0f)), 0);
+	}
+}
@@ -0,0 +1,263 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.rendering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class RenderQueueNGTest
+{
+
+	/**
+	 * Records the submitted commands as strings
+	 */
+	protected static class RecordingCommands implements RenderCommands<String>
+	{
+
+		protected final List<String> commands = new ArrayList<>();
+		protected int stateChanges;
+		protected int drawCalls;
+
+		@Override
+		public void changeState(String item)
+		{
+			stateChanges++;
+			commands.add("state " + item);
+		}
+
+		@Override
+		public void draw(String item)
+		{
+			drawCalls++;
+			commands.add("draw " + item);
+		}
+
+		@Override
+		public void drawInstanced(List<String> items)
+		{
+			drawCalls++;
+			commands.add("instanced " + items);
+		}
+	}
+
+	@Test
+	public void sortsUnsignedAndStable()
+	{
+		Random random = new Random(42);
+		RenderQueue<Integer> queue = new RenderQueue<>();
+		int count = 5000;
+		long[] keys = new long[count];
+
+		for (int i = 0; i < count; ++i) {
+			// Few distinct keys with the sign bit in use to get many ties
+			keys[i] = ((long) random.nextInt(16) << 60) | random.nextInt(8);
+			queue.add(keys[i], i);
+		}
+
+		queue.sort();
+
+		Long[] expected = new Long[count];
+		for (int i = 0; i < count; ++i) {
+			expected[i] = keys[i];
+		}
+		Arrays.sort(expected, Long::compareUnsigned);
+
+		for (int i = 0; i < count; ++i) {
+			assertEquals(queue.getSortedKey(i), (long) expected[i]);
+			assertEquals(keys[queue.getSorted(i)], queue.getSortedKey(i));
+
+			// Equal keys keep the order they were added in
+			if (i > 0 && queue.getSortedKey(i) == queue.getSortedKey(i - 1)) {
+				assertTrue(queue.getSorted(i) > queue.getSorted(i - 1), "Stable at " + i);
+			}
+		}
+	}
+
+	@Test
+	public void opaqueFrontToBackThenTransparentBackToFront()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+
+		queue.add(RenderSortKey.createTransparent(0, 1.0f), "nearGlass");
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 1, 10.0f), "farWall");
+		queue.add(RenderSortKey.createTransparent(0, 10.0f), "farGlass");
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 1, 1.0f), "nearWall");
+		queue.add(RenderSortKey.createOpaque(1, 1, 1, 1, 0.5f), "ui");
+		queue.add(RenderSortKey.createTransparent(0, 10.0f), "farGlass2");
+
+		queue.sort();
+
+		List<String> sorted = new ArrayList<>();
+		for (int i = 0; i < queue.size(); ++i) {
+			sorted.add(queue.getSorted(i));
+		}
+
+		assertEquals(sorted, List.of("nearWall", "farWall", "farGlass", "farGlass2", "nearGlass", "ui"));
+	}
+
+	@Test
+	public void groupsByStateBeforeDepth()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+		RecordingCommands commands = new RecordingCommands();
+
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 1, 1.0f), "a1", 1, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createOpaque(0, 2, 1, 1, 2.0f), "b1", 2, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 1, 3.0f), "a2", 1, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createOpaque(0, 2, 1, 1, 4.0f), "b2", 2, RenderQueue.NO_BATCH);
+
+		queue.submit(commands);
+
+		assertEquals(commands.commands, List.of("state a1", "draw a1", "draw a2", "state b1", "draw b1", "draw b2"));
+		assertEquals(commands.stateChanges, 2);
+	}
+
+	@Test
+	public void batchesConsecutiveItems()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+		RecordingCommands commands = new RecordingCommands();
+
+		// Same shader and material, two meshes (vao 7 and 8) with instances and one single mesh
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 7, 3.0f), "tree3", 1, 7);
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 8, 1.0f), "rock1", 1, 8);
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 7, 1.0f), "tree1", 1, 7);
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 9, 1.0f), "house", 1, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createOpaque(0, 1, 1, 7, 2.0f), "tree2", 1, 7);
+
+		queue.submit(commands);
+
+		assertEquals(commands.commands, List.of(
+			"state tree1",
+			"instanced [tree1, tree2, tree3]",
+			"instanced [rock1]",
+			"draw house"
+		));
+		assertEquals(commands.drawCalls, 3);
+	}
+
+	@Test
+	public void batchesSplitOnStateChanges()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+		RecordingCommands commands = new RecordingCommands();
+
+		// Transparent items are ordered by depth only so the batch gets interrupted
+		queue.add(RenderSortKey.createTransparent(0, 3.0f), "glass3", 1, 5);
+		queue.add(RenderSortKey.createTransparent(0, 2.0f), "smoke", 2, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createTransparent(0, 1.0f), "glass1", 1, 5);
+
+		queue.submit(commands);
+
+		assertEquals(commands.commands, List.of(
+			"state glass3", "instanced [glass3]",
+			"state smoke", "draw smoke",
+			"state glass1", "instanced [glass1]"
+		));
+	}
+
+	@Test
+	public void forEachBatchMatchesSubmit()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+		RecordingCommands commands = new RecordingCommands();
+
+		queue.add(RenderSortKey.createTransparent(0, 4.0f), "glass4", 1, 5);
+		queue.add(RenderSortKey.createTransparent(0, 3.0f), "glass3", 1, 5);
+		queue.add(RenderSortKey.createTransparent(0, 2.0f), "smoke", 2, RenderQueue.NO_BATCH);
+		queue.add(RenderSortKey.createTransparent(0, 1.0f), "glass1", 1, 5);
+
+		List<String> batches = new ArrayList<>();
+		queue.forEachBatch((items) -> batches.add("instanced " + items));
+
+		queue.submit(commands);
+
+		assertEquals(batches, List.of("instanced [glass4, glass3]", "instanced [glass1]"));
+		assertEquals(batches, commands.commands.stream().filter((c) -> c.startsWith("instanced")).toList());
+	}
+
+	@Test
+	public void clearAndReuse()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+
+		for (int frame = 0; frame < 3; ++frame) {
+
+			queue.clear();
+			assertTrue(queue.isEmpty());
+
+			for (int i = 0; i < 1000; ++i) {
+				queue.add(1000 - i, "item" + i);
+			}
+
+			RecordingCommands commands = new RecordingCommands();
+			queue.submit(commands);
+
+			assertEquals(commands.drawCalls, 1000);
+			assertEquals(commands.commands.get(1), "draw item999");
+		}
+	}
+
+	@Test
+	public void idsAreStable()
+	{
+		RenderQueue<String> queue = new RenderQueue<>();
+		Object a = new Object();
+		Object b = new Object();
+
+		assertEquals(queue.getId(null), 0);
+		assertEquals(queue.getId(a), 1);
+		assertEquals(queue.getId(b), 2);
+		assertEquals(queue.getId(a), 1);
+	}
+
+	@Test
+	public void depthQuantizationKeepsOrder()
+	{
+		float previous = 0.0f;
+		int previousQuantized = RenderSortKey.quantizeDepth(previous);
+
+		assertEquals(RenderSortKey.quantizeDepth(-1.0f), 0);
+		assertEquals(RenderSortKey.quantizeDepth(Float.NaN), 0);
+
+		for (float depth = 0.001f; depth < 100000.0f; depth *= 1.1f) {
+			int quantized = RenderSortKey.quantizeDepth(depth);
+			assertTrue(quantized >= previousQuantized, "Monotonic at " + depth);
+			assertTrue(quantized <= 0xFFFF);
+			previousQuantized = quantized;
+		}
+
+		assertTrue(RenderSortKey.quantizeDepth(1.0f) < RenderSortKey.quantizeDepth(1.1f));
+	}
+}
@@ -0,0 +1,235 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.dl.exceptions.DLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGraphNGTest
+{
+
+	protected static class RecordTask extends AbstractTask
+	{
+
+		protected final List<String> record;
+
+		public RecordTask(String name, List<String> record)
+		{
+			this.name = name;
+			this.record = record;
+		}
+
+		@Override
+		protected void runTask()
+		{
+			record.add(getName());
+		}
+	}
+
+	@Test
+	public void runsDependenciesFirstOnSingleWorker() throws DLException, InterruptedException
+	{
+		WorkStealingTaskManager taskManager = new WorkStealingTaskManager();
+		taskManager.setWorkerCount(1);
+		taskManager.setWorkerDaemons(true);
+		taskManager.load();
+
+		List<String> record = new CopyOnWriteArrayList<>();
+
+		RecordTask a = new RecordTask("a", record);
+		RecordTask b = new RecordTask("b", record);
+		RecordTask c = new RecordTask("c", record);
+		RecordTask d = new RecordTask("d", record);
+
+		// Declared in reverse - a blocking waitForTask would deadlock the single worker here
+		TaskGraph graph = new TaskGraph();
+		graph.setName("graph");
+		graph.setTaskManager(taskManager);
+		d.setWaitForTask(c);
+		graph.add(d);
+		graph.addDependency(d, b);
+		graph.add(c);
+		graph.addDependency(c, a);
+		graph.add(b);
+		b.setWaitForTask(a);
+		graph.add(a);
+
+		taskManager.schedule(graph);
+		taskManager.waitForTasksDone();
+		graph.waitForFinished(5000);
+
+		assertEquals(record.size(), 4);
+		assertEquals(record.get(0), "a");
+		assertEquals(record.get(3), "d");
+
+		taskManager.unload();
+	}
+
+	@Test
+	public void runsInTopologicalOrderWithoutTaskManager()
+	{
+		List<String> record = new CopyOnWriteArrayList<>();
+
+		RecordTask a = new RecordTask("a", record);
+		RecordTask b = new RecordTask("b", record);
+
+		TaskGraph graph = new TaskGraph();
+		graph.add(b);
+		graph.add(a);
+		graph.addDependency(b, a);
+		graph.run();
+
+		assertEquals(record, List.of("a", "b"));
+	}
+
+	@Test
+	public void detectsCycles()
+	{
+		RecordTask a = new RecordTask("a", new CopyOnWriteArrayList<>());
+		RecordTask b = new RecordTask("b", new CopyOnWriteArrayList<>());
+
+		TaskGraph graph = new TaskGraph();
+		graph.add(a);
+		graph.add(b);
+		graph.addDependency(a, b);
+		graph.addDependency(b, a);
+
+		try {
+			graph.run();
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getMessage().contains("cycle"));
+			return;
+		}
+
+		throw new AssertionError("Cycle not detected");
+	}
+
+	@Test
+	public void waitForTaskSurvivesRebuilds()
+	{
+		List<String> record = new CopyOnWriteArrayList<>();
+
+		RecordTask a = new RecordTask("a", record);
+		RecordTask b = new RecordTask("b", record);
+		RecordTask c = new RecordTask("c", record);
+
+		TaskGraph graph = new TaskGraph();
+		graph.add(b);
+		graph.add(a);
+		b.setWaitForTask(a);
+		graph.run();
+
+		assertEquals(record, List.of("a", "b"));
+
+		// Adding rebuilds the graph after b cleared its waitForTask
+		record.clear();
+		graph.add(c);
+		graph.run();
+
+		assertEquals(record, List.of("a", "c", "b"));
+	}
+
+	@Test
+	public void childrenDoNotWaitForTheirPredecessors()
+	{
+		List<String> record = new CopyOnWriteArrayList<>();
+
+		RecordTask a = new RecordTask("a", record)
+		{
+			@Override
+			public void waitForFinished()
+			{
+				throw new IllegalStateException("Children must be released by the graph");
+			}
+		};
+		RecordTask b = new RecordTask("b", record);
+		b.setWaitForTask(a);
+
+		TaskGraph graph = new TaskGraph();
+		graph.add(b);
+		graph.add(a);
+
+		assertNull(b.getWaitForTask());
+
+		graph.run();
+
+		assertEquals(record, List.of("a", "b"));
+	}
+
+	@Test
+	public void failingTaskFinishesTheRun() throws DLException, InterruptedException
+	{
+		WorkStealingTaskManager taskManager = new WorkStealingTaskManager();
+		taskManager.setWorkerCount(2);
+		taskManager.setWorkerDaemons(true);
+		taskManager.load();
+
+		List<String> record = new CopyOnWriteArrayList<>();
+		IllegalStateException error = new IllegalStateException("broken");
+
+		RecordTask a = new RecordTask("a", record)
+		{
+			@Override
+			protected void runTask()
+			{
+				throw error;
+			}
+		};
+		RecordTask b = new RecordTask("b", record);
+
+		TaskGraph graph = new TaskGraph();
+		graph.setName("graph");
+		graph.setTaskManager(taskManager);
+		graph.add(a);
+		graph.add(b);
+		graph.addDependency(b, a);
+
+		taskManager.schedule(graph);
+
+		try {
+			graph.waitForFinished(5000);
+			throw new AssertionError("Failure not surfaced");
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getMessage().contains("broken"));
+			assertSame(ex.getCause().getCause(), error);
+		} finally {
+			taskManager.unload();
+		}
+
+		// Successors of the failed task are skipped
+		assertEquals(record, List.of());
+	}
+}
@@ -0,0 +1,145 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Studio 42 GmbH ( https://www.s42m.de ).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package de.s42.mq.tasks;
+
+import de.s42.dl.exceptions.DLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingTaskManagerNGTest
+{
+
+	protected static class CountTask extends AbstractTask
+	{
+
+		protected final AtomicInteger counter;
+
+		public CountTask(AtomicInteger counter)
+		{
+			this.counter = counter;
+		}
+
+		@Override
+		protected void runTask()
+		{
+			counter.incrementAndGet();
+		}
+	}
+
+	protected static class SpawnTask extends AbstractTask
+	{
+
+		protected final TaskManager taskManager;
+		protected final AtomicInteger counter;
+		protected final int count;
+
+		public SpawnTask(TaskManager taskManager, AtomicInteger counter, int count)
+		{
+			this.taskManager = taskManager;
+			this.counter = counter;
+			this.count = count;
+		}
+
+		@Override
+		protected void runTask()
+		{
+			for (int i = 0; i < count; ++i) {
+				taskManager.schedule(new CountTask(counter));
+			}
+		}
+	}
+
+	@Test
+	public void runsAllScheduledTasksWithoutQueueLimit() throws DLException
+	{
+		WorkStealingTaskManager taskManager = new WorkStealingTaskManager();
+		taskManager.setWorkerCount(4);
+		taskManager.setWorkerDaemons(true);
+		taskManager.load();
+
+		AtomicInteger counter = new AtomicInteger();
+
+		// More than the 100 tasks the DefaultTaskManager could queue
+		for (int i = 0; i < 10000; ++i) {
+			taskManager.schedule(new CountTask(counter));
+		}
+
+		taskManager.waitForTasksDone();
+
+		assertEquals(counter.get(), 10000);
+		assertEquals(taskManager.getTasksToDo(), 0);
+
+		taskManager.unload();
+	}
+
+	@Test
+	public void backpressureBlocksInsteadOfThrowing() throws DLException
+	{
+		WorkStealingTaskManager taskManager = new WorkStealingTaskManager();
+		taskManager.setWorkerCount(2);
+		taskManager.setMaxTasksInQueue(8);
+		taskManager.setWorkerDaemons(true);
+		taskManager.load();
+
+		AtomicInteger counter = new AtomicInteger();
+
+		for (int i = 0; i < 1000; ++i) {
+			taskManager.schedule(new CountTask(counter));
+		}
+
+		taskManager.waitForTasksDone();
+
+		assertEquals(counter.get(), 1000);
+
+		taskManager.unload();
+	}
+
+	@Test
+	public void tasksScheduledByWorkersGetStolen() throws DLException
+	{
+		WorkStealingTaskManager taskManager = new WorkStealingTaskManager();
+		taskManager.setWorkerCount(4);
+		taskManager.setMaxTasksInQueue(1);
+		taskManager.setWorkerDaemons(true);
+		taskManager.load();
+
+		AtomicInteger counter = new AtomicInteger();
+
+		// Workers may exceed maxTasksInQueue when scheduling - otherwise this would deadlock
+		taskManager.schedule(new SpawnTask(taskManager, counter, 5000));
+
+		taskManager.waitForTasksDone();
+
+		assertEquals(counter.get(), 5000);
+
+		taskManager.unload();
+	}
+}